@@ -0,0 +1,51 @@
+package com.pomodoro.config;
+
+import com.pomodoro.repository.AggregatingSessionStore;
+import com.pomodoro.repository.ArchivingSessionStore;
+import com.pomodoro.repository.CompletedSessionRepository;
+import com.pomodoro.repository.CompletedSessionStore;
+import com.pomodoro.repository.MeteredSessionStore;
+import com.pomodoro.repository.SegmentLogSessionStore;
+import com.pomodoro.repository.SessionAggregateRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Selects the completed session storage backend
+ * pomodoro.session-store.type=jpa (default) uses the JPA repository;
+ * segment-log uses memory-mapped segment files under
+ * pomodoro.session-store.directory. Setting pomodoro.archive.directory
+ * wraps the backend so closed years can be moved to columnar archives.
+ * AggregatingSessionStore then adds the hourly aggregates left by session
+ * retention to every aggregate query, and the outermost MeteredSessionStore
+ * times every call.
+ */
+@Configuration
+public class SessionStoreConfiguration {
+
+    @Bean
+    @Primary
+    public CompletedSessionStore completedSessionStore(
+            CompletedSessionRepository completedSessionRepository,
+            SessionAggregateRepository sessionAggregateRepository,
+            MeterRegistry meterRegistry,
+            @Value("${pomodoro.session-store.type:jpa}") String type,
+            @Value("${pomodoro.session-store.directory:./data/sessions}") String directory,
+            @Value("${pomodoro.archive.directory:}") String archiveDirectory) throws IOException {
+        CompletedSessionStore store = switch (type) {
+            case "jpa" -> completedSessionRepository;
+            case "segment-log" -> new SegmentLogSessionStore(Path.of(directory));
+            default -> throw new IllegalArgumentException("Unknown session store type: " + type);
+        };
+        if (!archiveDirectory.isBlank()) {
+            store = new ArchivingSessionStore(store, Path.of(archiveDirectory));
+        }
+        return new MeteredSessionStore(new AggregatingSessionStore(store, sessionAggregateRepository), meterRegistry);
+    }
+}
@@ -0,0 +1,30 @@
+package com.pomodoro.controller;
+
+import com.pomodoro.service.LatencySloService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for operational views of the running application
+ */
+@RestController
+@RequestMapping("/api/admin")
+@CrossOrigin(origins = "*")
+public class AdminController {
+
+    private final LatencySloService latencySloService;
+
+    @Autowired
+    public AdminController(LatencySloService latencySloService) {
+        this.latencySloService = latencySloService;
+    }
+
+    /**
+     * Get rolling latency percentiles per endpoint and the endpoints breaching their SLO
+     */
+    @GetMapping("/latency")
+    public ResponseEntity<LatencySloService.LatencyReport> getLatencyReport() {
+        return ResponseEntity.ok(latencySloService.getReport());
+    }
+}
@@ -0,0 +1,78 @@
+package com.pomodoro.controller;
+
+import com.pomodoro.service.FocusHeatmapService;
+import com.pomodoro.service.PomodoroTimerService;
+import com.pomodoro.service.SessionDurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST controller for focus analytics
+ * Serves pre-aggregated views that never scan individual sessions
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@CrossOrigin(origins = "*")
+public class AnalyticsController {
+
+    private final FocusHeatmapService focusHeatmapService;
+    private final SessionDurationService sessionDurationService;
+    private final PomodoroTimerService timerService;
+
+    @Autowired
+    public AnalyticsController(FocusHeatmapService focusHeatmapService,
+                               SessionDurationService sessionDurationService,
+                               PomodoroTimerService timerService) {
+        this.focusHeatmapService = focusHeatmapService;
+        this.sessionDurationService = sessionDurationService;
+        this.timerService = timerService;
+    }
+
+    /**
+     * Get the weekday-by-hour focus heatmap for a specific year
+     */
+    @GetMapping("/heatmap/{year}")
+    public ResponseEntity<FocusHeatmapService.HeatmapStats> getHeatmap(@PathVariable int year) {
+        return ResponseEntity.ok(focusHeatmapService.getHeatmap(year));
+    }
+
+    /**
+     * Get the weekday-by-hour focus heatmap for the current year
+     */
+    @GetMapping("/heatmap")
+    public ResponseEntity<FocusHeatmapService.HeatmapStats> getCurrentYearHeatmap() {
+        return ResponseEntity.ok(focusHeatmapService.getHeatmap(LocalDate.now().getYear()));
+    }
+
+    /**
+     * Get session duration percentiles (microseconds) per session type for a year
+     */
+    @GetMapping("/durations/{year}")
+    public ResponseEntity<List<SessionDurationService.DurationStats>> getDurationStats(@PathVariable int year) {
+        return ResponseEntity.ok(sessionDurationService.getDurationStats(year, year, null, timerService.getSettings()));
+    }
+
+    /**
+     * Get session duration percentiles (microseconds) per session type for a month
+     */
+    @GetMapping("/durations/{year}/{month}")
+    public ResponseEntity<List<SessionDurationService.DurationStats>> getMonthlyDurationStats(
+            @PathVariable int year,
+            @PathVariable int month) {
+        return ResponseEntity.ok(sessionDurationService.getDurationStats(year, year, month, timerService.getSettings()));
+    }
+
+    /**
+     * Get session duration percentiles (microseconds) per session type merged over several years
+     */
+    @GetMapping("/durations/years/{fromYear}/{toYear}")
+    public ResponseEntity<List<SessionDurationService.DurationStats>> getDurationStatsForYears(
+            @PathVariable int fromYear,
+            @PathVariable int toYear) {
+        return ResponseEntity.ok(sessionDurationService.getDurationStats(fromYear, toYear, null, timerService.getSettings()));
+    }
+}
@@ -0,0 +1,28 @@
+package com.pomodoro.controller;
+
+import com.pomodoro.service.SessionArchiveService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps request values the services reject to 400 Bad Request
+ * The services throw IllegalArgumentException for input they cannot serve
+ * (inverted or oversized ranges, unknown field names); without this those
+ * would surface as 500s. Requests for a feature that is switched off, such
+ * as archiving without an archive directory, get 409 Conflict.
+ */
+@RestControllerAdvice(basePackages = "com.pomodoro.controller")
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail handleIllegalArgument(IllegalArgumentException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
+    @ExceptionHandler(SessionArchiveService.ArchivingDisabledException.class)
+    public ProblemDetail handleArchivingDisabled(SessionArchiveService.ArchivingDisabledException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, e.getMessage());
+    }
+}
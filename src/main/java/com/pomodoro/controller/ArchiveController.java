@@ -0,0 +1,48 @@
+package com.pomodoro.controller;
+
+import com.pomodoro.service.SessionArchiveService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for archiving closed years of sessions
+ */
+@RestController
+@RequestMapping("/api/archive")
+@CrossOrigin(origins = "*")
+public class ArchiveController {
+
+    private final SessionArchiveService sessionArchiveService;
+
+    @Autowired
+    public ArchiveController(SessionArchiveService sessionArchiveService) {
+        this.sessionArchiveService = sessionArchiveService;
+    }
+
+    /**
+     * Get the archived years
+     */
+    @GetMapping
+    public ResponseEntity<List<Integer>> getArchivedYears() {
+        return ResponseEntity.ok(sessionArchiveService.getArchivedYears());
+    }
+
+    /**
+     * Archive every closed year
+     */
+    @PostMapping
+    public ResponseEntity<SessionArchiveService.ArchiveResult> archiveClosedYears() {
+        return ResponseEntity.ok(sessionArchiveService.archiveClosedYears());
+    }
+
+    /**
+     * Archive one closed year
+     */
+    @PostMapping("/{year}")
+    public ResponseEntity<SessionArchiveService.ArchiveResult> archiveYear(@PathVariable int year) {
+        return ResponseEntity.ok(sessionArchiveService.archiveYear(year));
+    }
+}
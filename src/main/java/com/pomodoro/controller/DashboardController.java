@@ -0,0 +1,45 @@
+package com.pomodoro.controller;
+
+import com.pomodoro.service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * REST controller for the page load dashboard
+ * Combines the timer status, today's tasks and task statistics, and the
+ * current year chart and statistics into one response
+ */
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = "*")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    @Autowired
+    public DashboardController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    /**
+     * Get the dashboard, optionally limited to the given comma-separated fields
+     * (timer, tasks, taskStats, chart, stats)
+     */
+    @GetMapping
+    public ResponseEntity<DashboardService.Dashboard> getDashboard(
+            @RequestParam(required = false) List<String> fields) {
+        if (fields == null) {
+            return ResponseEntity.ok(dashboardService.getDashboard());
+        }
+        Set<DashboardService.Part> parts = EnumSet.noneOf(DashboardService.Part.class);
+        for (String field : fields) {
+            parts.add(DashboardService.Part.fromFieldName(field));
+        }
+        return ResponseEntity.ok(dashboardService.getDashboard(parts));
+    }
+}
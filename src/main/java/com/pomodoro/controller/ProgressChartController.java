@@ -2,14 +2,19 @@ package com.pomodoro.controller;
 
 import com.pomodoro.model.*;
 import com.pomodoro.service.ProgressChartService;
+import com.pomodoro.service.RollingWindowStatsService;
+import com.pomodoro.service.SerializedChartCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.time.Month;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * REST controller for progress chart functionality
@@ -21,17 +26,30 @@ import java.util.List;
 public class ProgressChartController {
 
     private final ProgressChartService progressChartService;
+    private final RollingWindowStatsService rollingWindowStatsService;
+    private final SerializedChartCache serializedChartCache;
 
     @Autowired
-    public ProgressChartController(ProgressChartService progressChartService) {
+    public ProgressChartController(ProgressChartService progressChartService,
+                                   RollingWindowStatsService rollingWindowStatsService,
+                                   SerializedChartCache serializedChartCache) {
         this.progressChartService = progressChartService;
+        this.rollingWindowStatsService = rollingWindowStatsService;
+        this.serializedChartCache = serializedChartCache;
     }
 
     /**
      * Get complete progress chart for a specific year
+     * Past years are written from cached bytes, gzipped if the client accepts it
      */
     @GetMapping("/chart/{year}")
-    public ResponseEntity<ProgressChart> getProgressChart(@PathVariable int year) {
+    public ResponseEntity<?> getProgressChart(
+            @PathVariable int year,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        Optional<SerializedChartCache.SerializedResponse> cached = serializedChartCache.getChart(year);
+        if (cached.isPresent()) {
+            return serialized(cached.get(), acceptEncoding);
+        }
         ProgressChart chart = progressChartService.generateProgressChart(year);
         return ResponseEntity.ok(chart);
     }
@@ -45,6 +63,26 @@ public class ProgressChartController {
         return ResponseEntity.ok(chart);
     }
 
+    /**
+     * Get progress chart for any date range
+     */
+    @GetMapping("/chart/range/{startDate}/{endDate}")
+    public ResponseEntity<ProgressChart> getProgressChartForRange(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        ProgressChart chart = progressChartService.generateProgressChart(startDate, endDate);
+        return ResponseEntity.ok(chart);
+    }
+
+    /**
+     * Get progress chart for the last 12 months ending today
+     */
+    @GetMapping("/chart/trailing")
+    public ResponseEntity<ProgressChart> getTrailingYearChart() {
+        ProgressChart chart = progressChartService.getTrailingYearProgressChart();
+        return ResponseEntity.ok(chart);
+    }
+
     /**
      * Get progress data for a specific month
      */
@@ -78,20 +116,56 @@ public class ProgressChartController {
 
     /**
      * Get yearly statistics summary
+     * Past years are written from cached bytes, gzipped if the client accepts it
      */
     @GetMapping("/stats/{year}")
-    public ResponseEntity<ProgressChartService.YearlyStats> getYearlyStats(@PathVariable int year) {
+    public ResponseEntity<?> getYearlyStats(
+            @PathVariable int year,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        Optional<SerializedChartCache.SerializedResponse> cached = serializedChartCache.getYearlyStats(year);
+        if (cached.isPresent()) {
+            return serialized(cached.get(), acceptEncoding);
+        }
         ProgressChartService.YearlyStats stats = progressChartService.getYearlyStats(year);
         return ResponseEntity.ok(stats);
     }
 
+    /**
+     * Get statistics for every year that has data, computed in one aggregated scan
+     */
+    @GetMapping("/overview")
+    public ResponseEntity<List<ProgressChartService.YearlyStats>> getYearlyOverview() {
+        return ResponseEntity.ok(progressChartService.getAllYearlyStats());
+    }
+
     /**
      * Get current year's statistics
      */
     @GetMapping("/stats")
     public ResponseEntity<ProgressChartService.YearlyStats> getCurrentYearStats() {
-        int currentYear = LocalDate.now().getYear();
-        ProgressChartService.YearlyStats stats = progressChartService.getYearlyStats(currentYear);
+        ProgressChartService.YearlyStats stats = progressChartService.getYearlyStats(progressChartService.getCurrentYear());
         return ResponseEntity.ok(stats);
     }
-}
\ No newline at end of file
+
+    /**
+     * Get trailing 7/30/90/365 day focus statistics, served from memory
+     */
+    @GetMapping("/rolling")
+    public ResponseEntity<List<RollingWindowStatsService.WindowStats>> getRollingWindowStats() {
+        return ResponseEntity.ok(rollingWindowStatsService.getAllWindowStats());
+    }
+
+    // Private helper methods
+
+    private static ResponseEntity<byte[]> serialized(SerializedChartCache.SerializedResponse response,
+                                                     String acceptEncoding) {
+        boolean gzip = SerializedChartCache.acceptsGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(response.getBody(gzip));
+    }
+}
@@ -74,6 +74,16 @@ public class SessionController {
         return ResponseEntity.ok(sessionLoggingService.getSessionsForYear(year));
     }
 
+    /**
+     * Get total work between two dates (inclusive), answered from the in-memory range index
+     */
+    @GetMapping("/totals/{startDate}/{endDate}")
+    public ResponseEntity<SessionLoggingService.FocusTotals> getFocusTotals(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return ResponseEntity.ok(sessionLoggingService.getFocusTotalsBetween(startDate, endDate));
+    }
+
     /**
      * Delete a session by ID
      */
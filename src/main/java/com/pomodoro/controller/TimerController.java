@@ -4,8 +4,14 @@ import com.pomodoro.model.PomodoroSettings;
 import com.pomodoro.model.TimerSession;
 import com.pomodoro.service.PomodoroTimerService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * REST controller for Pomodoro timer operations
@@ -16,18 +22,47 @@ import org.springframework.web.bind.annotation.*;
 public class TimerController {
 
     private final PomodoroTimerService timerService;
+    private final long pollTimeoutMillis;
 
     @Autowired
-    public TimerController(PomodoroTimerService timerService) {
+    public TimerController(PomodoroTimerService timerService,
+                           @Value("${pomodoro.timer.long-poll-timeout-seconds:30}") long pollTimeoutSeconds) {
+        if (pollTimeoutSeconds < 1) {
+            throw new IllegalArgumentException("Long-poll timeout must be at least one second");
+        }
         this.timerService = timerService;
+        this.pollTimeoutMillis = TimeUnit.SECONDS.toMillis(pollTimeoutSeconds);
     }
 
     /**
      * Get current timer session status
+     * The session's version is its ETag: a client that sends it back in
+     * If-None-Match gets 304 Not Modified until the next transition, and
+     * counts down locally towards the deadline in the meantime.
      */
     @GetMapping("/status")
     public ResponseEntity<TimerSession> getTimerStatus() {
-        return ResponseEntity.ok(timerService.getCurrentSession());
+        TimerSession session = timerService.getCurrentSession();
+        // Spring answers 304 without writing the body when the ETag matches
+        return ResponseEntity.ok()
+            .eTag(Long.toString(session.getVersion()))
+            .cacheControl(CacheControl.noCache())
+            .body(session);
+    }
+
+    /**
+     * Long-poll the timer status for clients that cannot use streaming
+     * Answers as soon as the session's version differs from the one the
+     * client last saw, or with the unchanged session once the poll timeout
+     * passes. No thread is held while the request waits.
+     */
+    @GetMapping("/status/poll")
+    public DeferredResult<TimerSession> pollTimerStatus(@RequestParam long version) {
+        DeferredResult<TimerSession> result = new DeferredResult<>(pollTimeoutMillis, timerService::getCurrentSession);
+        CompletableFuture<TimerSession> change = timerService.awaitChange(version);
+        result.onCompletion(() -> change.cancel(false));
+        change.thenAccept(result::setResult);
+        return result;
     }
 
     /**
@@ -0,0 +1,160 @@
+package com.pomodoro.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.text.DecimalFormatSymbols;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Writes the text values of the streaming serializers through a reusable
+ * char buffer instead of building Strings
+ * Each method produces exactly what the formatting it replaces would
+ * (LocalDate.toString, a DateTimeFormatter pattern, String.format), and
+ * falls back to that formatting for the cases it does not handle: years
+ * outside 0..9999, locales without ASCII digits, and one-decimal roundings
+ * too close to a tie to decide from the double.
+ */
+final class JsonText {
+
+    private static final int BUFFER_SIZE = 64;
+
+    private static volatile LocaleSymbols symbols = LocaleSymbols.of(Locale.getDefault(Locale.Category.FORMAT));
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+
+    /**
+     * Write a date field as LocalDate.toString would (yyyy-MM-dd)
+     */
+    void writeDateField(JsonGenerator gen, String name, LocalDate date) throws IOException {
+        if (date == null) {
+            gen.writeNullField(name);
+            return;
+        }
+        gen.writeFieldName(name);
+        if (date.getYear() < 0 || date.getYear() > 9999) {
+            gen.writeString(date.toString());
+            return;
+        }
+        int length = appendDate(0, date.getYear(), date.getMonthValue(), date.getDayOfMonth());
+        gen.writeString(buffer, 0, length);
+    }
+
+    /**
+     * Write a date-time field in the yyyy-MM-dd'T'HH:mm:ss'Z' pattern of the
+     * given formatter
+     */
+    void writeUtcTimeField(JsonGenerator gen, String name, LocalDateTime time, DateTimeFormatter format)
+            throws IOException {
+        if (time == null) {
+            gen.writeNullField(name);
+            return;
+        }
+        gen.writeFieldName(name);
+        if (time.getYear() < 1 || time.getYear() > 9999) {
+            gen.writeString(format.format(time));
+            return;
+        }
+        int position = appendDate(0, time.getYear(), time.getMonthValue(), time.getDayOfMonth());
+        buffer[position++] = 'T';
+        position = appendDigits(position, time.getHour(), 2);
+        buffer[position++] = ':';
+        position = appendDigits(position, time.getMinute(), 2);
+        buffer[position++] = ':';
+        position = appendDigits(position, time.getSecond(), 2);
+        buffer[position++] = 'Z';
+        gen.writeString(buffer, 0, position);
+    }
+
+    /**
+     * Write String.format("%.1f hours, %d sessions", hours, sessions) in the
+     * default locale as a string value
+     */
+    void writeHoursAndSessions(JsonGenerator gen, double hours, int sessions) throws IOException {
+        LocaleSymbols current = currentSymbols();
+        long tenths = current.zero() == '0' && sessions >= 0 ? roundToTenths(hours) : -1;
+        if (tenths < 0) {
+            gen.writeString(String.format("%.1f hours, %d sessions", hours, sessions));
+            return;
+        }
+        int position = appendNumber(0, tenths / 10);
+        buffer[position++] = current.decimalSeparator();
+        buffer[position++] = (char) ('0' + tenths % 10);
+        position = appendText(position, " hours, ");
+        position = appendNumber(position, sessions);
+        position = appendText(position, " sessions");
+        gen.writeString(buffer, 0, position);
+    }
+
+    // Private helper methods
+
+    /**
+     * Round half up to tenths, or -1 when the value is out of range or the
+     * rounding is too close to call from the double
+     */
+    private static long roundToTenths(double value) {
+        if (!(value >= 0) || value > 1e9) {
+            return -1;
+        }
+        double scaled = value * 10;
+        double floor = Math.floor(scaled);
+        double fraction = scaled - floor;
+        if (Math.abs(fraction - 0.5) < 1e-6) {
+            return -1;
+        }
+        return (long) floor + (fraction > 0.5 ? 1 : 0);
+    }
+
+    private static LocaleSymbols currentSymbols() {
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        LocaleSymbols current = symbols;
+        if (!current.locale().equals(locale)) {
+            current = LocaleSymbols.of(locale);
+            symbols = current;
+        }
+        return current;
+    }
+
+    private int appendDate(int position, int year, int month, int day) {
+        position = appendDigits(position, year, 4);
+        buffer[position++] = '-';
+        position = appendDigits(position, month, 2);
+        buffer[position++] = '-';
+        return appendDigits(position, day, 2);
+    }
+
+    private int appendDigits(int position, int value, int width) {
+        for (int i = width - 1; i >= 0; i--) {
+            buffer[position + i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return position + width;
+    }
+
+    private int appendNumber(int position, long value) {
+        int width = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) {
+            width++;
+        }
+        for (int i = width - 1; i >= 0; i--) {
+            buffer[position + i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return position + width;
+    }
+
+    private int appendText(int position, String text) {
+        text.getChars(0, text.length(), buffer, position);
+        return position + text.length();
+    }
+
+    private record LocaleSymbols(Locale locale, char zero, char decimalSeparator) {
+        static LocaleSymbols of(Locale locale) {
+            DecimalFormatSymbols formatSymbols = DecimalFormatSymbols.getInstance(locale);
+            return new LocaleSymbols(locale, formatSymbols.getZeroDigit(), formatSymbols.getDecimalSeparator());
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.pomodoro.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.pomodoro.model.ProgressChart;
+import com.pomodoro.model.ProgressDay;
+import com.pomodoro.model.ProgressMonth;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Streaming serializers for progress charts, months and days
+ * They write the same properties as Jackson's bean serializers, in
+ * declaration order, straight to the generator. A chart is written in one
+ * pass over its days: the streaks that ProgressChart's getters would each
+ * compute with another scan are counted while the days are written, and
+ * the average is derived once from the stored totals. Dates and day
+ * descriptions are written through a JsonText buffer rather than built as
+ * Strings; dates are ISO strings, as the application's ObjectMapper is
+ * configured to write them.
+ */
+public final class ProgressChartSerializers {
+
+    private ProgressChartSerializers() {}
+
+    /**
+     * Serializer for ProgressChart
+     */
+    public static class ChartSerializer extends StdSerializer<ProgressChart> {
+
+        public ChartSerializer() {
+            super(ProgressChart.class);
+        }
+
+        @Override
+        public void serialize(ProgressChart chart, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            JsonText text = new JsonText();
+            gen.writeStartObject(chart);
+            gen.writeNumberField("year", chart.getYear());
+            text.writeDateField(gen, "startDate", chart.getStartDate());
+            text.writeDateField(gen, "endDate", chart.getEndDate());
+
+            // Run of active days ending at the day just written, and the longest run
+            int run = 0;
+            int longestRun = 0;
+            List<ProgressMonth> months = chart.getMonths();
+            gen.writeFieldName("months");
+            if (months == null) {
+                gen.writeNull();
+            } else {
+                gen.writeStartArray(months, months.size());
+                for (ProgressMonth month : months) {
+                    List<ProgressDay> days = month.getDays();
+                    writeMonthStart(gen, month);
+                    if (days != null) {
+                        for (ProgressDay day : days) {
+                            writeDay(gen, day, text);
+                            run = day.getProductivityLevel() > 0 ? run + 1 : 0;
+                            longestRun = Math.max(longestRun, run);
+                        }
+                    }
+                    writeMonthEnd(gen, month);
+                }
+                gen.writeEndArray();
+            }
+
+            int workDays = chart.getTotalWorkDays();
+            gen.writeNumberField("totalYearHours", chart.getTotalYearHours());
+            gen.writeNumberField("totalYearSessions", chart.getTotalYearSessions());
+            gen.writeNumberField("totalWorkDays", workDays);
+            gen.writeNumberField("averageHoursPerWorkDay", workDays > 0 ? chart.getTotalYearHours() / workDays : 0.0);
+            gen.writeNumberField("currentStreak", run);
+            gen.writeNumberField("longestStreak", longestRun);
+            gen.writeEndObject();
+        }
+    }
+
+    /**
+     * Serializer for ProgressMonth
+     */
+    public static class MonthSerializer extends StdSerializer<ProgressMonth> {
+
+        public MonthSerializer() {
+            super(ProgressMonth.class);
+        }
+
+        @Override
+        public void serialize(ProgressMonth month, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            JsonText text = new JsonText();
+            writeMonthStart(gen, month);
+            if (month.getDays() != null) {
+                for (ProgressDay day : month.getDays()) {
+                    writeDay(gen, day, text);
+                }
+            }
+            writeMonthEnd(gen, month);
+        }
+    }
+
+    /**
+     * Serializer for ProgressDay
+     */
+    public static class DaySerializer extends StdSerializer<ProgressDay> {
+
+        public DaySerializer() {
+            super(ProgressDay.class);
+        }
+
+        @Override
+        public void serialize(ProgressDay day, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            writeDay(gen, day, new JsonText());
+        }
+    }
+
+    // Private helper methods
+
+    /**
+     * Open a month's object and its days array (or write a null days field)
+     */
+    private static void writeMonthStart(JsonGenerator gen, ProgressMonth month) throws IOException {
+        gen.writeStartObject(month);
+        gen.writeNumberField("year", month.getYear());
+        if (month.getMonth() == null) {
+            gen.writeNullField("month");
+        } else {
+            gen.writeStringField("month", month.getMonth().name());
+        }
+        gen.writeFieldName("days");
+        if (month.getDays() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeStartArray(month.getDays(), month.getDays().size());
+        }
+    }
+
+    private static void writeMonthEnd(JsonGenerator gen, ProgressMonth month) throws IOException {
+        if (month.getDays() != null) {
+            gen.writeEndArray();
+        }
+        gen.writeNumberField("totalHours", month.getTotalHours());
+        gen.writeNumberField("totalSessions", month.getTotalSessions());
+        gen.writeNumberField("daysInMonth", month.getDaysInMonth());
+        gen.writeStringField("monthName", month.getMonthName());
+        gen.writeStringField("shortMonthName", month.getShortMonthName());
+        gen.writeEndObject();
+    }
+
+    private static void writeDay(JsonGenerator gen, ProgressDay day, JsonText text) throws IOException {
+        gen.writeStartObject(day);
+        text.writeDateField(gen, "date", day.getDate());
+        writeHoursField(gen, day.getTotalHours());
+        gen.writeNumberField("sessionCount", day.getSessionCount());
+        gen.writeNumberField("productivityLevel", day.getProductivityLevel());
+        gen.writeStringField("colorClass", day.getColorClass());
+        gen.writeStringField("cssColor", day.getCssColor());
+        // Same text as ProgressDay.getDescription, without String.format
+        if (day.getProductivityLevel() == 0) {
+            gen.writeStringField("description", "No work sessions");
+        } else {
+            gen.writeFieldName("description");
+            text.writeHoursAndSessions(gen, day.getTotalHours(), day.getSessionCount());
+        }
+        gen.writeEndObject();
+    }
+
+    /**
+     * Write a day's hours; most days have none, and writing the literal
+     * spares the String Jackson would format for 0.0
+     */
+    private static void writeHoursField(JsonGenerator gen, double hours) throws IOException {
+        gen.writeFieldName("totalHours");
+        if (Double.doubleToRawLongBits(hours) == 0L) {
+            gen.writeNumber("0.0");
+        } else {
+            gen.writeNumber(hours);
+        }
+    }
+}
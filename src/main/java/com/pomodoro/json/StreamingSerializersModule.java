@@ -0,0 +1,25 @@
+package com.pomodoro.json;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.pomodoro.model.ProgressChart;
+import com.pomodoro.model.ProgressDay;
+import com.pomodoro.model.ProgressMonth;
+import com.pomodoro.model.TimerSession;
+import org.springframework.stereotype.Component;
+
+/**
+ * Jackson module with the hand-written serializers for the most frequently
+ * written responses; Spring Boot registers Module beans with the
+ * application's ObjectMapper
+ */
+@Component
+public class StreamingSerializersModule extends SimpleModule {
+
+    public StreamingSerializersModule() {
+        super("StreamingSerializersModule");
+        addSerializer(ProgressChart.class, new ProgressChartSerializers.ChartSerializer());
+        addSerializer(ProgressMonth.class, new ProgressChartSerializers.MonthSerializer());
+        addSerializer(ProgressDay.class, new ProgressChartSerializers.DaySerializer());
+        addSerializer(TimerSession.class, new TimerSessionSerializer());
+    }
+}
@@ -0,0 +1,57 @@
+package com.pomodoro.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.pomodoro.model.TimerSession;
+
+import java.io.IOException;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Streaming serializer for TimerSession, the body of every status poll
+ * Writes the same properties as Jackson's bean serializer, including the
+ * derived completed, elapsedSeconds and progressPercentage values, with
+ * the start, end and deadline times in the model's @JsonFormat pattern written
+ * through a JsonText buffer.
+ */
+public class TimerSessionSerializer extends StdSerializer<TimerSession> {
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
+
+    public TimerSessionSerializer() {
+        super(TimerSession.class);
+    }
+
+    @Override
+    public void serialize(TimerSession session, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        int total = session.getTotalDurationSeconds();
+        int elapsed = total - session.getRemainingSeconds();
+        JsonText text = new JsonText();
+
+        gen.writeStartObject(session);
+        writeEnumField(gen, "sessionType", session.getSessionType());
+        writeEnumField(gen, "state", session.getState());
+        gen.writeNumberField("totalDurationSeconds", total);
+        gen.writeNumberField("remainingSeconds", session.getRemainingSeconds());
+        text.writeUtcTimeField(gen, "startTime", session.getStartTime(), TIME_FORMAT);
+        text.writeUtcTimeField(gen, "endTime", session.getEndTime(), TIME_FORMAT);
+        text.writeUtcTimeField(gen, "deadline", session.getDeadline(), TIME_FORMAT);
+        gen.writeNumberField("completedWorkSessions", session.getCompletedWorkSessions());
+        gen.writeNumberField("version", session.getVersion());
+        gen.writeBooleanField("completed", session.getRemainingSeconds() <= 0);
+        gen.writeNumberField("elapsedSeconds", elapsed);
+        gen.writeNumberField("progressPercentage", total == 0 ? 0.0 : ((double) elapsed / total) * 100.0);
+        gen.writeEndObject();
+    }
+
+    // Private helper methods
+
+    private static void writeEnumField(JsonGenerator gen, String name, Enum<?> value) throws IOException {
+        if (value == null) {
+            gen.writeNullField(name);
+        } else {
+            gen.writeStringField(name, value.name());
+        }
+    }
+}
@@ -9,7 +9,10 @@ import java.time.LocalDateTime;
  * Used for tracking productivity and generating progress charts
  */
 @Entity
-@Table(name = "completed_sessions")
+@Table(name = "completed_sessions", indexes = {
+    @Index(name = "idx_completed_sessions_start_time", columnList = "startTime"),
+    @Index(name = "idx_completed_sessions_type_start_time", columnList = "sessionType, startTime")
+})
 public class CompletedSession {
     
     @Id
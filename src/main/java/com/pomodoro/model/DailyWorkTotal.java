@@ -0,0 +1,50 @@
+package com.pomodoro.model;
+
+import java.time.LocalDate;
+
+/**
+ * Aggregated work totals for a single day
+ * Produced by grouped repository queries so callers never re-sum raw sessions
+ */
+public class DailyWorkTotal {
+    private LocalDate date;
+    private long workSeconds;
+    private long sessionCount;
+
+    public DailyWorkTotal() {}
+
+    public DailyWorkTotal(LocalDate date, Long workSeconds, Long sessionCount) {
+        this.date = date;
+        this.workSeconds = workSeconds != null ? workSeconds : 0L;
+        this.sessionCount = sessionCount != null ? sessionCount : 0L;
+    }
+
+    // Getters and setters
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public long getWorkSeconds() {
+        return workSeconds;
+    }
+
+    public void setWorkSeconds(long workSeconds) {
+        this.workSeconds = workSeconds;
+    }
+
+    public long getSessionCount() {
+        return sessionCount;
+    }
+
+    public void setSessionCount(long sessionCount) {
+        this.sessionCount = sessionCount;
+    }
+
+    public double getTotalHours() {
+        return workSeconds / 3600.0;
+    }
+}
@@ -0,0 +1,95 @@
+package com.pomodoro.model;
+
+import jakarta.persistence.*;
+import java.nio.ByteBuffer;
+
+/**
+ * Entity holding a year's weekday-by-hour focus counters
+ * Each matrix is 7 x 24 cells (Monday first, UTC hours) packed as 4-byte
+ * integers, so a whole year is stored in a single compact row
+ */
+@Entity
+@Table(name = "focus_heatmaps")
+public class FocusHeatmap {
+    
+    public static final int DAYS = 7;
+    public static final int HOURS = 24;
+    private static final int CELLS = DAYS * HOURS;
+    
+    @Id
+    @Column(name = "heatmap_year")
+    private Integer year;
+    
+    @Column(nullable = false, length = CELLS * Integer.BYTES)
+    private byte[] workSeconds;
+    
+    @Column(nullable = false, length = CELLS * Integer.BYTES)
+    private byte[] completions;
+    
+    public FocusHeatmap() {}
+    
+    public FocusHeatmap(int year) {
+        this.year = year;
+        this.workSeconds = new byte[CELLS * Integer.BYTES];
+        this.completions = new byte[CELLS * Integer.BYTES];
+    }
+    
+    // Getters and setters
+    public Integer getYear() {
+        return year;
+    }
+    
+    public void setYear(Integer year) {
+        this.year = year;
+    }
+    
+    public byte[] getWorkSeconds() {
+        return workSeconds;
+    }
+    
+    public void setWorkSeconds(byte[] workSeconds) {
+        this.workSeconds = workSeconds;
+    }
+    
+    public byte[] getCompletions() {
+        return completions;
+    }
+    
+    public void setCompletions(byte[] completions) {
+        this.completions = completions;
+    }
+    
+    // Helper methods (dayIndex 0 = Monday)
+    public int getWorkSecondsAt(int dayIndex, int hour) {
+        return ByteBuffer.wrap(workSeconds).getInt(offset(dayIndex, hour));
+    }
+    
+    public void addWorkSeconds(int dayIndex, int hour, int seconds) {
+        ByteBuffer buffer = ByteBuffer.wrap(workSeconds);
+        int offset = offset(dayIndex, hour);
+        buffer.putInt(offset, buffer.getInt(offset) + seconds);
+    }
+    
+    public int getCompletionsAt(int dayIndex, int hour) {
+        return ByteBuffer.wrap(completions).getInt(offset(dayIndex, hour));
+    }
+    
+    public void addCompletions(int dayIndex, int hour, int count) {
+        ByteBuffer buffer = ByteBuffer.wrap(completions);
+        int offset = offset(dayIndex, hour);
+        buffer.putInt(offset, buffer.getInt(offset) + count);
+    }
+    
+    public boolean isEmpty() {
+        for (int i = 0; i < CELLS * Integer.BYTES; i++) {
+            if (workSeconds[i] != 0 || completions[i] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int offset(int dayIndex, int hour) {
+        return (dayIndex * HOURS + hour) * Integer.BYTES;
+    }
+}
@@ -1,13 +1,17 @@
 package com.pomodoro.model;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
  * Represents a complete year's progress chart data
- * Contains all 12 months with their productivity data
+ * Contains all 12 months with their productivity data, or for range charts
+ * the (possibly partial) months between startDate and endDate
  */
 public class ProgressChart {
     private int year;
+    private LocalDate startDate;
+    private LocalDate endDate;
     private List<ProgressMonth> months;
     private double totalYearHours;
     private int totalYearSessions;
@@ -17,6 +21,19 @@ public class ProgressChart {
     
     public ProgressChart(int year, List<ProgressMonth> months) {
         this.year = year;
+        this.startDate = LocalDate.of(year, 1, 1);
+        this.endDate = LocalDate.of(year, 12, 31);
+        this.months = months;
+        calculateYearTotals();
+    }
+    
+    /**
+     * Create a chart for an arbitrary date range, labelled with the year it ends in
+     */
+    public ProgressChart(LocalDate startDate, LocalDate endDate, List<ProgressMonth> months) {
+        this.year = endDate.getYear();
+        this.startDate = startDate;
+        this.endDate = endDate;
         this.months = months;
         calculateYearTotals();
     }
@@ -48,6 +65,22 @@ public class ProgressChart {
         this.year = year;
     }
     
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+    
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+    
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+    
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+    
     public List<ProgressMonth> getMonths() {
         return months;
     }
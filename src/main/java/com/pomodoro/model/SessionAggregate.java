@@ -0,0 +1,89 @@
+package com.pomodoro.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity holding the compacted totals of one session type in one UTC hour
+ * Written by the retention policy in place of raw sessions older than the
+ * retention window; daily totals are the sum of a day's hours
+ */
+@Entity
+@Table(name = "session_aggregates",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"hour_start", "session_type"}))
+public class SessionAggregate {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "hour_start", nullable = false)
+    private LocalDateTime hourStart;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "session_type", nullable = false)
+    private SessionType sessionType;
+    
+    @Column(nullable = false)
+    private long sessionCount;
+    
+    @Column(nullable = false)
+    private long totalSeconds;
+    
+    public SessionAggregate() {}
+    
+    public SessionAggregate(LocalDateTime hourStart, SessionType sessionType) {
+        this.hourStart = hourStart;
+        this.sessionType = sessionType;
+    }
+    
+    /**
+     * Add one session to this hour's totals
+     */
+    public void add(CompletedSession session) {
+        sessionCount++;
+        totalSeconds += session.getDurationSeconds();
+    }
+    
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public LocalDateTime getHourStart() {
+        return hourStart;
+    }
+    
+    public void setHourStart(LocalDateTime hourStart) {
+        this.hourStart = hourStart;
+    }
+    
+    public SessionType getSessionType() {
+        return sessionType;
+    }
+    
+    public void setSessionType(SessionType sessionType) {
+        this.sessionType = sessionType;
+    }
+    
+    public long getSessionCount() {
+        return sessionCount;
+    }
+    
+    public void setSessionCount(long sessionCount) {
+        this.sessionCount = sessionCount;
+    }
+    
+    public long getTotalSeconds() {
+        return totalSeconds;
+    }
+    
+    public void setTotalSeconds(long totalSeconds) {
+        this.totalSeconds = totalSeconds;
+    }
+}
@@ -0,0 +1,80 @@
+package com.pomodoro.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Entity holding the encoded duration histogram for one session type in one month
+ * Buckets are stored sparsely, so a month typically takes a few dozen bytes
+ */
+@Entity
+@Table(name = "session_duration_histograms",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"histogram_year", "histogram_month", "session_type"}))
+public class SessionDurationHistogram {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "histogram_year", nullable = false)
+    private int year;
+    
+    @Column(name = "histogram_month", nullable = false)
+    private int month;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "session_type", nullable = false)
+    private SessionType sessionType;
+    
+    @Column(nullable = false, length = 65536)
+    private byte[] encodedCounts;
+    
+    public SessionDurationHistogram() {}
+    
+    public SessionDurationHistogram(int year, int month, SessionType sessionType, byte[] encodedCounts) {
+        this.year = year;
+        this.month = month;
+        this.sessionType = sessionType;
+        this.encodedCounts = encodedCounts;
+    }
+    
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public int getYear() {
+        return year;
+    }
+    
+    public void setYear(int year) {
+        this.year = year;
+    }
+    
+    public int getMonth() {
+        return month;
+    }
+    
+    public void setMonth(int month) {
+        this.month = month;
+    }
+    
+    public SessionType getSessionType() {
+        return sessionType;
+    }
+    
+    public void setSessionType(SessionType sessionType) {
+        this.sessionType = sessionType;
+    }
+    
+    public byte[] getEncodedCounts() {
+        return encodedCounts;
+    }
+    
+    public void setEncodedCounts(byte[] encodedCounts) {
+        this.encodedCounts = encodedCounts;
+    }
+}
@@ -18,7 +18,14 @@ public class TimerSession {
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
     private LocalDateTime endTime;
     
+    // When a running session reaches zero; null unless running
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+    private LocalDateTime deadline;
+    
     private int completedWorkSessions = 0;
+    
+    // Bumped by the timer service on every state transition, not on ticks
+    private long version;
 
     public TimerSession() {}
 
@@ -78,6 +85,14 @@ public class TimerSession {
         this.endTime = endTime;
     }
 
+    public LocalDateTime getDeadline() {
+        return deadline;
+    }
+
+    public void setDeadline(LocalDateTime deadline) {
+        this.deadline = deadline;
+    }
+
     public int getCompletedWorkSessions() {
         return completedWorkSessions;
     }
@@ -86,6 +101,14 @@ public class TimerSession {
         this.completedWorkSessions = completedWorkSessions;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public boolean isCompleted() {
         return remainingSeconds <= 0;
     }
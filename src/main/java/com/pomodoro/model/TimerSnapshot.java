@@ -0,0 +1,253 @@
+package com.pomodoro.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entity holding the persisted state of a timer and its settings
+ * A running timer is stored with its deadline, so it can be resumed
+ * (or completed) correctly however long the application was down
+ */
+@Entity
+@Table(name = "timer_snapshots")
+public class TimerSnapshot {
+    
+    @Id
+    @Column(length = 64)
+    private String timerId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private SessionType sessionType;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TimerState state;
+    
+    @Column(nullable = false)
+    private int totalDurationSeconds;
+    
+    @Column(nullable = false)
+    private int remainingSeconds;
+    
+    private LocalDateTime startTime;
+    
+    private LocalDateTime endTime;
+    
+    private LocalDateTime deadline; // UTC, only set while running
+    
+    @Column(nullable = false)
+    private int completedWorkSessions;
+    
+    @Column(nullable = false)
+    private int workDurationMinutes;
+    
+    @Column(nullable = false)
+    private int shortBreakDurationMinutes;
+    
+    @Column(nullable = false)
+    private int longBreakDurationMinutes;
+    
+    @Column(nullable = false)
+    private int longBreakInterval;
+    
+    @Column(nullable = false)
+    private boolean autoStartBreaks;
+    
+    @Column(nullable = false)
+    private boolean autoStartPomodoros;
+    
+    @Column(nullable = false)
+    private long version;
+    
+    @Column(nullable = false)
+    private LocalDateTime savedAt;
+    
+    public TimerSnapshot() {}
+    
+    public TimerSnapshot(String timerId, TimerSession session, PomodoroSettings settings, LocalDateTime now) {
+        this.timerId = timerId;
+        this.sessionType = session.getSessionType();
+        this.state = session.getState();
+        this.totalDurationSeconds = session.getTotalDurationSeconds();
+        this.remainingSeconds = session.getRemainingSeconds();
+        this.startTime = session.getStartTime();
+        this.endTime = session.getEndTime();
+        if (session.getState() == TimerState.RUNNING) {
+            this.deadline = session.getDeadline() != null ? session.getDeadline() : now.plusSeconds(session.getRemainingSeconds());
+        }
+        this.completedWorkSessions = session.getCompletedWorkSessions();
+        this.workDurationMinutes = settings.getWorkDurationMinutes();
+        this.shortBreakDurationMinutes = settings.getShortBreakDurationMinutes();
+        this.longBreakDurationMinutes = settings.getLongBreakDurationMinutes();
+        this.longBreakInterval = settings.getLongBreakInterval();
+        this.autoStartBreaks = settings.isAutoStartBreaks();
+        this.autoStartPomodoros = settings.isAutoStartPomodoros();
+        this.version = session.getVersion();
+        this.savedAt = now;
+    }
+    
+    /**
+     * Rebuild the timer session as it was when the snapshot was taken
+     */
+    public TimerSession toTimerSession() {
+        TimerSession session = new TimerSession();
+        session.setSessionType(sessionType);
+        session.setState(state);
+        session.setTotalDurationSeconds(totalDurationSeconds);
+        session.setRemainingSeconds(remainingSeconds);
+        session.setStartTime(startTime);
+        session.setEndTime(endTime);
+        session.setCompletedWorkSessions(completedWorkSessions);
+        session.setVersion(version);
+        return session;
+    }
+    
+    /**
+     * Rebuild the settings that were active when the snapshot was taken
+     */
+    public PomodoroSettings toSettings() {
+        PomodoroSettings settings = new PomodoroSettings(
+            workDurationMinutes, shortBreakDurationMinutes, longBreakDurationMinutes, longBreakInterval);
+        settings.setAutoStartBreaks(autoStartBreaks);
+        settings.setAutoStartPomodoros(autoStartPomodoros);
+        return settings;
+    }
+    
+    // Getters and setters
+    public String getTimerId() {
+        return timerId;
+    }
+    
+    public void setTimerId(String timerId) {
+        this.timerId = timerId;
+    }
+    
+    public SessionType getSessionType() {
+        return sessionType;
+    }
+    
+    public void setSessionType(SessionType sessionType) {
+        this.sessionType = sessionType;
+    }
+    
+    public TimerState getState() {
+        return state;
+    }
+    
+    public void setState(TimerState state) {
+        this.state = state;
+    }
+    
+    public int getTotalDurationSeconds() {
+        return totalDurationSeconds;
+    }
+    
+    public void setTotalDurationSeconds(int totalDurationSeconds) {
+        this.totalDurationSeconds = totalDurationSeconds;
+    }
+    
+    public int getRemainingSeconds() {
+        return remainingSeconds;
+    }
+    
+    public void setRemainingSeconds(int remainingSeconds) {
+        this.remainingSeconds = remainingSeconds;
+    }
+    
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+    
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+    
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+    
+    public void setEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+    }
+    
+    public LocalDateTime getDeadline() {
+        return deadline;
+    }
+    
+    public void setDeadline(LocalDateTime deadline) {
+        this.deadline = deadline;
+    }
+    
+    public int getCompletedWorkSessions() {
+        return completedWorkSessions;
+    }
+    
+    public void setCompletedWorkSessions(int completedWorkSessions) {
+        this.completedWorkSessions = completedWorkSessions;
+    }
+    
+    public int getWorkDurationMinutes() {
+        return workDurationMinutes;
+    }
+    
+    public void setWorkDurationMinutes(int workDurationMinutes) {
+        this.workDurationMinutes = workDurationMinutes;
+    }
+    
+    public int getShortBreakDurationMinutes() {
+        return shortBreakDurationMinutes;
+    }
+    
+    public void setShortBreakDurationMinutes(int shortBreakDurationMinutes) {
+        this.shortBreakDurationMinutes = shortBreakDurationMinutes;
+    }
+    
+    public int getLongBreakDurationMinutes() {
+        return longBreakDurationMinutes;
+    }
+    
+    public void setLongBreakDurationMinutes(int longBreakDurationMinutes) {
+        this.longBreakDurationMinutes = longBreakDurationMinutes;
+    }
+    
+    public int getLongBreakInterval() {
+        return longBreakInterval;
+    }
+    
+    public void setLongBreakInterval(int longBreakInterval) {
+        this.longBreakInterval = longBreakInterval;
+    }
+    
+    public boolean isAutoStartBreaks() {
+        return autoStartBreaks;
+    }
+    
+    public void setAutoStartBreaks(boolean autoStartBreaks) {
+        this.autoStartBreaks = autoStartBreaks;
+    }
+    
+    public boolean isAutoStartPomodoros() {
+        return autoStartPomodoros;
+    }
+    
+    public void setAutoStartPomodoros(boolean autoStartPomodoros) {
+        this.autoStartPomodoros = autoStartPomodoros;
+    }
+    
+    public long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(long version) {
+        this.version = version;
+    }
+    
+    public LocalDateTime getSavedAt() {
+        return savedAt;
+    }
+    
+    public void setSavedAt(LocalDateTime savedAt) {
+        this.savedAt = savedAt;
+    }
+}
@@ -0,0 +1,40 @@
+package com.pomodoro.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning the generation of a progress chart or month
+ * A year chart's event encloses the events of its twelve months
+ */
+@Name("com.pomodoro.ChartGeneration")
+@Label("Chart Generation")
+@Category({"Pomodoro", "Charts"})
+@Description("Generation of a progress chart (year or date range) or a single month")
+@StackTrace(false)
+public class ChartGenerationEvent extends jdk.jfr.Event {
+
+    @Label("Kind")
+    @Description("year, range or month")
+    public String kind;
+
+    @Label("Year")
+    public int year;
+
+    @Label("Month")
+    @Description("1-12 for a month, 0 for a whole chart")
+    public int month;
+
+    @Label("Days")
+    public int days;
+
+    @Label("Rows Aggregated")
+    @Description("Work sessions summed into the chart")
+    public long rowsAggregated;
+
+    @Label("Store Calls")
+    public long storeCalls;
+}
@@ -0,0 +1,67 @@
+package com.pomodoro.monitoring;
+
+import com.pomodoro.service.LatencySloService;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Wires per-request SQL statement counting and Server-Timing
+ * Every DataSource is wrapped in a datasource-proxy that feeds QueryCounter,
+ * RequestQueryInterceptor reports the counts for /api requests and
+ * ServerTimingFilter adds the phase breakdown to their responses.
+ * pomodoro.query-count.warn-threshold sets the statement count above which
+ * a request is logged as a warning.
+ */
+@Configuration
+public class QueryCountConfiguration implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+    private final LatencySloService latencySloService;
+    private final long warnThreshold;
+
+    public QueryCountConfiguration(MeterRegistry meterRegistry, LatencySloService latencySloService,
+                                   @Value("${pomodoro.query-count.warn-threshold:50}") long warnThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.latencySloService = latencySloService;
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(new QueryCounter())
+                        .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter() {
+        FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(new ServerTimingFilter());
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestQueryInterceptor(meterRegistry, latencySloService, warnThreshold))
+            .addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,35 @@
+package com.pomodoro.monitoring;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the query headers to controller responses just before the body is
+ * written, when all of the request's queries have run, and marks the end
+ * of the handler for Server-Timing
+ */
+@ControllerAdvice(basePackages = "com.pomodoro.controller")
+public class QueryCountResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        ServerTiming.markHandled();
+        if (response instanceof ServletServerHttpResponse servletResponse) {
+            RequestQueryInterceptor.addHeaders(servletResponse.getServletResponse());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,54 @@
+package com.pomodoro.monitoring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Per-thread count of SQL statements and the time spent executing them
+ * Registered as the datasource proxy's listener; RequestQueryInterceptor
+ * resets it when a request starts and reads it when the request ends.
+ * A batch counts one statement per query in the batch.
+ */
+public class QueryCounter implements QueryExecutionListener {
+
+    // statements, JDBC nanos, start of the statement in progress
+    private static final ThreadLocal<long[]> STATS = ThreadLocal.withInitial(() -> new long[3]);
+
+    /**
+     * Start counting afresh on the current thread
+     */
+    public static void reset() {
+        long[] stats = STATS.get();
+        stats[0] = 0;
+        stats[1] = 0;
+    }
+
+    /**
+     * Get the number of statements executed on the current thread since the last reset
+     */
+    public static long statements() {
+        return STATS.get()[0];
+    }
+
+    /**
+     * Get the JDBC execution time on the current thread since the last reset
+     */
+    public static long jdbcNanos() {
+        return STATS.get()[1];
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        STATS.get()[2] = System.nanoTime();
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long[] stats = STATS.get();
+        stats[0] += execInfo.isBatch() ? Math.max(1, execInfo.getBatchSize()) : 1;
+        stats[1] += System.nanoTime() - stats[2];
+    }
+}
@@ -0,0 +1,106 @@
+package com.pomodoro.monitoring;
+
+import com.pomodoro.service.LatencySloService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the SQL statements and JDBC time of each API request
+ * Both are reported in the X-Query-Count and X-Query-Time-Ms response
+ * headers and recorded as pomodoro.http.statements and pomodoro.http.jdbc,
+ * tagged by endpoint. A request above the warning threshold is logged with
+ * its endpoint, which is how N+1 query patterns show up. The request's
+ * latency goes to LatencySloService for the rolling SLO report.
+ */
+public class RequestQueryInterceptor implements HandlerInterceptor {
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    public static final String QUERY_TIME_HEADER = "X-Query-Time-Ms";
+
+    private static final Logger log = LoggerFactory.getLogger(RequestQueryInterceptor.class);
+
+    private final MeterRegistry meterRegistry;
+    private final LatencySloService latencySloService;
+    private final long warnThreshold;
+
+    public RequestQueryInterceptor(MeterRegistry meterRegistry, LatencySloService latencySloService,
+                                   long warnThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.latencySloService = latencySloService;
+        this.warnThreshold = warnThreshold;
+    }
+
+    /**
+     * Set the query headers from the current thread's counts
+     */
+    public static void addHeaders(HttpServletResponse response) {
+        response.setHeader(QUERY_COUNT_HEADER, Long.toString(QueryCounter.statements()));
+        response.setHeader(QUERY_TIME_HEADER, formatMillis(QueryCounter.jdbcNanos()));
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryCounter.reset();
+        return true;
+    }
+
+    /**
+     * Add the headers to responses without a body; responses with one get
+     * them from QueryCountResponseAdvice before the body is written
+     */
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        ServerTiming.markHandled();
+        if (!response.isCommitted()) {
+            addHeaders(response);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        long statements = QueryCounter.statements();
+        long jdbcNanos = QueryCounter.jdbcNanos();
+        String endpoint = endpoint(request);
+        latencySloService.record(endpoint, ServerTiming.elapsedNanos());
+
+        DistributionSummary.builder("pomodoro.http.statements")
+            .description("SQL statements executed per API request")
+            .tag("endpoint", endpoint)
+            .register(meterRegistry)
+            .record(statements);
+        Timer.builder("pomodoro.http.jdbc")
+            .description("JDBC execution time per API request")
+            .tag("endpoint", endpoint)
+            .register(meterRegistry)
+            .record(jdbcNanos, TimeUnit.NANOSECONDS);
+
+        if (statements > warnThreshold) {
+            log.warn("{} executed {} SQL statements ({} ms in JDBC), above the threshold of {}; possible N+1 queries",
+                endpoint, statements, formatMillis(jdbcNanos), warnThreshold);
+        }
+    }
+
+    // Private helper methods
+
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+}
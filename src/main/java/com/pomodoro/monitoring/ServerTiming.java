@@ -0,0 +1,70 @@
+package com.pomodoro.monitoring;
+
+import java.util.Locale;
+
+/**
+ * Per-thread phase timings of the current API request, reported in the
+ * Server-Timing header
+ * The request is split at two points: the handler returning its result
+ * (marked by QueryCountResponseAdvice, or RequestQueryInterceptor for
+ * responses without a body) and the body having been written. Database
+ * time is the JDBC time from QueryCounter; aggregation is the rest of the
+ * handler's time, i.e. the service work on top of the queries.
+ */
+public final class ServerTiming {
+
+    public static final String HEADER = "Server-Timing";
+
+    // request start, handler end (0 until marked)
+    private static final ThreadLocal<long[]> MARKS = ThreadLocal.withInitial(() -> new long[2]);
+
+    private ServerTiming() {
+    }
+
+    /**
+     * Start timing a request on the current thread
+     */
+    public static void start() {
+        long[] marks = MARKS.get();
+        marks[0] = System.nanoTime();
+        marks[1] = 0;
+    }
+
+    /**
+     * Mark the handler as done; only the first call per request counts
+     */
+    public static void markHandled() {
+        long[] marks = MARKS.get();
+        if (marks[1] == 0) {
+            marks[1] = System.nanoTime();
+        }
+    }
+
+    /**
+     * Get the time since the request started on this thread
+     */
+    public static long elapsedNanos() {
+        return System.nanoTime() - MARKS.get()[0];
+    }
+
+    /**
+     * Build the header value for the request started on this thread, ending now
+     */
+    public static String headerValue() {
+        long[] marks = MARKS.get();
+        long end = System.nanoTime();
+        long handled = marks[1] != 0 ? marks[1] : end;
+        long database = QueryCounter.jdbcNanos();
+        long aggregation = Math.max(0, handled - marks[0] - database);
+        return metric("database", database) + ", "
+            + metric("aggregation", aggregation) + ", "
+            + metric("serialization", end - handled) + ", "
+            + metric("total", end - marks[0]);
+    }
+
+    // Private helper methods
+
+    private static String metric(String name, long nanos) {
+        return String.format(Locale.ROOT, "%s;dur=%.3f", name, nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,47 @@
+package com.pomodoro.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+
+/**
+ * Adds a Server-Timing header with database, aggregation, serialization
+ * and total durations to API responses
+ * The body is buffered so the header can be set once serialization has
+ * finished; API responses are small JSON documents, so the copy is cheap.
+ * An asynchronous request (a long poll) is timed on the dispatch that
+ * writes its result, so the time it spent waiting is not counted, and its
+ * body is copied out by that dispatch.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ServerTiming.start();
+        // An async dispatch gets the wrapper the request was started with
+        ContentCachingResponseWrapper buffered = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        if (buffered == null) {
+            buffered = new ContentCachingResponseWrapper(response);
+        }
+        try {
+            chain.doFilter(request, buffered);
+        } finally {
+            if (!request.isAsyncStarted()) {
+                buffered.setHeader(ServerTiming.HEADER, ServerTiming.headerValue());
+                buffered.copyBodyToResponse();
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+}
@@ -0,0 +1,27 @@
+package com.pomodoro.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning the write of one completed session
+ */
+@Name("com.pomodoro.SessionWrite")
+@Label("Session Write")
+@Category({"Pomodoro", "Sessions"})
+@Description("Logging of a completed session to the session store")
+@StackTrace(false)
+public class SessionWriteEvent extends jdk.jfr.Event {
+
+    @Label("Session Type")
+    public String sessionType;
+
+    @Label("Session Seconds")
+    public int sessionSeconds;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
@@ -0,0 +1,30 @@
+package com.pomodoro.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event for one countdown tick of a running timer
+ * Disabled by default since it fires every second; enable it in a
+ * recording's settings when investigating scheduler lag
+ */
+@Name("com.pomodoro.TimerTick")
+@Label("Timer Tick")
+@Category({"Pomodoro", "Timer"})
+@Description("One countdown tick and how late it ran")
+@Enabled(false)
+@StackTrace(false)
+public class TimerTickEvent extends jdk.jfr.Event {
+
+    @Label("Remaining Seconds")
+    public int remainingSeconds;
+
+    @Label("Lag")
+    @Timespan(Timespan.NANOSECONDS)
+    public long lag;
+}
@@ -0,0 +1,33 @@
+package com.pomodoro.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a timer state change (start, pause, stop, complete, next, reset, restore)
+ */
+@Name("com.pomodoro.TimerTransition")
+@Label("Timer Transition")
+@Category({"Pomodoro", "Timer"})
+@Description("A state change of the Pomodoro timer")
+@StackTrace(false)
+public class TimerTransitionEvent extends jdk.jfr.Event {
+
+    @Label("Action")
+    public String action;
+
+    @Label("From State")
+    public String fromState;
+
+    @Label("To State")
+    public String toState;
+
+    @Label("Session Type")
+    public String sessionType;
+
+    @Label("Remaining Seconds")
+    public int remainingSeconds;
+}
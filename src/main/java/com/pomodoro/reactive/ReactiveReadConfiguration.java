@@ -0,0 +1,32 @@
+package com.pomodoro.reactive;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Reactive read API for the highest-fanout endpoints (profile "reactive")
+ * GET /api/progress/chart/{year}, /api/progress/stats/{year} and
+ * /api/sessions/month/{year}/{month} are served by WebFlux over R2DBC on
+ * pomodoro.reactive.port, alongside the servlet API. The queries read the
+ * session and aggregate tables directly, so the profile requires the JPA
+ * session store without a columnar archive.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveReadConfiguration {
+
+    @Bean
+    public ReactiveReadServer reactiveReadServer(ApplicationContext context,
+                                                 @Value("${pomodoro.reactive.port:8081}") int port,
+                                                 @Value("${pomodoro.session-store.type:jpa}") String storeType,
+                                                 @Value("${pomodoro.archive.directory:}") String archiveDirectory) {
+        if (!"jpa".equals(storeType) || !archiveDirectory.isBlank()) {
+            throw new IllegalStateException("The reactive read API needs pomodoro.session-store.type=jpa "
+                + "and no pomodoro.archive.directory");
+        }
+        return new ReactiveReadServer(context, port);
+    }
+}
@@ -0,0 +1,85 @@
+package com.pomodoro.reactive;
+
+import com.pomodoro.model.CompletedSession;
+import com.pomodoro.model.ProgressChart;
+import com.pomodoro.service.ProgressChartService;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Handlers for the reactive read API
+ * Same paths and JSON as ProgressChartController and SessionController.
+ * Session lists are streamed row by row; a client asking for
+ * application/x-ndjson gets one session per line as they are read.
+ */
+public class ReactiveReadHandler {
+
+    private final ReactiveSessionQueries sessionQueries;
+
+    public ReactiveReadHandler(ReactiveSessionQueries sessionQueries) {
+        this.sessionQueries = sessionQueries;
+    }
+
+    /**
+     * GET /api/progress/chart/{year}
+     */
+    public Mono<ServerResponse> getProgressChart(ServerRequest request) {
+        int year = intVariable(request, "year");
+        return ServerResponse.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(yearChart(year), ProgressChart.class);
+    }
+
+    /**
+     * GET /api/progress/stats/{year}
+     */
+    public Mono<ServerResponse> getYearlyStats(ServerRequest request) {
+        int year = intVariable(request, "year");
+        return ServerResponse.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(yearChart(year).map(ProgressChartService.YearlyStats::of), ProgressChartService.YearlyStats.class);
+    }
+
+    /**
+     * GET /api/sessions/month/{year}/{month}
+     */
+    public Mono<ServerResponse> getSessionsForMonth(ServerRequest request) {
+        LocalDate firstDay;
+        try {
+            firstDay = LocalDate.of(intVariable(request, "year"), intVariable(request, "month"), 1);
+        } catch (DateTimeException e) {
+            throw new ServerWebInputException(e.getMessage());
+        }
+        MediaType contentType = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+            ? MediaType.APPLICATION_NDJSON
+            : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok()
+            .contentType(contentType)
+            .body(sessionQueries.findSessionsBetween(firstDay.atStartOfDay(), firstDay.plusMonths(1).atStartOfDay()),
+                CompletedSession.class);
+    }
+
+    // Private helper methods
+
+    private Mono<ProgressChart> yearChart(int year) {
+        LocalDateTime start = LocalDate.of(year, 1, 1).atStartOfDay();
+        return sessionQueries.getDailyWorkTotals(start, start.plusYears(1))
+            .collectList()
+            .map(totals -> ProgressChartService.buildYearChart(year, totals));
+    }
+
+    private static int intVariable(ServerRequest request, String name) {
+        try {
+            return Integer.parseInt(request.pathVariable(name));
+        } catch (NumberFormatException e) {
+            throw new ServerWebInputException("Invalid " + name + ": " + request.pathVariable(name));
+        }
+    }
+}
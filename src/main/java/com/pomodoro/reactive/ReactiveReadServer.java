@@ -0,0 +1,67 @@
+package com.pomodoro.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+
+/**
+ * Netty server for the reactive read API, running next to Tomcat
+ * Starts a separate context holding only the WebFlux configuration. It
+ * cannot be a child of the servlet application's context, since Spring
+ * refuses to enable MVC and WebFlux in one context hierarchy; instead it
+ * shares the application's environment and ObjectMapper.
+ */
+public class ReactiveReadServer implements SmartLifecycle {
+
+    private final ApplicationContext application;
+    private final int port;
+    private AnnotationConfigApplicationContext context;
+    private WebServer webServer;
+
+    public ReactiveReadServer(ApplicationContext application, int port) {
+        this.application = application;
+        this.port = port;
+    }
+
+    @Override
+    public synchronized void start() {
+        context = new AnnotationConfigApplicationContext();
+        context.setEnvironment((ConfigurableEnvironment) application.getEnvironment());
+        context.getBeanFactory().registerSingleton("objectMapper", application.getBean(ObjectMapper.class));
+        context.register(ReactiveWebConfiguration.class);
+        context.refresh();
+
+        webServer = new NettyReactiveWebServerFactory(port)
+            .getWebServer(WebHttpHandlerBuilder.applicationContext(context).build());
+        webServer.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (webServer != null) {
+            webServer.stop();
+            webServer = null;
+        }
+        if (context != null) {
+            context.close();
+            context = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return webServer != null;
+    }
+
+    /**
+     * Get the port the server listens on (resolved when configured as 0)
+     */
+    public synchronized int getPort() {
+        return webServer != null ? webServer.getPort() : port;
+    }
+}
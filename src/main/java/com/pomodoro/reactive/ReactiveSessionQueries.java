@@ -0,0 +1,76 @@
+package com.pomodoro.reactive;
+
+import com.pomodoro.model.CompletedSession;
+import com.pomodoro.model.DailyWorkTotal;
+import com.pomodoro.model.SessionType;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Non-blocking reads of completed sessions over R2DBC
+ * Mirrors the JPA store's queries, including the hourly aggregates left by
+ * session retention, so both APIs answer alike. Rows are emitted as the
+ * driver produces them and only as fast as the subscriber requests them.
+ */
+public class ReactiveSessionQueries {
+
+    private static final String DAILY_WORK_TOTALS =
+        "SELECT work_day, SUM(seconds) AS seconds, SUM(sessions) AS sessions FROM ("
+            + " SELECT CAST(start_time AS DATE) AS work_day, duration_seconds AS seconds, 1 AS sessions"
+            + " FROM completed_sessions WHERE session_type = 'WORK' AND start_time >= :start AND start_time < :end"
+            + " UNION ALL"
+            + " SELECT CAST(hour_start AS DATE), total_seconds, session_count"
+            + " FROM session_aggregates WHERE session_type = 'WORK' AND hour_start >= :start AND hour_start < :end"
+            + ") days GROUP BY work_day ORDER BY work_day";
+
+    private static final String SESSIONS_BETWEEN =
+        "SELECT id, session_type, start_time, end_time, duration_seconds, created_at FROM completed_sessions"
+            + " WHERE start_time >= :start AND start_time < :end ORDER BY start_time DESC";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveSessionQueries(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Per-day work totals between two times (end exclusive), ordered by date
+     */
+    public Flux<DailyWorkTotal> getDailyWorkTotals(LocalDateTime start, LocalDateTime end) {
+        return databaseClient.sql(DAILY_WORK_TOTALS)
+            .bind("start", start)
+            .bind("end", end)
+            // H2 widens SUM of a BIGINT to NUMERIC
+            .map(row -> new DailyWorkTotal(row.get("work_day", LocalDate.class),
+                row.get("seconds", Number.class).longValue(), row.get("sessions", Number.class).longValue()))
+            .all();
+    }
+
+    /**
+     * Sessions starting between two times (end exclusive), most recent first
+     */
+    public Flux<CompletedSession> findSessionsBetween(LocalDateTime start, LocalDateTime end) {
+        return databaseClient.sql(SESSIONS_BETWEEN)
+            .bind("start", start)
+            .bind("end", end)
+            .map(ReactiveSessionQueries::toSession)
+            .all();
+    }
+
+    // Private helper methods
+
+    private static CompletedSession toSession(Readable row) {
+        CompletedSession session = new CompletedSession(
+            SessionType.valueOf(row.get("session_type", String.class)),
+            row.get("start_time", LocalDateTime.class),
+            row.get("end_time", LocalDateTime.class),
+            row.get("duration_seconds", Integer.class));
+        session.setId(row.get("id", Long.class));
+        session.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        return session;
+    }
+}
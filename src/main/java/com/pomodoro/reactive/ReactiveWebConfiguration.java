@@ -0,0 +1,94 @@
+package com.pomodoro.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.h2.H2ConnectionConfiguration;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.reactive.config.EnableWebFlux;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * WebFlux and R2DBC setup of the reactive read API's own context
+ * Registered only in the context built by ReactiveReadServer; it is
+ * deliberately not a @Configuration so component scanning of the servlet
+ * application never picks it up. The R2DBC pool opens the same H2 database
+ * as spring.datasource.url, and JSON is written with the application's
+ * ObjectMapper so both APIs produce identical documents.
+ */
+@EnableWebFlux
+public class ReactiveWebConfiguration implements WebFluxConfigurer {
+
+    private static final String H2_JDBC_PREFIX = "jdbc:h2:";
+
+    private final ObjectMapper objectMapper;
+
+    public ReactiveWebConfiguration(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        configurer.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+        configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool reactiveConnectionPool(Environment environment) {
+        String url = environment.getRequiredProperty("spring.datasource.url");
+        if (!url.startsWith(H2_JDBC_PREFIX)) {
+            throw new IllegalStateException("The reactive read API supports H2 only, not " + url);
+        }
+        H2ConnectionConfiguration connection = H2ConnectionConfiguration.builder()
+            .url(url.substring(H2_JDBC_PREFIX.length()))
+            .username(environment.getProperty("spring.datasource.username", "sa"))
+            .password(environment.getProperty("spring.datasource.password", ""))
+            .build();
+        int poolSize = environment.getProperty("pomodoro.reactive.pool-size", Integer.class, 10);
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(new H2ConnectionFactory(connection))
+            .initialSize(1)
+            .maxSize(poolSize)
+            .build());
+    }
+
+    @Bean
+    public ReactiveSessionQueries reactiveSessionQueries(ConnectionPool reactiveConnectionPool) {
+        return new ReactiveSessionQueries(DatabaseClient.create(reactiveConnectionPool));
+    }
+
+    @Bean
+    public ReactiveReadHandler reactiveReadHandler(ReactiveSessionQueries reactiveSessionQueries) {
+        return new ReactiveReadHandler(reactiveSessionQueries);
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> reactiveReadRoutes(ReactiveReadHandler handler) {
+        return RouterFunctions.route()
+            .GET("/api/progress/chart/{year}", handler::getProgressChart)
+            .GET("/api/progress/stats/{year}", handler::getYearlyStats)
+            .GET("/api/sessions/month/{year}/{month}", handler::getSessionsForMonth)
+            .build();
+    }
+
+    @Bean
+    public CorsWebFilter reactiveCorsFilter() {
+        CorsConfiguration cors = new CorsConfiguration();
+        cors.addAllowedOrigin("*");
+        cors.addAllowedMethod("GET");
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/api/**", cors);
+        return new CorsWebFilter(source);
+    }
+}
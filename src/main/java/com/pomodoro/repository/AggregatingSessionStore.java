@@ -0,0 +1,196 @@
+package com.pomodoro.repository;
+
+import com.pomodoro.model.CompletedSession;
+import com.pomodoro.model.DailyWorkTotal;
+import com.pomodoro.model.SessionType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Session store that adds compacted history to aggregate queries
+ * Sessions older than the retention window are replaced by hourly per-type
+ * SessionAggregate rows. Work totals, daily totals and the earliest/latest
+ * start times combine those rows with the wrapped store, so charts and
+ * yearly statistics are unchanged by compaction; queries for individual
+ * sessions only see the wrapped store. Aggregates are matched by the start
+ * of their hour, so range bounds are applied at hour granularity.
+ */
+public class AggregatingSessionStore implements CompletedSessionStore, Closeable {
+
+    private final CompletedSessionStore delegate;
+    private final SessionAggregateRepository aggregateRepository;
+
+    // End of the compacted hours (exclusive), loaded on first use; null when there are none
+    private volatile boolean boundaryLoaded;
+    private volatile LocalDateTime compactedBefore;
+
+    public AggregatingSessionStore(CompletedSessionStore delegate, SessionAggregateRepository aggregateRepository) {
+        this.delegate = delegate;
+        this.aggregateRepository = aggregateRepository;
+    }
+
+    /**
+     * Record that hours before the given time may now have aggregates;
+     * called by the retention policy before its deletes become visible
+     */
+    public synchronized void extendCompactedRange(LocalDateTime end) {
+        LocalDateTime current = compactedBefore();
+        if (current == null || end.isAfter(current)) {
+            compactedBefore = end;
+        }
+    }
+
+    /**
+     * Get the start time of the earliest session not yet compacted, or null
+     */
+    public LocalDateTime findEarliestLiveStartTime() {
+        return delegate.findEarliestStartTime();
+    }
+
+    @Override
+    public <S extends CompletedSession> S save(S session) {
+        return delegate.save(session);
+    }
+
+    @Override
+    public Optional<CompletedSession> findById(Long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        delegate.deleteById(id);
+    }
+
+    @Override
+    public void deleteSessionsById(Collection<Long> ids) {
+        delegate.deleteSessionsById(ids);
+    }
+
+    @Override
+    public List<CompletedSession> findSessionsBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        return delegate.findSessionsBetween(startDate, endDate);
+    }
+
+    @Override
+    public List<CompletedSession> findWorkSessionsBetween(SessionType sessionType,
+                                                          LocalDateTime startDate,
+                                                          LocalDateTime endDate) {
+        return delegate.findWorkSessionsBetween(sessionType, startDate, endDate);
+    }
+
+    @Override
+    public Long getTotalWorkSecondsInRange(LocalDateTime startDate, LocalDateTime endDate) {
+        Long live = delegate.getTotalWorkSecondsInRange(startDate, endDate);
+        if (!overlapsCompacted(startDate)) {
+            return live;
+        }
+        return live + aggregateRepository.getTotalWorkSecondsInRange(startDate, endDate);
+    }
+
+    @Override
+    public List<DailyWorkTotal> getDailyWorkTotalsInRange(LocalDateTime startDate, LocalDateTime endDate) {
+        List<DailyWorkTotal> live = delegate.getDailyWorkTotalsInRange(startDate, endDate);
+        if (!overlapsCompacted(startDate)) {
+            return live;
+        }
+        return merge(aggregateRepository.getDailyWorkTotalsInRange(startDate, endDate), live);
+    }
+
+    @Override
+    public List<DailyWorkTotal> getAllDailyWorkTotals() {
+        List<DailyWorkTotal> live = delegate.getAllDailyWorkTotals();
+        if (!overlapsCompacted(null)) {
+            return live;
+        }
+        return merge(aggregateRepository.getAllDailyWorkTotals(), live);
+    }
+
+    @Override
+    public LocalDateTime findEarliestStartTime() {
+        LocalDateTime earliest = delegate.findEarliestStartTime();
+        if (compactedBefore() == null) {
+            return earliest;
+        }
+        LocalDateTime compacted = aggregateRepository.findEarliestHourStart();
+        return compacted != null && (earliest == null || compacted.isBefore(earliest)) ? compacted : earliest;
+    }
+
+    @Override
+    public LocalDateTime findLatestStartTime() {
+        LocalDateTime latest = delegate.findLatestStartTime();
+        LocalDateTime compactedEnd = compactedBefore();
+        if (compactedEnd == null || (latest != null && !latest.isBefore(compactedEnd))) {
+            return latest;
+        }
+        LocalDateTime compacted = aggregateRepository.findLatestHourStart();
+        return compacted != null && (latest == null || compacted.isAfter(latest)) ? compacted : latest;
+    }
+
+    @Override
+    public List<CompletedSession> findAllByOrderByStartTimeDesc() {
+        return delegate.findAllByOrderByStartTimeDesc();
+    }
+
+    @Override
+    public <T> Optional<T> unwrap(Class<T> type) {
+        return type.isInstance(this) ? Optional.of(type.cast(this)) : delegate.unwrap(type);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (delegate instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    // Private helper methods
+
+    /**
+     * Whether a query starting at startDate (null for open) can reach compacted
+     * hours; ranges wholly after them never touch the aggregate table
+     */
+    private boolean overlapsCompacted(LocalDateTime startDate) {
+        LocalDateTime compactedEnd = compactedBefore();
+        return compactedEnd != null && (startDate == null || startDate.isBefore(compactedEnd));
+    }
+
+    private LocalDateTime compactedBefore() {
+        if (!boundaryLoaded) {
+            synchronized (this) {
+                if (!boundaryLoaded) {
+                    LocalDateTime latest = aggregateRepository.findLatestHourStart();
+                    compactedBefore = latest != null ? latest.plusHours(1) : null;
+                    boundaryLoaded = true;
+                }
+            }
+        }
+        return compactedBefore;
+    }
+
+    private static List<DailyWorkTotal> merge(List<DailyWorkTotal> compacted, List<DailyWorkTotal> live) {
+        if (compacted.isEmpty()) {
+            return live;
+        }
+        Map<LocalDate, long[]> byDay = new TreeMap<>();
+        List<DailyWorkTotal> all = new ArrayList<>(compacted);
+        all.addAll(live);
+        for (DailyWorkTotal total : all) {
+            long[] sums = byDay.computeIfAbsent(total.getDate(), date -> new long[2]);
+            sums[0] += total.getWorkSeconds();
+            sums[1] += total.getSessionCount();
+        }
+        List<DailyWorkTotal> merged = new ArrayList<>(byDay.size());
+        byDay.forEach((date, sums) -> merged.add(new DailyWorkTotal(date, sums[0], sums[1])));
+        return merged;
+    }
+}
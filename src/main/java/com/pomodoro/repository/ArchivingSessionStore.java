@@ -0,0 +1,395 @@
+package com.pomodoro.repository;
+
+import com.pomodoro.model.CompletedSession;
+import com.pomodoro.model.DailyWorkTotal;
+import com.pomodoro.model.SessionType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Session store that keeps closed years in columnar archive files
+ * Wraps another store: archiveYear moves a year's sessions from it into a
+ * ColumnarYearArchive file, and every query combines the live store with
+ * the archived years it overlaps, so callers cannot tell them apart.
+ * Archive files are loaded on first use and kept decoded in memory.
+ * Reads hold a read lock across both the archives and the live store, and
+ * archiving and deletes take the write lock, so a read never sees a year
+ * half moved (in neither place, or in both).
+ */
+public class ArchivingSessionStore implements CompletedSessionStore, Closeable {
+
+    private static final Pattern ARCHIVE_FILE = Pattern.compile("sessions-(\\d{4})\\.col");
+    private static final int DELETE_CHUNK = 1000;
+
+    private final CompletedSessionStore delegate;
+    private final Path directory;
+    private final Set<Integer> archivedYears = new TreeSet<>();
+    private final Map<Integer, ColumnarYearArchive> loaded = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ArchivingSessionStore(CompletedSessionStore delegate, Path directory) throws IOException {
+        this.delegate = delegate;
+        this.directory = directory;
+
+        Files.createDirectories(directory);
+        try (Stream<Path> listing = Files.list(directory)) {
+            listing.forEach(path -> {
+                Matcher matcher = ARCHIVE_FILE.matcher(path.getFileName().toString());
+                if (matcher.matches()) {
+                    archivedYears.add(Integer.parseInt(matcher.group(1)));
+                }
+            });
+        }
+    }
+
+    /**
+     * Move all sessions of a year into its archive file, merging with any
+     * earlier archive of that year; returns the number of sessions archived.
+     * The file is written before the live rows are deleted, and rows left
+     * behind by an interrupted run are removed when the year is next loaded.
+     */
+    public int archiveYear(int year) throws IOException {
+        lock.writeLock().lock();
+        try {
+            LocalDateTime start = LocalDate.of(year, 1, 1).atStartOfDay();
+            LocalDateTime end = start.plusYears(1);
+            ColumnarYearArchive existing = archive(year);
+
+            List<CompletedSession> sessions = new ArrayList<>();
+            if (existing != null) {
+                sessions.addAll(existing.getSessions());
+            }
+            List<Long> moved = new ArrayList<>();
+            for (CompletedSession session : delegate.findSessionsBetween(start, end)) {
+                if (existing == null || !existing.containsId(session.getId())) {
+                    sessions.add(session);
+                }
+                moved.add(session.getId());
+            }
+            if (sessions.isEmpty()) {
+                return 0;
+            }
+
+            ColumnarYearArchive archive = ColumnarYearArchive.of(year, sessions);
+            archive.writeTo(fileFor(year));
+            loaded.put(year, archive);
+            archivedYears.add(year);
+            deleteFromDelegate(moved);
+            return moved.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Get the archived years in ascending order
+     */
+    public List<Integer> getArchivedYears() {
+        return read(() -> new ArrayList<>(archivedYears));
+    }
+
+    @Override
+    public <S extends CompletedSession> S save(S session) {
+        return delegate.save(session);
+    }
+
+    @Override
+    public Optional<CompletedSession> findById(Long id) {
+        return read(() -> {
+            Optional<CompletedSession> live = delegate.findById(id);
+            if (live.isPresent() || id == null) {
+                return live;
+            }
+            for (int year : archivedYears) {
+                CompletedSession archived = archive(year).findById(id);
+                if (archived != null) {
+                    return Optional.of(archived);
+                }
+            }
+            return Optional.<CompletedSession>empty();
+        });
+    }
+
+    /**
+     * Delete a session; an archived one is removed by rewriting its year's file
+     */
+    @Override
+    public void deleteById(Long id) {
+        if (id != null) {
+            deleteSessionsById(List.of(id));
+        }
+    }
+
+    /**
+     * Delete a batch of sessions; each archived year holding some of them is
+     * rewritten once
+     */
+    @Override
+    public void deleteSessionsById(Collection<Long> ids) {
+        lock.writeLock().lock();
+        try {
+            List<Long> archived = new ArrayList<>();
+            List<Long> live = new ArrayList<>();
+            for (Long id : ids) {
+                if (id != null) {
+                    (delegate.findById(id).isPresent() ? live : archived).add(id);
+                }
+            }
+            deleteFromDelegate(live);
+
+            for (int year : archivedYears) {
+                if (archived.isEmpty()) {
+                    return;
+                }
+                ColumnarYearArchive archive = archive(year);
+                Set<Long> inYear = new HashSet<>();
+                for (Iterator<Long> it = archived.iterator(); it.hasNext(); ) {
+                    Long id = it.next();
+                    if (archive.containsId(id)) {
+                        inYear.add(id);
+                        it.remove();
+                    }
+                }
+                if (!inYear.isEmpty()) {
+                    ColumnarYearArchive remaining = archive.without(inYear);
+                    try {
+                        remaining.writeTo(fileFor(year));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Failed to rewrite archive for " + year, e);
+                    }
+                    loaded.put(year, remaining);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<CompletedSession> findSessionsBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        return read(() -> collect(startDate, endDate, null));
+    }
+
+    @Override
+    public List<CompletedSession> findWorkSessionsBetween(SessionType sessionType,
+                                                          LocalDateTime startDate,
+                                                          LocalDateTime endDate) {
+        return read(() -> collect(startDate, endDate, sessionType));
+    }
+
+    @Override
+    public Long getTotalWorkSecondsInRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return read(() -> {
+            long total = 0;
+            for (ColumnarYearArchive archive : overlapping(startDate, endDate)) {
+                for (DailyWorkTotal day : archive.getDailyTotals(startDate, endDate)) {
+                    total += day.getWorkSeconds();
+                }
+            }
+            return total + delegate.getTotalWorkSecondsInRange(startDate, endDate);
+        });
+    }
+
+    @Override
+    public List<DailyWorkTotal> getDailyWorkTotalsInRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return read(() -> {
+            List<ColumnarYearArchive> archives = overlapping(startDate, endDate);
+            return mergeDailyTotals(archives, startDate, endDate, delegate.getDailyWorkTotalsInRange(startDate, endDate));
+        });
+    }
+
+    @Override
+    public List<DailyWorkTotal> getAllDailyWorkTotals() {
+        return read(() -> {
+            List<ColumnarYearArchive> archives = overlapping(null, null);
+            return mergeDailyTotals(archives, null, null, delegate.getAllDailyWorkTotals());
+        });
+    }
+
+    @Override
+    public LocalDateTime findEarliestStartTime() {
+        return read(() -> {
+            List<ColumnarYearArchive> archives = overlapping(null, null);
+            LocalDateTime earliest = delegate.findEarliestStartTime();
+            for (ColumnarYearArchive archive : archives) {
+                LocalDateTime start = archive.getEarliestStartTime();
+                if (start != null && (earliest == null || start.isBefore(earliest))) {
+                    earliest = start;
+                }
+            }
+            return earliest;
+        });
+    }
+
+    @Override
+    public LocalDateTime findLatestStartTime() {
+        return read(() -> {
+            List<ColumnarYearArchive> archives = overlapping(null, null);
+            LocalDateTime latest = delegate.findLatestStartTime();
+            for (ColumnarYearArchive archive : archives) {
+                LocalDateTime start = archive.getLatestStartTime();
+                if (start != null && (latest == null || start.isAfter(latest))) {
+                    latest = start;
+                }
+            }
+            return latest;
+        });
+    }
+
+    @Override
+    public List<CompletedSession> findAllByOrderByStartTimeDesc() {
+        return read(() -> collect(null, null, null));
+    }
+
+    @Override
+    public <T> Optional<T> unwrap(Class<T> type) {
+        return type.isInstance(this) ? Optional.of(type.cast(this)) : delegate.unwrap(type);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (delegate instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    // Private helper methods
+
+    /**
+     * Run a read under the read lock, so archiving cannot move sessions
+     * between its archive and live store reads
+     */
+    private <T> T read(Supplier<T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Archived years overlapping [startDate, endDate), loaded before the
+     * live store is queried so leftovers of an interrupted archive run are
+     * already cleaned up; called with the lock held
+     */
+    private List<ColumnarYearArchive> overlapping(LocalDateTime startDate, LocalDateTime endDate) {
+        int fromYear = startDate != null ? startDate.getYear() : Integer.MIN_VALUE;
+        int toYear = endDate != null ? endDate.minusNanos(1).getYear() : Integer.MAX_VALUE;
+        List<ColumnarYearArchive> archives = new ArrayList<>();
+        for (int year : archivedYears) {
+            if (year >= fromYear && year <= toYear) {
+                archives.add(archive(year));
+            }
+        }
+        return archives;
+    }
+
+    private List<CompletedSession> collect(LocalDateTime startDate, LocalDateTime endDate, SessionType sessionType) {
+        List<CompletedSession> sessions = new ArrayList<>();
+        for (ColumnarYearArchive archive : overlapping(startDate, endDate)) {
+            sessions.addAll(archive.getSessions(startDate, endDate, sessionType));
+        }
+
+        List<CompletedSession> live;
+        if (sessionType != null) {
+            live = delegate.findWorkSessionsBetween(sessionType, startDate, endDate);
+        } else if (startDate == null && endDate == null) {
+            live = delegate.findAllByOrderByStartTimeDesc();
+        } else {
+            live = delegate.findSessionsBetween(startDate, endDate);
+        }
+        if (sessions.isEmpty()) {
+            return live;
+        }
+        sessions.addAll(live);
+        sessions.sort(Comparator.comparing(CompletedSession::getStartTime).reversed());
+        return sessions;
+    }
+
+    private static List<DailyWorkTotal> mergeDailyTotals(List<ColumnarYearArchive> archives,
+                                                         LocalDateTime startDate, LocalDateTime endDate,
+                                                         List<DailyWorkTotal> live) {
+        if (archives.isEmpty()) {
+            return live;
+        }
+        Map<LocalDate, long[]> byDay = new TreeMap<>();
+        List<DailyWorkTotal> all = new ArrayList<>(live);
+        for (ColumnarYearArchive archive : archives) {
+            all.addAll(archive.getDailyTotals(startDate, endDate));
+        }
+        for (DailyWorkTotal total : all) {
+            long[] sums = byDay.computeIfAbsent(total.getDate(), date -> new long[2]);
+            sums[0] += total.getWorkSeconds();
+            sums[1] += total.getSessionCount();
+        }
+        List<DailyWorkTotal> merged = new ArrayList<>(byDay.size());
+        byDay.forEach((date, sums) -> merged.add(new DailyWorkTotal(date, sums[0], sums[1])));
+        return merged;
+    }
+
+    /**
+     * Load a year's archive, removing any of its sessions still in the live store
+     * Called with the lock held; concurrent readers load a year only once.
+     */
+    private ColumnarYearArchive archive(int year) {
+        ColumnarYearArchive cached = loaded.get(year);
+        if (cached != null || !archivedYears.contains(year)) {
+            return cached;
+        }
+        synchronized (loaded) {
+            cached = loaded.get(year);
+            if (cached != null) {
+                return cached;
+            }
+            try {
+                ColumnarYearArchive archive = ColumnarYearArchive.readFrom(fileFor(year));
+                LocalDateTime start = LocalDate.of(year, 1, 1).atStartOfDay();
+                List<Long> leftovers = new ArrayList<>();
+                for (CompletedSession session : delegate.findSessionsBetween(start, start.plusYears(1))) {
+                    if (archive.containsId(session.getId())) {
+                        leftovers.add(session.getId());
+                    }
+                }
+                deleteFromDelegate(leftovers);
+                loaded.put(year, archive);
+                return archive;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read archive for " + year, e);
+            }
+        }
+    }
+
+    private void deleteFromDelegate(List<Long> ids) {
+        for (int from = 0; from < ids.size(); from += DELETE_CHUNK) {
+            delegate.deleteSessionsById(ids.subList(from, Math.min(ids.size(), from + DELETE_CHUNK)));
+        }
+    }
+
+    private Path fileFor(int year) {
+        return directory.resolve(String.format("sessions-%04d.col", year));
+    }
+}
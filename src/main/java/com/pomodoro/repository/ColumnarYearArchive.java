@@ -0,0 +1,456 @@
+package com.pomodoro.repository;
+
+import com.pomodoro.model.CompletedSession;
+import com.pomodoro.model.DailyWorkTotal;
+import com.pomodoro.model.SessionType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * The sessions of one closed year in columnar form
+ * Sessions are sorted by start time and stored column by column: start
+ * times as deltas, durations and time offsets as varints, types packed four
+ * to a byte. Per-day work totals are stored ahead of the columns, so daily
+ * aggregates for whole days never decode a session. Times are kept to the
+ * microsecond, the precision of the database columns.
+ */
+final class ColumnarYearArchive {
+
+    private static final int MAGIC = 0x50434131; // "PCA1"
+    private static final int VERSION = 1;
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+    private static final long MICROS_PER_DAY = 86_400L * MICROS_PER_SECOND;
+    private static final SessionType[] TYPES = SessionType.values();
+
+    private final int year;
+
+    // Columns, sorted by start time
+    private final long[] startMicros;
+    private final int[] durations;
+    private final byte[] types;
+    private final long[] endMicros;
+    private final long[] createdMicros;
+    private final long[] ids;
+
+    // Positions sorted by id, for lookups
+    private final long[] sortedIds;
+    private final int[] idPositions;
+
+    // Work totals per day of year
+    private final List<DailyWorkTotal> dailyTotals;
+
+    private ColumnarYearArchive(int year, long[] startMicros, int[] durations, byte[] types,
+                                long[] endMicros, long[] createdMicros, long[] ids,
+                                List<DailyWorkTotal> dailyTotals) {
+        this.year = year;
+        this.startMicros = startMicros;
+        this.durations = durations;
+        this.types = types;
+        this.endMicros = endMicros;
+        this.createdMicros = createdMicros;
+        this.ids = ids;
+        this.dailyTotals = dailyTotals;
+
+        Integer[] order = new Integer[ids.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> ids[i]));
+        this.sortedIds = new long[ids.length];
+        this.idPositions = new int[ids.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedIds[i] = ids[order[i]];
+            idPositions[i] = order[i];
+        }
+    }
+
+    /**
+     * Build an archive from a year's sessions (in any order)
+     */
+    static ColumnarYearArchive of(int year, List<CompletedSession> sessions) {
+        List<CompletedSession> sorted = new ArrayList<>(sessions);
+        sorted.sort(Comparator.comparing(CompletedSession::getStartTime));
+
+        int n = sorted.size();
+        long[] startMicros = new long[n];
+        int[] durations = new int[n];
+        byte[] types = new byte[n];
+        long[] endMicros = new long[n];
+        long[] createdMicros = new long[n];
+        long[] ids = new long[n];
+        for (int i = 0; i < n; i++) {
+            CompletedSession session = sorted.get(i);
+            if (session.getStartTime().getYear() != year) {
+                throw new IllegalArgumentException("Session " + session.getId() + " does not start in " + year);
+            }
+            startMicros[i] = toMicros(session.getStartTime());
+            durations[i] = session.getDurationSeconds();
+            types[i] = (byte) session.getSessionType().ordinal();
+            endMicros[i] = toMicros(session.getEndTime());
+            createdMicros[i] = toMicros(session.getCreatedAt());
+            ids[i] = session.getId();
+        }
+        return new ColumnarYearArchive(year, startMicros, durations, types, endMicros, createdMicros, ids,
+            computeDailyTotals(startMicros, durations, types));
+    }
+
+    int getYear() {
+        return year;
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    /**
+     * Get the sessions starting in [startDate, endDate) (null bounds are open),
+     * optionally of one type, in ascending start order
+     */
+    List<CompletedSession> getSessions(LocalDateTime startDate, LocalDateTime endDate, SessionType sessionType) {
+        List<CompletedSession> sessions = new ArrayList<>();
+        int to = upperIndex(endDate);
+        for (int i = lowerIndex(startDate); i < to; i++) {
+            if (sessionType == null || types[i] == sessionType.ordinal()) {
+                sessions.add(read(i));
+            }
+        }
+        return sessions;
+    }
+
+    /**
+     * Get per-day work totals in [startDate, endDate); whole days come from
+     * the stored aggregates, partial days at the edges from the columns
+     */
+    List<DailyWorkTotal> getDailyTotals(LocalDateTime startDate, LocalDateTime endDate) {
+        if (isMidnight(startDate) && isMidnight(endDate)) {
+            LocalDate first = startDate != null ? startDate.toLocalDate() : LocalDate.MIN;
+            LocalDate end = endDate != null ? endDate.toLocalDate() : LocalDate.MAX;
+            List<DailyWorkTotal> totals = new ArrayList<>();
+            for (DailyWorkTotal total : dailyTotals) {
+                if (!total.getDate().isBefore(first) && total.getDate().isBefore(end)) {
+                    totals.add(total);
+                }
+            }
+            return totals;
+        }
+        int from = lowerIndex(startDate);
+        int to = upperIndex(endDate);
+        return computeDailyTotals(
+            Arrays.copyOfRange(startMicros, from, to),
+            Arrays.copyOfRange(durations, from, to),
+            Arrays.copyOfRange(types, from, to));
+    }
+
+    LocalDateTime getEarliestStartTime() {
+        return startMicros.length > 0 ? fromMicros(startMicros[0]) : null;
+    }
+
+    LocalDateTime getLatestStartTime() {
+        return startMicros.length > 0 ? fromMicros(startMicros[startMicros.length - 1]) : null;
+    }
+
+    CompletedSession findById(long id) {
+        int found = Arrays.binarySearch(sortedIds, id);
+        return found >= 0 ? read(idPositions[found]) : null;
+    }
+
+    boolean containsId(long id) {
+        return Arrays.binarySearch(sortedIds, id) >= 0;
+    }
+
+    /**
+     * Get a copy of this archive without the given sessions
+     */
+    ColumnarYearArchive without(Set<Long> removed) {
+        List<CompletedSession> remaining = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            if (!removed.contains(ids[i])) {
+                remaining.add(read(i));
+            }
+        }
+        return of(year, remaining);
+    }
+
+    /**
+     * Get all sessions of this archive
+     */
+    List<CompletedSession> getSessions() {
+        return getSessions(null, null, null);
+    }
+
+    // Serialisation
+
+    /**
+     * Write the archive to a file atomically (temporary file, fsync, rename)
+     */
+    void writeTo(Path file) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteBuffer header = ByteBuffer.allocate(12);
+        header.putInt(MAGIC).putInt(VERSION).putInt(year);
+        out.writeBytes(header.array());
+        writeVarLong(out, ids.length);
+
+        // Daily aggregates: day of year as delta from the previous day
+        writeVarLong(out, dailyTotals.size());
+        int previousDay = 0;
+        for (DailyWorkTotal total : dailyTotals) {
+            int dayOfYear = total.getDate().getDayOfYear();
+            writeVarLong(out, dayOfYear - previousDay);
+            writeVarLong(out, total.getWorkSeconds());
+            writeVarLong(out, total.getSessionCount());
+            previousDay = dayOfYear;
+        }
+
+        // Columns, each prefixed with its length so readers can skip it
+        ByteArrayOutputStream column = new ByteArrayOutputStream();
+        long previousStart = 0;
+        for (long start : startMicros) {
+            writeVarLong(column, start - previousStart);
+            previousStart = start;
+        }
+        writeColumn(out, column);
+
+        for (int duration : durations) {
+            writeVarLong(column, duration);
+        }
+        writeColumn(out, column);
+
+        for (int i = 0; i < types.length; i += 4) {
+            int packed = 0;
+            for (int j = 0; j < 4 && i + j < types.length; j++) {
+                packed |= types[i + j] << (2 * j);
+            }
+            column.write(packed);
+        }
+        writeColumn(out, column);
+
+        for (int i = 0; i < endMicros.length; i++) {
+            writeVarLong(column, zigZag(endMicros[i] - startMicros[i]));
+        }
+        writeColumn(out, column);
+
+        for (int i = 0; i < createdMicros.length; i++) {
+            writeVarLong(column, zigZag(createdMicros[i] - endMicros[i]));
+        }
+        writeColumn(out, column);
+
+        long previousId = 0;
+        for (long id : ids) {
+            writeVarLong(column, zigZag(id - previousId));
+            previousId = id;
+        }
+        writeColumn(out, column);
+
+        CRC32 crc = new CRC32();
+        byte[] body = out.toByteArray();
+        crc.update(body);
+        ByteBuffer contents = ByteBuffer.allocate(body.length + 8);
+        contents.put(body).putLong(crc.getValue()).flip();
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (contents.hasRemaining()) {
+                channel.write(contents);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static ColumnarYearArchive readFrom(Path file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        if (bytes.length < 20) {
+            throw new IOException("Truncated session archive: " + file);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - 8);
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        if (in.getLong(bytes.length - 8) != crc.getValue() || in.getInt() != MAGIC || in.getInt() != VERSION) {
+            throw new IOException("Corrupt session archive: " + file);
+        }
+        int year = in.getInt();
+        int n = (int) readVarLong(in);
+
+        int days = (int) readVarLong(in);
+        List<DailyWorkTotal> dailyTotals = new ArrayList<>(days);
+        int dayOfYear = 0;
+        for (int d = 0; d < days; d++) {
+            dayOfYear += (int) readVarLong(in);
+            dailyTotals.add(new DailyWorkTotal(LocalDate.ofYearDay(year, dayOfYear), readVarLong(in), readVarLong(in)));
+        }
+
+        long[] startMicros = new long[n];
+        readVarLong(in); // Column length
+        long start = 0;
+        for (int i = 0; i < n; i++) {
+            start += readVarLong(in);
+            startMicros[i] = start;
+        }
+
+        int[] durations = new int[n];
+        readVarLong(in);
+        for (int i = 0; i < n; i++) {
+            durations[i] = (int) readVarLong(in);
+        }
+
+        byte[] types = new byte[n];
+        readVarLong(in);
+        for (int i = 0; i < n; i += 4) {
+            int packed = in.get() & 0xFF;
+            for (int j = 0; j < 4 && i + j < n; j++) {
+                types[i + j] = (byte) ((packed >>> (2 * j)) & 0x3);
+            }
+        }
+
+        long[] endMicros = new long[n];
+        readVarLong(in);
+        for (int i = 0; i < n; i++) {
+            endMicros[i] = startMicros[i] + unZigZag(readVarLong(in));
+        }
+
+        long[] createdMicros = new long[n];
+        readVarLong(in);
+        for (int i = 0; i < n; i++) {
+            createdMicros[i] = endMicros[i] + unZigZag(readVarLong(in));
+        }
+
+        long[] ids = new long[n];
+        readVarLong(in);
+        long id = 0;
+        for (int i = 0; i < n; i++) {
+            id += unZigZag(readVarLong(in));
+            ids[i] = id;
+        }
+
+        return new ColumnarYearArchive(year, startMicros, durations, types, endMicros, createdMicros, ids, dailyTotals);
+    }
+
+    // Private helper methods
+
+    private CompletedSession read(int i) {
+        CompletedSession session = new CompletedSession(
+            TYPES[types[i]], fromMicros(startMicros[i]), fromMicros(endMicros[i]), durations[i]);
+        session.setId(ids[i]);
+        session.setCreatedAt(fromMicros(createdMicros[i]));
+        return session;
+    }
+
+    /**
+     * First position starting at or after the bound (0 when open)
+     */
+    private int lowerIndex(LocalDateTime startDate) {
+        return startDate == null ? 0 : firstAtOrAfter(toMicros(startDate));
+    }
+
+    /**
+     * First position starting at or after the exclusive end (size when open)
+     */
+    private int upperIndex(LocalDateTime endDate) {
+        return endDate == null ? startMicros.length : firstAtOrAfter(toMicros(endDate));
+    }
+
+    private int firstAtOrAfter(long micros) {
+        int lo = 0;
+        int hi = startMicros.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (startMicros[mid] < micros) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static List<DailyWorkTotal> computeDailyTotals(long[] startMicros, int[] durations, byte[] types) {
+        List<DailyWorkTotal> totals = new ArrayList<>();
+        long currentDay = Long.MIN_VALUE;
+        long seconds = 0;
+        long count = 0;
+        for (int i = 0; i < startMicros.length; i++) {
+            if (types[i] != SessionType.WORK.ordinal()) {
+                continue;
+            }
+            long day = Math.floorDiv(startMicros[i], MICROS_PER_DAY);
+            if (day != currentDay) {
+                if (count > 0) {
+                    totals.add(new DailyWorkTotal(LocalDate.ofEpochDay(currentDay), seconds, count));
+                }
+                currentDay = day;
+                seconds = 0;
+                count = 0;
+            }
+            seconds += durations[i];
+            count++;
+        }
+        if (count > 0) {
+            totals.add(new DailyWorkTotal(LocalDate.ofEpochDay(currentDay), seconds, count));
+        }
+        return totals;
+    }
+
+    private static boolean isMidnight(LocalDateTime time) {
+        return time == null || time.toLocalTime().toNanoOfDay() == 0;
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * MICROS_PER_SECOND + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, MICROS_PER_SECOND),
+            (int) Math.floorMod(micros, MICROS_PER_SECOND) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static void writeColumn(ByteArrayOutputStream out, ByteArrayOutputStream column) {
+        writeVarLong(out, column.size());
+        out.writeBytes(column.toByteArray());
+        column.reset();
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
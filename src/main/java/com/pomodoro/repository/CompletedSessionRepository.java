@@ -1,6 +1,7 @@
 package com.pomodoro.repository;
 
 import com.pomodoro.model.CompletedSession;
+import com.pomodoro.model.DailyWorkTotal;
 import com.pomodoro.model.SessionType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -8,13 +9,34 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository for managing completed Pomodoro sessions
+ * The JPA implementation of CompletedSessionStore
  */
 @Repository
-public interface CompletedSessionRepository extends JpaRepository<CompletedSession, Long> {
+public interface CompletedSessionRepository extends JpaRepository<CompletedSession, Long>, CompletedSessionStore {
+    
+    // Declared by both JpaRepository and CompletedSessionStore; implemented by the JPA base repository
+    @Override
+    <S extends CompletedSession> S save(S session);
+    
+    @Override
+    Optional<CompletedSession> findById(Long id);
+    
+    @Override
+    void deleteById(Long id);
+    
+    /**
+     * Delete a batch of sessions with a single statement
+     */
+    @Override
+    default void deleteSessionsById(Collection<Long> ids) {
+        deleteAllByIdInBatch(ids);
+    }
     
     /**
      * Find sessions by session type
@@ -43,6 +65,35 @@ public interface CompletedSessionRepository extends JpaRepository<CompletedSessi
     Long getTotalWorkSecondsInRange(@Param("startDate") LocalDateTime startDate, 
                                    @Param("endDate") LocalDateTime endDate);
     
+    /**
+     * Get per-day work totals for a date range in a single grouped query
+     */
+    @Query("SELECT new com.pomodoro.model.DailyWorkTotal(CAST(s.startTime AS LocalDate), SUM(s.durationSeconds), COUNT(s)) " +
+           "FROM CompletedSession s WHERE s.sessionType = 'WORK' AND s.startTime >= :startDate AND s.startTime < :endDate " +
+           "GROUP BY CAST(s.startTime AS LocalDate) ORDER BY CAST(s.startTime AS LocalDate)")
+    List<DailyWorkTotal> getDailyWorkTotalsInRange(@Param("startDate") LocalDateTime startDate,
+                                                   @Param("endDate") LocalDateTime endDate);
+    
+    /**
+     * Get per-day work totals for the whole history in a single grouped query
+     */
+    @Query("SELECT new com.pomodoro.model.DailyWorkTotal(CAST(s.startTime AS LocalDate), SUM(s.durationSeconds), COUNT(s)) " +
+           "FROM CompletedSession s WHERE s.sessionType = 'WORK' " +
+           "GROUP BY CAST(s.startTime AS LocalDate) ORDER BY CAST(s.startTime AS LocalDate)")
+    List<DailyWorkTotal> getAllDailyWorkTotals();
+
+    /**
+     * Get the start time of the earliest session, or null when there are none
+     */
+    @Query("SELECT MIN(s.startTime) FROM CompletedSession s")
+    LocalDateTime findEarliestStartTime();
+    
+    /**
+     * Get the start time of the latest session, or null when there are none
+     */
+    @Query("SELECT MAX(s.startTime) FROM CompletedSession s")
+    LocalDateTime findLatestStartTime();
+    
     /**
      * Find sessions for a specific date (for daily tracking)
      */
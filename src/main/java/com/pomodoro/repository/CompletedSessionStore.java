@@ -0,0 +1,87 @@
+package com.pomodoro.repository;
+
+import com.pomodoro.model.CompletedSession;
+import com.pomodoro.model.DailyWorkTotal;
+import com.pomodoro.model.SessionType;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage SPI for completed sessions, used by SessionLoggingService
+ * Implemented by the JPA repository (default) and by SegmentLogSessionStore;
+ * the backend is chosen by SessionStoreConfiguration, which may wrap it in
+ * decorators such as ArchivingSessionStore. Ranges are start inclusive,
+ * end exclusive, and all times are UTC.
+ */
+public interface CompletedSessionStore {
+    
+    /**
+     * Store a new session, assigning its id
+     */
+    <S extends CompletedSession> S save(S session);
+    
+    /**
+     * Find a session by id
+     */
+    Optional<CompletedSession> findById(Long id);
+    
+    /**
+     * Delete a session by id; unknown ids are ignored
+     */
+    void deleteById(Long id);
+    
+    /**
+     * Delete a batch of sessions by id; unknown ids are ignored
+     */
+    void deleteSessionsById(Collection<Long> ids);
+    
+    /**
+     * Find sessions starting within a range, most recent first
+     */
+    List<CompletedSession> findSessionsBetween(LocalDateTime startDate, LocalDateTime endDate);
+    
+    /**
+     * Find sessions of one type starting within a range, most recent first
+     */
+    List<CompletedSession> findWorkSessionsBetween(SessionType sessionType, LocalDateTime startDate, LocalDateTime endDate);
+    
+    /**
+     * Get total work seconds for sessions starting within a range (0 when none)
+     */
+    Long getTotalWorkSecondsInRange(LocalDateTime startDate, LocalDateTime endDate);
+    
+    /**
+     * Get per-day work totals for a range, ordered by date
+     */
+    List<DailyWorkTotal> getDailyWorkTotalsInRange(LocalDateTime startDate, LocalDateTime endDate);
+    
+    /**
+     * Get per-day work totals for the whole history, ordered by date
+     */
+    List<DailyWorkTotal> getAllDailyWorkTotals();
+    
+    /**
+     * Get the start time of the earliest session, or null when there are none
+     */
+    LocalDateTime findEarliestStartTime();
+    
+    /**
+     * Get the start time of the latest session, or null when there are none
+     */
+    LocalDateTime findLatestStartTime();
+    
+    /**
+     * Get all sessions ordered by most recent first
+     */
+    List<CompletedSession> findAllByOrderByStartTimeDesc();
+    
+    /**
+     * Get this store, or a store it decorates, as the given type
+     */
+    default <T> Optional<T> unwrap(Class<T> type) {
+        return type.isInstance(this) ? Optional.of(type.cast(this)) : Optional.empty();
+    }
+}
@@ -0,0 +1,240 @@
+package com.pomodoro.repository;
+
+import com.pomodoro.model.DailyWorkTotal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Memory-mapped per-user daily work totals
+ * Every user owns a fixed run of slots, one per day from the first day the
+ * file was created with, each holding the day's work seconds and session
+ * count, so a (user, day) pair maps straight to an offset. The totals live
+ * in the mapped file rather than on the heap and are there again, without
+ * a rebuild, when the file is reopened. Users are mapped lazily in chunks
+ * of at most CHUNK_BYTES, so the file can outgrow a single mapping. A
+ * chunk's mapping only covers the user slots written so far and is remapped
+ * larger as users are added, so the file grows with the users it holds
+ * rather than a whole chunk at a time.
+ */
+public final class DailyActivityStore implements Closeable {
+
+    static final int HEADER_SIZE = 64;
+    static final int SLOT_SIZE = 8;
+    static final long CHUNK_BYTES = 1L << 30;
+
+    private static final int MAGIC = 0x50444131; // "PDA1"
+
+    // Header layout
+    private static final int MAGIC_OFFSET = 0;
+    private static final int FIRST_DAY_OFFSET = 8;
+    private static final int DAYS_OFFSET = 16;
+    private static final int USERS_OFFSET = 20;
+    private static final int POPULATED_OFFSET = 24;
+
+    // Slot layout
+    private static final int SECONDS = 0;
+    private static final int SESSIONS = 4;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final long firstEpochDay;
+    private final int days;
+    private final int usersPerChunk;
+    private MappedByteBuffer[] chunks = new MappedByteBuffer[0];
+    private int[] chunkUsers = new int[0]; // user slots each chunk's mapping covers
+    private int users;
+
+    private DailyActivityStore(FileChannel channel, long firstEpochDay, int days, long chunkBytes) throws IOException {
+        this.channel = channel;
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        this.firstEpochDay = firstEpochDay;
+        this.days = days;
+        this.usersPerChunk = (int) Math.max(1, Math.min(Integer.MAX_VALUE, chunkBytes / ((long) days * SLOT_SIZE)));
+    }
+
+    /**
+     * Open the store, creating an empty one covering the given days if the
+     * file does not exist yet
+     * An existing file must have been created for the same days.
+     */
+    public static DailyActivityStore open(Path file, LocalDate firstDay, int days) throws IOException {
+        return open(file, firstDay, days, CHUNK_BYTES);
+    }
+
+    static DailyActivityStore open(Path file, LocalDate firstDay, int days, long chunkBytes) throws IOException {
+        if (days < 1 || (long) days * SLOT_SIZE > chunkBytes) {
+            throw new IllegalArgumentException("The store must cover at least one day and fit a user in a chunk");
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            boolean created = channel.size() == 0;
+            if (!created) {
+                ByteBuffer existing = ByteBuffer.allocate(HEADER_SIZE);
+                channel.read(existing, 0);
+                if (existing.getInt(MAGIC_OFFSET) != MAGIC) {
+                    throw new IOException("Not a daily activity file: " + file);
+                }
+                if (existing.getLong(FIRST_DAY_OFFSET) != firstDay.toEpochDay() || existing.getInt(DAYS_OFFSET) != days) {
+                    throw new IOException("Daily activity file " + file + " covers " + existing.getInt(DAYS_OFFSET)
+                        + " days from " + LocalDate.ofEpochDay(existing.getLong(FIRST_DAY_OFFSET)));
+                }
+            }
+            DailyActivityStore store = new DailyActivityStore(channel, firstDay.toEpochDay(), days, chunkBytes);
+            if (created) {
+                store.header.putLong(FIRST_DAY_OFFSET, firstDay.toEpochDay());
+                store.header.putInt(DAYS_OFFSET, days);
+                store.header.putInt(USERS_OFFSET, 0);
+                store.header.put(POPULATED_OFFSET, (byte) 0);
+                // Written last, so a file cut short during creation is rejected rather than trusted
+                store.header.putInt(MAGIC_OFFSET, MAGIC);
+            }
+            store.users = store.header.getInt(USERS_OFFSET);
+            return store;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Whether the given day has a slot
+     */
+    public boolean covers(LocalDate date) {
+        long index = date.toEpochDay() - firstEpochDay;
+        return index >= 0 && index < days;
+    }
+
+    /**
+     * Whether the totals have been loaded since the file was created
+     */
+    public synchronized boolean isPopulated() {
+        return header.get(POPULATED_OFFSET) != 0;
+    }
+
+    /**
+     * Record that the totals have been loaded, flushing them first so the
+     * flag is never on disk ahead of them
+     */
+    public synchronized void markPopulated() {
+        force();
+        header.put(POPULATED_OFFSET, (byte) 1);
+        header.force();
+    }
+
+    /**
+     * Add (or with negative values, remove) work for a user's day
+     */
+    public synchronized void add(int user, LocalDate date, long seconds, long sessions) {
+        int offset = slotOffset(user, date);
+        MappedByteBuffer chunk = chunk(user, true);
+        chunk.putInt(offset + SECONDS, (int) Math.max(0, chunk.getInt(offset + SECONDS) + seconds));
+        chunk.putInt(offset + SESSIONS, (int) Math.max(0, chunk.getInt(offset + SESSIONS) + sessions));
+    }
+
+    /**
+     * Get a user's totals for the inclusive date range, one per day with work,
+     * oldest first; days outside the store are left out
+     */
+    public synchronized List<DailyWorkTotal> getDailyTotals(int user, LocalDate startDate, LocalDate endDate) {
+        List<DailyWorkTotal> totals = new ArrayList<>();
+        MappedByteBuffer chunk = chunk(user, false);
+        if (chunk == null) {
+            return totals;
+        }
+        long from = Math.max(startDate.toEpochDay(), firstEpochDay);
+        long to = Math.min(endDate.toEpochDay(), firstEpochDay + days - 1);
+        for (long epochDay = from; epochDay <= to; epochDay++) {
+            int offset = slotOffset(user, (int) (epochDay - firstEpochDay));
+            int seconds = chunk.getInt(offset + SECONDS);
+            int sessions = chunk.getInt(offset + SESSIONS);
+            if (seconds != 0 || sessions != 0) {
+                totals.add(new DailyWorkTotal(LocalDate.ofEpochDay(epochDay), (long) seconds, (long) sessions));
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Write the mapped totals through to the file
+     */
+    public synchronized void force() {
+        for (MappedByteBuffer chunk : chunks) {
+            if (chunk != null) {
+                chunk.force();
+            }
+        }
+        header.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        force();
+        chunks = new MappedByteBuffer[0];
+        chunkUsers = new int[0];
+        channel.close();
+    }
+
+    // Private helper methods
+
+    private int slotOffset(int user, LocalDate date) {
+        if (user < 0) {
+            throw new IllegalArgumentException("User index cannot be negative");
+        }
+        if (!covers(date)) {
+            throw new IllegalArgumentException("No slot for " + date + " in the daily activity store");
+        }
+        return slotOffset(user, (int) (date.toEpochDay() - firstEpochDay));
+    }
+
+    private int slotOffset(int user, int dayIndex) {
+        return ((user % usersPerChunk) * days + dayIndex) * SLOT_SIZE;
+    }
+
+    /**
+     * Get the mapped chunk holding a user's slots, mapping it on first use and
+     * remapping it when the user lies beyond the slots it covers (a READ_WRITE
+     * mapping extends the file to its end); a user that has never been written
+     * reads as empty (null) unless create
+     */
+    private MappedByteBuffer chunk(int user, boolean create) {
+        if (user >= users && !create) {
+            return null;
+        }
+        int index = user / usersPerChunk;
+        if (index >= chunks.length) {
+            chunks = Arrays.copyOf(chunks, index + 1);
+            chunkUsers = Arrays.copyOf(chunkUsers, index + 1);
+        }
+        int slotsNeeded = user % usersPerChunk + 1;
+        if (chunkUsers[index] < slotsNeeded) {
+            long userBytes = (long) days * SLOT_SIZE;
+            long position = HEADER_SIZE + index * usersPerChunk * userBytes;
+            try {
+                chunks[index] = channel.map(FileChannel.MapMode.READ_WRITE, position, slotsNeeded * userBytes);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to map daily activity for user " + user, e);
+            }
+            chunkUsers[index] = slotsNeeded;
+        }
+        if (user >= users) {
+            users = user + 1;
+            header.putInt(USERS_OFFSET, users);
+        }
+        return chunks[index];
+    }
+}
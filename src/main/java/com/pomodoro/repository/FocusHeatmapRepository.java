@@ -0,0 +1,12 @@
+package com.pomodoro.repository;
+
+import com.pomodoro.model.FocusHeatmap;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for per-year weekday/hour focus counters
+ */
+@Repository
+public interface FocusHeatmapRepository extends JpaRepository<FocusHeatmap, Integer> {
+}
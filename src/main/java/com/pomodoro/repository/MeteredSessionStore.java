@@ -0,0 +1,133 @@
+package com.pomodoro.repository;
+
+import com.pomodoro.model.CompletedSession;
+import com.pomodoro.model.DailyWorkTotal;
+import com.pomodoro.model.SessionType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Session store that times every call as pomodoro.session.store
+ * Each call is tagged with its operation, and calls are also counted per
+ * thread so a caller can tell how many store round trips one piece of work
+ * took (see callsOnCurrentThread).
+ */
+public class MeteredSessionStore implements CompletedSessionStore, Closeable {
+
+    private static final ThreadLocal<long[]> CALLS = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final CompletedSessionStore delegate;
+    private final MeterRegistry meterRegistry;
+
+    public MeteredSessionStore(CompletedSessionStore delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Get the number of store calls made so far on the current thread;
+     * take the difference of two readings to count the calls in between
+     */
+    public static long callsOnCurrentThread() {
+        return CALLS.get()[0];
+    }
+
+    @Override
+    public <S extends CompletedSession> S save(S session) {
+        return timed("save", () -> delegate.save(session));
+    }
+
+    @Override
+    public Optional<CompletedSession> findById(Long id) {
+        return timed("findById", () -> delegate.findById(id));
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        timed("deleteById", () -> {
+            delegate.deleteById(id);
+            return null;
+        });
+    }
+
+    @Override
+    public void deleteSessionsById(Collection<Long> ids) {
+        timed("deleteSessionsById", () -> {
+            delegate.deleteSessionsById(ids);
+            return null;
+        });
+    }
+
+    @Override
+    public List<CompletedSession> findSessionsBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        return timed("findSessionsBetween", () -> delegate.findSessionsBetween(startDate, endDate));
+    }
+
+    @Override
+    public List<CompletedSession> findWorkSessionsBetween(SessionType sessionType,
+                                                          LocalDateTime startDate,
+                                                          LocalDateTime endDate) {
+        return timed("findWorkSessionsBetween", () -> delegate.findWorkSessionsBetween(sessionType, startDate, endDate));
+    }
+
+    @Override
+    public Long getTotalWorkSecondsInRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return timed("getTotalWorkSecondsInRange", () -> delegate.getTotalWorkSecondsInRange(startDate, endDate));
+    }
+
+    @Override
+    public List<DailyWorkTotal> getDailyWorkTotalsInRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return timed("getDailyWorkTotalsInRange", () -> delegate.getDailyWorkTotalsInRange(startDate, endDate));
+    }
+
+    @Override
+    public List<DailyWorkTotal> getAllDailyWorkTotals() {
+        return timed("getAllDailyWorkTotals", delegate::getAllDailyWorkTotals);
+    }
+
+    @Override
+    public LocalDateTime findEarliestStartTime() {
+        return timed("findEarliestStartTime", delegate::findEarliestStartTime);
+    }
+
+    @Override
+    public LocalDateTime findLatestStartTime() {
+        return timed("findLatestStartTime", delegate::findLatestStartTime);
+    }
+
+    @Override
+    public List<CompletedSession> findAllByOrderByStartTimeDesc() {
+        return timed("findAllByOrderByStartTimeDesc", delegate::findAllByOrderByStartTimeDesc);
+    }
+
+    @Override
+    public <T> Optional<T> unwrap(Class<T> type) {
+        return type.isInstance(this) ? Optional.of(type.cast(this)) : delegate.unwrap(type);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (delegate instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    // Private helper methods
+
+    private <T> T timed(String operation, Supplier<T> call) {
+        CALLS.get()[0]++;
+        return Timer.builder("pomodoro.session.store")
+            .description("Session store calls")
+            .tag("operation", operation)
+            .register(meterRegistry)
+            .record(call);
+    }
+}
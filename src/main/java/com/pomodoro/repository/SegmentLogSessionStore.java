@@ -0,0 +1,345 @@
+package com.pomodoro.repository;
+
+import com.pomodoro.model.CompletedSession;
+import com.pomodoro.model.DailyWorkTotal;
+import com.pomodoro.model.SessionType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Append-only session store backed by memory-mapped segment files
+ * Sessions are written as fixed-width records to the newest segment and a
+ * new segment is started when it fills. Ids are assigned in append order,
+ * so lookups by id are binary searches; range queries use each segment's
+ * sparse time index to skip blocks and read the rest sequentially from
+ * mapped memory. Deletes tombstone the record in place.
+ */
+public class SegmentLogSessionStore implements CompletedSessionStore, Closeable {
+
+    static final int DEFAULT_SEGMENT_RECORDS = 1 << 16;
+
+    private static final String SEGMENT_PREFIX = "sessions-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final int SECONDS_PER_DAY = 86_400;
+
+    private final Path directory;
+    private final int segmentRecords;
+    private final List<SessionLogSegment> segments = new ArrayList<>();
+    private long nextId = 1;
+
+    public SegmentLogSessionStore(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_RECORDS);
+    }
+
+    SegmentLogSessionStore(Path directory, int segmentRecords) throws IOException {
+        if (segmentRecords <= 0
+                || segmentRecords > (Integer.MAX_VALUE - SessionLogSegment.HEADER_SIZE) / SessionLogSegment.RECORD_SIZE) {
+            throw new IllegalArgumentException("Invalid records per segment: " + segmentRecords);
+        }
+        this.directory = directory;
+        this.segmentRecords = segmentRecords;
+
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing
+                .filter(path -> isSegmentFile(path.getFileName().toString()))
+                .sorted()
+                .toList();
+        }
+        for (Path file : files) {
+            segments.add(SessionLogSegment.open(file, indexFileFor(file)));
+        }
+
+        SessionLogSegment last = lastNonEmptySegment();
+        if (last != null) {
+            nextId = last.idAt(last.count() - 1) + 1;
+        }
+    }
+
+    @Override
+    public synchronized <S extends CompletedSession> S save(S session) {
+        if (session.getId() != null) {
+            throw new IllegalArgumentException("Sessions in the segment log cannot be updated: " + session.getId());
+        }
+        if (session.getSessionType() == null || session.getStartTime() == null
+                || session.getEndTime() == null || session.getCreatedAt() == null) {
+            throw new IllegalArgumentException("Session type, start, end and creation times are required");
+        }
+
+        try {
+            SessionLogSegment segment = activeSegment();
+            session.setId(nextId);
+            segment.append(session);
+            nextId++;
+            if (segment.isFull()) {
+                segment.seal();
+            }
+        } catch (IOException e) {
+            session.setId(null);
+            throw new UncheckedIOException("Failed to append session", e);
+        }
+        return session;
+    }
+
+    @Override
+    public synchronized Optional<CompletedSession> findById(Long id) {
+        return locate(id).map(location -> location.segment().read(location.index()));
+    }
+
+    @Override
+    public synchronized void deleteById(Long id) {
+        locate(id).ifPresent(location -> location.segment().markDeleted(location.index()));
+    }
+
+    @Override
+    public synchronized void deleteSessionsById(Collection<Long> ids) {
+        for (Long id : ids) {
+            deleteById(id);
+        }
+    }
+
+    @Override
+    public synchronized List<CompletedSession> findSessionsBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        return collect(startDate, endDate, null);
+    }
+
+    @Override
+    public synchronized List<CompletedSession> findWorkSessionsBetween(SessionType sessionType,
+                                                                       LocalDateTime startDate,
+                                                                       LocalDateTime endDate) {
+        return collect(startDate, endDate, sessionType);
+    }
+
+    @Override
+    public synchronized Long getTotalWorkSecondsInRange(LocalDateTime startDate, LocalDateTime endDate) {
+        long[] total = new long[1];
+        scan(startDate, endDate, (segment, index) -> {
+            if (segment.typeAt(index) == SessionType.WORK) {
+                total[0] += segment.durationAt(index);
+            }
+        });
+        return total[0];
+    }
+
+    @Override
+    public synchronized List<DailyWorkTotal> getDailyWorkTotalsInRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return dailyWorkTotals(startDate, endDate);
+    }
+
+    @Override
+    public synchronized List<DailyWorkTotal> getAllDailyWorkTotals() {
+        return dailyWorkTotals(null, null);
+    }
+
+    @Override
+    public synchronized LocalDateTime findEarliestStartTime() {
+        // Sentinels compare later than any stored start time
+        long bestSeconds = Long.MAX_VALUE;
+        int bestNanos = Integer.MAX_VALUE;
+        for (SessionLogSegment segment : segments) {
+            for (int block = 0; block < segment.blockCount(); block++) {
+                if (segment.blockMin(block) > bestSeconds) {
+                    continue;
+                }
+                for (int i = blockStart(block); i < blockEnd(segment, block); i++) {
+                    if (!segment.isDeleted(i) && compare(segment, i, bestSeconds, bestNanos) < 0) {
+                        bestSeconds = segment.startSecondsAt(i);
+                        bestNanos = segment.startNanosAt(i);
+                    }
+                }
+            }
+        }
+        return bestSeconds != Long.MAX_VALUE ? LocalDateTime.ofEpochSecond(bestSeconds, bestNanos, ZoneOffset.UTC) : null;
+    }
+
+    @Override
+    public synchronized LocalDateTime findLatestStartTime() {
+        // Sentinels compare earlier than any stored start time
+        long bestSeconds = Long.MIN_VALUE;
+        int bestNanos = -1;
+        for (SessionLogSegment segment : segments) {
+            for (int block = 0; block < segment.blockCount(); block++) {
+                if (segment.blockMax(block) < bestSeconds) {
+                    continue;
+                }
+                for (int i = blockStart(block); i < blockEnd(segment, block); i++) {
+                    if (!segment.isDeleted(i) && compare(segment, i, bestSeconds, bestNanos) > 0) {
+                        bestSeconds = segment.startSecondsAt(i);
+                        bestNanos = segment.startNanosAt(i);
+                    }
+                }
+            }
+        }
+        return bestSeconds != Long.MIN_VALUE ? LocalDateTime.ofEpochSecond(bestSeconds, bestNanos, ZoneOffset.UTC) : null;
+    }
+
+    @Override
+    public synchronized List<CompletedSession> findAllByOrderByStartTimeDesc() {
+        return collect(null, null, null);
+    }
+
+    /**
+     * Flush and close all segments
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        for (SessionLogSegment segment : segments) {
+            segment.close();
+        }
+        segments.clear();
+    }
+
+    // Private helper methods
+
+    private interface RecordVisitor {
+        void visit(SessionLogSegment segment, int index);
+    }
+
+    private record Location(SessionLogSegment segment, int index) {}
+
+    /**
+     * Visit every live record starting in [startDate, endDate), skipping
+     * blocks whose time index shows they cannot match; null bounds are open
+     */
+    private void scan(LocalDateTime startDate, LocalDateTime endDate, RecordVisitor visitor) {
+        long fromSeconds = startDate != null ? startDate.toEpochSecond(ZoneOffset.UTC) : Long.MIN_VALUE;
+        int fromNanos = startDate != null ? startDate.getNano() : 0;
+        long toSeconds = endDate != null ? endDate.toEpochSecond(ZoneOffset.UTC) : Long.MAX_VALUE;
+        int toNanos = endDate != null ? endDate.getNano() : 0;
+
+        for (SessionLogSegment segment : segments) {
+            for (int block = 0; block < segment.blockCount(); block++) {
+                if (segment.blockMax(block) < fromSeconds || segment.blockMin(block) > toSeconds) {
+                    continue;
+                }
+                for (int i = blockStart(block); i < blockEnd(segment, block); i++) {
+                    if (!segment.isDeleted(i)
+                            && compare(segment, i, fromSeconds, fromNanos) >= 0
+                            && (endDate == null || compare(segment, i, toSeconds, toNanos) < 0)) {
+                        visitor.visit(segment, i);
+                    }
+                }
+            }
+        }
+    }
+
+    private List<CompletedSession> collect(LocalDateTime startDate, LocalDateTime endDate, SessionType sessionType) {
+        List<CompletedSession> sessions = new ArrayList<>();
+        scan(startDate, endDate, (segment, index) -> {
+            if (sessionType == null || segment.typeAt(index) == sessionType) {
+                sessions.add(segment.read(index));
+            }
+        });
+        sessions.sort(Comparator.comparing(CompletedSession::getStartTime).reversed());
+        return sessions;
+    }
+
+    private List<DailyWorkTotal> dailyWorkTotals(LocalDateTime startDate, LocalDateTime endDate) {
+        Map<Long, long[]> byDay = new TreeMap<>();
+        scan(startDate, endDate, (segment, index) -> {
+            if (segment.typeAt(index) == SessionType.WORK) {
+                long epochDay = Math.floorDiv(segment.startSecondsAt(index), SECONDS_PER_DAY);
+                long[] totals = byDay.computeIfAbsent(epochDay, day -> new long[2]);
+                totals[0] += segment.durationAt(index);
+                totals[1]++;
+            }
+        });
+
+        List<DailyWorkTotal> result = new ArrayList<>(byDay.size());
+        byDay.forEach((epochDay, totals) ->
+            result.add(new DailyWorkTotal(LocalDate.ofEpochDay(epochDay), totals[0], totals[1])));
+        return result;
+    }
+
+    /**
+     * Find a live record by id: segments are searched by their first id,
+     * then the record within the segment
+     */
+    private Optional<Location> locate(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        int lo = 0;
+        int hi = segments.size() - 1;
+        int candidate = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            SessionLogSegment segment = segments.get(mid);
+            if (segment.count() > 0 && segment.idAt(0) <= id) {
+                candidate = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        if (candidate < 0) {
+            return Optional.empty();
+        }
+
+        SessionLogSegment segment = segments.get(candidate);
+        int index = segment.indexOfId(id);
+        if (index < 0 || segment.isDeleted(index)) {
+            return Optional.empty();
+        }
+        return Optional.of(new Location(segment, index));
+    }
+
+    private SessionLogSegment activeSegment() throws IOException {
+        SessionLogSegment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (last != null && !last.isFull()) {
+            return last;
+        }
+        Path file = directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, segments.size(), SEGMENT_SUFFIX));
+        SessionLogSegment segment = SessionLogSegment.create(file, indexFileFor(file), segmentRecords);
+        segments.add(segment);
+        return segment;
+    }
+
+    private SessionLogSegment lastNonEmptySegment() {
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            if (segments.get(i).count() > 0) {
+                return segments.get(i);
+            }
+        }
+        return null;
+    }
+
+    private static int compare(SessionLogSegment segment, int index, long seconds, int nanos) {
+        int bySeconds = Long.compare(segment.startSecondsAt(index), seconds);
+        return bySeconds != 0 ? bySeconds : Integer.compare(segment.startNanosAt(index), nanos);
+    }
+
+    private static int blockStart(int block) {
+        return block * SessionLogSegment.BLOCK_RECORDS;
+    }
+
+    private static int blockEnd(SessionLogSegment segment, int block) {
+        return Math.min(segment.count(), blockStart(block) + SessionLogSegment.BLOCK_RECORDS);
+    }
+
+    private static boolean isSegmentFile(String name) {
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static Path indexFileFor(Path segmentFile) {
+        String name = segmentFile.getFileName().toString();
+        return segmentFile.resolveSibling(name.substring(0, name.length() - SEGMENT_SUFFIX.length()) + INDEX_SUFFIX);
+    }
+}
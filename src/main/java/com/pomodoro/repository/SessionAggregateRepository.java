@@ -0,0 +1,70 @@
+package com.pomodoro.repository;
+
+import com.pomodoro.model.DailyWorkTotal;
+import com.pomodoro.model.SessionAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for hourly per-type totals of compacted sessions
+ */
+@Repository
+public interface SessionAggregateRepository extends JpaRepository<SessionAggregate, Long> {
+    
+    /**
+     * Find the aggregates for hours starting within a range
+     */
+    @Query("SELECT a FROM SessionAggregate a WHERE a.hourStart >= :startDate AND a.hourStart < :endDate")
+    List<SessionAggregate> findHoursBetween(@Param("startDate") LocalDateTime startDate,
+                                            @Param("endDate") LocalDateTime endDate);
+    
+    /**
+     * Get per-type totals for hours starting within a range, as rows of
+     * (sessionType, sessionCount, totalSeconds)
+     */
+    @Query("SELECT a.sessionType, SUM(a.sessionCount), SUM(a.totalSeconds) FROM SessionAggregate a " +
+           "WHERE a.hourStart >= :startDate AND a.hourStart < :endDate GROUP BY a.sessionType")
+    List<Object[]> getTypeTotalsInRange(@Param("startDate") LocalDateTime startDate,
+                                        @Param("endDate") LocalDateTime endDate);
+    
+    /**
+     * Get total work seconds for hours starting within a range (0 when none)
+     */
+    @Query("SELECT COALESCE(SUM(a.totalSeconds), 0) FROM SessionAggregate a WHERE a.sessionType = 'WORK' AND a.hourStart >= :startDate AND a.hourStart < :endDate")
+    Long getTotalWorkSecondsInRange(@Param("startDate") LocalDateTime startDate,
+                                    @Param("endDate") LocalDateTime endDate);
+    
+    /**
+     * Get per-day work totals for a range in a single grouped query
+     */
+    @Query("SELECT new com.pomodoro.model.DailyWorkTotal(CAST(a.hourStart AS LocalDate), SUM(a.totalSeconds), SUM(a.sessionCount)) " +
+           "FROM SessionAggregate a WHERE a.sessionType = 'WORK' AND a.hourStart >= :startDate AND a.hourStart < :endDate " +
+           "GROUP BY CAST(a.hourStart AS LocalDate) ORDER BY CAST(a.hourStart AS LocalDate)")
+    List<DailyWorkTotal> getDailyWorkTotalsInRange(@Param("startDate") LocalDateTime startDate,
+                                                   @Param("endDate") LocalDateTime endDate);
+    
+    /**
+     * Get per-day work totals for all compacted history in a single grouped query
+     */
+    @Query("SELECT new com.pomodoro.model.DailyWorkTotal(CAST(a.hourStart AS LocalDate), SUM(a.totalSeconds), SUM(a.sessionCount)) " +
+           "FROM SessionAggregate a WHERE a.sessionType = 'WORK' " +
+           "GROUP BY CAST(a.hourStart AS LocalDate) ORDER BY CAST(a.hourStart AS LocalDate)")
+    List<DailyWorkTotal> getAllDailyWorkTotals();
+    
+    /**
+     * Get the earliest compacted hour, or null when nothing was compacted
+     */
+    @Query("SELECT MIN(a.hourStart) FROM SessionAggregate a")
+    LocalDateTime findEarliestHourStart();
+    
+    /**
+     * Get the latest compacted hour, or null when nothing was compacted
+     */
+    @Query("SELECT MAX(a.hourStart) FROM SessionAggregate a")
+    LocalDateTime findLatestHourStart();
+}
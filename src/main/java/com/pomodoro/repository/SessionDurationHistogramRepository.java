@@ -0,0 +1,19 @@
+package com.pomodoro.repository;
+
+import com.pomodoro.model.SessionDurationHistogram;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for per-month session duration histograms
+ */
+@Repository
+public interface SessionDurationHistogramRepository extends JpaRepository<SessionDurationHistogram, Long> {
+    
+    /**
+     * Find all histograms (every month and session type) for a year
+     */
+    List<SessionDurationHistogram> findByYear(int year);
+}
@@ -0,0 +1,286 @@
+package com.pomodoro.repository;
+
+import com.pomodoro.model.CompletedSession;
+import com.pomodoro.model.SessionType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * One memory-mapped segment of the session log
+ * A fixed-size file holding a small header followed by fixed-width records
+ * in append order, so ids increase with position. Alongside it a sparse time
+ * index keeps the minimum and maximum start second of every block of records;
+ * it is written to a sidecar file when the segment is sealed and rebuilt
+ * from the records when an unsealed segment is reopened.
+ */
+final class SessionLogSegment {
+
+    static final int HEADER_SIZE = 64;
+    static final int RECORD_SIZE = 64;
+    static final int BLOCK_RECORDS = 256;
+
+    private static final int MAGIC = 0x50534C31; // "PSL1"
+    private static final byte DELETED = 1;
+
+    // Header layout
+    private static final int MAGIC_OFFSET = 0;
+    private static final int CAPACITY_OFFSET = 4;
+    private static final int COUNT_OFFSET = 8;
+
+    // Record layout
+    private static final int ID = 0;
+    private static final int START_SECONDS = 8;
+    private static final int START_NANOS = 16;
+    private static final int END_SECONDS = 20;
+    private static final int END_NANOS = 28;
+    private static final int DURATION = 32;
+    private static final int CREATED_SECONDS = 36;
+    private static final int CREATED_NANOS = 44;
+    private static final int TYPE = 48;
+    private static final int FLAGS = 49;
+
+    private static final SessionType[] TYPES = SessionType.values();
+
+    private final Path indexFile;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private int count;
+
+    // Sparse time index, one entry per BLOCK_RECORDS records
+    private final long[] blockMin;
+    private final long[] blockMax;
+
+    private SessionLogSegment(Path indexFile, FileChannel channel, int capacity) throws IOException {
+        this.indexFile = indexFile;
+        this.channel = channel;
+        this.capacity = capacity;
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * RECORD_SIZE);
+        int blocks = (capacity + BLOCK_RECORDS - 1) / BLOCK_RECORDS;
+        this.blockMin = new long[blocks];
+        this.blockMax = new long[blocks];
+    }
+
+    /**
+     * Create an empty segment with room for the given number of records
+     */
+    static SessionLogSegment create(Path file, Path indexFile, int capacity) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        SessionLogSegment segment = new SessionLogSegment(indexFile, channel, capacity);
+        segment.buffer.putInt(MAGIC_OFFSET, MAGIC);
+        segment.buffer.putInt(CAPACITY_OFFSET, capacity);
+        segment.buffer.putInt(COUNT_OFFSET, 0);
+        return segment;
+    }
+
+    /**
+     * Open an existing segment, loading its time index from the sidecar file
+     * when it was sealed and rebuilding it from the records otherwise
+     */
+    static SessionLogSegment open(Path file, Path indexFile) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        channel.read(header, 0);
+        if (header.getInt(MAGIC_OFFSET) != MAGIC) {
+            channel.close();
+            throw new IOException("Not a session log segment: " + file);
+        }
+
+        SessionLogSegment segment = new SessionLogSegment(indexFile, channel, header.getInt(CAPACITY_OFFSET));
+        segment.count = Math.min(header.getInt(COUNT_OFFSET), segment.capacity);
+        if (!(segment.isFull() && segment.loadIndex())) {
+            segment.rebuildIndex();
+        }
+        return segment;
+    }
+
+    int count() {
+        return count;
+    }
+
+    boolean isFull() {
+        return count == capacity;
+    }
+
+    /**
+     * Append a session that already has its id; the record is written
+     * before the count is published, so a crash never exposes a torn record
+     */
+    void append(CompletedSession session) {
+        int offset = offset(count);
+        buffer.putLong(offset + ID, session.getId());
+        putTime(offset + START_SECONDS, offset + START_NANOS, session.getStartTime());
+        putTime(offset + END_SECONDS, offset + END_NANOS, session.getEndTime());
+        buffer.putInt(offset + DURATION, session.getDurationSeconds());
+        putTime(offset + CREATED_SECONDS, offset + CREATED_NANOS, session.getCreatedAt());
+        buffer.put(offset + TYPE, (byte) session.getSessionType().ordinal());
+        buffer.put(offset + FLAGS, (byte) 0);
+
+        indexRecord(count);
+        count++;
+        buffer.putInt(COUNT_OFFSET, count);
+    }
+
+    CompletedSession read(int index) {
+        int offset = offset(index);
+        CompletedSession session = new CompletedSession(
+            typeAt(index),
+            getTime(offset + START_SECONDS, offset + START_NANOS),
+            getTime(offset + END_SECONDS, offset + END_NANOS),
+            durationAt(index)
+        );
+        session.setId(idAt(index));
+        session.setCreatedAt(getTime(offset + CREATED_SECONDS, offset + CREATED_NANOS));
+        return session;
+    }
+
+    long idAt(int index) {
+        return buffer.getLong(offset(index) + ID);
+    }
+
+    long startSecondsAt(int index) {
+        return buffer.getLong(offset(index) + START_SECONDS);
+    }
+
+    int startNanosAt(int index) {
+        return buffer.getInt(offset(index) + START_NANOS);
+    }
+
+    int durationAt(int index) {
+        return buffer.getInt(offset(index) + DURATION);
+    }
+
+    SessionType typeAt(int index) {
+        return TYPES[buffer.get(offset(index) + TYPE)];
+    }
+
+    boolean isDeleted(int index) {
+        return buffer.get(offset(index) + FLAGS) == DELETED;
+    }
+
+    /**
+     * Tombstone a record in place; records are otherwise never rewritten
+     */
+    void markDeleted(int index) {
+        buffer.put(offset(index) + FLAGS, DELETED);
+    }
+
+    /**
+     * Find the position of an id by binary search, or -1
+     */
+    int indexOfId(long id) {
+        int lo = 0;
+        int hi = count - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            long midId = idAt(mid);
+            if (midId < id) {
+                lo = mid + 1;
+            } else if (midId > id) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    int blockCount() {
+        return (count + BLOCK_RECORDS - 1) / BLOCK_RECORDS;
+    }
+
+    long blockMin(int block) {
+        return blockMin[block];
+    }
+
+    long blockMax(int block) {
+        return blockMax[block];
+    }
+
+    /**
+     * Persist the time index and flush the records once the segment is full
+     */
+    void seal() throws IOException {
+        ByteBuffer index = ByteBuffer.allocate(4 + blockCount() * 16);
+        index.putInt(blockCount());
+        for (int block = 0; block < blockCount(); block++) {
+            index.putLong(blockMin[block]);
+            index.putLong(blockMax[block]);
+        }
+        index.flip();
+
+        Path temp = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (index.hasRemaining()) {
+                out.write(index);
+            }
+            out.force(true);
+        }
+        Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        buffer.force();
+    }
+
+    void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    // Private helper methods
+
+    private boolean loadIndex() throws IOException {
+        if (!Files.exists(indexFile)) {
+            return false;
+        }
+        ByteBuffer index = ByteBuffer.wrap(Files.readAllBytes(indexFile));
+        if (index.remaining() < 4 || index.getInt() != blockCount() || index.remaining() != blockCount() * 16) {
+            return false;
+        }
+        for (int block = 0; block < blockCount(); block++) {
+            blockMin[block] = index.getLong();
+            blockMax[block] = index.getLong();
+        }
+        return true;
+    }
+
+    private void rebuildIndex() {
+        for (int i = 0; i < count; i++) {
+            indexRecord(i);
+        }
+    }
+
+    private void indexRecord(int index) {
+        int block = index / BLOCK_RECORDS;
+        long start = startSecondsAt(index);
+        if (index % BLOCK_RECORDS == 0) {
+            blockMin[block] = start;
+            blockMax[block] = start;
+        } else {
+            blockMin[block] = Math.min(blockMin[block], start);
+            blockMax[block] = Math.max(blockMax[block], start);
+        }
+    }
+
+    private static int offset(int index) {
+        return HEADER_SIZE + index * RECORD_SIZE;
+    }
+
+    private void putTime(int secondsOffset, int nanosOffset, LocalDateTime time) {
+        buffer.putLong(secondsOffset, time.toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(nanosOffset, time.getNano());
+    }
+
+    private LocalDateTime getTime(int secondsOffset, int nanosOffset) {
+        return LocalDateTime.ofEpochSecond(buffer.getLong(secondsOffset), buffer.getInt(nanosOffset), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,12 @@
+package com.pomodoro.repository;
+
+import com.pomodoro.model.TimerSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for persisted timer state
+ */
+@Repository
+public interface TimerSnapshotRepository extends JpaRepository<TimerSnapshot, String> {
+}
@@ -0,0 +1,113 @@
+package com.pomodoro.service;
+
+import com.pomodoro.model.CompletedSession;
+import com.pomodoro.model.DailyWorkTotal;
+import com.pomodoro.model.SessionType;
+import com.pomodoro.repository.DailyActivityStore;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Service that keeps daily work totals in a memory-mapped DailyActivityStore
+ * for chart generation
+ * The file is filled from the grouped per-day totals once, when it is
+ * created, and then follows logged and deleted sessions; on restart it is
+ * mapped as it is. Charts for years it covers are built from it without
+ * touching the database. It only reflects sessions written through
+ * SessionLoggingService, and must be deleted if the session store is reset,
+ * so it is meant for a persistent session store. This application has a
+ * single user, stored in slot DEFAULT_USER.
+ */
+@Service
+@ConditionalOnProperty(name = "pomodoro.activity-store.enabled", havingValue = "true")
+public class DailyActivityService {
+
+    static final int DEFAULT_USER = 0;
+
+    private final SessionLoggingService sessionLoggingService;
+    private final DailyActivityStore store;
+
+    @Autowired
+    public DailyActivityService(SessionLoggingService sessionLoggingService,
+                                @Value("${pomodoro.activity-store.file:./data/daily-activity.bin}") String file,
+                                @Value("${pomodoro.activity-store.first-year:2000}") int firstYear,
+                                @Value("${pomodoro.activity-store.years:100}") int years) throws IOException {
+        this(sessionLoggingService, DailyActivityStore.open(Path.of(file), LocalDate.of(firstYear, 1, 1),
+            (int) ChronoUnit.DAYS.between(LocalDate.of(firstYear, 1, 1), LocalDate.of(firstYear + years, 1, 1))));
+    }
+
+    DailyActivityService(SessionLoggingService sessionLoggingService, DailyActivityStore store) {
+        this.sessionLoggingService = sessionLoggingService;
+        this.store = store;
+        if (!store.isPopulated()) {
+            populate();
+        }
+    }
+
+    /**
+     * Whether every day of the year has a slot in the store
+     */
+    public boolean covers(int year) {
+        return store.covers(LocalDate.of(year, 1, 1)) && store.covers(LocalDate.of(year, 12, 31));
+    }
+
+    /**
+     * Get the totals for the inclusive date range, one per day with work, oldest first
+     */
+    public List<DailyWorkTotal> getDailyTotals(LocalDate startDate, LocalDate endDate) {
+        return store.getDailyTotals(DEFAULT_USER, startDate, endDate);
+    }
+
+    @EventListener
+    public void onSessionLogged(SessionLoggedEvent event) {
+        record(event.getSession(), 1);
+    }
+
+    @EventListener
+    public void onSessionDeleted(SessionDeletedEvent event) {
+        record(event.getSession(), -1);
+    }
+
+    /**
+     * Write the totals through to the file and unmap it
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        store.close();
+    }
+
+    // Private helper methods
+
+    /**
+     * Load every day from the grouped per-day totals; runs during startup,
+     * before any session can be logged through this service
+     */
+    private void populate() {
+        for (DailyWorkTotal total : sessionLoggingService.getAllDailyWorkTotals()) {
+            if (store.covers(total.getDate())) {
+                store.add(DEFAULT_USER, total.getDate(), total.getWorkSeconds(), total.getSessionCount());
+            }
+        }
+        store.markPopulated();
+    }
+
+    private void record(CompletedSession session, int sign) {
+        if (session.getSessionType() != SessionType.WORK || session.getStartTime() == null) {
+            return;
+        }
+        LocalDate date = session.getStartTime().toLocalDate();
+        if (store.covers(date)) {
+            store.add(DEFAULT_USER, date, sign * (long) session.getDurationSeconds(), sign);
+        }
+    }
+}
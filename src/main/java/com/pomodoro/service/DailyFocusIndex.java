@@ -0,0 +1,169 @@
+package com.pomodoro.service;
+
+import com.pomodoro.model.DailyWorkTotal;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Fenwick (binary indexed) tree over daily work seconds and session counts
+ * Answers the total for any date range in O(log n) and absorbs single-day
+ * updates in O(log n); the covered day range grows on demand, up to
+ * MAX_CAPACITY days
+ */
+class DailyFocusIndex {
+
+    private static final int MIN_CAPACITY = 64;
+    static final int MAX_CAPACITY = 1 << 17; // about 358 years
+
+    private long baseEpochDay;
+    private int capacity;
+
+    // Raw per-day values, kept so the trees can be rebuilt when the range grows
+    private long[] dailySeconds = new long[0];
+    private long[] dailySessions = new long[0];
+
+    // 1-based Fenwick trees
+    private long[] secondsTree = new long[1];
+    private long[] sessionsTree = new long[1];
+
+    /**
+     * Replace the index contents with the given daily aggregates in O(n)
+     * @throws IllegalArgumentException if the days span more than MAX_CAPACITY
+     */
+    synchronized void rebuild(List<DailyWorkTotal> totals) {
+        long minDay = Long.MAX_VALUE;
+        long maxDay = Long.MIN_VALUE;
+        for (DailyWorkTotal total : totals) {
+            minDay = Math.min(minDay, total.getDate().toEpochDay());
+            maxDay = Math.max(maxDay, total.getDate().toEpochDay());
+        }
+        if (!totals.isEmpty()) {
+            checkSpan(minDay, maxDay);
+        }
+
+        capacity = 0;
+        dailySeconds = new long[0];
+        dailySessions = new long[0];
+        if (totals.isEmpty()) {
+            rebuildTrees();
+            return;
+        }
+        resize(minDay, maxDay);
+        for (DailyWorkTotal total : totals) {
+            int index = (int) (total.getDate().toEpochDay() - baseEpochDay);
+            dailySeconds[index] += total.getWorkSeconds();
+            dailySessions[index] += total.getSessionCount();
+        }
+        rebuildTrees();
+    }
+
+    /**
+     * Add (or with negative values, remove) work for a single day
+     * @throws IllegalArgumentException if the index would have to span more
+     * than MAX_CAPACITY days; the index is left unchanged
+     */
+    synchronized void add(LocalDate date, long seconds, long sessions) {
+        long epochDay = date.toEpochDay();
+        if (capacity == 0 || epochDay < baseEpochDay || epochDay >= baseEpochDay + capacity) {
+            long minDay = capacity == 0 ? epochDay : Math.min(epochDay, baseEpochDay);
+            long maxDay = capacity == 0 ? epochDay : Math.max(epochDay, baseEpochDay + capacity - 1);
+            resize(minDay, maxDay);
+            rebuildTrees();
+        }
+
+        int index = (int) (epochDay - baseEpochDay);
+        dailySeconds[index] += seconds;
+        dailySessions[index] += sessions;
+        for (int i = index + 1; i <= capacity; i += i & -i) {
+            secondsTree[i] += seconds;
+            sessionsTree[i] += sessions;
+        }
+    }
+
+    /**
+     * Get {workSeconds, sessionCount} for the inclusive date range
+     */
+    synchronized long[] rangeSum(LocalDate startDate, LocalDate endDate) {
+        long from = Math.max(startDate.toEpochDay(), baseEpochDay);
+        long to = Math.min(endDate.toEpochDay(), baseEpochDay + capacity - 1);
+        if (capacity == 0 || from > to) {
+            return new long[] {0L, 0L};
+        }
+
+        int lo = (int) (from - baseEpochDay);
+        int hi = (int) (to - baseEpochDay) + 1;
+        return new long[] {
+            prefix(secondsTree, hi) - prefix(secondsTree, lo),
+            prefix(sessionsTree, hi) - prefix(sessionsTree, lo)
+        };
+    }
+
+    // Private helper methods
+
+    private static long prefix(long[] tree, int count) {
+        long sum = 0;
+        for (int i = count; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Grow the covered range to include [minDay, maxDay], doubling so that
+     * repeated growth stays amortised O(1) per day
+     */
+    private void resize(long minDay, long maxDay) {
+        long span = checkSpan(minDay, maxDay);
+        long newCapacity = Math.max(MIN_CAPACITY, capacity);
+        while (newCapacity < span) {
+            newCapacity *= 2;
+        }
+
+        // Leave the spare room on whichever side had to grow
+        long newBase = capacity > 0 && minDay < baseEpochDay ? maxDay - newCapacity + 1 : minDay;
+
+        long[] newSeconds = new long[(int) newCapacity];
+        long[] newSessions = new long[(int) newCapacity];
+        if (capacity > 0) {
+            int offset = (int) (baseEpochDay - newBase);
+            System.arraycopy(dailySeconds, 0, newSeconds, offset, capacity);
+            System.arraycopy(dailySessions, 0, newSessions, offset, capacity);
+        }
+
+        baseEpochDay = newBase;
+        capacity = (int) newCapacity;
+        dailySeconds = newSeconds;
+        dailySessions = newSessions;
+    }
+
+    /**
+     * Get the number of days from minDay to maxDay, rejecting more than the
+     * index may cover
+     */
+    private static long checkSpan(long minDay, long maxDay) {
+        long span = maxDay - minDay + 1;
+        if (span > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Focus index cannot span more than " + MAX_CAPACITY + " days: "
+                + LocalDate.ofEpochDay(minDay) + " to " + LocalDate.ofEpochDay(maxDay));
+        }
+        return span;
+    }
+
+    /**
+     * Linear-time Fenwick construction from the raw daily arrays
+     */
+    private void rebuildTrees() {
+        secondsTree = new long[capacity + 1];
+        sessionsTree = new long[capacity + 1];
+        for (int i = 1; i <= capacity; i++) {
+            secondsTree[i] += dailySeconds[i - 1];
+            sessionsTree[i] += dailySessions[i - 1];
+            int parent = i + (i & -i);
+            if (parent <= capacity) {
+                secondsTree[parent] += secondsTree[i];
+                sessionsTree[parent] += sessionsTree[i];
+            }
+        }
+    }
+}
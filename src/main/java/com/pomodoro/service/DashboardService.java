@@ -0,0 +1,163 @@
+package com.pomodoro.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.pomodoro.model.DailyTask;
+import com.pomodoro.model.ProgressChart;
+import com.pomodoro.model.TimerSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Service that assembles everything the page needs on load in one call
+ * The task list and task statistics are read together in one read-only
+ * transaction. The current year's days are read first with one grouped
+ * query on the request thread; the chart is then built from them as a
+ * single year subtask while the tasks are read, and the yearly statistics
+ * are derived from that same chart rather than generating it twice. The
+ * timer status is in memory.
+ * Tasks are planned per local day, so they use the clock's zone; the chart
+ * and statistics year is the UTC year of the same instant, as session times
+ * are stored in UTC, so around New Year it matches /api/progress/chart.
+ */
+@Service
+public class DashboardService {
+
+    /**
+     * Parts of the dashboard that can be requested
+     */
+    public enum Part {
+        TIMER, TASKS, TASK_STATS, CHART, STATS;
+
+        /**
+         * Parse a part from its field name in the payload (timer, tasks, taskStats, chart, stats)
+         */
+        public static Part fromFieldName(String name) {
+            String normalized = name.trim().replace("_", "").toLowerCase(Locale.ROOT);
+            for (Part part : values()) {
+                if (part.name().replace("_", "").toLowerCase(Locale.ROOT).equals(normalized)) {
+                    return part;
+                }
+            }
+            throw new IllegalArgumentException("Unknown dashboard field: " + name);
+        }
+    }
+
+    private final PomodoroTimerService timerService;
+    private final TaskManagementService taskManagementService;
+    private final ProgressChartService progressChartService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Clock clock;
+
+    @Autowired
+    public DashboardService(PomodoroTimerService timerService,
+                            TaskManagementService taskManagementService,
+                            ProgressChartService progressChartService,
+                            PlatformTransactionManager transactionManager) {
+        this(timerService, taskManagementService, progressChartService, transactionManager, Clock.systemDefaultZone());
+    }
+
+    DashboardService(PomodoroTimerService timerService,
+                     TaskManagementService taskManagementService,
+                     ProgressChartService progressChartService,
+                     PlatformTransactionManager transactionManager,
+                     Clock clock) {
+        this.timerService = timerService;
+        this.taskManagementService = taskManagementService;
+        this.progressChartService = progressChartService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.clock = clock;
+    }
+
+    /**
+     * Get the whole dashboard
+     */
+    public Dashboard getDashboard() {
+        return getDashboard(EnumSet.allOf(Part.class));
+    }
+
+    /**
+     * Get the requested parts of the dashboard; the others are left null
+     * All parts describe the same moment, even if midnight passes while they are read.
+     */
+    public Dashboard getDashboard(Collection<Part> parts) {
+        Set<Part> requested = parts.isEmpty() ? EnumSet.noneOf(Part.class) : EnumSet.copyOf(parts);
+        Instant now = clock.instant();
+        LocalDate today = LocalDate.ofInstant(now, clock.getZone());
+        int chartYear = LocalDate.ofInstant(now, ZoneOffset.UTC).getYear();
+        Dashboard dashboard = new Dashboard();
+
+        ProgressChartService.ChartBatch chart = null;
+        if (requested.contains(Part.CHART) || requested.contains(Part.STATS)) {
+            chart = progressChartService.submitProgressCharts(List.of(chartYear));
+        }
+        try {
+            if (requested.contains(Part.TASKS) || requested.contains(Part.TASK_STATS)) {
+                // Both come from the same table, so read them in one transaction on this thread
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    if (requested.contains(Part.TASKS)) {
+                        dashboard.setTasks(taskManagementService.getTasksForDate(today));
+                    }
+                    if (requested.contains(Part.TASK_STATS)) {
+                        dashboard.setTaskStats(taskManagementService.getTaskStatsForDate(today));
+                    }
+                });
+            }
+            if (requested.contains(Part.TIMER)) {
+                dashboard.setTimer(timerService.getCurrentSession());
+            }
+            if (chart != null) {
+                ProgressChart progressChart = chart.join().get(0);
+                if (requested.contains(Part.CHART)) {
+                    dashboard.setChart(progressChart);
+                }
+                if (requested.contains(Part.STATS)) {
+                    dashboard.setStats(ProgressChartService.YearlyStats.of(progressChart));
+                }
+            }
+            return dashboard;
+        } finally {
+            if (chart != null) {
+                chart.cancel();
+            }
+        }
+    }
+
+    /**
+     * Data class for the dashboard payload; parts that were not requested are omitted
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Dashboard {
+        private TimerSession timer;
+        private List<DailyTask> tasks;
+        private TaskManagementService.TaskStats taskStats;
+        private ProgressChart chart;
+        private ProgressChartService.YearlyStats stats;
+
+        // Getters
+        public TimerSession getTimer() { return timer; }
+        public List<DailyTask> getTasks() { return tasks; }
+        public TaskManagementService.TaskStats getTaskStats() { return taskStats; }
+        public ProgressChart getChart() { return chart; }
+        public ProgressChartService.YearlyStats getStats() { return stats; }
+
+        // Setters
+        public void setTimer(TimerSession timer) { this.timer = timer; }
+        public void setTasks(List<DailyTask> tasks) { this.tasks = tasks; }
+        public void setTaskStats(TaskManagementService.TaskStats taskStats) { this.taskStats = taskStats; }
+        public void setChart(ProgressChart chart) { this.chart = chart; }
+        public void setStats(ProgressChartService.YearlyStats stats) { this.stats = stats; }
+    }
+}
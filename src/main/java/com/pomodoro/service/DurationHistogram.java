@@ -0,0 +1,206 @@
+package com.pomodoro.service;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Log-linear histogram of durations in microseconds, in the style of HdrHistogram
+ * Values below 2 * SUB_BUCKETS are counted exactly; above that every power of
+ * two is split into SUB_BUCKETS equal buckets, bounding the relative error of
+ * any reported value to 1 / SUB_BUCKETS (under 1%). Histograms merge by adding
+ * counts and serialise to a sparse varint form.
+ */
+class DurationHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private long[] counts = new long[0];
+    private long totalCount;
+    private long minValue = Long.MAX_VALUE;
+    private long maxValue;
+    private double sum;
+
+    /**
+     * Record a value (a negative count removes previously recorded values)
+     */
+    void record(long valueMicros, long count) {
+        long value = Math.max(0L, valueMicros);
+        int index = bucketIndex(value);
+        ensureCapacity(index + 1);
+        long applied = Math.max(count, -counts[index]);
+        counts[index] += applied;
+        totalCount += applied;
+        sum += (double) value * applied;
+        if (applied > 0) {
+            minValue = Math.min(minValue, value);
+            maxValue = Math.max(maxValue, value);
+        }
+    }
+
+    /**
+     * Add all counts from another histogram to this one
+     */
+    void merge(DurationHistogram other) {
+        ensureCapacity(other.counts.length);
+        for (int i = 0; i < other.counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+        if (other.totalCount > 0) {
+            minValue = Math.min(minValue, other.minValue);
+            maxValue = Math.max(maxValue, other.maxValue);
+        }
+    }
+
+    /**
+     * Clear all counts, keeping the bucket array for reuse
+     */
+    void reset() {
+        Arrays.fill(counts, 0L);
+        totalCount = 0;
+        minValue = Long.MAX_VALUE;
+        maxValue = 0;
+        sum = 0.0;
+    }
+
+    long getTotalCount() {
+        return totalCount;
+    }
+
+    long getMinValue() {
+        return totalCount > 0 ? minValue : 0L;
+    }
+
+    long getMaxValue() {
+        return totalCount > 0 ? maxValue : 0L;
+    }
+
+    double getMean() {
+        return totalCount > 0 ? sum / totalCount : 0.0;
+    }
+
+    /**
+     * Get the value at a percentile (0-100), reported as the highest value
+     * equivalent to the bucket it falls in, capped at the recorded maximum
+     */
+    long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0L;
+        }
+        long target = Math.max(1L, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(highestEquivalentValue(i), getMaxValue());
+            }
+        }
+        return getMaxValue();
+    }
+
+    /**
+     * Count values whose whole bucket lies below the given value
+     */
+    long getCountBelow(long valueMicros) {
+        long below = 0;
+        for (int i = 0; i < counts.length && highestEquivalentValue(i) < valueMicros; i++) {
+            below += counts[i];
+        }
+        return below;
+    }
+
+    /**
+     * Serialise as (index delta, count) varint pairs for non-empty buckets,
+     * followed by the tracked min, max and sum
+     */
+    byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int previous = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                writeVarLong(out, i - previous + 1L);
+                writeVarLong(out, counts[i]);
+                previous = i;
+            }
+        }
+        writeVarLong(out, 0L); // End of buckets
+        writeVarLong(out, getMinValue());
+        writeVarLong(out, getMaxValue());
+        writeVarLong(out, Double.doubleToLongBits(sum));
+        return out.toByteArray();
+    }
+
+    static DurationHistogram fromBytes(byte[] bytes) {
+        DurationHistogram histogram = new DurationHistogram();
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        int index = 0;
+        long delta;
+        while ((delta = readVarLong(in)) != 0L) {
+            index += (int) (delta - 1);
+            long count = readVarLong(in);
+            histogram.ensureCapacity(index + 1);
+            histogram.counts[index] = count;
+            histogram.totalCount += count;
+        }
+        long min = readVarLong(in);
+        long max = readVarLong(in);
+        histogram.sum = Double.longBitsToDouble(readVarLong(in));
+        if (histogram.totalCount > 0) {
+            histogram.minValue = min;
+            histogram.maxValue = max;
+        }
+        return histogram;
+    }
+
+    // Bucket arithmetic
+
+    static int bucketIndex(long value) {
+        if (value < 2L * SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    static long lowestEquivalentValue(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+        return subBucket << shift;
+    }
+
+    static long highestEquivalentValue(int index) {
+        return lowestEquivalentValue(index + 1) - 1;
+    }
+
+    private void ensureCapacity(int size) {
+        if (counts.length < size) {
+            counts = Arrays.copyOf(counts, Math.max(size, counts.length + counts.length / 2));
+        }
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
@@ -0,0 +1,248 @@
+package com.pomodoro.service;
+
+import com.pomodoro.model.CompletedSession;
+import com.pomodoro.model.FocusHeatmap;
+import com.pomodoro.model.SessionType;
+import com.pomodoro.repository.FocusHeatmapRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Service for the weekday-by-hour focus heatmap
+ * Counters are updated incrementally as sessions are logged or deleted,
+ * splitting work across the hours it spans, and persisted as one compact
+ * row per year; reading a year is a constant-size copy of 7 x 24 cells.
+ * Years without work are answered with empty counters and never stored.
+ */
+@Service
+public class FocusHeatmapService {
+
+    // How long before a year a session may start and still run into it
+    static final int BACKFILL_LOOKBACK_DAYS = 7;
+
+    private final FocusHeatmapRepository heatmapRepository;
+    private final SessionLoggingService sessionLoggingService;
+    private final Map<Integer, FocusHeatmap> heatmaps = new ConcurrentHashMap<>();
+    // Guards the counters; a lock rather than a monitor, since loading does database I/O
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Autowired
+    public FocusHeatmapService(FocusHeatmapRepository heatmapRepository,
+                               SessionLoggingService sessionLoggingService) {
+        this.heatmapRepository = heatmapRepository;
+        this.sessionLoggingService = sessionLoggingService;
+    }
+
+    /**
+     * Add a newly logged work session to the counters
+     */
+    @EventListener
+    public void onSessionLogged(SessionLoggedEvent event) {
+        applySession(event.getSession(), 1);
+    }
+
+    /**
+     * Remove a deleted work session from the counters
+     */
+    @EventListener
+    public void onSessionDeleted(SessionDeletedEvent event) {
+        applySession(event.getSession(), -1);
+    }
+
+    /**
+     * Get the heatmap for a year
+     */
+    public HeatmapStats getHeatmap(int year) {
+        FocusHeatmap heatmap = getOrLoad(year, null);
+
+        double[][] workMinutes = new double[FocusHeatmap.DAYS][FocusHeatmap.HOURS];
+        int[][] completions = new int[FocusHeatmap.DAYS][FocusHeatmap.HOURS];
+        double totalMinutes = 0;
+        int totalCompletions = 0;
+        lock.lock();
+        try {
+            for (int day = 0; day < FocusHeatmap.DAYS; day++) {
+                for (int hour = 0; hour < FocusHeatmap.HOURS; hour++) {
+                    workMinutes[day][hour] = heatmap.getWorkSecondsAt(day, hour) / 60.0;
+                    completions[day][hour] = heatmap.getCompletionsAt(day, hour);
+                    totalMinutes += workMinutes[day][hour];
+                    totalCompletions += completions[day][hour];
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return new HeatmapStats(year, workMinutes, completions, totalMinutes, totalCompletions);
+    }
+
+    /**
+     * Make sure a year's counters are stored, building them from its sessions
+     * if needed; called before those sessions are compacted away
+     */
+    void preload(int year) {
+        getOrLoad(year, null);
+    }
+
+    // Private helper methods
+
+    /**
+     * Apply a logged (+1) or deleted (-1) session to every year it touches.
+     * Years that had to be backfilled already reflect the change.
+     */
+    private void applySession(CompletedSession session, int sign) {
+        if (session == null || session.getSessionType() != SessionType.WORK || session.getStartTime() == null) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            Set<Integer> backfilled = new HashSet<>();
+            List<FocusHeatmap> changed = new ArrayList<>();
+            for (int year = session.getStartTime().getYear(); year <= completedAt(session).getYear(); year++) {
+                FocusHeatmap heatmap = getOrLoad(year, backfilled);
+                if (!backfilled.contains(year)) {
+                    addSession(heatmap, session, sign);
+                    changed.add(heatmap);
+                }
+            }
+            heatmapRepository.saveAll(changed);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get a year's counters from memory, then the database, and otherwise
+     * build them once from the sessions overlapping that year. A year
+     * without work gets empty counters that are neither stored nor kept.
+     */
+    private FocusHeatmap getOrLoad(int year, Set<Integer> backfilled) {
+        FocusHeatmap cached = heatmaps.get(year);
+        if (cached != null) {
+            return cached;
+        }
+
+        lock.lock();
+        try {
+            cached = heatmaps.get(year);
+            if (cached != null) {
+                return cached;
+            }
+
+            Optional<FocusHeatmap> stored = heatmapRepository.findById(year);
+            if (stored.isPresent()) {
+                heatmaps.put(year, stored.get());
+                return stored.get();
+            }
+            if (backfilled != null) {
+                backfilled.add(year);
+            }
+            FocusHeatmap heatmap = backfill(year);
+            if (!heatmap.isEmpty()) {
+                heatmap = heatmapRepository.save(heatmap);
+                heatmaps.put(year, heatmap);
+            }
+            return heatmap;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Count the work sessions overlapping a year, including those started
+     * shortly before it that ran past midnight on Jan 1
+     */
+    private FocusHeatmap backfill(int year) {
+        FocusHeatmap heatmap = new FocusHeatmap(year);
+        LocalDateTime from = LocalDate.of(year, 1, 1).minusDays(BACKFILL_LOOKBACK_DAYS).atStartOfDay();
+        LocalDateTime to = LocalDate.of(year + 1, 1, 1).atStartOfDay();
+        for (CompletedSession session : sessionLoggingService.getSessionsBetween(from, to)) {
+            if (session.getSessionType() == SessionType.WORK && session.getStartTime() != null) {
+                addSession(heatmap, session, 1);
+            }
+        }
+        return heatmap;
+    }
+
+    /**
+     * Spread a session's work over the hour cells it covers (from its start
+     * time, for its recorded duration) and count its completion in the hour
+     * it ended; only the parts falling in the heatmap's year are applied
+     */
+    private static void addSession(FocusHeatmap heatmap, CompletedSession session, int sign) {
+        int year = heatmap.getYear();
+        LocalDateTime cursor = session.getStartTime();
+        LocalDateTime workEnd = cursor.plusSeconds(session.getDurationSeconds());
+        while (cursor.isBefore(workEnd)) {
+            LocalDateTime hourEnd = cursor.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+            LocalDateTime chunkEnd = hourEnd.isBefore(workEnd) ? hourEnd : workEnd;
+            if (cursor.getYear() == year) {
+                heatmap.addWorkSeconds(dayIndex(cursor), cursor.getHour(),
+                    sign * (int) ChronoUnit.SECONDS.between(cursor, chunkEnd));
+            }
+            cursor = chunkEnd;
+        }
+
+        LocalDateTime completedAt = completedAt(session);
+        if (completedAt.getYear() == year) {
+            heatmap.addCompletions(dayIndex(completedAt), completedAt.getHour(), sign);
+        }
+    }
+
+    private static LocalDateTime completedAt(CompletedSession session) {
+        return session.getEndTime() != null
+            ? session.getEndTime()
+            : session.getStartTime().plusSeconds(session.getDurationSeconds());
+    }
+
+    private static int dayIndex(LocalDateTime time) {
+        return time.getDayOfWeek().getValue() - 1; // Monday = 0
+    }
+
+    /**
+     * Data class for a year's heatmap (rows Monday..Sunday, columns UTC hour 0..23)
+     */
+    public static class HeatmapStats {
+        private int year;
+        private double[][] workMinutes;
+        private int[][] completions;
+        private double totalWorkMinutes;
+        private int totalCompletions;
+
+        public HeatmapStats(int year, double[][] workMinutes, int[][] completions,
+                            double totalWorkMinutes, int totalCompletions) {
+            this.year = year;
+            this.workMinutes = workMinutes;
+            this.completions = completions;
+            this.totalWorkMinutes = totalWorkMinutes;
+            this.totalCompletions = totalCompletions;
+        }
+
+        // Getters
+        public int getYear() { return year; }
+        public double[][] getWorkMinutes() { return workMinutes; }
+        public int[][] getCompletions() { return completions; }
+        public double getTotalWorkMinutes() { return totalWorkMinutes; }
+        public int getTotalCompletions() { return totalCompletions; }
+
+        // Setters
+        public void setYear(int year) { this.year = year; }
+        public void setWorkMinutes(double[][] workMinutes) { this.workMinutes = workMinutes; }
+        public void setCompletions(int[][] completions) { this.completions = completions; }
+        public void setTotalWorkMinutes(double totalWorkMinutes) { this.totalWorkMinutes = totalWorkMinutes; }
+        public void setTotalCompletions(int totalCompletions) { this.totalCompletions = totalCompletions; }
+    }
+}
@@ -0,0 +1,234 @@
+package com.pomodoro.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.AntPathMatcher;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service for rolling per-endpoint latency percentiles and SLO checks
+ * Each endpoint keeps one DurationHistogram per minute of the window in a
+ * ring; slots are cleared and reused as the window moves on, so recording
+ * allocates nothing once an endpoint's buckets have grown. An SLO is a
+ * latency budget for the p99 of the endpoints matching a path pattern,
+ * configured as pattern=millis pairs in pomodoro.latency.slos.
+ */
+@Service
+public class LatencySloService {
+
+    private static final long SLOT_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final double SLO_PERCENTILE = 99.0;
+
+    private final Map<String, EndpointWindow> endpoints = new ConcurrentHashMap<>();
+    private final Map<String, Long> slos;
+    private final int windowMinutes;
+    private final Clock clock;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Autowired
+    public LatencySloService(@Value("${pomodoro.latency.slos:}") String slos,
+                             @Value("${pomodoro.latency.window-minutes:5}") int windowMinutes) {
+        this(slos, windowMinutes, Clock.systemUTC());
+    }
+
+    LatencySloService(String slos, int windowMinutes, Clock clock) {
+        if (windowMinutes < 1) {
+            throw new IllegalArgumentException("Latency window must be at least one minute");
+        }
+        this.slos = parseSlos(slos);
+        this.windowMinutes = windowMinutes;
+        this.clock = clock;
+    }
+
+    /**
+     * Record one request to an endpoint ("METHOD /path/{pattern}")
+     */
+    public void record(String endpoint, long nanos) {
+        endpoints.computeIfAbsent(endpoint, key -> new EndpointWindow(windowMinutes))
+            .record(currentSlot(), TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    /**
+     * Get latency percentiles of every endpoint seen in the window, slowest
+     * p99 first, with the endpoints breaching their SLO listed separately
+     */
+    public LatencyReport getReport() {
+        long slot = currentSlot();
+        List<EndpointLatency> latencies = new ArrayList<>();
+        for (Map.Entry<String, EndpointWindow> entry : endpoints.entrySet()) {
+            DurationHistogram histogram = entry.getValue().snapshot(slot);
+            if (histogram.getTotalCount() > 0) {
+                latencies.add(toLatency(entry.getKey(), histogram));
+            }
+        }
+        latencies.sort(Comparator.comparingDouble(EndpointLatency::getP99Millis).reversed());
+
+        List<EndpointLatency> breaches = latencies.stream()
+            .filter(EndpointLatency::isBreaching)
+            .toList();
+        return new LatencyReport(windowMinutes, latencies, breaches);
+    }
+
+    // Private helper methods
+
+    private long currentSlot() {
+        return clock.millis() / SLOT_MILLIS;
+    }
+
+    private EndpointLatency toLatency(String endpoint, DurationHistogram histogram) {
+        Long slo = sloFor(endpoint);
+        double p99 = toMillis(histogram.getValueAtPercentile(SLO_PERCENTILE));
+        return new EndpointLatency(endpoint, histogram.getTotalCount(),
+            toMillis(histogram.getValueAtPercentile(50.0)), p99,
+            toMillis(histogram.getValueAtPercentile(99.9)), toMillis(histogram.getMaxValue()),
+            slo, slo != null && p99 > slo);
+    }
+
+    /**
+     * Budget of the first SLO whose pattern matches the endpoint's path
+     */
+    private Long sloFor(String endpoint) {
+        String path = endpoint.substring(endpoint.indexOf(' ') + 1);
+        for (Map.Entry<String, Long> slo : slos.entrySet()) {
+            if (pathMatcher.match(slo.getKey(), path)) {
+                return slo.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, Long> parseSlos(String slos) {
+        Map<String, Long> parsed = new LinkedHashMap<>();
+        for (String entry : slos.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.lastIndexOf('=');
+            if (separator < 1) {
+                throw new IllegalArgumentException("Latency SLO must be pattern=millis: " + entry.trim());
+            }
+            parsed.put(entry.substring(0, separator).trim(), Long.parseLong(entry.substring(separator + 1).trim()));
+        }
+        return parsed;
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1000.0;
+    }
+
+    /**
+     * Ring of per-minute histograms for one endpoint
+     */
+    private static class EndpointWindow {
+        private final DurationHistogram[] slots;
+        private final long[] slotIds;
+
+        EndpointWindow(int size) {
+            slots = new DurationHistogram[size];
+            slotIds = new long[size];
+            for (int i = 0; i < size; i++) {
+                slots[i] = new DurationHistogram();
+                slotIds[i] = -1;
+            }
+        }
+
+        synchronized void record(long slot, long micros) {
+            int index = (int) (slot % slots.length);
+            if (slotIds[index] != slot) {
+                slots[index].reset();
+                slotIds[index] = slot;
+            }
+            slots[index].record(micros, 1);
+        }
+
+        synchronized DurationHistogram snapshot(long slot) {
+            DurationHistogram merged = new DurationHistogram();
+            for (int i = 0; i < slots.length; i++) {
+                if (slotIds[i] > slot - slots.length) {
+                    merged.merge(slots[i]);
+                }
+            }
+            return merged;
+        }
+    }
+
+    /**
+     * Data class for an endpoint's latency over the window (milliseconds)
+     */
+    public static class EndpointLatency {
+        private String endpoint;
+        private long requests;
+        private double p50Millis;
+        private double p99Millis;
+        private double p999Millis;
+        private double maxMillis;
+        private Long sloMillis;
+        private boolean breaching;
+
+        public EndpointLatency(String endpoint, long requests, double p50Millis, double p99Millis,
+                               double p999Millis, double maxMillis, Long sloMillis, boolean breaching) {
+            this.endpoint = endpoint;
+            this.requests = requests;
+            this.p50Millis = p50Millis;
+            this.p99Millis = p99Millis;
+            this.p999Millis = p999Millis;
+            this.maxMillis = maxMillis;
+            this.sloMillis = sloMillis;
+            this.breaching = breaching;
+        }
+
+        // Getters
+        public String getEndpoint() { return endpoint; }
+        public long getRequests() { return requests; }
+        public double getP50Millis() { return p50Millis; }
+        public double getP99Millis() { return p99Millis; }
+        public double getP999Millis() { return p999Millis; }
+        public double getMaxMillis() { return maxMillis; }
+        public Long getSloMillis() { return sloMillis; }
+        public boolean isBreaching() { return breaching; }
+
+        // Setters
+        public void setEndpoint(String endpoint) { this.endpoint = endpoint; }
+        public void setRequests(long requests) { this.requests = requests; }
+        public void setP50Millis(double p50Millis) { this.p50Millis = p50Millis; }
+        public void setP99Millis(double p99Millis) { this.p99Millis = p99Millis; }
+        public void setP999Millis(double p999Millis) { this.p999Millis = p999Millis; }
+        public void setMaxMillis(double maxMillis) { this.maxMillis = maxMillis; }
+        public void setSloMillis(Long sloMillis) { this.sloMillis = sloMillis; }
+        public void setBreaching(boolean breaching) { this.breaching = breaching; }
+    }
+
+    /**
+     * Data class for the latency report over the rolling window
+     */
+    public static class LatencyReport {
+        private int windowMinutes;
+        private List<EndpointLatency> endpoints;
+        private List<EndpointLatency> breaches;
+
+        public LatencyReport(int windowMinutes, List<EndpointLatency> endpoints, List<EndpointLatency> breaches) {
+            this.windowMinutes = windowMinutes;
+            this.endpoints = endpoints;
+            this.breaches = breaches;
+        }
+
+        // Getters
+        public int getWindowMinutes() { return windowMinutes; }
+        public List<EndpointLatency> getEndpoints() { return endpoints; }
+        public List<EndpointLatency> getBreaches() { return breaches; }
+
+        // Setters
+        public void setWindowMinutes(int windowMinutes) { this.windowMinutes = windowMinutes; }
+        public void setEndpoints(List<EndpointLatency> endpoints) { this.endpoints = endpoints; }
+        public void setBreaches(List<EndpointLatency> breaches) { this.breaches = breaches; }
+    }
+}
@@ -1,49 +1,109 @@
 package com.pomodoro.service;
 
 import com.pomodoro.model.*;
+import com.pomodoro.monitoring.TimerTickEvent;
+import com.pomodoro.monitoring.TimerTransitionEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
 
 /**
  * Core service for managing Pomodoro timer functionality
+ * Every state transition gives the session a new version; countdown ticks
+ * do not. A running session carries its deadline, which the countdown
+ * follows, so clients can derive the remaining time themselves. Versions
+ * start from the boot time in microseconds, so they keep increasing across
+ * restarts. Long-poll clients wait for the version to change through
+ * awaitChange.
+ * An idle stopped or completed timer can be hibernated: its session and
+ * settings are written out and dropped from memory, and the next use of the
+ * timer loads them back before doing anything else.
  */
 @Service
 public class PomodoroTimerService {
     
+    private static final long TICK_NANOS = TimeUnit.SECONDS.toNanos(1);
+    
+    private static final Logger log = LoggerFactory.getLogger(PomodoroTimerService.class);
+    
     private TimerSession currentSession;
     private PomodoroSettings settings;
-    private ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+    private ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofVirtual().name("pomodoro-timer").factory());
     private ScheduledFuture<?> timerTask;
+    private final AtomicLong stateVersion = new AtomicLong(TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis()));
+    private final Set<CompletableFuture<TimerSession>> changeWaiters = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock hibernationLock = new ReentrantLock();
+    private volatile long lastUsedNanos = System.nanoTime();
+    private volatile Supplier<TimerSnapshot> hibernatedIn; // Set while the session and settings are dropped
     
     private final SessionLoggingService sessionLoggingService;
+    private final Timer schedulerLag;
     
     @Autowired
-    public PomodoroTimerService(SessionLoggingService sessionLoggingService) {
+    public PomodoroTimerService(SessionLoggingService sessionLoggingService, MeterRegistry meterRegistry) {
         this.sessionLoggingService = sessionLoggingService;
         this.settings = new PomodoroSettings(); // Default settings
         resetSession();
+        
+        Gauge.builder("pomodoro.timers.active", this, service -> service.isActive() ? 1 : 0)
+            .description("Timers with a session in progress (running or paused)")
+            .register(meterRegistry);
+        Gauge.builder("pomodoro.timers.running", this, service -> service.isRunning() ? 1 : 0)
+            .description("Timers currently counting down")
+            .register(meterRegistry);
+        Gauge.builder("pomodoro.timers.hibernated", this, service -> service.isHibernated() ? 1 : 0)
+            .description("Idle timers whose state is held only in its persisted form")
+            .register(meterRegistry);
+        Gauge.builder("pomodoro.timer.status.waiters", changeWaiters, Set::size)
+            .description("Long-poll status requests waiting for the timer to change")
+            .register(meterRegistry);
+        this.schedulerLag = Timer.builder("pomodoro.timer.scheduler.lag")
+            .description("How late each countdown tick ran compared to its schedule")
+            .register(meterRegistry);
+    }
+    
+    PomodoroTimerService(SessionLoggingService sessionLoggingService) {
+        this(sessionLoggingService, new SimpleMeterRegistry());
     }
 
     /**
      * Start the timer for the current session
      */
     public TimerSession startTimer() {
+        wake();
         if (currentSession.getState() == TimerState.STOPPED || 
             currentSession.getState() == TimerState.PAUSED) {
             
+            TimerState from = currentSession.getState();
+            LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
             currentSession.setState(TimerState.RUNNING);
             if (currentSession.getStartTime() == null) {
-                currentSession.setStartTime(LocalDateTime.now(ZoneOffset.UTC));
+                currentSession.setStartTime(now);
             }
+            currentSession.setDeadline(now.plusSeconds(currentSession.getRemainingSeconds()));
             
             startCountdown();
+            recordTransition("start", from);
         }
         return currentSession;
     }
@@ -52,9 +112,12 @@ public class PomodoroTimerService {
      * Pause the current timer session
      */
     public TimerSession pauseTimer() {
+        wake();
         if (currentSession.getState() == TimerState.RUNNING) {
             currentSession.setState(TimerState.PAUSED);
+            currentSession.setDeadline(null);
             stopCountdown();
+            recordTransition("pause", TimerState.RUNNING);
         }
         return currentSession;
     }
@@ -63,11 +126,15 @@ public class PomodoroTimerService {
      * Stop the timer and reset to initial state
      */
     public TimerSession stopTimer() {
+        wake();
+        TimerState from = currentSession.getState();
         currentSession.setState(TimerState.STOPPED);
         currentSession.setRemainingSeconds(currentSession.getTotalDurationSeconds());
         currentSession.setStartTime(null);
         currentSession.setEndTime(null);
+        currentSession.setDeadline(null);
         stopCountdown();
+        recordTransition("stop", from);
         return currentSession;
     }
 
@@ -75,16 +142,51 @@ public class PomodoroTimerService {
      * Complete the current session and transition to the next phase
      */
     public TimerSession completeSession() {
+        wake();
+        return completeSession(LocalDateTime.now(ZoneOffset.UTC));
+    }
+
+    /**
+     * Restore a previously persisted timer and its settings
+     * A running session resumes counting down towards its deadline (UTC);
+     * one whose deadline passed while the application was down is completed
+     * as of that deadline
+     */
+    public TimerSession restore(TimerSession session, PomodoroSettings savedSettings, LocalDateTime deadline) {
+        wake();
+        stopCountdown();
+        this.settings = savedSettings;
+        this.currentSession = session;
+        recordTransition("restore", null);
+
+        if (session.getState() == TimerState.RUNNING && deadline != null) {
+            long remaining = Duration.between(LocalDateTime.now(ZoneOffset.UTC), deadline).getSeconds();
+            if (remaining > 0) {
+                session.setRemainingSeconds((int) Math.min(remaining, session.getTotalDurationSeconds()));
+                session.setDeadline(deadline);
+                startCountdown();
+            } else {
+                session.setRemainingSeconds(0);
+                completeSession(deadline);
+            }
+        }
+        return currentSession;
+    }
+
+    private TimerSession completeSession(LocalDateTime endTime) {
+        TimerState from = currentSession.getState();
         currentSession.setState(TimerState.COMPLETED);
-        currentSession.setEndTime(LocalDateTime.now(ZoneOffset.UTC));
+        currentSession.setEndTime(endTime);
+        currentSession.setDeadline(null);
         stopCountdown();
+        recordTransition("complete", from);
         
         // Log the completed session
         try {
             sessionLoggingService.logCompletedSession(currentSession);
         } catch (Exception e) {
             // Log error but don't break the timer flow
-            System.err.println("Failed to log session: " + e.getMessage());
+            log.error("Failed to log session", e);
         }
         
         // Increment work session count if it was a work session
@@ -99,13 +201,16 @@ public class PomodoroTimerService {
      * Transition to the next session type based on Pomodoro rules
      */
     public TimerSession transitionToNextSession() {
+        wake();
         SessionType nextSessionType = determineNextSessionType();
         int duration = getDurationForSessionType(nextSessionType);
         
         TimerSession newSession = new TimerSession(nextSessionType, duration);
         newSession.setCompletedWorkSessions(currentSession.getCompletedWorkSessions());
         
+        TimerState from = currentSession.getState();
         this.currentSession = newSession;
+        recordTransition("next", from);
         return currentSession;
     }
 
@@ -113,8 +218,11 @@ public class PomodoroTimerService {
      * Reset session to initial work session state
      */
     public TimerSession resetSession() {
+        wake();
         stopCountdown();
+        TimerState from = currentSession != null ? currentSession.getState() : null;
         this.currentSession = new TimerSession(SessionType.WORK, settings.getWorkDurationMinutes());
+        recordTransition("reset", from);
         return currentSession;
     }
 
@@ -122,6 +230,7 @@ public class PomodoroTimerService {
      * Get the current timer session
      */
     public TimerSession getCurrentSession() {
+        wake();
         return currentSession;
     }
 
@@ -129,12 +238,14 @@ public class PomodoroTimerService {
      * Update timer settings
      */
     public void updateSettings(PomodoroSettings newSettings) {
+        wake();
         this.settings = newSettings;
         // If timer is stopped, update the current session duration
         if (currentSession.getState() == TimerState.STOPPED) {
             int newDuration = getDurationForSessionType(currentSession.getSessionType());
             currentSession.setTotalDurationSeconds(newDuration * 60);
             currentSession.setRemainingSeconds(newDuration * 60);
+            markChanged();
         }
     }
 
@@ -142,17 +253,170 @@ public class PomodoroTimerService {
      * Get current settings
      */
     public PomodoroSettings getSettings() {
+        wake();
         return settings;
     }
 
+    /**
+     * Wait for the session to change from the version a client last saw
+     * The future completes with the current session as soon as its version
+     * differs from seenVersion, immediately if it already does. Cancel it to
+     * stop waiting.
+     */
+    public CompletableFuture<TimerSession> awaitChange(long seenVersion) {
+        wake();
+        CompletableFuture<TimerSession> change = new CompletableFuture<>();
+        changeWaiters.add(change);
+        change.whenComplete((session, failure) -> changeWaiters.remove(change));
+        // Checked after registering, so a transition in between is not missed
+        TimerSession session = currentSession;
+        if (session.getVersion() != seenVersion) {
+            change.complete(session);
+        }
+        return change;
+    }
+
+    /**
+     * Hibernate the timer if it is stopped or completed and has not been
+     * used for at least idleFor
+     * The session and settings go to the writer first (nothing changes if
+     * it fails), and the loader brings them back, version included, on the
+     * next use. Returns whether the timer was hibernated.
+     */
+    public boolean hibernateIfIdle(Duration idleFor, BiFunction<TimerSession, PomodoroSettings, ?> writer,
+                                   Supplier<TimerSnapshot> loader) {
+        hibernationLock.lock();
+        try {
+            if (hibernatedIn != null || System.nanoTime() - lastUsedNanos < idleFor.toNanos()) {
+                return false;
+            }
+            TimerState state = currentSession.getState();
+            if (state != TimerState.STOPPED && state != TimerState.COMPLETED) {
+                return false;
+            }
+            writer.apply(currentSession, settings);
+            currentSession = null;
+            settings = null;
+            hibernatedIn = loader;
+            return true;
+        } finally {
+            hibernationLock.unlock();
+        }
+    }
+
+    /**
+     * Hand the session and settings to the writer without counting as a use
+     * of the timer
+     * Returns the writer's result, or null while hibernated, since the state
+     * was written on the way in.
+     */
+    public <T> T persist(BiFunction<TimerSession, PomodoroSettings, T> writer) {
+        hibernationLock.lock();
+        try {
+            return hibernatedIn == null ? writer.apply(currentSession, settings) : null;
+        } finally {
+            hibernationLock.unlock();
+        }
+    }
+
+    /**
+     * Whether the timer's state is currently held only in its persisted form
+     */
+    public boolean isHibernated() {
+        return hibernatedIn != null;
+    }
+
     // Private helper methods
     
+    /**
+     * Record a use of the timer, loading a hibernated one back first
+     * A failed load leaves it hibernated and fails the caller, so a later
+     * use can retry; a missing snapshot falls back to a fresh timer.
+     */
+    private void wake() {
+        hibernationLock.lock();
+        try {
+            lastUsedNanos = System.nanoTime();
+            Supplier<TimerSnapshot> loader = hibernatedIn;
+            if (loader == null) {
+                return;
+            }
+            TimerSnapshot snapshot = loader.get();
+            if (snapshot != null) {
+                settings = snapshot.toSettings();
+                currentSession = snapshot.toTimerSession();
+            } else {
+                log.warn("No snapshot to wake the timer from; starting a fresh session");
+                settings = new PomodoroSettings();
+                currentSession = new TimerSession(SessionType.WORK, settings.getWorkDurationMinutes());
+                markChanged();
+            }
+            hibernatedIn = null;
+        } finally {
+            hibernationLock.unlock();
+        }
+    }
+    
+
+    /**
+     * Give the current session a new version and wake the clients waiting for it
+     */
+    private void markChanged() {
+        currentSession.setVersion(stateVersion.incrementAndGet());
+        TimerSession session = currentSession;
+        for (CompletableFuture<TimerSession> waiter : changeWaiters) {
+            waiter.complete(session);
+        }
+    }
+    
+    /**
+     * Mark a state change and emit a JFR event for it; the event is a no-op
+     * unless a recording wants it
+     */
+    private void recordTransition(String action, TimerState from) {
+        markChanged();
+        TimerTransitionEvent event = new TimerTransitionEvent();
+        if (event.shouldCommit()) {
+            event.action = action;
+            event.fromState = from != null ? from.name() : null;
+            event.toState = currentSession.getState().name();
+            event.sessionType = currentSession.getSessionType().name();
+            event.remainingSeconds = currentSession.getRemainingSeconds();
+            event.commit();
+        }
+    }
+    
+    private boolean isActive() {
+        TimerSession session = currentSession;
+        return session != null && (session.getState() == TimerState.RUNNING || session.getState() == TimerState.PAUSED);
+    }
+    
+    private boolean isRunning() {
+        TimerSession session = currentSession;
+        return session != null && session.getState() == TimerState.RUNNING;
+    }
+    
     private void startCountdown() {
         stopCountdown(); // Stop any existing timer
         
+        long[] nextTick = {System.nanoTime() + TICK_NANOS};
         timerTask = scheduler.scheduleAtFixedRate(() -> {
+            long lag = Math.max(0, System.nanoTime() - nextTick[0]);
+            schedulerLag.record(lag, TimeUnit.NANOSECONDS);
+            nextTick[0] += TICK_NANOS;
+            
+            TimerTickEvent tick = new TimerTickEvent();
+            if (tick.shouldCommit()) {
+                tick.remainingSeconds = currentSession.getRemainingSeconds();
+                tick.lag = lag;
+                tick.commit();
+            }
+            
             if (currentSession.getState() == TimerState.RUNNING) {
-                currentSession.setRemainingSeconds(currentSession.getRemainingSeconds() - 1);
+                LocalDateTime deadline = currentSession.getDeadline();
+                currentSession.setRemainingSeconds(deadline != null
+                    ? secondsUntil(deadline)
+                    : currentSession.getRemainingSeconds() - 1);
                 
                 // Check if session is completed
                 if (currentSession.getRemainingSeconds() <= 0) {
@@ -160,7 +424,16 @@ public class PomodoroTimerService {
                     completeSession();
                 }
             }
-        }, 1, 1, TimeUnit.SECONDS);
+        }, TICK_NANOS, TICK_NANOS, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Whole seconds left until the deadline, rounded up so a session shows
+     * zero only once its deadline has passed
+     */
+    private static int secondsUntil(LocalDateTime deadline) {
+        long millis = Duration.between(LocalDateTime.now(ZoneOffset.UTC), deadline).toMillis();
+        return (int) Math.max(0, (millis + 999) / 1000);
     }
 
     private void stopCountdown() {
@@ -1,65 +1,242 @@
 package com.pomodoro.service;
 
 import com.pomodoro.model.*;
+import com.pomodoro.monitoring.ChartGenerationEvent;
+import com.pomodoro.repository.MeteredSessionStore;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.Month;
 import java.time.YearMonth;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
 
 /**
  * Service for generating GitHub-style progress charts
- * Based on Pomodoro session data
+ * Based on Pomodoro session data. Year, month and range charts are filled
+ * from one grouped per-day query each. When the daily activity store is
+ * enabled, charts for the years it covers are read from it instead.
+ * Several years are read with one query and then built as concurrent
+ * subtasks on virtual threads, at most pomodoro.chart.parallelism at a time
+ * across all requests (1 = serial).
  */
 @Service
 public class ProgressChartService {
     
+    static final int DEFAULT_PARALLELISM = 4;
+    static final int MAX_RANGE_YEARS = 5;
+    private static final BooleanSupplier NOT_CANCELLED = () -> false;
+    
     private final SessionLoggingService sessionLoggingService;
+    private final MeterRegistry meterRegistry;
+    private final int parallelism;
+    private final Semaphore yearPermits;
+    private final DailyActivityService dailyActivity; // null unless the activity store is enabled
+    private final ExecutorService yearExecutor = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("chart-year-", 0).factory());
+    private volatile List<Integer> availableYearsCache;
     
     @Autowired
-    public ProgressChartService(SessionLoggingService sessionLoggingService) {
+    public ProgressChartService(SessionLoggingService sessionLoggingService, MeterRegistry meterRegistry,
+                                @Value("${pomodoro.chart.parallelism:4}") int parallelism,
+                                Optional<DailyActivityService> dailyActivity) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Chart parallelism must be at least 1");
+        }
         this.sessionLoggingService = sessionLoggingService;
+        this.meterRegistry = meterRegistry;
+        this.parallelism = parallelism;
+        this.yearPermits = new Semaphore(parallelism);
+        this.dailyActivity = dailyActivity.orElse(null);
+    }
+    
+    ProgressChartService(SessionLoggingService sessionLoggingService, MeterRegistry meterRegistry,
+                         Optional<DailyActivityService> dailyActivity) {
+        this(sessionLoggingService, meterRegistry, DEFAULT_PARALLELISM, dailyActivity);
+    }
+    
+    ProgressChartService(SessionLoggingService sessionLoggingService, MeterRegistry meterRegistry, int parallelism) {
+        this(sessionLoggingService, meterRegistry, parallelism, Optional.empty());
+    }
+    
+    ProgressChartService(SessionLoggingService sessionLoggingService, MeterRegistry meterRegistry) {
+        this(sessionLoggingService, meterRegistry, DEFAULT_PARALLELISM);
+    }
+    
+    ProgressChartService(SessionLoggingService sessionLoggingService) {
+        this(sessionLoggingService, new SimpleMeterRegistry());
     }
     
     /**
      * Generate complete progress chart for a given year
      */
     public ProgressChart generateProgressChart(int year) {
-        List<ProgressMonth> months = new ArrayList<>();
+        return measured("year", year, () -> buildYearChart(year,
+            getDailyTotals(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31))));
+    }
+    
+    /**
+     * Generate the charts of several years, in the order given
+     */
+    public List<ProgressChart> generateProgressCharts(List<Integer> years) {
+        ChartBatch batch = submitProgressCharts(years);
+        try {
+            return batch.join();
+        } finally {
+            batch.cancel();
+        }
+    }
+    
+    /**
+     * Read the days of several years and build their charts in the background
+     * The days are read on the calling thread, with one grouped query for
+     * the years the activity store does not cover, so only building runs on
+     * the subtasks. Join the batch for the charts, or cancel it once they are
+     * no longer wanted.
+     */
+    public ChartBatch submitProgressCharts(List<Integer> years) {
+        return buildCharts(getDailyTotalsByYear(years));
+    }
+    
+    /**
+     * Stop the year subtasks
+     */
+    @PreDestroy
+    public void shutdown() {
+        yearExecutor.shutdownNow();
+    }
+    
+    /**
+     * Generate a progress chart for an arbitrary date range
+     * The chart holds exactly the days from startDate to endDate, so its
+     * totals and streaks cover only the requested range; clients lay the
+     * days out in weeks from startDate's day of week. It is filled from a
+     * single grouped query, so its cost does not depend on how many calendar
+     * years it spans; it holds a day per date, so the range may span at most
+     * MAX_RANGE_YEARS
+     */
+    public ProgressChart generateProgressChart(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        if (!endDate.isBefore(startDate.plusYears(MAX_RANGE_YEARS))) {
+            throw new IllegalArgumentException("Chart range cannot span more than " + MAX_RANGE_YEARS + " years");
+        }
         
+        return measured("range", startDate.getYear(), () -> {
+            Map<LocalDate, DailyWorkTotal> totalsByDate =
+                byDate(sessionLoggingService.getDailyWorkTotals(startDate, endDate.plusDays(1)));
+            
+            List<ProgressMonth> months = new ArrayList<>();
+            List<ProgressDay> days = new ArrayList<>();
+            YearMonth currentMonth = YearMonth.from(startDate);
+            
+            for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+                if (!YearMonth.from(date).equals(currentMonth)) {
+                    months.add(new ProgressMonth(currentMonth.getYear(), currentMonth.getMonth(), days));
+                    days = new ArrayList<>();
+                    currentMonth = YearMonth.from(date);
+                }
+                days.add(toProgressDay(date, totalsByDate.get(date)));
+            }
+            months.add(new ProgressMonth(currentMonth.getYear(), currentMonth.getMonth(), days));
+            
+            return new ProgressChart(startDate, endDate, months);
+        });
+    }
+    
+    /**
+     * Build a calendar-year chart from grouped daily work totals (days
+     * without work may be omitted); for the same sessions this is the chart
+     * generateProgressChart(year) produces
+     */
+    public static ProgressChart buildYearChart(int year, List<DailyWorkTotal> totals) {
+        return buildYearChart(year, totals, NOT_CANCELLED);
+    }
+    
+    /**
+     * Build a year chart, giving up between months once it is cancelled
+     */
+    private static ProgressChart buildYearChart(int year, List<DailyWorkTotal> totals, BooleanSupplier cancelled) {
+        Map<LocalDate, DailyWorkTotal> totalsByDate = byDate(totals);
+        List<ProgressMonth> months = new ArrayList<>();
         for (Month month : Month.values()) {
-            ProgressMonth progressMonth = generateProgressMonth(year, month);
-            months.add(progressMonth);
+            if (cancelled.getAsBoolean()) {
+                throw new CancellationException("Progress chart for " + year + " was cancelled");
+            }
+            months.add(buildMonth(YearMonth.of(year, month), totalsByDate));
         }
-        
         return new ProgressChart(year, months);
     }
     
+    /**
+     * Get a GitHub-style chart for the last 12 months ending today
+     */
+    public ProgressChart getTrailingYearProgressChart() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        return generateProgressChart(today.minusYears(1).plusDays(1), today);
+    }
+    
     /**
      * Generate progress chart for a specific month
      */
     public ProgressMonth generateProgressMonth(int year, Month month) {
-        List<ProgressDay> days = new ArrayList<>();
+        ChartGenerationEvent event = new ChartGenerationEvent();
+        long callsBefore = MeteredSessionStore.callsOnCurrentThread();
+        event.begin();
         
         YearMonth yearMonth = YearMonth.of(year, month);
-        int daysInMonth = yearMonth.lengthOfMonth();
+        ProgressMonth progressMonth = buildMonth(yearMonth,
+            byDate(getDailyTotals(yearMonth.atDay(1), yearMonth.atEndOfMonth())));
         
-        for (int day = 1; day <= daysInMonth; day++) {
-            LocalDate date = LocalDate.of(year, month, day);
-            ProgressDay progressDay = generateProgressDay(date);
-            days.add(progressDay);
+        event.end();
+        if (event.shouldCommit()) {
+            event.kind = "month";
+            event.year = year;
+            event.month = month.getValue();
+            event.days = yearMonth.lengthOfMonth();
+            event.rowsAggregated = progressMonth.getTotalSessions();
+            event.storeCalls = MeteredSessionStore.callsOnCurrentThread() - callsBefore;
+            event.commit();
         }
-        
-        return new ProgressMonth(year, month, days);
+        return progressMonth;
     }
     
     /**
      * Generate progress day data for a specific date
      */
     public ProgressDay generateProgressDay(LocalDate date) {
+        if (dailyActivity != null && dailyActivity.covers(date.getYear())) {
+            List<DailyWorkTotal> totals = dailyActivity.getDailyTotals(date, date);
+            return toProgressDay(date, totals.isEmpty() ? null : totals.get(0));
+        }
+        
         double totalHours = sessionLoggingService.getTotalWorkHoursForDate(date);
         int sessionCount = sessionLoggingService.getWorkSessionCountForDate(date);
         int productivityLevel = sessionLoggingService.getProductivityLevelForDate(date);
@@ -67,51 +244,306 @@ public class ProgressChartService {
         return new ProgressDay(date, totalHours, sessionCount, productivityLevel);
     }
     
+    /**
+     * Get the daily work totals from firstDay to lastDay (inclusive), from the
+     * activity store when it covers the year, otherwise from one grouped query
+     */
+    private List<DailyWorkTotal> getDailyTotals(LocalDate firstDay, LocalDate lastDay) {
+        if (dailyActivity != null && dailyActivity.covers(firstDay.getYear())) {
+            return dailyActivity.getDailyTotals(firstDay, lastDay);
+        }
+        return sessionLoggingService.getDailyWorkTotals(firstDay, lastDay.plusDays(1));
+    }
+    
+    /**
+     * Get the daily work totals of each year, keyed in the order given; years
+     * the activity store covers are read from it and the rest with one
+     * grouped query spanning them
+     */
+    private Map<Integer, List<DailyWorkTotal>> getDailyTotalsByYear(List<Integer> years) {
+        Map<Integer, List<DailyWorkTotal>> totalsByYear = new LinkedHashMap<>();
+        Map<Integer, List<DailyWorkTotal>> queried = new HashMap<>();
+        for (int year : years) {
+            if (dailyActivity != null && dailyActivity.covers(year)) {
+                totalsByYear.put(year, dailyActivity.getDailyTotals(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31)));
+            } else {
+                List<DailyWorkTotal> totals = new ArrayList<>();
+                totalsByYear.put(year, totals);
+                queried.put(year, totals);
+            }
+        }
+        if (!queried.isEmpty()) {
+            int firstYear = Collections.min(queried.keySet());
+            int lastYear = Collections.max(queried.keySet());
+            for (DailyWorkTotal total : sessionLoggingService.getDailyWorkTotals(
+                    LocalDate.of(firstYear, 1, 1), LocalDate.of(lastYear + 1, 1, 1))) {
+                List<DailyWorkTotal> totals = queried.get(total.getDate().getYear());
+                if (totals != null) {
+                    totals.add(total);
+                }
+            }
+        }
+        return totalsByYear;
+    }
+    
+    /**
+     * Build a chart per year, concurrently unless parallelism is 1
+     * Each year takes a permit shared by all requests, so concurrent charts
+     * stay within pomodoro.chart.parallelism subtasks at a time.
+     */
+    private ChartBatch buildCharts(Map<Integer, List<DailyWorkTotal>> totalsByYear) {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        List<Future<ProgressChart>> charts = new ArrayList<>(totalsByYear.size());
+        for (Map.Entry<Integer, List<DailyWorkTotal>> entry : totalsByYear.entrySet()) {
+            int year = entry.getKey();
+            List<DailyWorkTotal> totals = entry.getValue();
+            if (parallelism == 1) {
+                charts.add(CompletableFuture.completedFuture(measured("years", year, () -> buildYearChart(year, totals))));
+            } else {
+                charts.add(yearExecutor.submit(() -> buildYearSubtask(year, totals, cancelled)));
+            }
+        }
+        return new ChartBatch(charts, cancelled);
+    }
+    
+    private ProgressChart buildYearSubtask(int year, List<DailyWorkTotal> totals, AtomicBoolean cancelled)
+            throws InterruptedException {
+        yearPermits.acquire();
+        try {
+            if (cancelled.get()) {
+                throw new CancellationException("Progress chart for " + year + " was cancelled");
+            }
+            return measured("years", year, () -> buildYearChart(year, totals, cancelled::get));
+        } finally {
+            yearPermits.release();
+        }
+    }
+    
+    private static Map<LocalDate, DailyWorkTotal> byDate(List<DailyWorkTotal> totals) {
+        Map<LocalDate, DailyWorkTotal> totalsByDate = new HashMap<>();
+        for (DailyWorkTotal total : totals) {
+            totalsByDate.put(total.getDate(), total);
+        }
+        return totalsByDate;
+    }
+    
+    private static ProgressMonth buildMonth(YearMonth yearMonth, Map<LocalDate, DailyWorkTotal> totalsByDate) {
+        List<ProgressDay> days = new ArrayList<>(yearMonth.lengthOfMonth());
+        for (int day = 1; day <= yearMonth.lengthOfMonth(); day++) {
+            LocalDate date = yearMonth.atDay(day);
+            days.add(toProgressDay(date, totalsByDate.get(date)));
+        }
+        return new ProgressMonth(yearMonth.getYear(), yearMonth.getMonth(), days);
+    }
+    
+    /**
+     * Time a chart generation and record how many session store calls it made
+     * (pomodoro.chart.generation and pomodoro.chart.store.calls, tagged by range),
+     * and emit a ChartGenerationEvent when a flight recording is running
+     */
+    private ProgressChart measured(String range, int year, Supplier<ProgressChart> generator) {
+        ChartGenerationEvent event = new ChartGenerationEvent();
+        long callsBefore = MeteredSessionStore.callsOnCurrentThread();
+        Timer.Sample sample = Timer.start();
+        event.begin();
+        ProgressChart chart = null;
+        try {
+            chart = generator.get();
+            return chart;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.kind = range;
+                event.year = year;
+                if (chart != null) {
+                    event.days = chart.getMonths().stream().mapToInt(m -> m.getDays().size()).sum();
+                    event.rowsAggregated = chart.getMonths().stream().mapToLong(ProgressMonth::getTotalSessions).sum();
+                }
+                event.storeCalls = MeteredSessionStore.callsOnCurrentThread() - callsBefore;
+                event.commit();
+            }
+            sample.stop(Timer.builder("pomodoro.chart.generation")
+                .description("Time to generate a progress chart")
+                .tag("range", range)
+                .register(meterRegistry));
+            DistributionSummary.builder("pomodoro.chart.store.calls")
+                .description("Session store calls made to generate a progress chart")
+                .tag("range", range)
+                .register(meterRegistry)
+                .record(MeteredSessionStore.callsOnCurrentThread() - callsBefore);
+        }
+    }
+    
+    /**
+     * Build a progress day from a pre-aggregated daily total (null means no work)
+     */
+    private static ProgressDay toProgressDay(LocalDate date, DailyWorkTotal total) {
+        if (total == null) {
+            return new ProgressDay(date, 0.0, 0, 0);
+        }
+        double totalHours = total.getTotalHours();
+        return new ProgressDay(date, totalHours, (int) total.getSessionCount(),
+            SessionLoggingService.getProductivityLevelForHours(totalHours));
+    }
+    
     /**
      * Get available years for dropdown
-     * Returns years that have session data, starting from 2025
+     * Returns every year from the earliest to the latest session, always
+     * including the current year; cached until a session falls outside it
      */
     public List<Integer> getAvailableYears() {
-        List<Integer> years = new ArrayList<>();
+        int currentYear = getCurrentYear();
+        List<Integer> cached = availableYearsCache;
+        if (cached != null && cached.contains(currentYear)) {
+            return cached;
+        }
         
-        // Start from 2025 as specified in product-reference
-        int currentYear = LocalDate.now().getYear();
-        int startYear = Math.max(2025, currentYear - 2); // Go back 2 years max
+        int startYear = currentYear;
+        int endYear = currentYear;
+        LocalDateTime earliest = sessionLoggingService.getEarliestSessionStart();
+        LocalDateTime latest = sessionLoggingService.getLatestSessionStart();
+        if (earliest != null && latest != null) {
+            startYear = Math.min(startYear, earliest.getYear());
+            endYear = Math.max(endYear, latest.getYear());
+        }
         
-        for (int year = startYear; year <= currentYear; year++) {
+        List<Integer> years = new ArrayList<>();
+        for (int year = startYear; year <= endYear; year++) {
             years.add(year);
         }
         
-        // If no years yet, add current year
-        if (years.isEmpty()) {
-            years.add(currentYear);
+        availableYearsCache = Collections.unmodifiableList(years);
+        return availableYearsCache;
+    }
+    
+    /**
+     * Drop the cached years when a session lands outside them
+     */
+    @EventListener
+    public void onSessionLogged(SessionLoggedEvent event) {
+        List<Integer> cached = availableYearsCache;
+        CompletedSession session = event.getSession();
+        if (cached != null && session != null && session.getStartTime() != null
+                && !cached.contains(session.getStartTime().getYear())) {
+            availableYearsCache = null;
         }
-        
-        return years;
+    }
+    
+    /**
+     * Drop the cached years when a session is removed, since the range may shrink
+     */
+    @EventListener
+    public void onSessionDeleted(SessionDeletedEvent event) {
+        availableYearsCache = null;
+    }
+    
+    /**
+     * Get the current year in UTC, the zone session times are stored in
+     */
+    public int getCurrentYear() {
+        return LocalDate.now(ZoneOffset.UTC).getYear();
     }
     
     /**
      * Get progress chart for current year
      */
     public ProgressChart getCurrentYearProgressChart() {
-        return generateProgressChart(LocalDate.now().getYear());
+        return generateProgressChart(getCurrentYear());
     }
     
     /**
      * Get productivity statistics for a year
      */
     public YearlyStats getYearlyStats(int year) {
-        ProgressChart chart = generateProgressChart(year);
+        return YearlyStats.of(generateProgressChart(year));
+    }
+    
+    /**
+     * Get statistics for every year that has work, oldest first
+     * Uses one grouped per-day query; the years are then built as concurrent
+     * subtasks and their statistics taken as getYearlyStats does (streaks
+     * stay within a year, and the current streak is the run ending on Dec 31)
+     */
+    public List<YearlyStats> getAllYearlyStats() {
+        Map<Integer, List<DailyWorkTotal>> totalsByYear = new TreeMap<>();
+        for (DailyWorkTotal total : sessionLoggingService.getAllDailyWorkTotals()) {
+            totalsByYear.computeIfAbsent(total.getDate().getYear(), year -> new ArrayList<>()).add(total);
+        }
         
-        return new YearlyStats(
-            year,
-            chart.getTotalYearHours(),
-            chart.getTotalYearSessions(),
-            chart.getTotalWorkDays(),
-            chart.getAverageHoursPerWorkDay(),
-            chart.getCurrentStreak(),
-            chart.getLongestStreak()
-        );
+        ChartBatch batch = buildCharts(totalsByYear);
+        try {
+            List<YearlyStats> result = new ArrayList<>();
+            for (ProgressChart chart : batch.join()) {
+                if (chart.getTotalWorkDays() > 0) {
+                    result.add(YearlyStats.of(chart));
+                }
+            }
+            return result;
+        } finally {
+            batch.cancel();
+        }
+    }
+    
+    /**
+     * Year charts being built as concurrent subtasks
+     * join returns them in the order requested, whatever order they finish
+     * in. If the caller is interrupted or a year fails, or the batch is
+     * cancelled, the remaining years are cancelled: queued ones never start
+     * and running ones stop at the next month.
+     */
+    public static final class ChartBatch {
+        private final List<Future<ProgressChart>> charts;
+        private final AtomicBoolean cancelled;
+        
+        private ChartBatch(List<Future<ProgressChart>> charts, AtomicBoolean cancelled) {
+            this.charts = charts;
+            this.cancelled = cancelled;
+        }
+        
+        /**
+         * A batch of charts that are already built
+         */
+        static ChartBatch of(ProgressChart... charts) {
+            List<Future<ProgressChart>> built = new ArrayList<>(charts.length);
+            for (ProgressChart chart : charts) {
+                built.add(CompletableFuture.completedFuture(chart));
+            }
+            return new ChartBatch(built, new AtomicBoolean());
+        }
+        
+        /**
+         * Wait for the charts
+         */
+        public List<ProgressChart> join() {
+            List<ProgressChart> result = new ArrayList<>(charts.size());
+            try {
+                for (Future<ProgressChart> chart : charts) {
+                    result.add(chart.get());
+                }
+                return result;
+            } catch (InterruptedException e) {
+                cancel();
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Progress charts were cancelled");
+            } catch (ExecutionException e) {
+                cancel();
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw new IllegalStateException("Failed to generate progress charts", e.getCause());
+            }
+        }
+        
+        /**
+         * Stop building the charts that are not done yet
+         */
+        public void cancel() {
+            cancelled.set(true);
+            charts.forEach(chart -> chart.cancel(false));
+        }
     }
     
     /**
@@ -137,6 +569,21 @@ public class ProgressChartService {
             this.longestStreak = longestStreak;
         }
         
+        /**
+         * Statistics of a calendar-year chart
+         */
+        public static YearlyStats of(ProgressChart chart) {
+            return new YearlyStats(
+                chart.getYear(),
+                chart.getTotalYearHours(),
+                chart.getTotalYearSessions(),
+                chart.getTotalWorkDays(),
+                chart.getAverageHoursPerWorkDay(),
+                chart.getCurrentStreak(),
+                chart.getLongestStreak()
+            );
+        }
+        
         // Getters
         public int getYear() { return year; }
         public double getTotalHours() { return totalHours; }
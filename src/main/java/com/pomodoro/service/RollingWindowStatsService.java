@@ -0,0 +1,236 @@
+package com.pomodoro.service;
+
+import com.pomodoro.model.CompletedSession;
+import com.pomodoro.model.DailyWorkTotal;
+import com.pomodoro.model.SessionType;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Service for trailing-window focus statistics (last 7/30/90/365 days)
+ * Keeps a ring buffer of daily work totals plus a running sum per window,
+ * so logging a session and rolling over to a new day are constant-time
+ * and reads never touch the database
+ */
+@Service
+public class RollingWindowStatsService {
+
+    /**
+     * Supported window lengths in days (today included)
+     */
+    public static final int[] WINDOW_DAYS = {7, 30, 90, 365};
+
+    private static final int CAPACITY = 365;
+
+    private final SessionLoggingService sessionLoggingService;
+    private final Clock clock;
+
+    // Ring buffer of daily totals, slot = epochDay % CAPACITY
+    private final long[] dailySeconds = new long[CAPACITY];
+    private final int[] dailySessions = new int[CAPACITY];
+
+    // Running sums, one entry per window in WINDOW_DAYS
+    private final long[] windowSeconds = new long[WINDOW_DAYS.length];
+    private final long[] windowSessions = new long[WINDOW_DAYS.length];
+    private final int[] windowActiveDays = new int[WINDOW_DAYS.length];
+
+    private long currentEpochDay;
+
+    @Autowired
+    public RollingWindowStatsService(SessionLoggingService sessionLoggingService) {
+        this(sessionLoggingService, Clock.systemUTC());
+    }
+
+    RollingWindowStatsService(SessionLoggingService sessionLoggingService, Clock clock) {
+        this.sessionLoggingService = sessionLoggingService;
+        this.clock = clock;
+        this.currentEpochDay = today().toEpochDay();
+    }
+
+    /**
+     * Load the trailing year of daily totals with one grouped query
+     */
+    @PostConstruct
+    public synchronized void warmUp() {
+        clear();
+        currentEpochDay = today().toEpochDay();
+        LocalDate firstDay = LocalDate.ofEpochDay(currentEpochDay - CAPACITY + 1);
+        LocalDate endExclusive = LocalDate.ofEpochDay(currentEpochDay + 1);
+
+        List<DailyWorkTotal> totals = sessionLoggingService.getDailyWorkTotals(firstDay, endExclusive);
+        for (DailyWorkTotal total : totals) {
+            addToDay(total.getDate().toEpochDay(), total.getWorkSeconds(), (int) total.getSessionCount());
+        }
+    }
+
+    /**
+     * Add a newly logged work session to the windows
+     */
+    @EventListener
+    public void onSessionLogged(SessionLoggedEvent event) {
+        CompletedSession session = event.getSession();
+        if (isWorkSession(session)) {
+            record(session.getStartTime().toLocalDate(), session.getDurationSeconds(), 1);
+        }
+    }
+
+    /**
+     * Remove a deleted work session from the windows
+     */
+    @EventListener
+    public void onSessionDeleted(SessionDeletedEvent event) {
+        CompletedSession session = event.getSession();
+        if (isWorkSession(session)) {
+            record(session.getStartTime().toLocalDate(), -session.getDurationSeconds(), -1);
+        }
+    }
+
+    /**
+     * Apply a change to the total of a single day
+     */
+    public synchronized void record(LocalDate date, long seconds, int sessions) {
+        advanceTo(today().toEpochDay());
+        addToDay(date.toEpochDay(), seconds, sessions);
+    }
+
+    /**
+     * Get statistics for all supported windows, ending today
+     */
+    public synchronized List<WindowStats> getAllWindowStats() {
+        advanceTo(today().toEpochDay());
+
+        List<WindowStats> stats = new ArrayList<>(WINDOW_DAYS.length);
+        for (int w = 0; w < WINDOW_DAYS.length; w++) {
+            stats.add(new WindowStats(
+                WINDOW_DAYS[w],
+                LocalDate.ofEpochDay(currentEpochDay - WINDOW_DAYS[w] + 1),
+                LocalDate.ofEpochDay(currentEpochDay),
+                windowSeconds[w] / 3600.0,
+                (int) windowSessions[w],
+                windowActiveDays[w]
+            ));
+        }
+        return stats;
+    }
+
+    // Private helper methods
+
+    private void addToDay(long epochDay, long seconds, int sessions) {
+        long age = currentEpochDay - epochDay;
+        if (age < 0 || age >= CAPACITY) {
+            return; // Outside every window
+        }
+
+        int slot = slot(epochDay);
+        boolean wasActive = dailySeconds[slot] > 0;
+        dailySeconds[slot] += seconds;
+        dailySessions[slot] += sessions;
+        boolean isActive = dailySeconds[slot] > 0;
+        int activeDelta = (isActive ? 1 : 0) - (wasActive ? 1 : 0);
+
+        for (int w = 0; w < WINDOW_DAYS.length; w++) {
+            if (age < WINDOW_DAYS[w]) {
+                windowSeconds[w] += seconds;
+                windowSessions[w] += sessions;
+                windowActiveDays[w] += activeDelta;
+            }
+        }
+    }
+
+    /**
+     * Roll the ring forward one day at a time, subtracting the day that
+     * falls out of each window; a gap longer than the ring just clears it
+     */
+    private void advanceTo(long epochDay) {
+        if (epochDay - currentEpochDay >= CAPACITY) {
+            clear();
+            currentEpochDay = epochDay;
+            return;
+        }
+
+        while (currentEpochDay < epochDay) {
+            currentEpochDay++;
+            for (int w = 0; w < WINDOW_DAYS.length; w++) {
+                // For the full-capacity window this is the slot being recycled below
+                int leaving = slot(currentEpochDay - WINDOW_DAYS[w]);
+                windowSeconds[w] -= dailySeconds[leaving];
+                windowSessions[w] -= dailySessions[leaving];
+                if (dailySeconds[leaving] > 0) {
+                    windowActiveDays[w]--;
+                }
+            }
+            int slot = slot(currentEpochDay);
+            dailySeconds[slot] = 0;
+            dailySessions[slot] = 0;
+        }
+    }
+
+    private void clear() {
+        Arrays.fill(dailySeconds, 0);
+        Arrays.fill(dailySessions, 0);
+        Arrays.fill(windowSeconds, 0);
+        Arrays.fill(windowSessions, 0);
+        Arrays.fill(windowActiveDays, 0);
+    }
+
+    private static int slot(long epochDay) {
+        return (int) Math.floorMod(epochDay, (long) CAPACITY);
+    }
+
+    private static boolean isWorkSession(CompletedSession session) {
+        return session != null
+            && session.getSessionType() == SessionType.WORK
+            && session.getStartTime() != null;
+    }
+
+    private LocalDate today() {
+        return LocalDate.now(clock);
+    }
+
+    /**
+     * Data class for a single trailing window
+     */
+    public static class WindowStats {
+        private int days;
+        private LocalDate startDate;
+        private LocalDate endDate;
+        private double totalHours;
+        private int totalSessions;
+        private int workDays;
+
+        public WindowStats(int days, LocalDate startDate, LocalDate endDate,
+                           double totalHours, int totalSessions, int workDays) {
+            this.days = days;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.totalHours = totalHours;
+            this.totalSessions = totalSessions;
+            this.workDays = workDays;
+        }
+
+        // Getters
+        public int getDays() { return days; }
+        public LocalDate getStartDate() { return startDate; }
+        public LocalDate getEndDate() { return endDate; }
+        public double getTotalHours() { return totalHours; }
+        public int getTotalSessions() { return totalSessions; }
+        public int getWorkDays() { return workDays; }
+        public double getAverageHoursPerDay() { return days > 0 ? totalHours / days : 0.0; }
+
+        // Setters
+        public void setDays(int days) { this.days = days; }
+        public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+        public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+        public void setTotalHours(double totalHours) { this.totalHours = totalHours; }
+        public void setTotalSessions(int totalSessions) { this.totalSessions = totalSessions; }
+        public void setWorkDays(int workDays) { this.workDays = workDays; }
+    }
+}
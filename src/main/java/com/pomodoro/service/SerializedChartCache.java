@@ -0,0 +1,243 @@
+package com.pomodoro.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pomodoro.model.CompletedSession;
+import com.pomodoro.model.ProgressChart;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of the serialized JSON of past-year charts and yearly statistics
+ * A past year only changes when a session in it is logged or deleted, so
+ * its chart is generated once and kept as response bytes, both plain and
+ * gzip-compressed; requests are answered by copying the bytes without
+ * Jackson or recompression. Only years between the first session and the
+ * current year (exclusive) are cached, so arbitrary years cannot grow it.
+ * A miss fills every cacheable year not cached yet, read with one grouped
+ * query and built concurrently (ProgressChartService.generateProgressCharts).
+ * Years are generated outside the map: the request that misses publishes
+ * pending entries and fills them, later requests wait on those entries, and
+ * an eviction only unlinks one, so logging a session never waits on a chart
+ * being generated. Years are decided in UTC, as sessions are stored.
+ */
+@Service
+public class SerializedChartCache {
+
+    private final ProgressChartService progressChartService;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final Map<Integer, CompletableFuture<YearResponses>> years = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SerializedChartCache(ProgressChartService progressChartService, ObjectMapper objectMapper) {
+        this(progressChartService, objectMapper, Clock.systemUTC());
+    }
+
+    SerializedChartCache(ProgressChartService progressChartService, ObjectMapper objectMapper, Clock clock) {
+        this.progressChartService = progressChartService;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+    }
+
+    /**
+     * Get the serialized chart of a year, or empty if the year is not cacheable
+     */
+    public Optional<SerializedResponse> getChart(int year) {
+        return getYear(year).map(YearResponses::chart);
+    }
+
+    /**
+     * Get the serialized statistics of a year, or empty if the year is not cacheable
+     */
+    public Optional<SerializedResponse> getYearlyStats(int year) {
+        return getYear(year).map(YearResponses::stats);
+    }
+
+    /**
+     * Drop the years a newly logged session falls in
+     */
+    @EventListener
+    public void onSessionLogged(SessionLoggedEvent event) {
+        evict(event.getSession());
+    }
+
+    /**
+     * Drop the years a deleted session fell in
+     */
+    @EventListener
+    public void onSessionDeleted(SessionDeletedEvent event) {
+        evict(event.getSession());
+    }
+
+    /**
+     * Check whether an Accept-Encoding header allows a gzip response; an
+     * explicit gzip entry takes precedence over *, and q=0 refuses it
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzipQuality = -1;
+        double anyQuality = -1;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase("gzip")) {
+                gzipQuality = quality(parts);
+            } else if (name.equals("*")) {
+                anyQuality = quality(parts);
+            }
+        }
+        return gzipQuality >= 0 ? gzipQuality > 0 : anyQuality > 0;
+    }
+
+    // Private helper methods
+
+    private Optional<YearResponses> getYear(int year) {
+        int currentYear = LocalDate.now(clock).getYear();
+        if (year >= currentYear || !progressChartService.getAvailableYears().contains(year)) {
+            return Optional.empty();
+        }
+        CompletableFuture<YearResponses> cached = years.get(year);
+        while (cached == null) {
+            // Claimed by this request, or else by another one unless evicted meanwhile
+            cached = fill(currentYear).get(year);
+            if (cached == null) {
+                cached = years.get(year);
+            }
+        }
+        return Optional.of(await(cached));
+    }
+
+    /**
+     * Claim every cacheable year without an entry and generate them together
+     * An eviction while this runs unlinks the year's entry, so its result
+     * serves only the requests already waiting and the next one regenerates.
+     */
+    private Map<Integer, CompletableFuture<YearResponses>> fill(int currentYear) {
+        Map<Integer, CompletableFuture<YearResponses>> claimed = new LinkedHashMap<>();
+        for (int candidate : progressChartService.getAvailableYears()) {
+            if (candidate < currentYear) {
+                CompletableFuture<YearResponses> pending = new CompletableFuture<>();
+                if (years.putIfAbsent(candidate, pending) == null) {
+                    claimed.put(candidate, pending);
+                }
+            }
+        }
+        if (claimed.isEmpty()) {
+            return claimed;
+        }
+        try {
+            List<ProgressChart> charts = progressChartService.generateProgressCharts(new ArrayList<>(claimed.keySet()));
+            for (ProgressChart chart : charts) {
+                claimed.get(chart.getYear()).complete(
+                    new YearResponses(serialize(chart), serialize(ProgressChartService.YearlyStats.of(chart))));
+            }
+        } catch (RuntimeException | Error e) {
+            claimed.forEach((claimedYear, pending) -> {
+                years.remove(claimedYear, pending);
+                pending.completeExceptionally(e);
+            });
+            throw e;
+        }
+        return claimed;
+    }
+
+    private static YearResponses await(CompletableFuture<YearResponses> pending) {
+        try {
+            return pending.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private SerializedResponse serialize(Object value) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(value);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+            return new SerializedResponse(json, compressed.toByteArray());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + value.getClass().getSimpleName(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void evict(CompletedSession session) {
+        if (session == null || session.getStartTime() == null) {
+            years.clear();
+            return;
+        }
+        years.remove(session.getStartTime().getYear());
+        if (session.getEndTime() != null) {
+            years.remove(session.getEndTime().getYear());
+        }
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0.0;
+                }
+            }
+        }
+        return 1.0;
+    }
+
+    private record YearResponses(SerializedResponse chart, SerializedResponse stats) {}
+
+    /**
+     * Data class for a response body in plain and gzip-compressed form;
+     * the arrays are shared and must not be modified
+     */
+    public static class SerializedResponse {
+        private final byte[] json;
+        private final byte[] gzipped;
+
+        public SerializedResponse(byte[] json, byte[] gzipped) {
+            this.json = json;
+            this.gzipped = gzipped;
+        }
+
+        /**
+         * Get the body to send, compressed or not
+         */
+        public byte[] getBody(boolean gzip) {
+            return gzip ? gzipped : json;
+        }
+
+        // Getters
+        public byte[] getJson() { return json; }
+        public byte[] getGzipped() { return gzipped; }
+    }
+}
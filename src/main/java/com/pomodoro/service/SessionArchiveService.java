@@ -0,0 +1,121 @@
+package com.pomodoro.service;
+
+import com.pomodoro.repository.ArchivingSessionStore;
+import com.pomodoro.repository.CompletedSessionStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service for moving closed years of sessions into columnar archives
+ * Archived years stay fully queryable through the session store, so
+ * session, chart and statistics reads are unaffected
+ */
+@Service
+public class SessionArchiveService {
+
+    private final CompletedSessionStore sessionStore;
+    private final Clock clock;
+
+    @Autowired
+    public SessionArchiveService(CompletedSessionStore sessionStore) {
+        this(sessionStore, Clock.systemUTC());
+    }
+
+    SessionArchiveService(CompletedSessionStore sessionStore, Clock clock) {
+        this.sessionStore = sessionStore;
+        this.clock = clock;
+    }
+
+    /**
+     * Get the years already archived (empty when archiving is disabled)
+     */
+    public List<Integer> getArchivedYears() {
+        return sessionStore.unwrap(ArchivingSessionStore.class)
+            .map(ArchivingSessionStore::getArchivedYears)
+            .orElse(List.of());
+    }
+
+    /**
+     * Archive one closed year
+     */
+    public ArchiveResult archiveYear(int year) {
+        ArchivingSessionStore archivingStore = archivingStore();
+        if (year >= LocalDate.now(clock).getYear()) {
+            throw new IllegalArgumentException("Only closed years can be archived: " + year);
+        }
+        return new ArchiveResult(List.of(year), archive(archivingStore, year));
+    }
+
+    /**
+     * Archive every closed year that still has live sessions
+     */
+    public ArchiveResult archiveClosedYears() {
+        ArchivingSessionStore archivingStore = archivingStore();
+        LocalDateTime earliest = archivingStore.findEarliestStartTime();
+        int currentYear = LocalDate.now(clock).getYear();
+
+        List<Integer> years = new ArrayList<>();
+        int archived = 0;
+        for (int year = earliest != null ? earliest.getYear() : currentYear; year < currentYear; year++) {
+            int moved = archive(archivingStore, year);
+            if (moved > 0) {
+                years.add(year);
+                archived += moved;
+            }
+        }
+        return new ArchiveResult(years, archived);
+    }
+
+    // Private helper methods
+
+    private ArchivingSessionStore archivingStore() {
+        return sessionStore.unwrap(ArchivingSessionStore.class).orElseThrow(() ->
+            new ArchivingDisabledException("Session archiving is disabled; set pomodoro.archive.directory"));
+    }
+
+    private static int archive(ArchivingSessionStore archivingStore, int year) {
+        try {
+            return archivingStore.archiveYear(year);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to archive " + year, e);
+        }
+    }
+
+    /**
+     * Thrown when archiving is requested but no archive directory is configured
+     */
+    public static class ArchivingDisabledException extends IllegalStateException {
+        public ArchivingDisabledException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Data class for the outcome of an archive run
+     */
+    public static class ArchiveResult {
+        private List<Integer> years;
+        private int archivedSessions;
+
+        public ArchiveResult(List<Integer> years, int archivedSessions) {
+            this.years = years;
+            this.archivedSessions = archivedSessions;
+        }
+
+        // Getters
+        public List<Integer> getYears() { return years; }
+        public int getArchivedSessions() { return archivedSessions; }
+
+        // Setters
+        public void setYears(List<Integer> years) { this.years = years; }
+        public void setArchivedSessions(int archivedSessions) { this.archivedSessions = archivedSessions; }
+    }
+}
@@ -0,0 +1,19 @@
+package com.pomodoro.service;
+
+import com.pomodoro.model.CompletedSession;
+
+/**
+ * Published after a completed session has been removed
+ * Carries the removed session so incremental statistics can subtract it
+ */
+public class SessionDeletedEvent {
+    private final CompletedSession session;
+
+    public SessionDeletedEvent(CompletedSession session) {
+        this.session = session;
+    }
+
+    public CompletedSession getSession() {
+        return session;
+    }
+}
@@ -0,0 +1,355 @@
+package com.pomodoro.service;
+
+import com.pomodoro.model.CompletedSession;
+import com.pomodoro.model.PomodoroSettings;
+import com.pomodoro.model.SessionDurationHistogram;
+import com.pomodoro.model.SessionType;
+import com.pomodoro.repository.SessionDurationHistogramRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Service for the distribution of actual session durations
+ * Keeps one log-linear histogram per session type per month, updated as
+ * sessions are logged or deleted and persisted in sparse encoded form.
+ * Months and years are merged on read, so percentiles for any period
+ * never load individual sessions. Requested years are clamped to the
+ * available years, so only years with data are ever loaded. Each year is
+ * loaded once by the first caller that needs it, outside any lock, while
+ * callers for the same year wait for it.
+ */
+@Service
+public class SessionDurationService {
+
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+
+    private final SessionDurationHistogramRepository histogramRepository;
+    private final SessionLoggingService sessionLoggingService;
+    private final ProgressChartService progressChartService;
+    private final Map<Integer, CompletableFuture<YearHistograms>> years = new ConcurrentHashMap<>();
+    // Guards the in-memory histograms; held only while they are changed or merged
+    private final ReentrantLock countsLock = new ReentrantLock();
+    // Saves changed months in the order they changed; a lock rather than a
+    // monitor, since it is held across the database write
+    private final ReentrantLock saveLock = new ReentrantLock();
+
+    @Autowired
+    public SessionDurationService(SessionDurationHistogramRepository histogramRepository,
+                                  SessionLoggingService sessionLoggingService,
+                                  ProgressChartService progressChartService) {
+        this.histogramRepository = histogramRepository;
+        this.sessionLoggingService = sessionLoggingService;
+        this.progressChartService = progressChartService;
+    }
+
+    /**
+     * Add a newly logged session to its month's histogram
+     */
+    @EventListener
+    public void onSessionLogged(SessionLoggedEvent event) {
+        applySession(event.getSession(), 1);
+    }
+
+    /**
+     * Remove a deleted session from its month's histogram
+     */
+    @EventListener
+    public void onSessionDeleted(SessionDeletedEvent event) {
+        applySession(event.getSession(), -1);
+    }
+
+    /**
+     * Get duration statistics per session type for a range of years,
+     * optionally restricted to one month (1-12) of each year
+     * Sessions shorter than the planned duration in the given settings
+     * are reported as cut short
+     */
+    public List<DurationStats> getDurationStats(int fromYear, int toYear, Integer month, PomodoroSettings settings) {
+        if (toYear < fromYear) {
+            throw new IllegalArgumentException("End year must not be before start year");
+        }
+        if (month != null && (month < 1 || month > 12)) {
+            throw new IllegalArgumentException("Month must be between 1 and 12");
+        }
+
+        Map<SessionType, DurationHistogram> merged = new EnumMap<>(SessionType.class);
+        for (SessionType type : SessionType.values()) {
+            merged.put(type, new DurationHistogram());
+        }
+        List<Integer> availableYears = progressChartService.getAvailableYears();
+        int firstYear = Math.max(fromYear, availableYears.get(0));
+        int lastYear = Math.min(toYear, availableYears.get(availableYears.size() - 1));
+        for (int year = firstYear; year <= lastYear; year++) {
+            YearHistograms yearHistograms = getOrLoad(year, null);
+            countsLock.lock();
+            try {
+                for (SessionType type : SessionType.values()) {
+                    for (int m = 1; m <= 12; m++) {
+                        DurationHistogram histogram = yearHistograms.get(type, m);
+                        if (histogram != null && (month == null || month == m)) {
+                            merged.get(type).merge(histogram);
+                        }
+                    }
+                }
+            } finally {
+                countsLock.unlock();
+            }
+        }
+
+        List<DurationStats> stats = new ArrayList<>();
+        for (SessionType type : SessionType.values()) {
+            DurationHistogram histogram = merged.get(type);
+            long plannedMicros = plannedSeconds(type, settings) * MICROS_PER_SECOND;
+            long cutShort = histogram.getCountBelow(plannedMicros);
+            stats.add(new DurationStats(
+                type,
+                histogram.getTotalCount(),
+                histogram.getMinValue(),
+                histogram.getMaxValue(),
+                histogram.getMean(),
+                histogram.getValueAtPercentile(50.0),
+                histogram.getValueAtPercentile(90.0),
+                histogram.getValueAtPercentile(99.0),
+                plannedMicros,
+                cutShort,
+                histogram.getTotalCount() > 0 ? (double) cutShort / histogram.getTotalCount() : 0.0
+            ));
+        }
+        return stats;
+    }
+
+    /**
+     * Make sure a year's histograms are stored, building them from its sessions
+     * if needed; called before those sessions are compacted away
+     */
+    void preload(int year) {
+        getOrLoad(year, null);
+    }
+
+    // Private helper methods
+
+    /**
+     * Apply a logged (+1) or deleted (-1) session; a year that had to be
+     * backfilled already reflects the change
+     */
+    private void applySession(CompletedSession session, int sign) {
+        if (session == null || session.getSessionType() == null || session.getStartTime() == null) {
+            return;
+        }
+
+        int year = session.getStartTime().getYear();
+        boolean[] backfilled = new boolean[1];
+        YearHistograms yearHistograms = getOrLoad(year, backfilled);
+        if (backfilled[0]) {
+            return;
+        }
+
+        int month = session.getStartTime().getMonthValue();
+        saveLock.lock();
+        try {
+            SessionDurationHistogram record;
+            countsLock.lock();
+            try {
+                DurationHistogram histogram = yearHistograms.getOrCreate(session.getSessionType(), month);
+                histogram.record(session.getDurationSeconds() * MICROS_PER_SECOND, sign);
+                record = yearHistograms.toRecord(session.getSessionType(), month);
+            } finally {
+                countsLock.unlock();
+            }
+            histogramRepository.save(record);
+        } finally {
+            saveLock.unlock();
+        }
+    }
+
+    /**
+     * Get a year's histograms from memory, then the database, and otherwise
+     * build them once from that year's sessions
+     * The caller that claims a year loads it; a failed load is forgotten,
+     * so the next caller tries again.
+     */
+    private YearHistograms getOrLoad(int year, boolean[] backfilled) {
+        CompletableFuture<YearHistograms> cached = years.get(year);
+        if (cached == null) {
+            CompletableFuture<YearHistograms> pending = new CompletableFuture<>();
+            cached = years.putIfAbsent(year, pending);
+            if (cached == null) {
+                try {
+                    pending.complete(load(year, backfilled));
+                } catch (RuntimeException | Error e) {
+                    years.remove(year, pending);
+                    pending.completeExceptionally(e);
+                    throw e;
+                }
+                return pending.join();
+            }
+        }
+        try {
+            return cached.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private YearHistograms load(int year, boolean[] backfilled) {
+        YearHistograms yearHistograms = new YearHistograms(year);
+        List<SessionDurationHistogram> records = histogramRepository.findByYear(year);
+        if (records.isEmpty()) {
+            for (CompletedSession session : sessionLoggingService.getSessionsForYear(year)) {
+                yearHistograms.getOrCreate(session.getSessionType(), session.getStartTime().getMonthValue())
+                    .record(session.getDurationSeconds() * MICROS_PER_SECOND, 1);
+            }
+            histogramRepository.saveAll(yearHistograms.toRecords());
+            if (backfilled != null) {
+                backfilled[0] = true;
+            }
+        } else {
+            for (SessionDurationHistogram record : records) {
+                yearHistograms.load(record);
+            }
+        }
+        return yearHistograms;
+    }
+
+    private static long plannedSeconds(SessionType type, PomodoroSettings settings) {
+        return 60L * switch (type) {
+            case WORK -> settings.getWorkDurationMinutes();
+            case SHORT_BREAK -> settings.getShortBreakDurationMinutes();
+            case LONG_BREAK -> settings.getLongBreakDurationMinutes();
+        };
+    }
+
+    /**
+     * In-memory histograms for one year, indexed by type and month,
+     * alongside the entities they are persisted through
+     */
+    private static class YearHistograms {
+        private final int year;
+        private final Map<SessionType, DurationHistogram[]> histograms = new EnumMap<>(SessionType.class);
+        private final Map<SessionType, SessionDurationHistogram[]> records = new EnumMap<>(SessionType.class);
+
+        YearHistograms(int year) {
+            this.year = year;
+            for (SessionType type : SessionType.values()) {
+                histograms.put(type, new DurationHistogram[13]);
+                records.put(type, new SessionDurationHistogram[13]);
+            }
+        }
+
+        DurationHistogram get(SessionType type, int month) {
+            return histograms.get(type)[month];
+        }
+
+        DurationHistogram getOrCreate(SessionType type, int month) {
+            DurationHistogram[] byMonth = histograms.get(type);
+            if (byMonth[month] == null) {
+                byMonth[month] = new DurationHistogram();
+            }
+            return byMonth[month];
+        }
+
+        void load(SessionDurationHistogram record) {
+            histograms.get(record.getSessionType())[record.getMonth()] =
+                DurationHistogram.fromBytes(record.getEncodedCounts());
+            records.get(record.getSessionType())[record.getMonth()] = record;
+        }
+
+        SessionDurationHistogram toRecord(SessionType type, int month) {
+            byte[] encoded = getOrCreate(type, month).toBytes();
+            SessionDurationHistogram[] byMonth = records.get(type);
+            if (byMonth[month] == null) {
+                byMonth[month] = new SessionDurationHistogram(year, month, type, encoded);
+            } else {
+                byMonth[month].setEncodedCounts(encoded);
+            }
+            return byMonth[month];
+        }
+
+        List<SessionDurationHistogram> toRecords() {
+            List<SessionDurationHistogram> result = new ArrayList<>();
+            for (SessionType type : SessionType.values()) {
+                for (int month = 1; month <= 12; month++) {
+                    if (get(type, month) != null) {
+                        result.add(toRecord(type, month));
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Data class for duration statistics of one session type (values in microseconds)
+     */
+    public static class DurationStats {
+        private SessionType sessionType;
+        private long count;
+        private long minMicros;
+        private long maxMicros;
+        private double meanMicros;
+        private long p50Micros;
+        private long p90Micros;
+        private long p99Micros;
+        private long plannedMicros;
+        private long cutShortCount;
+        private double cutShortRate;
+
+        public DurationStats(SessionType sessionType, long count, long minMicros, long maxMicros,
+                             double meanMicros, long p50Micros, long p90Micros, long p99Micros,
+                             long plannedMicros, long cutShortCount, double cutShortRate) {
+            this.sessionType = sessionType;
+            this.count = count;
+            this.minMicros = minMicros;
+            this.maxMicros = maxMicros;
+            this.meanMicros = meanMicros;
+            this.p50Micros = p50Micros;
+            this.p90Micros = p90Micros;
+            this.p99Micros = p99Micros;
+            this.plannedMicros = plannedMicros;
+            this.cutShortCount = cutShortCount;
+            this.cutShortRate = cutShortRate;
+        }
+
+        // Getters
+        public SessionType getSessionType() { return sessionType; }
+        public long getCount() { return count; }
+        public long getMinMicros() { return minMicros; }
+        public long getMaxMicros() { return maxMicros; }
+        public double getMeanMicros() { return meanMicros; }
+        public long getP50Micros() { return p50Micros; }
+        public long getP90Micros() { return p90Micros; }
+        public long getP99Micros() { return p99Micros; }
+        public long getPlannedMicros() { return plannedMicros; }
+        public long getCutShortCount() { return cutShortCount; }
+        public double getCutShortRate() { return cutShortRate; }
+
+        // Setters
+        public void setSessionType(SessionType sessionType) { this.sessionType = sessionType; }
+        public void setCount(long count) { this.count = count; }
+        public void setMinMicros(long minMicros) { this.minMicros = minMicros; }
+        public void setMaxMicros(long maxMicros) { this.maxMicros = maxMicros; }
+        public void setMeanMicros(double meanMicros) { this.meanMicros = meanMicros; }
+        public void setP50Micros(long p50Micros) { this.p50Micros = p50Micros; }
+        public void setP90Micros(long p90Micros) { this.p90Micros = p90Micros; }
+        public void setP99Micros(long p99Micros) { this.p99Micros = p99Micros; }
+        public void setPlannedMicros(long plannedMicros) { this.plannedMicros = plannedMicros; }
+        public void setCutShortCount(long cutShortCount) { this.cutShortCount = cutShortCount; }
+        public void setCutShortRate(double cutShortRate) { this.cutShortRate = cutShortRate; }
+    }
+}
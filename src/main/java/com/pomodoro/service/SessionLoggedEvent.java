@@ -0,0 +1,19 @@
+package com.pomodoro.service;
+
+import com.pomodoro.model.CompletedSession;
+
+/**
+ * Published after a completed session has been persisted
+ * Lets in-memory statistics update incrementally instead of re-querying
+ */
+public class SessionLoggedEvent {
+    private final CompletedSession session;
+
+    public SessionLoggedEvent(CompletedSession session) {
+        this.session = session;
+    }
+
+    public CompletedSession getSession() {
+        return session;
+    }
+}
@@ -1,15 +1,24 @@
 package com.pomodoro.service;
 
 import com.pomodoro.model.CompletedSession;
+import com.pomodoro.model.DailyWorkTotal;
 import com.pomodoro.model.SessionType;
 import com.pomodoro.model.TimerSession;
-import com.pomodoro.repository.CompletedSessionRepository;
+import com.pomodoro.monitoring.SessionWriteEvent;
+import com.pomodoro.repository.CompletedSessionStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Service for managing completed Pomodoro sessions and productivity tracking
@@ -17,43 +26,108 @@ import java.util.List;
 @Service
 public class SessionLoggingService {
     
-    private final CompletedSessionRepository completedSessionRepository;
+    private final CompletedSessionStore sessionStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DailyFocusIndex focusIndex = new DailyFocusIndex();
+    private volatile boolean focusIndexBuilt;
+    // Writes hold the read lock across the store call and the index update, so
+    // they run concurrently but never interleave with a rebuild, which takes the
+    // write lock; a lock rather than a monitor, since both sides do database I/O
+    private final ReentrantReadWriteLock focusIndexLock = new ReentrantReadWriteLock();
+    private final Timer logTimer;
+    private final Counter logFailures;
     
     @Autowired
-    public SessionLoggingService(CompletedSessionRepository completedSessionRepository) {
-        this.completedSessionRepository = completedSessionRepository;
+    public SessionLoggingService(CompletedSessionStore sessionStore,
+                                 ApplicationEventPublisher eventPublisher,
+                                 MeterRegistry meterRegistry) {
+        this.sessionStore = sessionStore;
+        this.eventPublisher = eventPublisher;
+        this.logTimer = Timer.builder("pomodoro.session.log")
+            .description("Time to log a completed session")
+            .register(meterRegistry);
+        this.logFailures = Counter.builder("pomodoro.session.log.failures")
+            .description("Completed sessions that could not be logged")
+            .register(meterRegistry);
+    }
+    
+    SessionLoggingService(CompletedSessionStore sessionStore, ApplicationEventPublisher eventPublisher) {
+        this(sessionStore, eventPublisher, new SimpleMeterRegistry());
+    }
+    
+    /**
+     * Rebuild the date-range index from the per-day aggregates
+     * Called on first use rather than at startup, so boot time does not
+     * grow with the number of stored sessions
+     */
+    public void rebuildFocusIndex() {
+        focusIndexLock.writeLock().lock();
+        try {
+            focusIndex.rebuild(getAllDailyWorkTotals());
+            focusIndexBuilt = true;
+        } finally {
+            focusIndexLock.writeLock().unlock();
+        }
     }
     
     /**
      * Log a completed session from a timer session
      */
     public CompletedSession logCompletedSession(TimerSession timerSession) {
-        if (timerSession.getStartTime() == null || timerSession.getEndTime() == null) {
-            throw new IllegalArgumentException("Session must have both start and end times to be logged");
+        Timer.Sample sample = Timer.start();
+        SessionWriteEvent writeEvent = new SessionWriteEvent();
+        writeEvent.begin();
+        boolean succeeded = false;
+        try {
+            if (timerSession.getStartTime() == null || timerSession.getEndTime() == null) {
+                throw new IllegalArgumentException("Session must have both start and end times to be logged");
+            }
+            
+            CompletedSession session = new CompletedSession(
+                timerSession.getSessionType(),
+                timerSession.getStartTime(),
+                timerSession.getEndTime(),
+                timerSession.getElapsedSeconds()
+            );
+            
+            CompletedSession saved;
+            focusIndexLock.readLock().lock();
+            try {
+                saved = sessionStore.save(session);
+                indexSession(saved, 1);
+            } finally {
+                focusIndexLock.readLock().unlock();
+            }
+            eventPublisher.publishEvent(new SessionLoggedEvent(saved));
+            succeeded = true;
+            return saved;
+        } catch (RuntimeException e) {
+            logFailures.increment();
+            throw e;
+        } finally {
+            sample.stop(logTimer);
+            writeEvent.end();
+            if (writeEvent.shouldCommit()) {
+                writeEvent.sessionType = timerSession.getSessionType() != null ? timerSession.getSessionType().name() : null;
+                writeEvent.sessionSeconds = timerSession.getElapsedSeconds();
+                writeEvent.succeeded = succeeded;
+                writeEvent.commit();
+            }
         }
-        
-        CompletedSession session = new CompletedSession(
-            timerSession.getSessionType(),
-            timerSession.getStartTime(),
-            timerSession.getEndTime(),
-            timerSession.getElapsedSeconds()
-        );
-        
-        return completedSessionRepository.save(session);
     }
     
     /**
      * Get all completed sessions
      */
     public List<CompletedSession> getAllSessions() {
-        return completedSessionRepository.findAllByOrderByStartTimeDesc();
+        return sessionStore.findAllByOrderByStartTimeDesc();
     }
     
     /**
      * Get sessions within a date range
      */
     public List<CompletedSession> getSessionsBetween(LocalDateTime startDate, LocalDateTime endDate) {
-        return completedSessionRepository.findSessionsBetween(startDate, endDate);
+        return sessionStore.findSessionsBetween(startDate, endDate);
     }
     
     /**
@@ -63,7 +137,7 @@ public class SessionLoggingService {
         LocalDateTime startOfDay = date.atStartOfDay();
         LocalDateTime endOfDay = date.plusDays(1).atStartOfDay();
         
-        return completedSessionRepository.findWorkSessionsBetween(
+        return sessionStore.findWorkSessionsBetween(
             SessionType.WORK, startOfDay, endOfDay);
     }
     
@@ -74,15 +148,48 @@ public class SessionLoggingService {
         LocalDateTime startOfDay = date.atStartOfDay();
         LocalDateTime endOfDay = date.plusDays(1).atStartOfDay();
         
-        Long totalSeconds = completedSessionRepository.getTotalWorkSecondsInRange(startOfDay, endOfDay);
+        Long totalSeconds = sessionStore.getTotalWorkSecondsInRange(startOfDay, endOfDay);
         return totalSeconds / 3600.0; // Convert to hours
     }
     
+    /**
+     * Get per-day work totals between two dates (end exclusive) using one grouped query
+     * Days without work are omitted from the result
+     */
+    public List<DailyWorkTotal> getDailyWorkTotals(LocalDate startDate, LocalDate endDate) {
+        return sessionStore.getDailyWorkTotalsInRange(
+            startDate.atStartOfDay(), endDate.atStartOfDay());
+    }
+    
+    /**
+     * Get per-day work totals for the whole history, ordered by date, using one grouped query
+     */
+    public List<DailyWorkTotal> getAllDailyWorkTotals() {
+        return sessionStore.getAllDailyWorkTotals();
+    }
+    
+    /**
+     * Get the start time of the earliest logged session, or null if none exist
+     */
+    public LocalDateTime getEarliestSessionStart() {
+        return sessionStore.findEarliestStartTime();
+    }
+    
+    /**
+     * Get the start time of the latest logged session, or null if none exist
+     */
+    public LocalDateTime getLatestSessionStart() {
+        return sessionStore.findLatestStartTime();
+    }
+    
     /**
      * Get work session count for a specific date
+     * Counted from the daily totals, so dates whose sessions were compacted
+     * by the retention policy still report their count
      */
     public int getWorkSessionCountForDate(LocalDate date) {
-        return getWorkSessionsForDate(date).size();
+        List<DailyWorkTotal> totals = getDailyWorkTotals(date, date.plusDays(1));
+        return totals.isEmpty() ? 0 : (int) totals.get(0).getSessionCount();
     }
     
     /**
@@ -91,8 +198,13 @@ public class SessionLoggingService {
      * This maps to the GitHub-style contribution chart colors
      */
     public int getProductivityLevelForDate(LocalDate date) {
-        double hoursWorked = getTotalWorkHoursForDate(date);
-        
+        return getProductivityLevelForHours(getTotalWorkHoursForDate(date));
+    }
+    
+    /**
+     * Map hours worked in a day to its productivity level (see getProductivityLevelForDate)
+     */
+    public static int getProductivityLevelForHours(double hoursWorked) {
         if (hoursWorked == 0) return 0;           // White/Black - no work
         else if (hoursWorked < 1) return 1;       // Dark green - < 1 hour
         else if (hoursWorked <= 3) return 2;      // Yellow - 1-3 hours  
@@ -127,7 +239,85 @@ public class SessionLoggingService {
      */
     public void deleteSession(Long sessionId) {
         if (sessionId != null) {
-            completedSessionRepository.deleteById(sessionId);
+            Optional<CompletedSession> existing;
+            focusIndexLock.readLock().lock();
+            try {
+                existing = sessionStore.findById(sessionId);
+                sessionStore.deleteById(sessionId);
+                existing.ifPresent(session -> indexSession(session, -1));
+            } finally {
+                focusIndexLock.readLock().unlock();
+            }
+            existing.ifPresent(session -> eventPublisher.publishEvent(new SessionDeletedEvent(session)));
+        }
+    }
+    
+    /**
+     * Get total work for any inclusive date range in O(log n), without touching the database
+     */
+    public FocusTotals getFocusTotalsBetween(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        if (!focusIndexBuilt) {
+            focusIndexLock.writeLock().lock();
+            try {
+                if (!focusIndexBuilt) {
+                    rebuildFocusIndex();
+                }
+            } finally {
+                focusIndexLock.writeLock().unlock();
+            }
+        }
+        long[] sums = focusIndex.rangeSum(startDate, endDate);
+        return new FocusTotals(startDate, endDate, sums[0], (int) sums[1]);
+    }
+    
+    /**
+     * Apply a change to the index; until it is first built the change is
+     * picked up by the build itself (callers hold the index read lock, and
+     * the index synchronizes the update itself)
+     */
+    private void indexSession(CompletedSession session, int sign) {
+        if (focusIndexBuilt && session != null && session.getSessionType() == SessionType.WORK && session.getStartTime() != null) {
+            try {
+                focusIndex.add(session.getStartTime().toLocalDate(), sign * (long) session.getDurationSeconds(), sign);
+            } catch (IllegalArgumentException e) {
+                // The day is too far from the indexed ones; the write already
+                // happened, so drop the index and let the next range query
+                // rebuild it and report the span
+                focusIndexBuilt = false;
+            }
+        }
+    }
+    
+    /**
+     * Data class for work totals over a date range
+     */
+    public static class FocusTotals {
+        private LocalDate startDate;
+        private LocalDate endDate;
+        private long totalSeconds;
+        private int sessionCount;
+        
+        public FocusTotals(LocalDate startDate, LocalDate endDate, long totalSeconds, int sessionCount) {
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.totalSeconds = totalSeconds;
+            this.sessionCount = sessionCount;
         }
+        
+        // Getters
+        public LocalDate getStartDate() { return startDate; }
+        public LocalDate getEndDate() { return endDate; }
+        public long getTotalSeconds() { return totalSeconds; }
+        public double getTotalHours() { return totalSeconds / 3600.0; }
+        public int getSessionCount() { return sessionCount; }
+        
+        // Setters
+        public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+        public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+        public void setTotalSeconds(long totalSeconds) { this.totalSeconds = totalSeconds; }
+        public void setSessionCount(int sessionCount) { this.sessionCount = sessionCount; }
     }
 }
\ No newline at end of file
@@ -0,0 +1,270 @@
+package com.pomodoro.service;
+
+import com.pomodoro.model.CompletedSession;
+import com.pomodoro.model.SessionAggregate;
+import com.pomodoro.model.SessionType;
+import com.pomodoro.repository.AggregatingSessionStore;
+import com.pomodoro.repository.CompletedSessionStore;
+import com.pomodoro.repository.SessionAggregateRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service that compacts raw sessions older than the retention window
+ * Sessions are rolled into hourly per-type SessionAggregate rows a few days
+ * at a time in the background. Each chunk runs in one transaction: the
+ * aggregates are written, their stored totals are checked against the raw
+ * sessions, and only then are the raw rows deleted. Heatmaps and duration
+ * histograms of the affected years are stored first, since they can no
+ * longer be rebuilt once the raw sessions are gone. Failed background runs
+ * are logged and counted in pomodoro.retention.failures.
+ */
+@Service
+@ConditionalOnProperty(name = "pomodoro.retention.enabled", havingValue = "true")
+public class SessionRetentionService {
+
+    private static final long START_DELAY_MINUTES = 1;
+    private static final long[] NO_TOTALS = new long[2];
+
+    private static final Logger log = LoggerFactory.getLogger(SessionRetentionService.class);
+
+    private final CompletedSessionStore sessionStore;
+    private final SessionAggregateRepository aggregateRepository;
+    private final FocusHeatmapService focusHeatmapService;
+    private final SessionDurationService sessionDurationService;
+    private final TransactionTemplate transactionTemplate;
+    private final int keepYears;
+    private final int chunkDays;
+    private final long intervalHours;
+    private final Clock clock;
+    private final Counter failures;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "session-retention");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public SessionRetentionService(CompletedSessionStore sessionStore,
+                                   SessionAggregateRepository aggregateRepository,
+                                   FocusHeatmapService focusHeatmapService,
+                                   SessionDurationService sessionDurationService,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${pomodoro.retention.keep-years:2}") int keepYears,
+                                   @Value("${pomodoro.retention.chunk-days:7}") int chunkDays,
+                                   @Value("${pomodoro.retention.interval-hours:24}") long intervalHours) {
+        this(sessionStore, aggregateRepository, focusHeatmapService, sessionDurationService, transactionManager,
+            meterRegistry, keepYears, chunkDays, intervalHours, Clock.systemUTC());
+    }
+
+    SessionRetentionService(CompletedSessionStore sessionStore,
+                            SessionAggregateRepository aggregateRepository,
+                            FocusHeatmapService focusHeatmapService,
+                            SessionDurationService sessionDurationService,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            int keepYears, int chunkDays, long intervalHours, Clock clock) {
+        if (keepYears < 1 || chunkDays < 1 || intervalHours < 1) {
+            throw new IllegalArgumentException("Retention years, chunk days and interval hours must be positive");
+        }
+        this.sessionStore = sessionStore;
+        this.aggregateRepository = aggregateRepository;
+        this.focusHeatmapService = focusHeatmapService;
+        this.sessionDurationService = sessionDurationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.keepYears = keepYears;
+        this.chunkDays = chunkDays;
+        this.intervalHours = intervalHours;
+        this.clock = clock;
+        this.failures = Counter.builder("pomodoro.retention.failures")
+            .description("Background compaction runs that failed")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Start compacting periodically once the application is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::compactQuietly,
+            START_DELAY_MINUTES, TimeUnit.HOURS.toMinutes(intervalHours), TimeUnit.MINUTES);
+    }
+
+    /**
+     * Compact every session that started before the retention window
+     */
+    public RetentionResult compactExpiredSessions() {
+        return compactBefore(LocalDate.now(clock).minusYears(keepYears).atStartOfDay());
+    }
+
+    /**
+     * Compact every session that started before the cutoff, one chunk of
+     * days at a time
+     */
+    public synchronized RetentionResult compactBefore(LocalDateTime cutoff) {
+        AggregatingSessionStore aggregatingStore = sessionStore.unwrap(AggregatingSessionStore.class)
+            .orElseThrow(() -> new IllegalStateException("Session store does not support compaction"));
+
+        LocalDateTime earliest = aggregatingStore.findEarliestLiveStartTime();
+        int chunks = 0;
+        int compacted = 0;
+        if (earliest != null) {
+            LocalDateTime from = earliest.truncatedTo(ChronoUnit.DAYS);
+            while (from.isBefore(cutoff)) {
+                LocalDateTime to = from.plusDays(chunkDays).isBefore(cutoff) ? from.plusDays(chunkDays) : cutoff;
+                int moved = compactChunk(aggregatingStore, from, to);
+                if (moved > 0) {
+                    chunks++;
+                    compacted += moved;
+                }
+                from = to;
+            }
+        }
+        return new RetentionResult(cutoff, chunks, compacted);
+    }
+
+    /**
+     * Stop the background schedule
+     */
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * One background run; a failure is logged and counted rather than
+     * cancelling the schedule
+     */
+    void compactQuietly() {
+        try {
+            compactExpiredSessions();
+        } catch (Exception e) {
+            // Keep the schedule; the next run retries from the oldest remaining session
+            failures.increment();
+            log.error("Failed to compact expired sessions", e);
+        }
+    }
+
+    // Private helper methods
+
+    /**
+     * Roll the sessions starting in [from, to) into hourly aggregates and
+     * delete them; returns the number of sessions compacted
+     */
+    private int compactChunk(AggregatingSessionStore aggregatingStore, LocalDateTime from, LocalDateTime to) {
+        List<CompletedSession> sessions = sessionStore.findSessionsBetween(from, to);
+        if (sessions.isEmpty()) {
+            return 0;
+        }
+
+        TreeSet<Integer> years = new TreeSet<>();
+        for (CompletedSession session : sessions) {
+            years.add(session.getStartTime().getYear());
+            if (session.getEndTime() != null) {
+                years.add(session.getEndTime().getYear());
+            }
+        }
+        for (int year : years) {
+            focusHeatmapService.preload(year);
+            sessionDurationService.preload(year);
+        }
+
+        Integer compacted = transactionTemplate.execute(status -> {
+            Map<SessionType, long[]> expected = typeTotals(from, to);
+            Map<HourKey, SessionAggregate> hours = new HashMap<>();
+            for (SessionAggregate aggregate : aggregateRepository.findHoursBetween(from, to)) {
+                hours.put(new HourKey(aggregate.getHourStart(), aggregate.getSessionType()), aggregate);
+            }
+
+            List<Long> ids = new ArrayList<>(sessions.size());
+            for (CompletedSession session : sessions) {
+                LocalDateTime hourStart = session.getStartTime().truncatedTo(ChronoUnit.HOURS);
+                hours.computeIfAbsent(new HourKey(hourStart, session.getSessionType()),
+                    key -> new SessionAggregate(key.hourStart(), key.sessionType())).add(session);
+                long[] totals = expected.computeIfAbsent(session.getSessionType(), type -> new long[2]);
+                totals[0]++;
+                totals[1] += session.getDurationSeconds();
+                ids.add(session.getId());
+            }
+            aggregateRepository.saveAll(hours.values());
+
+            Map<SessionType, long[]> stored = typeTotals(from, to);
+            for (SessionType type : SessionType.values()) {
+                if (!Arrays.equals(expected.getOrDefault(type, NO_TOTALS), stored.getOrDefault(type, NO_TOTALS))) {
+                    throw new IllegalStateException("Aggregate totals for " + type + " between " + from + " and "
+                        + to + " do not match the raw sessions; nothing was deleted");
+                }
+            }
+
+            aggregatingStore.extendCompactedRange(to);
+            sessionStore.deleteSessionsById(ids);
+            return ids.size();
+        });
+        return compacted != null ? compacted : 0;
+    }
+
+    /**
+     * Per-type (count, seconds) stored in the aggregate table for a range
+     */
+    private Map<SessionType, long[]> typeTotals(LocalDateTime from, LocalDateTime to) {
+        Map<SessionType, long[]> totals = new EnumMap<>(SessionType.class);
+        for (Object[] row : aggregateRepository.getTypeTotalsInRange(from, to)) {
+            totals.put((SessionType) row[0], new long[] {((Number) row[1]).longValue(), ((Number) row[2]).longValue()});
+        }
+        return totals;
+    }
+
+    private record HourKey(LocalDateTime hourStart, SessionType sessionType) {}
+
+    /**
+     * Data class for the outcome of a compaction run
+     */
+    public static class RetentionResult {
+        private LocalDateTime cutoff;
+        private int chunks;
+        private int compactedSessions;
+
+        public RetentionResult(LocalDateTime cutoff, int chunks, int compactedSessions) {
+            this.cutoff = cutoff;
+            this.chunks = chunks;
+            this.compactedSessions = compactedSessions;
+        }
+
+        // Getters
+        public LocalDateTime getCutoff() { return cutoff; }
+        public int getChunks() { return chunks; }
+        public int getCompactedSessions() { return compactedSessions; }
+
+        // Setters
+        public void setCutoff(LocalDateTime cutoff) { this.cutoff = cutoff; }
+        public void setChunks(int chunks) { this.chunks = chunks; }
+        public void setCompactedSessions(int compactedSessions) { this.compactedSessions = compactedSessions; }
+    }
+}
@@ -0,0 +1,122 @@
+package com.pomodoro.service;
+
+import com.pomodoro.model.PomodoroSettings;
+import com.pomodoro.model.TimerSession;
+import com.pomodoro.model.TimerSnapshot;
+import com.pomodoro.repository.TimerSnapshotRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service that persists the timer so a restart does not lose it
+ * The timer state is written periodically and on shutdown; on startup a
+ * running timer is resumed against its deadline, or completed as of the
+ * deadline if that passed while the application was down.
+ * With pomodoro.timer.hibernate-after-minutes set, a stopped or completed
+ * timer left unused that long is dropped from memory after its snapshot is
+ * written, and loaded back from the snapshot on its next use.
+ */
+@Service
+@ConditionalOnProperty(name = "pomodoro.timer.snapshot.enabled", havingValue = "true")
+public class TimerSnapshotService {
+
+    static final String TIMER_ID = "default";
+
+    private static final Logger log = LoggerFactory.getLogger(TimerSnapshotService.class);
+
+    private final TimerSnapshotRepository snapshotRepository;
+    private final PomodoroTimerService timerService;
+    private final long intervalSeconds;
+    private final Duration hibernateAfter;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofVirtual().name("timer-snapshot").factory());
+
+    @Autowired
+    public TimerSnapshotService(TimerSnapshotRepository snapshotRepository,
+                                PomodoroTimerService timerService,
+                                @Value("${pomodoro.timer.snapshot.interval-seconds:5}") long intervalSeconds,
+                                @Value("${pomodoro.timer.hibernate-after-minutes:0}") long hibernateAfterMinutes) {
+        if (hibernateAfterMinutes < 0) {
+            throw new IllegalArgumentException("Hibernation idle minutes cannot be negative");
+        }
+        this.snapshotRepository = snapshotRepository;
+        this.timerService = timerService;
+        this.intervalSeconds = intervalSeconds;
+        this.hibernateAfter = hibernateAfterMinutes > 0 ? Duration.ofMinutes(hibernateAfterMinutes) : null;
+    }
+
+    /**
+     * Restore the last snapshot once the application is ready (so listeners
+     * see a session completed during restore) and start snapshotting
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        restore();
+        scheduler.scheduleWithFixedDelay(this::snapshotQuietly, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Restore the timer from its snapshot, if there is one
+     */
+    public TimerSession restore() {
+        return snapshotRepository.findById(TIMER_ID)
+            .map(snapshot -> timerService.restore(snapshot.toTimerSession(), snapshot.toSettings(), snapshot.getDeadline()))
+            .orElse(null);
+    }
+
+    /**
+     * Persist the current timer state
+     * Returns null while the timer is hibernated, as its snapshot is current;
+     * taking a snapshot does not count as using the timer.
+     */
+    public TimerSnapshot snapshot() {
+        return timerService.persist(this::save);
+    }
+
+    /**
+     * Hibernate the timer if it has been idle for the configured time
+     */
+    public boolean hibernateIfIdle() {
+        return hibernateAfter != null && timerService.hibernateIfIdle(hibernateAfter, this::save,
+            () -> snapshotRepository.findById(TIMER_ID).orElse(null));
+    }
+
+    /**
+     * Take a final snapshot before the application stops
+     */
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        snapshotQuietly();
+    }
+
+    // Private helper methods
+
+    private TimerSnapshot save(TimerSession session, PomodoroSettings settings) {
+        return snapshotRepository.save(new TimerSnapshot(TIMER_ID, session, settings, LocalDateTime.now(ZoneOffset.UTC)));
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+            hibernateIfIdle();
+        } catch (Exception e) {
+            // Keep snapshotting; the next run will retry
+            log.warn("Failed to snapshot timer", e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+-- Pomodoro Productivity Tracker - schema for the persistent (prod) profile
+-- Idempotent: runs on every start, Hibernate then validates the entities against it
+
+create table if not exists completed_sessions (
+    id bigint generated by default as identity,
+    session_type varchar(255) not null check (session_type in ('WORK','SHORT_BREAK','LONG_BREAK')),
+    start_time timestamp(6) not null,
+    end_time timestamp(6) not null,
+    duration_seconds integer not null,
+    created_at timestamp(6) not null,
+    primary key (id)
+);
+
+create index if not exists idx_completed_sessions_start_time
+    on completed_sessions (start_time);
+
+create index if not exists idx_completed_sessions_type_start_time
+    on completed_sessions (session_type, start_time);
+
+create table if not exists daily_tasks (
+    id bigint generated by default as identity,
+    text varchar(500) not null,
+    task_date date not null,
+    completed boolean not null,
+    priority integer not null,
+    created_at timestamp(6) not null,
+    completed_at timestamp(6),
+    primary key (id)
+);
+
+create table if not exists focus_heatmaps (
+    heatmap_year integer not null,
+    work_seconds varbinary(672) not null,
+    completions varbinary(672) not null,
+    primary key (heatmap_year)
+);
+
+create table if not exists session_duration_histograms (
+    id bigint generated by default as identity,
+    histogram_year integer not null,
+    histogram_month integer not null,
+    session_type varchar(255) not null check (session_type in ('WORK','SHORT_BREAK','LONG_BREAK')),
+    encoded_counts varbinary(65536) not null,
+    primary key (id),
+    unique (histogram_year, histogram_month, session_type)
+);
+
+create table if not exists timer_snapshots (
+    timer_id varchar(64) not null,
+    session_type varchar(255) not null check (session_type in ('WORK','SHORT_BREAK','LONG_BREAK')),
+    state varchar(255) not null check (state in ('STOPPED','RUNNING','PAUSED','COMPLETED')),
+    total_duration_seconds integer not null,
+    remaining_seconds integer not null,
+    start_time timestamp(6),
+    end_time timestamp(6),
+    deadline timestamp(6),
+    completed_work_sessions integer not null,
+    work_duration_minutes integer not null,
+    short_break_duration_minutes integer not null,
+    long_break_duration_minutes integer not null,
+    long_break_interval integer not null,
+    auto_start_breaks boolean not null,
+    auto_start_pomodoros boolean not null,
+    version bigint not null default 0,
+    saved_at timestamp(6) not null,
+    primary key (timer_id)
+);
+
+-- Snapshot tables created before the status version counter lack the column
+alter table timer_snapshots add column if not exists version bigint not null default 0;
+
+create table if not exists session_aggregates (
+    id bigint generated by default as identity,
+    hour_start timestamp(6) not null,
+    session_type varchar(255) not null check (session_type in ('WORK','SHORT_BREAK','LONG_BREAK')),
+    session_count bigint not null,
+    total_seconds bigint not null,
+    primary key (id),
+    unique (hour_start, session_type)
+);
@@ -0,0 +1,90 @@
+package com.pomodoro.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.pomodoro.json.StreamingSerializersModule;
+import com.pomodoro.model.DailyWorkTotal;
+import com.pomodoro.model.ProgressChart;
+import com.pomodoro.model.SessionType;
+import com.pomodoro.model.TimerSession;
+import com.pomodoro.model.TimerState;
+import com.pomodoro.service.ProgressChartService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares Jackson's bean serializers with the streaming serializers for a
+ * year chart (about two thirds of the days with work) and a running timer
+ * session, writing to a discarding stream as the controllers write to the
+ * response. Add -prof gc to see the bytes allocated per operation.
+ *
+ * Run with:
+ *   mvn -q test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *       -Dexec.args="-cp %classpath com.pomodoro.benchmark.JsonSerializationBenchmark -prof gc"
+ * (any JMH command line options can be appended)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"bean", "streaming"})
+    public String serializers;
+
+    private ObjectMapper objectMapper;
+    private ProgressChart chart;
+    private TimerSession timerSession;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (serializers.equals("streaming")) {
+            objectMapper.registerModule(new StreamingSerializersModule());
+        }
+
+        List<DailyWorkTotal> totals = new ArrayList<>();
+        for (LocalDate day = LocalDate.of(2024, 1, 1); day.getYear() == 2024; day = day.plusDays(1)) {
+            int sessions = day.getDayOfYear() % 3 == 0 ? 0 : day.getDayOfYear() % 11 + 1;
+            if (sessions > 0) {
+                totals.add(new DailyWorkTotal(day, sessions * 1500L, (long) sessions));
+            }
+        }
+        chart = ProgressChartService.buildYearChart(2024, totals);
+
+        timerSession = new TimerSession(SessionType.WORK, 25);
+        timerSession.setState(TimerState.RUNNING);
+        timerSession.setRemainingSeconds(1234);
+        timerSession.setStartTime(LocalDateTime.of(2025, 3, 3, 9, 0));
+        timerSession.setCompletedWorkSessions(3);
+    }
+
+    @Benchmark
+    public void writeYearChart() throws Exception {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), chart);
+    }
+
+    @Benchmark
+    public void writeTimerSession() throws Exception {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), timerSession);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .include(JsonSerializationBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -0,0 +1,242 @@
+package com.pomodoro.benchmark;
+
+import com.pomodoro.PomodoroApplication;
+import com.pomodoro.model.CompletedSession;
+import com.pomodoro.model.SessionType;
+import com.pomodoro.reactive.ReactiveReadServer;
+import com.pomodoro.repository.CompletedSessionRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Benchmark comparing the servlet controllers with the reactive read API
+ * Starts the application once in the reactive profile, so Tomcat and
+ * Netty serve the same year of sessions side by side, then has many
+ * concurrent keep-alive clients read the year chart, yearly statistics and
+ * a month of sessions from each stack in turn, pausing between requests.
+ * Reports per-endpoint p50/p99/p99.9 latency, errors, and the heap and
+ * threads added per open connection at peak over an idle baseline.
+ *
+ * The clients run in the same JVM, so the memory figures include their
+ * side of each connection too; it is the same for both stacks, so the
+ * difference between them is what the servers cost. Note that the
+ * servlet year chart and statistics still build the chart one day at a
+ * time, while the reactive ones use a single grouped query; the month of
+ * sessions is one query on both. Each connection takes two file
+ * descriptors in one process, so raise ulimit -n above twice the clients.
+ *
+ * Run with:
+ *   mvn -q test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *       -Dexec.args="-cp %classpath com.pomodoro.benchmark.ReactiveStackBenchmark [clients] [seconds] [think ms]"
+ * (defaults: 10000 clients, 30 seconds per stack, 10000 ms between requests)
+ */
+public class ReactiveStackBenchmark {
+
+    private static final int SESSIONS = 365 * 8;
+    private static final int WARMUP_SECONDS = 10;
+    private static final long SAMPLE_MILLIS = 200;
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        long thinkMillis = args.length > 2 ? Long.parseLong(args[2]) : 10_000;
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(PomodoroApplication.class)
+                .profiles("reactive")
+                // Arguments rather than default properties, which application.properties would override
+                .run("--server.port=0", "--pomodoro.reactive.port=0",
+                    "--server.tomcat.max-connections=" + (clients + 1000),
+                    "--server.tomcat.accept-count=" + clients,
+                    "--server.tomcat.keep-alive-timeout=120s",
+                    "--server.tomcat.max-keep-alive-requests=-1",
+                    "--spring.jpa.show-sql=false", "--logging.level.root=WARN")) {
+            seed(context.getBean(CompletedSessionRepository.class));
+            int year = LocalDate.now().getYear();
+            LocalDate today = LocalDate.now();
+            List<String> paths = List.of(
+                "/api/progress/chart/" + year,
+                "/api/progress/stats/" + year,
+                "/api/sessions/month/" + today.getYear() + "/" + today.getMonthValue());
+
+            Map<String, String> stacks = new LinkedHashMap<>();
+            stacks.put("servlet", "http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+            stacks.put("reactive", "http://localhost:" + context.getBean(ReactiveReadServer.class).getPort());
+
+            List<String> results = new ArrayList<>();
+            for (Map.Entry<String, String> stack : stacks.entrySet()) {
+                // Same load, unmeasured, to warm up the JIT and the connection pools
+                load(stack.getValue(), paths, Math.min(clients, 200), WARMUP_SECONDS, thinkMillis);
+                results.addAll(describe(stack.getKey(), paths,
+                    load(stack.getValue(), paths, clients, seconds, thinkMillis)));
+            }
+            System.out.println();
+            System.out.println("Clients: " + clients + ", " + seconds + " s per stack, " + thinkMillis
+                + " ms between requests");
+            results.forEach(System.out::println);
+        }
+    }
+
+    /**
+     * Run the read load against one stack and collect its latencies and footprint
+     */
+    private static LoadResult load(String base, List<String> paths, int clients, int seconds, long thinkMillis) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        System.gc();
+        long baselineHeap = memory.getHeapMemoryUsage().getUsed();
+        int baselineThreads = threads.getThreadCount();
+
+        Map<String, ConcurrentLinkedQueue<Long>> nanos = new LinkedHashMap<>();
+        paths.forEach(path -> nanos.put(path, new ConcurrentLinkedQueue<>()));
+        LongAdder errors = new LongAdder();
+        AtomicLong peakHeap = new AtomicLong();
+        AtomicLong peakThreads = new AtomicLong();
+
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(60))
+            .build();
+        ScheduledSampler sampler = new ScheduledSampler(() -> {
+            peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+            peakThreads.accumulateAndGet(threads.getThreadCount(), Math::max);
+        });
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                executor.submit(() -> {
+                    // Spread the connects over the first quarter of the run, each opening
+                    // with the cheap session list so every client holds a connection early
+                    pause(ThreadLocalRandom.current().nextLong(Math.min(thinkMillis, seconds * 250L) + 1));
+                    int next = paths.size() - 1;
+                    while (System.nanoTime() < deadline) {
+                        String path = paths.get(next++ % paths.size());
+                        long start = System.nanoTime();
+                        if (send(client, URI.create(base + path))) {
+                            nanos.get(path).add(System.nanoTime() - start);
+                        } else {
+                            errors.increment();
+                        }
+                        pause(thinkMillis);
+                    }
+                });
+            }
+        } finally {
+            sampler.close();
+            client.close();
+        }
+
+        Map<String, long[]> latencies = new LinkedHashMap<>();
+        nanos.forEach((path, queue) -> latencies.put(path, queue.stream().mapToLong(Long::longValue).sorted().toArray()));
+        return new LoadResult(latencies, errors.sum(),
+            (peakHeap.get() - baselineHeap) / (double) clients,
+            (peakThreads.get() - baselineThreads) / (double) clients);
+    }
+
+    private static List<String> describe(String stack, List<String> paths, LoadResult result) {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(Locale.ROOT, "%-8s errors %6d  heap %7.1f KiB/connection  threads %5.3f/connection",
+            stack, result.errors(), result.heapBytesPerClient() / 1024, result.threadsPerClient()));
+        for (String path : paths) {
+            long[] sorted = result.latencies().get(path);
+            lines.add(String.format(Locale.ROOT, "  %-28s %7d req  p50 %8.1f ms  p99 %8.1f ms  p99.9 %8.1f ms",
+                path, sorted.length, percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.99),
+                percentileMillis(sorted, 0.999)));
+        }
+        return lines;
+    }
+
+    private static boolean send(HttpClient client, URI uri) {
+        try {
+            HttpResponse<Void> response = client.send(
+                HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(120)).build(),
+                HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() == 200;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A year of sessions, eight a day, ending today
+     */
+    private static void seed(CompletedSessionRepository repository) {
+        LocalDateTime first = LocalDate.now().minusDays(SESSIONS / 8 - 1).atTime(8, 0);
+        List<CompletedSession> batch = new ArrayList<>();
+        for (int i = 0; i < SESSIONS; i++) {
+            LocalDateTime start = first.plusDays(i / 8).plusMinutes((i % 8) * 30L);
+            boolean work = i % 2 == 0;
+            int minutes = work ? 25 : 5;
+            batch.add(new CompletedSession(work ? SessionType.WORK : SessionType.SHORT_BREAK,
+                start, start.plusMinutes(minutes), minutes * 60));
+            if (batch.size() == 1000) {
+                repository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        repository.saveAll(batch);
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private record LoadResult(Map<String, long[]> latencies, long errors,
+                              double heapBytesPerClient, double threadsPerClient) {}
+
+    /**
+     * Runs a sample every SAMPLE_MILLIS on a daemon thread until closed
+     */
+    private static final class ScheduledSampler implements AutoCloseable {
+        private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "benchmark-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        ScheduledSampler(Runnable sample) {
+            executor.scheduleAtFixedRate(sample, 0, SAMPLE_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void close() {
+            executor.shutdownNow();
+        }
+    }
+}
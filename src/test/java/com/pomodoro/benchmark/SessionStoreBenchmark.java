@@ -0,0 +1,132 @@
+package com.pomodoro.benchmark;
+
+import com.pomodoro.PomodoroApplication;
+import com.pomodoro.model.CompletedSession;
+import com.pomodoro.model.DailyWorkTotal;
+import com.pomodoro.model.SessionType;
+import com.pomodoro.repository.CompletedSessionRepository;
+import com.pomodoro.repository.CompletedSessionStore;
+import com.pomodoro.repository.SegmentLogSessionStore;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the JPA repository with the memory-mapped segment log for the
+ * operations the application performs: appending a session, scanning a
+ * month of sessions and aggregating a year of daily totals
+ *
+ * Run with:
+ *   mvn -q test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *       -Dexec.args="-cp %classpath com.pomodoro.benchmark.SessionStoreBenchmark"
+ * (any JMH command line options can be appended)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SessionStoreBenchmark {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2020, 1, 1, 6, 0);
+
+    @Param({"jpa", "segment-log"})
+    public String backend;
+
+    @Param({"100000"})
+    public int sessions;
+
+    private CompletedSessionStore store;
+    private ConfigurableApplicationContext context;
+    private Path directory;
+    private LocalDateTime monthStart;
+    private LocalDateTime yearStart;
+    private int appended;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        if (backend.equals("jpa")) {
+            context = new SpringApplicationBuilder(PomodoroApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.jpa.show-sql=false", "logging.level.root=WARN")
+                .run();
+            store = context.getBean(CompletedSessionRepository.class);
+        } else {
+            directory = Files.createTempDirectory("session-log-bench");
+            store = new SegmentLogSessionStore(directory);
+        }
+
+        // Eight sessions a day, alternating work and breaks
+        List<CompletedSession> batch = new ArrayList<>();
+        for (int i = 0; i < sessions; i++) {
+            batch.add(session(i));
+            if (batch.size() == 1000 || i == sessions - 1) {
+                if (store instanceof CompletedSessionRepository repository) {
+                    repository.saveAll(batch);
+                } else {
+                    batch.forEach(store::save);
+                }
+                batch.clear();
+            }
+        }
+        appended = sessions;
+
+        LocalDateTime middle = session(sessions / 2).getStartTime();
+        monthStart = middle.toLocalDate().withDayOfMonth(1).atStartOfDay();
+        yearStart = middle.toLocalDate().withDayOfYear(1).atStartOfDay();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (context != null) {
+            context.close();
+        }
+        if (store instanceof SegmentLogSessionStore segmentLog) {
+            segmentLog.close();
+            FileSystemUtils.deleteRecursively(directory);
+        }
+    }
+
+    @Benchmark
+    public CompletedSession append() {
+        return store.save(session(appended++));
+    }
+
+    @Benchmark
+    public List<CompletedSession> monthRangeScan() {
+        return store.findSessionsBetween(monthStart, monthStart.plusMonths(1));
+    }
+
+    @Benchmark
+    public List<DailyWorkTotal> yearDailyTotals() {
+        return store.getDailyWorkTotalsInRange(yearStart, yearStart.plusYears(1));
+    }
+
+    private static CompletedSession session(int i) {
+        LocalDateTime start = BASE.plusDays(i / 8).plusMinutes((i % 8) * 30L);
+        boolean work = i % 2 == 0;
+        int minutes = work ? 25 : 5;
+        return new CompletedSession(work ? SessionType.WORK : SessionType.SHORT_BREAK,
+            start, start.plusMinutes(minutes), minutes * 60);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+            .include(SessionStoreBenchmark.class.getSimpleName())
+            .parent(new CommandLineOptions(args))
+            .build()).run();
+    }
+}
@@ -0,0 +1,155 @@
+package com.pomodoro.benchmark;
+
+import com.pomodoro.PomodoroApplication;
+import com.pomodoro.model.CompletedSession;
+import com.pomodoro.model.SessionType;
+import com.pomodoro.repository.CompletedSessionRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load test comparing the Tomcat platform thread pool with virtual threads
+ * Starts the application once per thread model on a random port with a
+ * year of sessions, then has many concurrent clients load the dashboard
+ * (trailing chart, month of sessions, tasks, timer status) for a fixed
+ * time, after an unmeasured warm-up. Reports throughput, errors and
+ * timer status latency per thread model. Virtual threads pay off when
+ * requests block (file-backed database, slow disks); with the in-memory
+ * database on few cores the load is CPU-bound and both models are close.
+ *
+ * Run with:
+ *   mvn -q test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *       -Dexec.args="-cp %classpath com.pomodoro.benchmark.ThreadModelLoadTest [clients] [seconds]"
+ * (defaults: 1000 clients, 15 seconds per thread model)
+ */
+public class ThreadModelLoadTest {
+
+    private static final int SESSIONS = 365 * 8;
+    private static final int WARMUP_SECONDS = 10;
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 15;
+
+        List<String> results = new ArrayList<>();
+        for (boolean virtual : new boolean[] {false, true}) {
+            results.add(run(virtual, clients, seconds));
+        }
+        System.out.println();
+        System.out.println("Clients: " + clients + ", " + seconds + " s per thread model");
+        results.forEach(System.out::println);
+    }
+
+    private static String run(boolean virtual, int clients, int seconds) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(PomodoroApplication.class)
+                .properties("server.port=0", "spring.threads.virtual.enabled=" + virtual,
+                    "spring.jpa.show-sql=false", "logging.level.root=WARN")
+                .run()) {
+            seed(context.getBean(CompletedSessionRepository.class));
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            LocalDate today = LocalDate.now();
+            List<URI> dashboard = List.of(
+                URI.create(base + "/api/progress/chart/trailing"),
+                URI.create(base + "/api/sessions/month/" + today.getYear() + "/" + today.getMonthValue()),
+                URI.create(base + "/api/tasks"));
+            URI status = URI.create(base + "/api/timer/status");
+
+            HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+
+            // Same load, unmeasured, to warm up the JIT and the connection pools
+            load(client, dashboard, status, clients, WARMUP_SECONDS);
+            return (virtual ? "virtual " : "platform") + load(client, dashboard, status, clients, seconds);
+        }
+    }
+
+    /**
+     * Run the dashboard load and describe throughput, errors and timer status latency
+     */
+    private static String load(HttpClient client, List<URI> dashboard, URI status, int clients, int seconds) {
+        LongAdder completed = new LongAdder();
+        LongAdder errors = new LongAdder();
+        ConcurrentLinkedQueue<Long> statusNanos = new ConcurrentLinkedQueue<>();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        for (URI uri : dashboard) {
+                            send(client, uri, completed, errors);
+                        }
+                        long start = System.nanoTime();
+                        send(client, status, completed, errors);
+                        statusNanos.add(System.nanoTime() - start);
+                    }
+                });
+            }
+        }
+
+        long[] latencies = statusNanos.stream().mapToLong(Long::longValue).sorted().toArray();
+        return String.format(Locale.ROOT, " %8.0f req/s  errors %6d  timer status p50 %8.1f ms  p99 %8.1f ms",
+            completed.sum() / (double) seconds, errors.sum(),
+            percentileMillis(latencies, 0.50), percentileMillis(latencies, 0.99));
+    }
+
+    private static void send(HttpClient client, URI uri, LongAdder completed, LongAdder errors) {
+        try {
+            HttpResponse<Void> response = client.send(
+                HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).build(),
+                HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() == 200) {
+                completed.increment();
+            } else {
+                errors.increment();
+            }
+        } catch (Exception e) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * A year of sessions, eight a day, ending today
+     */
+    private static void seed(CompletedSessionRepository repository) {
+        LocalDateTime first = LocalDate.now().minusDays(SESSIONS / 8 - 1).atTime(8, 0);
+        List<CompletedSession> batch = new ArrayList<>();
+        for (int i = 0; i < SESSIONS; i++) {
+            LocalDateTime start = first.plusDays(i / 8).plusMinutes((i % 8) * 30L);
+            boolean work = i % 2 == 0;
+            int minutes = work ? 25 : 5;
+            batch.add(new CompletedSession(work ? SessionType.WORK : SessionType.SHORT_BREAK,
+                start, start.plusMinutes(minutes), minutes * 60));
+            if (batch.size() == 1000) {
+                repository.saveAll(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,89 @@
+package com.pomodoro.config;
+
+import com.pomodoro.PomodoroApplication;
+import com.pomodoro.repository.TimerSnapshotRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Boots the persistent prod profile against a file database
+ * Hibernate only validates the entities there, so a column missing from
+ * db/schema-h2.sql fails startup.
+ */
+class ProdProfileStartupTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should start the prod profile on a new database")
+    void testStartsOnNewDatabase() {
+        try (ConfigurableApplicationContext context = startProd()) {
+            assertTrue(context.isRunning());
+            assertDoesNotThrow(() -> context.getBean(TimerSnapshotRepository.class).findAll());
+        }
+    }
+
+    @Test
+    @DisplayName("Should add columns missing from an existing database")
+    void testUpgradesExistingDatabase() throws Exception {
+        // timer_snapshots as created before the status version counter
+        try (Connection connection = DriverManager.getConnection(databaseUrl(), "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("""
+                create table timer_snapshots (
+                    timer_id varchar(64) not null,
+                    session_type varchar(255) not null,
+                    state varchar(255) not null,
+                    total_duration_seconds integer not null,
+                    remaining_seconds integer not null,
+                    start_time timestamp(6),
+                    end_time timestamp(6),
+                    deadline timestamp(6),
+                    completed_work_sessions integer not null,
+                    work_duration_minutes integer not null,
+                    short_break_duration_minutes integer not null,
+                    long_break_duration_minutes integer not null,
+                    long_break_interval integer not null,
+                    auto_start_breaks boolean not null,
+                    auto_start_pomodoros boolean not null,
+                    saved_at timestamp(6) not null,
+                    primary key (timer_id)
+                )""");
+        }
+
+        try (ConfigurableApplicationContext context = startProd()) {
+            Integer columns = context.getBean(JdbcTemplate.class).queryForObject(
+                "select count(*) from information_schema.columns "
+                    + "where table_name = 'TIMER_SNAPSHOTS' and column_name = 'VERSION'",
+                Integer.class);
+            assertEquals(1, columns);
+        }
+    }
+
+    private ConfigurableApplicationContext startProd() {
+        return new SpringApplicationBuilder(PomodoroApplication.class)
+            .profiles("prod")
+            .properties(
+                "server.port=0",
+                "spring.datasource.url=" + databaseUrl(),
+                "pomodoro.archive.directory=" + directory.resolve("archive"),
+                "pomodoro.retention.enabled=false")
+            .run();
+    }
+
+    private String databaseUrl() {
+        return "jdbc:h2:file:" + directory.resolve("pomodoro") + ";DB_CLOSE_ON_EXIT=FALSE";
+    }
+}
@@ -0,0 +1,37 @@
+package com.pomodoro.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for the archive endpoints with archiving disabled (the default)
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ArchiveControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Should list no archived years and answer archive requests with 409")
+    void testArchivingDisabled() throws Exception {
+        mockMvc.perform(get("/api/archive"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isEmpty());
+        mockMvc.perform(post("/api/archive"))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.detail").value("Session archiving is disabled; set pomodoro.archive.directory"));
+        mockMvc.perform(post("/api/archive/2020"))
+            .andExpect(status().isConflict());
+    }
+}
@@ -0,0 +1,118 @@
+package com.pomodoro.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pomodoro.model.SessionType;
+import com.pomodoro.model.TimerSession;
+import com.pomodoro.service.ProgressChartService;
+import com.pomodoro.service.SessionLoggingService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for past-year chart and statistics responses served from cached bytes
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ChartResponseEncodingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SessionLoggingService sessionLoggingService;
+
+    @Autowired
+    private ProgressChartService progressChartService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Should send a past-year chart gzipped only to clients that accept it")
+    void testContentEncoding() throws Exception {
+        // Given - A session in 2019
+        log(LocalDateTime.of(2019, 5, 6, 9, 0));
+
+        // When - Requesting the chart with and without gzip
+        MvcResult gzipped = mockMvc.perform(get("/api/progress/chart/2019")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+            .andExpect(status().isOk())
+            .andReturn();
+        MvcResult plain = mockMvc.perform(get("/api/progress/chart/2019"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        // Then - Both carry the JSON Jackson writes for the chart
+        assertEquals("gzip", gzipped.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(gzipped.getResponse().getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT_ENCODING));
+        assertNull(plain.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("application/json", plain.getResponse().getContentType());
+        String json = plain.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertEquals(json, gunzip(gzipped.getResponse().getContentAsByteArray()));
+        assertEquals(objectMapper.writeValueAsString(progressChartService.generateProgressChart(2019)), json);
+    }
+
+    @Test
+    @DisplayName("Should serve fresh past-year statistics after a session is logged into that year")
+    void testStatisticsRefreshed() throws Exception {
+        // Given - Cached statistics for 2018
+        log(LocalDateTime.of(2018, 2, 1, 9, 0));
+        mockMvc.perform(get("/api/progress/stats/2018"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalSessions").value(1));
+
+        // When - Another 2018 session is logged
+        log(LocalDateTime.of(2018, 2, 1, 10, 0));
+
+        // Then - The statistics include it
+        mockMvc.perform(get("/api/progress/stats/2018").header(HttpHeaders.ACCEPT_ENCODING, "identity"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalSessions").value(2))
+            .andExpect(jsonPath("$.workDays").value(1));
+    }
+
+    @Test
+    @DisplayName("Should answer oversized and inverted chart ranges with 400")
+    void testRangeRejected() throws Exception {
+        mockMvc.perform(get("/api/progress/chart/range/0001-01-01/9999-12-31"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.detail").value("Chart range cannot span more than 5 years"));
+        mockMvc.perform(get("/api/progress/chart/range/2025-02-01/2025-01-01"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/progress/chart/range/2021-01-03/2025-12-27"))
+            .andExpect(status().isOk());
+    }
+
+    // Helper methods
+
+    private void log(LocalDateTime start) {
+        TimerSession timerSession = new TimerSession(SessionType.WORK, 25);
+        timerSession.setStartTime(start);
+        timerSession.setEndTime(start.plusMinutes(25));
+        timerSession.setRemainingSeconds(0);
+        sessionLoggingService.logCompletedSession(timerSession);
+    }
+
+    private static String gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.pomodoro.controller;
+
+import com.pomodoro.model.CompletedSession;
+import com.pomodoro.model.SessionType;
+import com.pomodoro.monitoring.RequestQueryInterceptor;
+import com.pomodoro.repository.CompletedSessionStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Query budgets per API endpoint
+ * Each request's SQL statement count is read from the X-Query-Count header
+ * and must stay within the endpoint's budget. Budgets allow for one-off
+ * lazy loads on the first request.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class QueryBudgetTest {
+
+    // A single day is read with three statements
+    private static final int PER_DAY = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CompletedSessionStore sessionStore;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime start = LocalDateTime.of(2025, 3, 3, 9, 0);
+        sessionStore.save(new CompletedSession(SessionType.WORK, start, start.plusMinutes(25), 1500));
+    }
+
+    @Test
+    @DisplayName("Timer endpoints should not touch the database")
+    void testTimerBudget() throws Exception {
+        assertWithinBudget("/api/timer/status", 0);
+        assertWithinBudget("/api/timer/settings", 0);
+    }
+
+    @Test
+    @DisplayName("Grouped chart and statistics endpoints should use a handful of statements")
+    void testGroupedReadBudget() throws Exception {
+        assertWithinBudget("/api/progress/chart/range/2025-01-01/2025-12-31", 2);
+        assertWithinBudget("/api/progress/chart/trailing", 2);
+        assertWithinBudget("/api/progress/day/2025-03-03", PER_DAY + 1);
+        assertWithinBudget("/api/progress/years", 3);
+        assertWithinBudget("/api/progress/overview", 2);
+        assertWithinBudget("/api/progress/rolling", 2);
+        assertWithinBudget("/api/sessions/stats/2025-03-03", PER_DAY + 1);
+        assertWithinBudget("/api/sessions/totals/2025-01-01/2025-12-31", 2);
+        assertWithinBudget("/api/analytics/heatmap/2025", 4);
+        assertWithinBudget("/api/analytics/durations/2025", 3);
+        assertWithinBudget("/api/progress/chart/2025", 2);
+        assertWithinBudget("/api/progress/month/2025/3", 2);
+        assertWithinBudget("/api/progress/stats/2025", 2);
+    }
+
+    @Test
+    @DisplayName("List endpoints should use one statement")
+    void testListBudget() throws Exception {
+        assertWithinBudget("/api/sessions", 1);
+        assertWithinBudget("/api/tasks", 1);
+    }
+
+    @Test
+    @DisplayName("Dashboard should cost one current year chart plus today's task reads")
+    void testDashboardBudget() throws Exception {
+        assertWithinBudget("/api/dashboard?fields=timer,tasks,taskStats", 3);
+        assertWithinBudget("/api/dashboard", 2 + 3);
+    }
+
+    // Helper methods
+
+    private void assertWithinBudget(String url, long budget) throws Exception {
+        MvcResult result = mockMvc.perform(get(url)).andExpect(status().isOk()).andReturn();
+        String header = result.getResponse().getHeader(RequestQueryInterceptor.QUERY_COUNT_HEADER);
+        assertNotNull(header, "No query count for " + url);
+        assertNotNull(result.getResponse().getHeader(RequestQueryInterceptor.QUERY_TIME_HEADER));
+        long statements = Long.parseLong(header);
+        assertTrue(statements <= budget, url + " executed " + statements + " statements, budget " + budget);
+    }
+}
@@ -0,0 +1,74 @@
+package com.pomodoro.controller;
+
+import com.pomodoro.monitoring.ServerTiming;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for the Server-Timing header on API responses
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ServerTimingTest {
+
+    private static final Pattern METRIC = Pattern.compile("(\\w+);dur=(\\d+\\.\\d{3})");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Should break a chart response down into phases")
+    void testChartTimings() throws Exception {
+        // When - Requesting a chart
+        MvcResult result = mockMvc.perform(get("/api/progress/chart/2025"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.year").value(2025))
+            .andReturn();
+
+        // Then - All four phases are reported and the parts fit in the total
+        String header = result.getResponse().getHeader(ServerTiming.HEADER);
+        assertNotNull(header);
+        Matcher matcher = METRIC.matcher(header);
+        double parts = 0;
+        double total = -1;
+        int metrics = 0;
+        while (matcher.find()) {
+            metrics++;
+            double millis = Double.parseDouble(matcher.group(2));
+            if ("total".equals(matcher.group(1))) {
+                total = millis;
+            } else {
+                parts += millis;
+            }
+        }
+        assertEquals(4, metrics, header);
+        assertTrue(header.startsWith("database;dur="), header);
+        assertTrue(header.contains("aggregation;dur=") && header.contains("serialization;dur="), header);
+        assertTrue(parts <= total + 0.01, header);
+        assertTrue(total > 0, header);
+    }
+
+    @Test
+    @DisplayName("Should time responses of state-changing endpoints too")
+    void testTimerTimings() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/timer/reset"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        assertTrue(result.getResponse().getHeader(ServerTiming.HEADER).startsWith("database;dur=0.000"));
+    }
+}
@@ -0,0 +1,129 @@
+package com.pomodoro.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pomodoro.monitoring.ServerTiming;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for long-polling and conditional requests on the timer status
+ * - A poll with the current version waits until the timer changes
+ * - A poll with an old version answers at once
+ * - A poll that times out answers with the unchanged session
+ * - A status request with the current ETag gets 304
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TimerLongPollTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private long version;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        version = readStatus(mockMvc.perform(post("/api/timer/reset")).andReturn()).get("version").asLong();
+    }
+
+    @Test
+    @DisplayName("Should park a poll until the timer changes")
+    void testPollWaitsForChange() throws Exception {
+        // Given - A poll with the version the client has seen
+        MvcResult parked = mockMvc.perform(get("/api/timer/status/poll").param("version", Long.toString(version)))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        assertThrows(IllegalStateException.class, () -> parked.getAsyncResult(200));
+
+        // When - The timer starts
+        mockMvc.perform(post("/api/timer/start")).andExpect(status().isOk());
+
+        // Then - The poll answers with the running session and a newer version
+        MvcResult answered = mockMvc.perform(asyncDispatch(parked))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.state").value("RUNNING"))
+            .andReturn();
+        assertTrue(readStatus(answered).get("version").asLong() > version);
+        assertNotNull(answered.getResponse().getHeader(ServerTiming.HEADER));
+        mockMvc.perform(post("/api/timer/stop"));
+    }
+
+    @Test
+    @DisplayName("Should answer a poll with an old version at once")
+    void testPollWithStaleVersion() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/timer/status/poll").param("version", Long.toString(version - 1)))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        MvcResult answered = mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk()).andReturn();
+        assertEquals(version, readStatus(answered).get("version").asLong());
+    }
+
+    @Test
+    @DisplayName("Should answer with the unchanged session when the poll times out")
+    void testPollTimeout() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/timer/status/poll").param("version", Long.toString(version)))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // MockMvc has no container to fire the timeout, so fire it as the container would
+        MockAsyncContext asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+        MvcResult answered = mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk()).andReturn();
+        assertEquals(version, readStatus(answered).get("version").asLong());
+    }
+
+    @Test
+    @DisplayName("Should answer a status request with the current ETag with 304 until the next transition")
+    void testStatusNotModified() throws Exception {
+        // Given - The status and its ETag
+        MvcResult first = mockMvc.perform(get("/api/timer/status")).andExpect(status().isOk()).andReturn();
+        String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertEquals("\"" + version + "\"", eTag);
+        assertEquals("no-cache", first.getResponse().getHeader(HttpHeaders.CACHE_CONTROL));
+
+        // When / Then - Unchanged, it is not sent again
+        MvcResult unchanged = mockMvc.perform(get("/api/timer/status").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andReturn();
+        assertEquals(0, unchanged.getResponse().getContentLength());
+
+        // When / Then - After a transition the full session comes back with its deadline
+        mockMvc.perform(post("/api/timer/start")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/timer/status").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.state").value("RUNNING"))
+            .andExpect(jsonPath("$.deadline").isNotEmpty());
+        mockMvc.perform(post("/api/timer/stop"));
+    }
+
+    // Helper methods
+
+    private JsonNode readStatus(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+}
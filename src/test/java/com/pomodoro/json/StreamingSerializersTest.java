@@ -0,0 +1,155 @@
+package com.pomodoro.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.pomodoro.model.DailyWorkTotal;
+import com.pomodoro.model.ProgressChart;
+import com.pomodoro.model.ProgressDay;
+import com.pomodoro.model.ProgressMonth;
+import com.pomodoro.model.SessionType;
+import com.pomodoro.model.TimerSession;
+import com.pomodoro.model.TimerState;
+import com.pomodoro.service.ProgressChartService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the streaming serializers
+ * Each must write the same document as Jackson's bean serializer with the
+ * application's date settings, property for property and in the same order
+ * for the properties backed by fields.
+ */
+class StreamingSerializersTest {
+
+    private final ObjectMapper reflective = new ObjectMapper().findAndRegisterModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final ObjectMapper streaming = new ObjectMapper().findAndRegisterModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .registerModule(new StreamingSerializersModule());
+
+    @Test
+    @DisplayName("Should write year charts like the bean serializer, streaks included")
+    void testYearChart() throws Exception {
+        // A streak running into Dec 31, a longer one in spring and every productivity level
+        List<DailyWorkTotal> totals = new ArrayList<>();
+        LocalDate day = LocalDate.of(2024, 3, 1);
+        for (int i = 0; i < 20; i++) {
+            totals.add(new DailyWorkTotal(day.plusDays(i), 1500L * (i % 12 + 1), (long) (i % 12 + 1)));
+        }
+        totals.add(new DailyWorkTotal(LocalDate.of(2024, 12, 30), 600L, 1L));
+        totals.add(new DailyWorkTotal(LocalDate.of(2024, 12, 31), 18000L, 12L));
+        ProgressChart chart = ProgressChartService.buildYearChart(2024, totals);
+
+        JsonNode written = assertSameDocument(chart);
+        assertEquals(2, written.get("currentStreak").asInt());
+        assertEquals(20, written.get("longestStreak").asInt());
+        assertEquals("2024-01-01", written.get("startDate").asText());
+    }
+
+    @Test
+    @DisplayName("Should write range, empty and chartless documents like the bean serializer")
+    void testOtherCharts() throws Exception {
+        List<ProgressDay> days = List.of(
+            new ProgressDay(LocalDate.of(2024, 12, 29), 0.0, 0, 0),
+            new ProgressDay(LocalDate.of(2024, 12, 30), 0.5, 1, 1),
+            new ProgressDay(LocalDate.of(2024, 12, 31), 2.25, 5, 2));
+        List<ProgressDay> january = List.of(new ProgressDay(LocalDate.of(2025, 1, 1), 4.0, 8, 3));
+        assertSameDocument(new ProgressChart(LocalDate.of(2024, 12, 29), LocalDate.of(2025, 1, 1), List.of(
+            new ProgressMonth(2024, Month.DECEMBER, days), new ProgressMonth(2025, Month.JANUARY, january))));
+        assertSameDocument(ProgressChartService.buildYearChart(2023, List.of()));
+        assertSameDocument(new ProgressChart());
+        assertSameDocument(new ProgressMonth(2024, Month.DECEMBER, days));
+        assertSameDocument(days.get(2));
+    }
+
+    @Test
+    @DisplayName("Should describe days exactly as String.format does, in any locale")
+    void testDayDescriptions() throws Exception {
+        Locale original = Locale.getDefault();
+        try {
+            for (Locale locale : new Locale[] {Locale.US, Locale.GERMANY, Locale.forLanguageTag("th-TH-u-nu-thai")}) {
+                Locale.setDefault(locale);
+                List<ProgressDay> days = new ArrayList<>();
+                // Every minute of the first ten hours, plus values on and next to rounding ties
+                for (int seconds = 60; seconds <= 36000; seconds += 60) {
+                    days.add(new ProgressDay(LocalDate.of(2024, 1, 1), seconds / 3600.0, seconds / 1500, 1));
+                }
+                for (double hours : new double[] {0.05, 0.15, 0.25, 0.35, 1.45, 2.55, 0.05000001, 0.04999999, 1e10}) {
+                    days.add(new ProgressDay(LocalDate.of(2024, 1, 1), hours, 3, 2));
+                }
+                assertEquals(reflective.writeValueAsString(days), streaming.writeValueAsString(days), locale.toString());
+            }
+        } finally {
+            Locale.setDefault(original);
+        }
+    }
+
+    @Test
+    @DisplayName("Should write timer sessions like the bean serializer")
+    void testTimerSession() throws Exception {
+        TimerSession running = new TimerSession(SessionType.WORK, 25);
+        running.setState(TimerState.RUNNING);
+        running.setRemainingSeconds(1234);
+        running.setStartTime(LocalDateTime.of(2025, 3, 3, 9, 0, 5));
+        running.setCompletedWorkSessions(3);
+        running.setDeadline(LocalDateTime.of(2025, 3, 3, 9, 25, 5));
+        running.setVersion(42);
+        assertSameDocument(running);
+
+        TimerSession completed = new TimerSession(SessionType.LONG_BREAK, 15);
+        completed.setState(TimerState.COMPLETED);
+        completed.setRemainingSeconds(0);
+        completed.setStartTime(LocalDateTime.of(2025, 3, 3, 9, 0));
+        completed.setEndTime(LocalDateTime.of(2025, 3, 3, 9, 15));
+        assertSameDocument(completed);
+
+        assertSameDocument(new TimerSession());
+    }
+
+    // Helper methods
+
+    /**
+     * Assert both mappers write the same properties and values, and that the
+     * streaming one keeps the bean serializer's order where it is defined
+     */
+    private JsonNode assertSameDocument(Object value) throws Exception {
+        JsonNode expected = reflective.readTree(reflective.writeValueAsString(value));
+        JsonNode actual = streaming.readTree(streaming.writeValueAsString(value));
+        assertEquals(expected, actual);
+        assertFieldOrder(value.getClass(), expected, actual);
+        return actual;
+    }
+
+    private static void assertFieldOrder(Class<?> type, JsonNode expected, JsonNode actual) {
+        List<String> declared = new ArrayList<>();
+        for (var field : type.getDeclaredFields()) {
+            declared.add(field.getName());
+        }
+        List<String> expectedOrder = new ArrayList<>();
+        List<String> actualOrder = new ArrayList<>();
+        for (Iterator<String> names = expected.fieldNames(); names.hasNext(); ) {
+            String name = names.next();
+            if (declared.contains(name)) {
+                expectedOrder.add(name);
+            }
+        }
+        for (Iterator<String> names = actual.fieldNames(); names.hasNext(); ) {
+            String name = names.next();
+            if (declared.contains(name)) {
+                actualOrder.add(name);
+            }
+        }
+        assertEquals(expectedOrder, actualOrder, type.getSimpleName());
+    }
+}
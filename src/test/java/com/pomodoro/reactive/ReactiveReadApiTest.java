@@ -0,0 +1,110 @@
+package com.pomodoro.reactive;
+
+import com.pomodoro.model.CompletedSession;
+import com.pomodoro.model.SessionType;
+import com.pomodoro.repository.CompletedSessionStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for the reactive read API
+ * - Answers the same JSON as the servlet controllers
+ * - Streams session lists as NDJSON on request
+ */
+@SpringBootTest(properties = {
+    "pomodoro.reactive.port=0",
+    "spring.datasource.url=jdbc:h2:mem:reactive-read-test"
+})
+@ActiveProfiles("reactive")
+@AutoConfigureMockMvc
+class ReactiveReadApiTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReactiveReadServer reactiveReadServer;
+
+    @Autowired
+    private CompletedSessionStore sessionStore;
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = WebTestClient.bindToServer()
+            .baseUrl("http://localhost:" + reactiveReadServer.getPort())
+            .build();
+        if (sessionStore.findAllByOrderByStartTimeDesc().isEmpty()) {
+            save(SessionType.WORK, LocalDateTime.of(2025, 3, 3, 9, 0), 1500);
+            save(SessionType.WORK, LocalDateTime.of(2025, 3, 3, 9, 30), 1500);
+            save(SessionType.SHORT_BREAK, LocalDateTime.of(2025, 3, 3, 9, 55), 300);
+            save(SessionType.WORK, LocalDateTime.of(2025, 3, 4, 14, 0), 5 * 3600);
+            save(SessionType.WORK, LocalDateTime.of(2025, 12, 31, 23, 30), 1500);
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer chart, statistics and session list reads like the servlet API")
+    void testSameResponses() throws Exception {
+        for (String path : new String[] {
+                "/api/progress/chart/2025", "/api/progress/stats/2025", "/api/sessions/month/2025/3",
+                "/api/progress/chart/2024", "/api/sessions/month/2025/4"}) {
+            String servlet = mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+            String reactive = webTestClient.get().uri(path)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult().getResponseBody();
+
+            assertEquals(servlet, reactive, path);
+        }
+    }
+
+    @Test
+    @DisplayName("Should stream a month of sessions as NDJSON, most recent first")
+    void testNdjsonStream() {
+        String body = webTestClient.get().uri("/api/sessions/month/2025/3")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+            .expectBody(String.class)
+            .returnResult().getResponseBody();
+
+        String[] lines = body.strip().split("\n");
+        assertEquals(4, lines.length);
+        assertTrue(lines[0].contains("\"startTime\":\"2025-03-04T14:00:00Z\""), lines[0]);
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid month")
+    void testInvalidMonth() {
+        webTestClient.get().uri("/api/sessions/month/2025/13")
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    // Helper methods
+
+    private void save(SessionType type, LocalDateTime start, int seconds) {
+        sessionStore.save(new CompletedSession(type, start, start.plusSeconds(seconds), seconds));
+    }
+}
@@ -0,0 +1,203 @@
+package com.pomodoro.repository;
+
+import com.pomodoro.model.CompletedSession;
+import com.pomodoro.model.DailyWorkTotal;
+import com.pomodoro.model.SessionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+/**
+ * Tests for ArchivingSessionStore: archived years must answer every query
+ * exactly as the live store did before they were archived
+ */
+class ArchivingSessionStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private SegmentLogSessionStore live;
+    private ArchivingSessionStore store;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        live = new SegmentLogSessionStore(directory.resolve("live"));
+        store = new ArchivingSessionStore(live, directory.resolve("archive"));
+
+        // Two sessions a day with breaks, across 2023-2025, times with microseconds
+        LocalDateTime start = LocalDateTime.of(2023, 11, 1, 8, 0, 0, 123_456_000);
+        for (int day = 0; day < 500; day += 3) {
+            LocalDateTime morning = start.plusDays(day);
+            store.save(session(SessionType.WORK, morning, 25 * 60 + day));
+            store.save(session(SessionType.SHORT_BREAK, morning.plusMinutes(25), 300));
+            store.save(session(SessionType.WORK, morning.plusHours(15).plusMinutes(30), 50 * 60));
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        store.close();
+    }
+
+    @Test
+    @DisplayName("Archived years should answer queries exactly as before")
+    void testQueriesUnchangedByArchiving() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2023, 12, 20, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 1, 10, 12, 0);
+        String sessionsBefore = describe(store.findSessionsBetween(from, to));
+        String workBefore = describe(store.findWorkSessionsBetween(SessionType.WORK, from, to));
+        String dailyBefore = describeTotals(store.getDailyWorkTotalsInRange(from.toLocalDate().atStartOfDay(), to));
+        String allDailyBefore = describeTotals(store.getAllDailyWorkTotals());
+        Long secondsBefore = store.getTotalWorkSecondsInRange(from, to);
+        LocalDateTime earliestBefore = store.findEarliestStartTime();
+        int countBefore = store.findAllByOrderByStartTimeDesc().size();
+
+        assertTrue(store.archiveYear(2023) > 0);
+        assertTrue(store.archiveYear(2024) > 0);
+
+        assertEquals(List.of(2023, 2024), store.getArchivedYears());
+        assertTrue(live.findSessionsBetween(LocalDateTime.of(2023, 1, 1, 0, 0), LocalDateTime.of(2025, 1, 1, 0, 0)).isEmpty());
+        assertEquals(sessionsBefore, describe(store.findSessionsBetween(from, to)));
+        assertEquals(workBefore, describe(store.findWorkSessionsBetween(SessionType.WORK, from, to)));
+        assertEquals(dailyBefore, describeTotals(store.getDailyWorkTotalsInRange(from.toLocalDate().atStartOfDay(), to)));
+        assertEquals(allDailyBefore, describeTotals(store.getAllDailyWorkTotals()));
+        assertEquals(secondsBefore, store.getTotalWorkSecondsInRange(from, to));
+        assertEquals(earliestBefore, store.findEarliestStartTime());
+        assertEquals(countBefore, store.findAllByOrderByStartTimeDesc().size());
+    }
+
+    @Test
+    @DisplayName("Archives should reload from disk and support lookups and deletes")
+    void testReloadLookupAndDelete() throws Exception {
+        CompletedSession archived = store.findSessionsBetween(
+            LocalDateTime.of(2024, 6, 1, 0, 0), LocalDateTime.of(2024, 6, 5, 0, 0)).get(0);
+        store.archiveYear(2024);
+        store.close();
+
+        live = new SegmentLogSessionStore(directory.resolve("live"));
+        store = new ArchivingSessionStore(live, directory.resolve("archive"));
+        CompletedSession reloaded = store.findById(archived.getId()).orElseThrow();
+        assertEquals(archived.getStartTime(), reloaded.getStartTime());
+        assertEquals(archived.getEndTime(), reloaded.getEndTime());
+        assertEquals(archived.getCreatedAt().withNano(archived.getCreatedAt().getNano() / 1000 * 1000),
+            reloaded.getCreatedAt());
+
+        store.deleteById(archived.getId());
+        assertTrue(store.findById(archived.getId()).isEmpty());
+        store.close();
+        live = new SegmentLogSessionStore(directory.resolve("live"));
+        store = new ArchivingSessionStore(live, directory.resolve("archive"));
+        assertTrue(store.findById(archived.getId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Live rows left by an interrupted archive run should not be double counted")
+    void testInterruptedArchiveRecovers() throws Exception {
+        LocalDateTime yearStart = LocalDateTime.of(2024, 1, 1, 0, 0);
+        Long totalBefore = store.getTotalWorkSecondsInRange(yearStart, yearStart.plusYears(1));
+
+        // Given - The archive file exists but the live rows were never deleted
+        List<CompletedSession> year = live.findSessionsBetween(yearStart, yearStart.plusYears(1));
+        Files.createDirectories(directory.resolve("archive"));
+        ColumnarYearArchive.of(2024, year).writeTo(directory.resolve("archive").resolve("sessions-2024.col"));
+        store.close();
+        live = new SegmentLogSessionStore(directory.resolve("live"));
+        store = new ArchivingSessionStore(live, directory.resolve("archive"));
+
+        // Then - Totals are unchanged and the leftovers are cleaned up
+        assertEquals(totalBefore, store.getTotalWorkSecondsInRange(yearStart, yearStart.plusYears(1)));
+        assertTrue(live.findSessionsBetween(yearStart, yearStart.plusYears(1)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("A read should not miss a year archived while it runs")
+    void testReadConcurrentWithArchive() throws Exception {
+        // Given - A live store whose next range read stalls until released (in an
+        // unsynchronized wrapper, so the stall holds no lock of the store itself)
+        MeteredSessionStore racingLive = spy(new MeteredSessionStore(
+            new SegmentLogSessionStore(directory.resolve("racing-live")), new SimpleMeterRegistry()));
+        ArchivingSessionStore racing = new ArchivingSessionStore(racingLive, directory.resolve("racing-archive"));
+        LocalDateTime yearStart = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int day = 0; day < 10; day++) {
+            racing.save(session(SessionType.WORK, yearStart.plusDays(day * 30).plusHours(9), 1500));
+        }
+        AtomicBoolean stallNextRead = new AtomicBoolean(true);
+        CountDownLatch readerInside = new CountDownLatch(1);
+        CountDownLatch releaseReader = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            if (stallNextRead.getAndSet(false)) {
+                readerInside.countDown();
+                releaseReader.await();
+            }
+            return invocation.callRealMethod();
+        }).when(racingLive).findSessionsBetween(any(), any());
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // When - The year is archived while a read sits between its archive and live lookups
+            Future<Integer> reader = executor.submit(() ->
+                racing.findSessionsBetween(yearStart, yearStart.plusYears(1)).size());
+            assertTrue(readerInside.await(5, TimeUnit.SECONDS));
+            Future<Integer> archiver = executor.submit(() -> racing.archiveYear(2024));
+
+            // Then - Archiving waits for the read, which sees every session
+            assertThrows(TimeoutException.class, () -> archiver.get(200, TimeUnit.MILLISECONDS));
+            releaseReader.countDown();
+            assertEquals(10, reader.get(5, TimeUnit.SECONDS));
+            assertEquals(10, archiver.get(5, TimeUnit.SECONDS));
+            assertEquals(10, racing.findSessionsBetween(yearStart, yearStart.plusYears(1)).size());
+        } finally {
+            releaseReader.countDown();
+            executor.shutdownNow();
+            racing.close();
+        }
+    }
+
+    @Test
+    @DisplayName("The archive should take under a third of the row store for the same year")
+    void testArchiveIsCompact() throws Exception {
+        int sessions = store.findSessionsBetween(LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2025, 1, 1, 0, 0)).size();
+        store.archiveYear(2024);
+        long archiveBytes = Files.size(directory.resolve("archive").resolve("sessions-2024.col"));
+        assertTrue(archiveBytes * 3 < (long) sessions * SessionLogSegment.RECORD_SIZE, "archive used " + archiveBytes + " bytes for " + sessions + " sessions");
+    }
+
+    private static CompletedSession session(SessionType type, LocalDateTime start, int seconds) {
+        CompletedSession session = new CompletedSession(type, start, start.plusSeconds(seconds + 7), seconds);
+        session.setCreatedAt(start.plusSeconds(seconds + 8));
+        return session;
+    }
+
+    private static String describe(List<CompletedSession> sessions) {
+        return sessions.stream()
+            .map(s -> s.getId() + "/" + s.getSessionType() + "/" + s.getStartTime() + "/" + s.getEndTime() + "/" + s.getDurationSeconds())
+            .collect(Collectors.joining(","));
+    }
+
+    private static String describeTotals(List<DailyWorkTotal> totals) {
+        return totals.stream()
+            .map(t -> t.getDate() + "=" + t.getWorkSeconds() + "/" + t.getSessionCount())
+            .collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,129 @@
+package com.pomodoro.repository;
+
+import com.pomodoro.model.DailyWorkTotal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the memory-mapped daily activity file: slot addressing,
+ * reopening, chunked users, file growth and header checks
+ */
+class DailyActivityStoreTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+    private static final int DAYS = 731;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Totals should add up per day and survive reopening")
+    void testAddAndReopen() throws Exception {
+        Path file = directory.resolve("activity.bin");
+        try (DailyActivityStore store = DailyActivityStore.open(file, FIRST_DAY, DAYS)) {
+            // Given - Two sessions on one day, one removed again, and one on another day
+            assertFalse(store.isPopulated());
+            store.add(0, LocalDate.of(2024, 3, 3), 1500, 1);
+            store.add(0, LocalDate.of(2024, 3, 3), 900, 1);
+            store.add(0, LocalDate.of(2024, 3, 3), -900, -1);
+            store.add(0, LocalDate.of(2025, 12, 31), 3000, 2);
+            store.markPopulated();
+
+            // Then - Only days with work come back, oldest first
+            assertEquals(List.of(LocalDate.of(2024, 3, 3), LocalDate.of(2025, 12, 31)),
+                dates(store.getDailyTotals(0, FIRST_DAY, LocalDate.of(2025, 12, 31))));
+        }
+
+        // When - The file is mapped again
+        try (DailyActivityStore store = DailyActivityStore.open(file, FIRST_DAY, DAYS)) {
+            // Then - Nothing needs rebuilding
+            assertTrue(store.isPopulated());
+            List<DailyWorkTotal> totals = store.getDailyTotals(0, LocalDate.of(2023, 1, 1), LocalDate.of(2030, 1, 1));
+            assertEquals(2, totals.size());
+            assertEquals(1500, totals.get(0).getWorkSeconds());
+            assertEquals(1, totals.get(0).getSessionCount());
+            assertEquals(3000, totals.get(1).getWorkSeconds());
+            assertEquals(2, totals.get(1).getSessionCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Users should have their own slots, across chunks and reopening")
+    void testUsersAcrossChunks() throws Exception {
+        // Given - Chunks of three users
+        Path file = directory.resolve("activity.bin");
+        long chunkBytes = 3L * DAYS * DailyActivityStore.SLOT_SIZE;
+        try (DailyActivityStore store = DailyActivityStore.open(file, FIRST_DAY, DAYS, chunkBytes)) {
+            for (int user = 0; user < 10; user++) {
+                store.add(user, FIRST_DAY.plusDays(user), 60L * (user + 1), user + 1);
+            }
+            // A user never written reads as empty
+            assertTrue(store.getDailyTotals(42, FIRST_DAY, FIRST_DAY.plusDays(DAYS)).isEmpty());
+        }
+
+        // When / Then - Every user's day is where it was written
+        try (DailyActivityStore store = DailyActivityStore.open(file, FIRST_DAY, DAYS, chunkBytes)) {
+            for (int user = 0; user < 10; user++) {
+                List<DailyWorkTotal> totals = store.getDailyTotals(user, FIRST_DAY, FIRST_DAY.plusDays(DAYS));
+                assertEquals(1, totals.size(), "user " + user);
+                assertEquals(FIRST_DAY.plusDays(user), totals.get(0).getDate());
+                assertEquals(60L * (user + 1), totals.get(0).getWorkSeconds());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("The file should only grow to the users written")
+    void testFileGrowsWithUsers() throws Exception {
+        Path file = directory.resolve("activity.bin");
+        long userBytes = (long) DAYS * DailyActivityStore.SLOT_SIZE;
+        try (DailyActivityStore store = DailyActivityStore.open(file, FIRST_DAY, DAYS)) {
+            // Given - One user
+            store.add(0, FIRST_DAY, 1500, 1);
+
+            // Then - The file holds that user's slots, not a whole chunk
+            assertEquals(DailyActivityStore.HEADER_SIZE + userBytes, Files.size(file));
+
+            // When - A third user is written to the same chunk
+            store.add(2, FIRST_DAY, 600, 1);
+
+            // Then - The mapping grows to cover it and the first user's day is kept
+            assertEquals(DailyActivityStore.HEADER_SIZE + 3 * userBytes, Files.size(file));
+            assertEquals(1500, store.getDailyTotals(0, FIRST_DAY, FIRST_DAY).get(0).getWorkSeconds());
+            assertEquals(600, store.getDailyTotals(2, FIRST_DAY, FIRST_DAY).get(0).getWorkSeconds());
+            assertTrue(store.getDailyTotals(1, FIRST_DAY, FIRST_DAY.plusDays(DAYS)).isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject days outside the file and files that do not match")
+    void testRejections() throws Exception {
+        Path file = directory.resolve("activity.bin");
+        try (DailyActivityStore store = DailyActivityStore.open(file, FIRST_DAY, DAYS)) {
+            assertFalse(store.covers(FIRST_DAY.minusDays(1)));
+            assertFalse(store.covers(FIRST_DAY.plusDays(DAYS)));
+            assertThrows(IllegalArgumentException.class, () -> store.add(0, FIRST_DAY.plusDays(DAYS), 60, 1));
+            assertThrows(IllegalArgumentException.class, () -> store.add(-1, FIRST_DAY, 60, 1));
+        }
+
+        // A file created for other days, or not an activity file at all
+        assertThrows(IOException.class, () -> DailyActivityStore.open(file, FIRST_DAY, 366));
+        Path other = Files.write(directory.resolve("other.bin"), new byte[128]);
+        assertThrows(IOException.class, () -> DailyActivityStore.open(other, FIRST_DAY, DAYS));
+    }
+
+    // Helper methods
+
+    private static List<LocalDate> dates(List<DailyWorkTotal> totals) {
+        return totals.stream().map(DailyWorkTotal::getDate).toList();
+    }
+}
@@ -0,0 +1,101 @@
+package com.pomodoro.repository;
+
+import com.pomodoro.model.CompletedSession;
+import com.pomodoro.model.SessionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the segment files behind SegmentLogSessionStore: rollover,
+ * reopening, the sparse time index and tombstones
+ */
+class SegmentLogSessionStoreTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 8, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Sessions should survive reopening across sealed and active segments")
+    void testReopenAfterRollover() throws Exception {
+        // Given - 1000 sessions in 300-record segments (three sealed, one active)
+        try (SegmentLogSessionStore store = new SegmentLogSessionStore(directory, 300)) {
+            for (int i = 0; i < 1000; i++) {
+                store.save(session(SessionType.WORK, BASE.plusHours(i), 25));
+            }
+            store.deleteById(500L);
+        }
+        assertTrue(Files.exists(directory.resolve("sessions-00000002.idx")));
+        assertFalse(Files.exists(directory.resolve("sessions-00000003.idx")));
+
+        // When - Reopen the directory
+        try (SegmentLogSessionStore store = new SegmentLogSessionStore(directory, 300)) {
+            // Then - Ids continue, lookups and tombstones are intact
+            assertEquals(999, store.findAllByOrderByStartTimeDesc().size());
+            assertEquals(BASE.plusHours(899), store.findById(900L).orElseThrow().getStartTime());
+            assertTrue(store.findById(500L).isEmpty());
+            assertTrue(store.findById(1001L).isEmpty());
+            assertEquals(1001L, store.save(session(SessionType.WORK, BASE.plusHours(1000), 25)).getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Range scans should be exact even when start times arrive out of order")
+    void testRangeScanWithOutOfOrderStarts() throws Exception {
+        try (SegmentLogSessionStore store = new SegmentLogSessionStore(directory, 1024)) {
+            // Given - Mostly increasing start times with one late backdated session
+            for (int i = 0; i < 600; i++) {
+                store.save(session(SessionType.WORK, BASE.plusHours(i), 25));
+            }
+            store.save(session(SessionType.WORK, BASE.minusDays(30), 25));
+
+            // When - Query a window in the middle and one covering the backdated session
+            List<CompletedSession> middle = store.findSessionsBetween(BASE.plusHours(300), BASE.plusHours(310));
+            List<CompletedSession> early = store.findSessionsBetween(BASE.minusDays(31), BASE);
+
+            // Then - Exactly the matching sessions, most recent first
+            assertEquals(10, middle.size());
+            assertEquals(BASE.plusHours(309), middle.get(0).getStartTime());
+            assertEquals(1, early.size());
+            assertEquals(BASE.minusDays(30), store.findEarliestStartTime());
+            assertEquals(BASE.plusHours(599), store.findLatestStartTime());
+        }
+    }
+
+    @Test
+    @DisplayName("A torn, unpublished append should be ignored on reopen")
+    void testUnsealedSegmentRebuildsIndex() throws Exception {
+        try (SegmentLogSessionStore store = new SegmentLogSessionStore(directory, 300)) {
+            store.save(session(SessionType.WORK, BASE, 25));
+            store.save(session(SessionType.SHORT_BREAK, BASE.plusMinutes(25), 5));
+        }
+
+        try (SegmentLogSessionStore store = new SegmentLogSessionStore(directory, 300)) {
+            assertEquals(1500L, store.getTotalWorkSecondsInRange(BASE, BASE.plusDays(1)));
+            assertEquals(SessionType.SHORT_BREAK,
+                store.findWorkSessionsBetween(SessionType.SHORT_BREAK, BASE, BASE.plusDays(1)).get(0).getSessionType());
+        }
+    }
+
+    @Test
+    @DisplayName("Updating a stored session should be rejected")
+    void testUpdateRejected() throws Exception {
+        try (SegmentLogSessionStore store = new SegmentLogSessionStore(directory)) {
+            CompletedSession saved = store.save(session(SessionType.WORK, BASE, 25));
+            assertThrows(IllegalArgumentException.class, () -> store.save(saved));
+        }
+    }
+
+    private static CompletedSession session(SessionType type, LocalDateTime start, int minutes) {
+        return new CompletedSession(type, start, start.plusMinutes(minutes), minutes * 60);
+    }
+}
@@ -0,0 +1,137 @@
+package com.pomodoro.service;
+
+import com.pomodoro.model.CompletedSession;
+import com.pomodoro.model.DailyWorkTotal;
+import com.pomodoro.model.ProgressChart;
+import com.pomodoro.model.SessionType;
+import com.pomodoro.repository.DailyActivityStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for DailyActivityService
+ * - A new file is filled from the grouped totals once; a reopened one is not
+ * - Logged and deleted work sessions move the day's totals
+ * - Charts for covered years come from the file, matching the grouped build
+ */
+class DailyActivityServiceTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2020, 1, 1);
+    private static final int DAYS = 3653;
+
+    @Mock
+    private SessionLoggingService mockSessionLoggingService;
+
+    @TempDir
+    Path directory;
+
+    private List<DailyWorkTotal> totals;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        totals = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            totals.add(new DailyWorkTotal(LocalDate.of(2025, 2, 1).plusDays(i * 3), 1500L * (i % 5 + 1), (long) (i % 5 + 1)));
+        }
+        // Outside the file's years; left out rather than failing
+        totals.add(new DailyWorkTotal(LocalDate.of(2019, 12, 31), 1500L, 1L));
+        when(mockSessionLoggingService.getAllDailyWorkTotals()).thenReturn(totals);
+    }
+
+    @Test
+    @DisplayName("Should fill a new file once and map it as it is after a restart")
+    void testPopulateOnce() throws Exception {
+        // Given - A service that created and filled the file
+        Path file = directory.resolve("activity.bin");
+        DailyActivityService first = service(file);
+        first.onSessionLogged(new SessionLoggedEvent(workSession(LocalDateTime.of(2025, 2, 1, 9, 0), 600)));
+        first.close();
+
+        // When - Starting again on the same file
+        DailyActivityService second = service(file);
+
+        // Then - The totals were read once, and the later session is still there
+        verify(mockSessionLoggingService, times(1)).getAllDailyWorkTotals();
+        List<DailyWorkTotal> day = second.getDailyTotals(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 1));
+        assertEquals(1500L + 600L, day.get(0).getWorkSeconds());
+        assertEquals(2, day.get(0).getSessionCount());
+        assertTrue(second.getDailyTotals(LocalDate.of(2019, 1, 1), LocalDate.of(2019, 12, 31)).isEmpty());
+        second.close();
+    }
+
+    @Test
+    @DisplayName("Should follow logged and deleted work sessions only")
+    void testEvents() throws Exception {
+        DailyActivityService service = service(directory.resolve("activity.bin"));
+        LocalDate day = LocalDate.of(2025, 6, 30);
+
+        // When - A work session and a break are logged, then the work session deleted
+        CompletedSession work = workSession(day.atTime(10, 0), 1500);
+        service.onSessionLogged(new SessionLoggedEvent(work));
+        service.onSessionLogged(new SessionLoggedEvent(new CompletedSession(
+            SessionType.SHORT_BREAK, day.atTime(10, 25), day.atTime(10, 30), 300)));
+        assertEquals(1500, service.getDailyTotals(day, day).get(0).getWorkSeconds());
+        service.onSessionDeleted(new SessionDeletedEvent(work));
+
+        // Then - The day is empty again
+        assertTrue(service.getDailyTotals(day, day).isEmpty());
+        service.close();
+    }
+
+    @Test
+    @DisplayName("Charts for covered years should come from the file without per-day queries")
+    void testChartsFromFile() throws Exception {
+        // Given
+        DailyActivityService service = service(directory.resolve("activity.bin"));
+        ProgressChartService progressChartService = new ProgressChartService(
+            mockSessionLoggingService, new SimpleMeterRegistry(), Optional.of(service));
+
+        // When
+        ProgressChart chart = progressChartService.generateProgressChart(2025);
+
+        // Then - The same chart the grouped totals build, for the year, a month and a day
+        ProgressChart expected = ProgressChartService.buildYearChart(2025, totals.subList(0, 40));
+        assertEquals(expected.getTotalYearSessions(), chart.getTotalYearSessions());
+        assertEquals(expected.getTotalYearHours(), chart.getTotalYearHours(), 1e-9);
+        assertEquals(expected.getCurrentStreak(), chart.getCurrentStreak());
+        assertEquals(expected.getMonths().get(2).getTotalSessions(),
+            progressChartService.generateProgressMonth(2025, Month.MARCH).getTotalSessions());
+        assertEquals(1, progressChartService.generateProgressDay(LocalDate.of(2025, 2, 1)).getSessionCount());
+        verify(mockSessionLoggingService, never()).getDailyWorkTotals(any(), any());
+        verify(mockSessionLoggingService, never()).getTotalWorkHoursForDate(any());
+        verify(mockSessionLoggingService, never()).getWorkSessionCountForDate(any());
+
+        // And years outside the file still go to the sessions
+        progressChartService.generateProgressChart(2019);
+        verify(mockSessionLoggingService, times(1))
+            .getDailyWorkTotals(LocalDate.of(2019, 1, 1), LocalDate.of(2020, 1, 1));
+        service.close();
+    }
+
+    // Helper methods
+
+    private DailyActivityService service(Path file) throws Exception {
+        return new DailyActivityService(mockSessionLoggingService, DailyActivityStore.open(file, FIRST_DAY, DAYS));
+    }
+
+    private static CompletedSession workSession(LocalDateTime start, int seconds) {
+        return new CompletedSession(SessionType.WORK, start, start.plusSeconds(seconds), seconds);
+    }
+}
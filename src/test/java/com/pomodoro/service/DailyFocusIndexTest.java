@@ -0,0 +1,117 @@
+package com.pomodoro.service;
+
+import com.pomodoro.model.DailyWorkTotal;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for DailyFocusIndex
+ * - Range sums match a brute-force sum over the same days
+ * - The covered range grows in both directions without losing data
+ * - Days too far apart are rejected without changing the index
+ */
+class DailyFocusIndexTest {
+
+    private static final LocalDate ORIGIN = LocalDate.of(2025, 1, 1);
+
+    @Test
+    @DisplayName("Empty index should return zero for any range")
+    void testEmptyIndex() {
+        DailyFocusIndex index = new DailyFocusIndex();
+        index.rebuild(Collections.emptyList());
+        
+        assertArrayEquals(new long[] {0L, 0L}, index.rangeSum(ORIGIN, ORIGIN.plusYears(1)));
+    }
+
+    @Test
+    @DisplayName("Rebuilt index should answer ranges from daily aggregates")
+    void testRebuildFromAggregates() {
+        // Given - Three days of aggregates
+        DailyFocusIndex index = new DailyFocusIndex();
+        index.rebuild(Arrays.asList(
+            new DailyWorkTotal(ORIGIN, 3600L, 2L),
+            new DailyWorkTotal(ORIGIN.plusDays(10), 1800L, 1L),
+            new DailyWorkTotal(ORIGIN.plusDays(200), 7200L, 4L)
+        ));
+        
+        // Then - Ranges should include only the days they cover
+        assertArrayEquals(new long[] {12600L, 7L}, index.rangeSum(ORIGIN.minusYears(1), ORIGIN.plusYears(1)));
+        assertArrayEquals(new long[] {5400L, 3L}, index.rangeSum(ORIGIN, ORIGIN.plusDays(10)));
+        assertArrayEquals(new long[] {1800L, 1L}, index.rangeSum(ORIGIN.plusDays(1), ORIGIN.plusDays(199)));
+        assertArrayEquals(new long[] {0L, 0L}, index.rangeSum(ORIGIN.plusDays(11), ORIGIN.plusDays(199)));
+    }
+
+    @Test
+    @DisplayName("Should reject days too far from the indexed range and keep its contents")
+    void testSpanLimit() {
+        // Given - An index over one day
+        DailyFocusIndex index = new DailyFocusIndex();
+        index.rebuild(List.of(new DailyWorkTotal(ORIGIN, 1500L, 1L)));
+        
+        // When / Then - A day far away is rejected rather than overflowing the capacity
+        assertThrows(IllegalArgumentException.class, () -> index.add(LocalDate.of(1, 1, 1), 60L, 1));
+        assertThrows(IllegalArgumentException.class, () -> index.add(LocalDate.MAX, 60L, 1));
+        assertArrayEquals(new long[] {1500L, 1L}, index.rangeSum(LocalDate.MIN, LocalDate.MAX));
+        
+        // And the widest allowed span still fits
+        index.add(ORIGIN.plusDays(DailyFocusIndex.MAX_CAPACITY - 1), 60L, 1);
+        assertArrayEquals(new long[] {1560L, 2L}, index.rangeSum(LocalDate.MIN, LocalDate.MAX));
+        
+        // And a rebuild over too wide a span is rejected without clearing the index
+        assertThrows(IllegalArgumentException.class, () -> index.rebuild(List.of(
+            new DailyWorkTotal(ORIGIN, 1500L, 1L), new DailyWorkTotal(LocalDate.of(9999, 1, 1), 60L, 1L))));
+        assertArrayEquals(new long[] {1560L, 2L}, index.rangeSum(LocalDate.MIN, LocalDate.MAX));
+    }
+
+    @Test
+    @DisplayName("Random updates should match brute-force range sums while the range grows")
+    void testRandomUpdatesMatchBruteForce() {
+        // Given - An index seeded with one day and a reference map
+        Random random = new Random(42);
+        DailyFocusIndex index = new DailyFocusIndex();
+        index.rebuild(List.of(new DailyWorkTotal(ORIGIN, 1500L, 1L)));
+        Map<LocalDate, long[]> reference = new HashMap<>();
+        reference.put(ORIGIN, new long[] {1500L, 1L});
+        List<LocalDate> touched = new ArrayList<>(List.of(ORIGIN));
+        
+        // When - Apply updates spreading years before and after the seed
+        for (int i = 0; i < 2000; i++) {
+            LocalDate day = ORIGIN.plusDays(random.nextInt(3000) - 1500);
+            long seconds = 60L * (1 + random.nextInt(60));
+            index.add(day, seconds, 1);
+            reference.computeIfAbsent(day, d -> new long[2]);
+            reference.get(day)[0] += seconds;
+            reference.get(day)[1] += 1;
+            touched.add(day);
+        }
+        
+        // Then - Every random range should match the reference
+        for (int i = 0; i < 500; i++) {
+            LocalDate a = touched.get(random.nextInt(touched.size()));
+            LocalDate b = touched.get(random.nextInt(touched.size()));
+            LocalDate start = a.isBefore(b) ? a : b;
+            LocalDate end = a.isBefore(b) ? b : a;
+            
+            long expectedSeconds = 0;
+            long expectedSessions = 0;
+            for (Map.Entry<LocalDate, long[]> entry : reference.entrySet()) {
+                if (!entry.getKey().isBefore(start) && !entry.getKey().isAfter(end)) {
+                    expectedSeconds += entry.getValue()[0];
+                    expectedSessions += entry.getValue()[1];
+                }
+            }
+            assertArrayEquals(new long[] {expectedSeconds, expectedSessions}, index.rangeSum(start, end));
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.pomodoro.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.pomodoro.model.DailyTask;
+import com.pomodoro.model.DailyWorkTotal;
+import com.pomodoro.model.ProgressChart;
+import com.pomodoro.model.TimerSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for DashboardService
+ * - Every part describes the clock's day and the chart is generated once
+ * - Tasks follow the local day while the chart follows the UTC year
+ * - Tasks and task statistics share one read-only transaction
+ * - Parts that were not requested are neither loaded nor written
+ * - The chart is cancelled when the request fails before it is used
+ */
+class DashboardServiceTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-06-15T12:00:00Z"), ZoneOffset.UTC);
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 15);
+
+    @Mock
+    private PomodoroTimerService mockTimerService;
+
+    @Mock
+    private TaskManagementService mockTaskManagementService;
+
+    @Mock
+    private ProgressChartService mockProgressChartService;
+
+    @Mock
+    private PlatformTransactionManager mockTransactionManager;
+
+    private DashboardService dashboardService;
+    private TimerSession timerSession;
+    private TaskManagementService.TaskStats taskStats;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        dashboardService = new DashboardService(mockTimerService, mockTaskManagementService,
+            mockProgressChartService, mockTransactionManager, CLOCK);
+        timerSession = new TimerSession();
+        taskStats = new TaskManagementService.TaskStats(TODAY, 2, 1, 50.0);
+        when(mockTimerService.getCurrentSession()).thenReturn(timerSession);
+        when(mockTaskManagementService.getTasksForDate(TODAY)).thenReturn(List.of(new DailyTask("Write", TODAY)));
+        when(mockTaskManagementService.getTaskStatsForDate(TODAY)).thenReturn(taskStats);
+        when(mockProgressChartService.submitProgressCharts(List.of(2025))).thenReturn(ProgressChartService.ChartBatch.of(
+            ProgressChartService.buildYearChart(2025, List.of(new DailyWorkTotal(LocalDate.of(2025, 3, 3), 3000L, 2L)))));
+    }
+
+    @Test
+    @DisplayName("Should load every part for the clock's day, generating the chart once")
+    void testWholeDashboard() {
+        // When
+        DashboardService.Dashboard dashboard = dashboardService.getDashboard();
+
+        // Then
+        assertSame(timerSession, dashboard.getTimer());
+        assertEquals(1, dashboard.getTasks().size());
+        assertSame(taskStats, dashboard.getTaskStats());
+        assertEquals(2025, dashboard.getChart().getStartDate().getYear());
+        assertEquals(2, dashboard.getStats().getTotalSessions());
+        assertEquals(1, dashboard.getStats().getWorkDays());
+        verify(mockProgressChartService, times(1)).submitProgressCharts(List.of(2025));
+        verify(mockProgressChartService, never()).getYearlyStats(anyInt());
+    }
+
+    @Test
+    @DisplayName("Should take tasks from the local day and the chart from the UTC year")
+    void testChartYearInUtc() {
+        // Given - New Year's Eve evening in New York, already New Year's Day in UTC
+        LocalDate newYearsEve = LocalDate.of(2025, 12, 31);
+        DashboardService newYearDashboard = new DashboardService(mockTimerService, mockTaskManagementService,
+            mockProgressChartService, mockTransactionManager,
+            Clock.fixed(Instant.parse("2026-01-01T03:00:00Z"), ZoneId.of("America/New_York")));
+        when(mockProgressChartService.submitProgressCharts(List.of(2026))).thenReturn(
+            ProgressChartService.ChartBatch.of(ProgressChartService.buildYearChart(2026, List.of())));
+
+        // When
+        DashboardService.Dashboard dashboard = newYearDashboard.getDashboard();
+
+        // Then
+        verify(mockTaskManagementService).getTasksForDate(newYearsEve);
+        verify(mockTaskManagementService).getTaskStatsForDate(newYearsEve);
+        assertEquals(2026, dashboard.getChart().getStartDate().getYear());
+        verify(mockProgressChartService, never()).submitProgressCharts(List.of(2025));
+    }
+
+    @Test
+    @DisplayName("Should read tasks and task statistics in one read-only transaction")
+    void testSharedReadOnlyTransaction() {
+        // When
+        dashboardService.getDashboard();
+
+        // Then
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(mockTransactionManager, times(1)).getTransaction(definition.capture());
+        assertTrue(definition.getValue().isReadOnly());
+        verify(mockTransactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should leave out the parts that were not requested")
+    void testFieldSelection() throws Exception {
+        // When
+        DashboardService.Dashboard dashboard = dashboardService.getDashboard(
+            EnumSet.of(DashboardService.Part.TIMER, DashboardService.Part.STATS));
+
+        // Then - No task reads or transaction, and only the requested fields are written
+        verify(mockTransactionManager, never()).getTransaction(any());
+        verify(mockTaskManagementService, never()).getTasksForDate(any());
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        JsonNode written = objectMapper.readTree(objectMapper.writeValueAsString(dashboard));
+        assertEquals(List.of("timer", "stats"), fieldNames(written));
+
+        // When - Requesting nothing
+        DashboardService.Dashboard empty = dashboardService.getDashboard(List.of());
+
+        // Then
+        assertEquals("{}", objectMapper.writeValueAsString(empty));
+        verify(mockProgressChartService, times(1)).submitProgressCharts(anyList());
+    }
+
+    @Test
+    @DisplayName("Should parse field names and reject unknown ones")
+    void testFieldNames() {
+        assertEquals(DashboardService.Part.TASK_STATS, DashboardService.Part.fromFieldName("taskStats"));
+        assertEquals(DashboardService.Part.CHART, DashboardService.Part.fromFieldName(" chart "));
+        assertThrows(IllegalArgumentException.class, () -> DashboardService.Part.fromFieldName("settings"));
+    }
+
+    @Test
+    @DisplayName("Should rethrow a chart failure")
+    void testChartFailure() {
+        // Given
+        when(mockProgressChartService.submitProgressCharts(List.of(2025))).thenThrow(new IllegalStateException("boom"));
+
+        // When & Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+            () -> dashboardService.getDashboard(EnumSet.of(DashboardService.Part.CHART)));
+        assertEquals("boom", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should cancel the chart when reading the tasks fails")
+    void testChartCancelledOnTaskFailure() {
+        // Given - A chart being built and a task read that fails
+        ProgressChartService.ChartBatch batch = mock(ProgressChartService.ChartBatch.class);
+        when(mockProgressChartService.submitProgressCharts(List.of(2025))).thenReturn(batch);
+        when(mockTaskManagementService.getTasksForDate(TODAY)).thenThrow(new IllegalStateException("boom"));
+
+        // When
+        assertThrows(IllegalStateException.class, () -> dashboardService.getDashboard());
+
+        // Then - The chart is abandoned rather than waited for
+        verify(batch).cancel();
+        verify(batch, never()).join();
+    }
+
+    // Helper methods
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
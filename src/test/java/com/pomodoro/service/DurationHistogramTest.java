@@ -0,0 +1,112 @@
+package com.pomodoro.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for DurationHistogram
+ * - Percentiles stay within the log-linear precision bound
+ * - Merging equals recording into one histogram
+ * - Encoding round-trips and stays compact
+ */
+class DurationHistogramTest {
+
+    private static final double MAX_RELATIVE_ERROR = 1.0 / 128;
+
+    @Test
+    @DisplayName("Bucket boundaries should be contiguous and contain their values")
+    void testBucketBoundaries() {
+        for (long value : new long[] {0, 1, 255, 256, 257, 511, 512, 1_500_000_000L, 86_400_000_000L}) {
+            int index = DurationHistogram.bucketIndex(value);
+            assertTrue(DurationHistogram.lowestEquivalentValue(index) <= value);
+            assertTrue(DurationHistogram.highestEquivalentValue(index) >= value);
+        }
+        for (int index = 0; index < 4000; index++) {
+            assertEquals(DurationHistogram.highestEquivalentValue(index) + 1,
+                DurationHistogram.lowestEquivalentValue(index + 1));
+        }
+    }
+
+    @Test
+    @DisplayName("Percentiles should match exact values within the precision bound")
+    void testPercentilesWithinPrecision() {
+        // Given - 10,000 random work durations between 1 and 60 minutes
+        Random random = new Random(7);
+        long[] values = new long[10_000];
+        DurationHistogram histogram = new DurationHistogram();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (60L + random.nextInt(3540)) * 1_000_000L;
+            histogram.record(values[i], 1);
+        }
+        Arrays.sort(values);
+        
+        // Then - Each percentile should be within 1/128 of the exact answer
+        for (double percentile : new double[] {50.0, 90.0, 99.0, 100.0}) {
+            long exact = values[(int) Math.ceil(percentile / 100.0 * values.length) - 1];
+            long approx = histogram.getValueAtPercentile(percentile);
+            assertEquals(exact, approx, exact * MAX_RELATIVE_ERROR, "p" + percentile);
+        }
+        assertEquals(values.length, histogram.getTotalCount());
+        assertEquals(values[0], histogram.getMinValue());
+        assertEquals(values[values.length - 1], histogram.getMaxValue());
+    }
+
+    @Test
+    @DisplayName("Merged histograms should equal a single combined histogram")
+    void testMerge() {
+        DurationHistogram january = new DurationHistogram();
+        DurationHistogram february = new DurationHistogram();
+        DurationHistogram combined = new DurationHistogram();
+        for (long seconds = 1; seconds <= 1500; seconds += 7) {
+            (seconds % 2 == 0 ? january : february).record(seconds * 1_000_000L, 1);
+            combined.record(seconds * 1_000_000L, 1);
+        }
+        
+        january.merge(february);
+        
+        assertEquals(combined.getTotalCount(), january.getTotalCount());
+        assertEquals(combined.getValueAtPercentile(50), january.getValueAtPercentile(50));
+        assertEquals(combined.getValueAtPercentile(90), january.getValueAtPercentile(90));
+        assertEquals(combined.getMean(), january.getMean(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Encoding should round-trip and stay compact")
+    void testEncodingRoundTrip() {
+        // Given - A month of 25-minute work sessions, some cut short
+        DurationHistogram histogram = new DurationHistogram();
+        histogram.record(1500L * 1_000_000L, 80);
+        histogram.record(900L * 1_000_000L, 5);
+        histogram.record(1200L * 1_000_000L, 3);
+        
+        // When - Encode and decode
+        byte[] encoded = histogram.toBytes();
+        DurationHistogram decoded = DurationHistogram.fromBytes(encoded);
+        
+        // Then - Statistics should be preserved in a few dozen bytes
+        assertTrue(encoded.length < 64, "encoded size " + encoded.length);
+        assertEquals(histogram.getTotalCount(), decoded.getTotalCount());
+        assertEquals(histogram.getMinValue(), decoded.getMinValue());
+        assertEquals(histogram.getMaxValue(), decoded.getMaxValue());
+        assertEquals(histogram.getMean(), decoded.getMean(), 0.001);
+        assertEquals(histogram.getValueAtPercentile(10), decoded.getValueAtPercentile(10));
+        assertEquals(8, decoded.getCountBelow(1500L * 1_000_000L));
+    }
+
+    @Test
+    @DisplayName("Removing values should never drive counts negative")
+    void testRemoval() {
+        DurationHistogram histogram = new DurationHistogram();
+        histogram.record(300L * 1_000_000L, 1);
+        histogram.record(300L * 1_000_000L, -1);
+        histogram.record(300L * 1_000_000L, -1);
+        
+        assertEquals(0, histogram.getTotalCount());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+    }
+}
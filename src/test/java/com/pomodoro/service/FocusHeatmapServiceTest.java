@@ -0,0 +1,165 @@
+package com.pomodoro.service;
+
+import com.pomodoro.model.*;
+import com.pomodoro.repository.FocusHeatmapRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for FocusHeatmapService
+ * - Work is split across the hours a session spans
+ * - Completions land in the hour the session ended
+ * - Missing years are backfilled once from the sessions overlapping them
+ * - Years without work are answered empty and never stored
+ */
+class FocusHeatmapServiceTest {
+
+    private static final int MONDAY = 0;
+    private static final int WEDNESDAY = 2;
+
+    private FocusHeatmapService focusHeatmapService;
+    
+    @Mock
+    private FocusHeatmapRepository mockHeatmapRepository;
+    
+    @Mock
+    private SessionLoggingService mockSessionLoggingService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(mockHeatmapRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        focusHeatmapService = new FocusHeatmapService(mockHeatmapRepository, mockSessionLoggingService);
+    }
+
+    @Test
+    @DisplayName("Sessions spanning an hour boundary should be split across hours")
+    void testSessionSplitAcrossHours() {
+        // Given - Stored (empty) counters for 2025
+        when(mockHeatmapRepository.findById(2025)).thenReturn(Optional.of(new FocusHeatmap(2025)));
+        
+        // When - A 25-minute session runs Wednesday 9:50 -> 10:15
+        LocalDateTime start = LocalDateTime.of(2025, 12, 10, 9, 50);
+        focusHeatmapService.onSessionLogged(new SessionLoggedEvent(
+            new CompletedSession(SessionType.WORK, start, start.plusMinutes(25), 1500)));
+        
+        // Then - 10 minutes at 9:00, 15 at 10:00, completion at 10:00
+        FocusHeatmapService.HeatmapStats stats = focusHeatmapService.getHeatmap(2025);
+        assertEquals(10.0, stats.getWorkMinutes()[WEDNESDAY][9], 0.001);
+        assertEquals(15.0, stats.getWorkMinutes()[WEDNESDAY][10], 0.001);
+        assertEquals(0, stats.getCompletions()[WEDNESDAY][9]);
+        assertEquals(1, stats.getCompletions()[WEDNESDAY][10]);
+        assertEquals(25.0, stats.getTotalWorkMinutes(), 0.001);
+        assertEquals(1, stats.getTotalCompletions());
+        verify(mockHeatmapRepository, times(1)).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Breaks should be ignored and deletions subtracted")
+    void testBreaksIgnoredAndDeletesSubtracted() {
+        // Given - Stored (empty) counters for 2025
+        when(mockHeatmapRepository.findById(2025)).thenReturn(Optional.of(new FocusHeatmap(2025)));
+        LocalDateTime start = LocalDateTime.of(2025, 12, 8, 14, 0); // Monday
+        CompletedSession work = new CompletedSession(SessionType.WORK, start, start.plusMinutes(25), 1500);
+        CompletedSession rest = new CompletedSession(SessionType.SHORT_BREAK, start, start.plusMinutes(5), 300);
+        
+        // When - Log work and a break, then delete the work
+        focusHeatmapService.onSessionLogged(new SessionLoggedEvent(work));
+        focusHeatmapService.onSessionLogged(new SessionLoggedEvent(rest));
+        assertEquals(25.0, focusHeatmapService.getHeatmap(2025).getWorkMinutes()[MONDAY][14], 0.001);
+        focusHeatmapService.onSessionDeleted(new SessionDeletedEvent(work));
+        
+        // Then - Nothing should remain
+        FocusHeatmapService.HeatmapStats stats = focusHeatmapService.getHeatmap(2025);
+        assertEquals(0.0, stats.getTotalWorkMinutes(), 0.001);
+        assertEquals(0, stats.getTotalCompletions());
+    }
+
+    @Test
+    @DisplayName("A missing year should be backfilled once and then served from memory")
+    void testBackfillOnce() {
+        // Given - No stored counters, but sessions exist for 2024
+        LocalDateTime start = LocalDateTime.of(2024, 12, 31, 23, 50); // Tuesday
+        when(mockHeatmapRepository.findById(any())).thenReturn(Optional.empty());
+        when(mockSessionLoggingService.getSessionsBetween(any(), any())).thenReturn(Arrays.asList(
+            new CompletedSession(SessionType.WORK, start, start.plusMinutes(25), 1500),
+            new CompletedSession(SessionType.LONG_BREAK, start, start.plusMinutes(15), 900)
+        ));
+        
+        // When - Read 2024 twice
+        FocusHeatmapService.HeatmapStats first = focusHeatmapService.getHeatmap(2024);
+        FocusHeatmapService.HeatmapStats second = focusHeatmapService.getHeatmap(2024);
+        
+        // Then - Only the part before midnight counts for 2024, computed once
+        assertEquals(10.0, first.getWorkMinutes()[1][23], 0.001);
+        assertEquals(0, first.getTotalCompletions()); // Completed in 2025
+        assertEquals(first.getTotalWorkMinutes(), second.getTotalWorkMinutes(), 0.001);
+        verify(mockSessionLoggingService, times(1)).getSessionsBetween(
+            LocalDateTime.of(2023, 12, 25, 0, 0), LocalDateTime.of(2025, 1, 1, 0, 0));
+        verify(mockHeatmapRepository, times(1)).save(any());
+    }
+
+    @Test
+    @DisplayName("A backfilled year should count sessions that started in the year before")
+    void testBackfillIncludesSessionsFromPreviousYear() {
+        // Given - No stored counters; a session runs from Dec 31 2024 23:50 into 2025
+        LocalDateTime start = LocalDateTime.of(2024, 12, 31, 23, 50);
+        when(mockHeatmapRepository.findById(any())).thenReturn(Optional.empty());
+        when(mockSessionLoggingService.getSessionsBetween(
+                LocalDateTime.of(2024, 12, 25, 0, 0), LocalDateTime.of(2026, 1, 1, 0, 0)))
+            .thenReturn(Arrays.asList(new CompletedSession(SessionType.WORK, start, start.plusMinutes(25), 1500)));
+
+        // When
+        FocusHeatmapService.HeatmapStats stats = focusHeatmapService.getHeatmap(2025);
+
+        // Then - The part after midnight and the completion count for 2025 (a Wednesday)
+        assertEquals(15.0, stats.getWorkMinutes()[WEDNESDAY][0], 0.001);
+        assertEquals(15.0, stats.getTotalWorkMinutes(), 0.001);
+        assertEquals(1, stats.getCompletions()[WEDNESDAY][0]);
+    }
+
+    @Test
+    @DisplayName("A year without work should be answered empty without being stored")
+    void testEmptyYearNotStored() {
+        // Given - No stored counters and no sessions
+        when(mockHeatmapRepository.findById(any())).thenReturn(Optional.empty());
+
+        // When
+        FocusHeatmapService.HeatmapStats stats = focusHeatmapService.getHeatmap(1900);
+
+        // Then
+        assertEquals(1900, stats.getYear());
+        assertEquals(0.0, stats.getTotalWorkMinutes(), 0.001);
+        assertEquals(0, stats.getTotalCompletions());
+        verify(mockHeatmapRepository, never()).save(any());
+        verify(mockHeatmapRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("A session logged into a year without counters should not be counted twice")
+    void testLoggedSessionTriggersBackfillWithoutDoubleCount() {
+        // Given - The session is already persisted when the event arrives
+        LocalDateTime start = LocalDateTime.of(2025, 12, 8, 14, 0);
+        CompletedSession work = new CompletedSession(SessionType.WORK, start, start.plusMinutes(25), 1500);
+        when(mockHeatmapRepository.findById(2025)).thenReturn(Optional.empty());
+        when(mockSessionLoggingService.getSessionsBetween(any(), any())).thenReturn(Arrays.asList(work));
+        
+        // When - The logged event is handled
+        focusHeatmapService.onSessionLogged(new SessionLoggedEvent(work));
+        
+        // Then - It is counted exactly once
+        FocusHeatmapService.HeatmapStats stats = focusHeatmapService.getHeatmap(2025);
+        assertEquals(25.0, stats.getTotalWorkMinutes(), 0.001);
+        assertEquals(1, stats.getTotalCompletions());
+    }
+}
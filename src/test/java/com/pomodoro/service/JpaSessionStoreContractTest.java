@@ -0,0 +1,23 @@
+package com.pomodoro.service;
+
+import com.pomodoro.repository.CompletedSessionRepository;
+import com.pomodoro.repository.CompletedSessionStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+/**
+ * Runs the session store contract against the JPA repository
+ */
+@DataJpaTest
+class JpaSessionStoreContractTest extends SessionStoreContractTest {
+
+    @Autowired
+    private CompletedSessionRepository completedSessionRepository;
+
+    @Override
+    protected CompletedSessionStore createStore() {
+        // The inherited test methods do not run in the rolled-back test transaction
+        completedSessionRepository.deleteAll();
+        return completedSessionRepository;
+    }
+}
@@ -0,0 +1,130 @@
+package com.pomodoro.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for LatencySloService
+ * - Percentiles per endpoint over the rolling window
+ * - Endpoints whose p99 exceeds their SLO are reported as breaches
+ * - Requests older than the window are forgotten
+ */
+class LatencySloServiceTest {
+
+    private static final String CHART = "GET /api/progress/chart/{year}";
+    private static final String STATUS = "GET /api/timer/status";
+    private static final String TASKS = "GET /api/tasks";
+
+    private MutableClock clock;
+    private LatencySloService latencySloService;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-06-15T12:00:00Z"));
+        latencySloService = new LatencySloService("/api/timer/status=5, /api/progress/chart/**=50", 5, clock);
+    }
+
+    @Test
+    @DisplayName("Should report percentiles and list endpoints breaching their SLO")
+    void testBreaches() {
+        // Given - A chart endpoint with a slow tail and a fast status endpoint
+        for (int i = 0; i < 980; i++) {
+            record(CHART, 10);
+        }
+        for (int i = 0; i < 20; i++) {
+            record(CHART, 120);
+        }
+        for (int i = 0; i < 100; i++) {
+            record(STATUS, 1);
+            record(TASKS, 400);
+        }
+
+        // When
+        LatencySloService.LatencyReport report = latencySloService.getReport();
+
+        // Then - Only the chart breaches; the tasks endpoint has no SLO
+        assertEquals(3, report.getEndpoints().size());
+        assertEquals(1, report.getBreaches().size());
+        LatencySloService.EndpointLatency chart = report.getBreaches().get(0);
+        assertEquals(CHART, chart.getEndpoint());
+        assertEquals(1000, chart.getRequests());
+        assertEquals(10.0, chart.getP50Millis(), 0.1);
+        assertEquals(120.0, chart.getP99Millis(), 1.0);
+        assertEquals(50L, chart.getSloMillis());
+
+        LatencySloService.EndpointLatency tasks = report.getEndpoints().get(0);
+        assertEquals(TASKS, tasks.getEndpoint());
+        assertNull(tasks.getSloMillis());
+        assertFalse(tasks.isBreaching());
+    }
+
+    @Test
+    @DisplayName("Should forget requests that have left the window")
+    void testRollingWindow() {
+        // Given - Slow requests, then fast ones two minutes later
+        record(STATUS, 30);
+        clock.advanceMinutes(2);
+        record(STATUS, 1);
+        assertEquals(2, latencySloService.getReport().getEndpoints().get(0).getRequests());
+        assertEquals(1, latencySloService.getReport().getBreaches().size());
+
+        // When - The slow minute falls out of the five-minute window
+        clock.advanceMinutes(4);
+        record(STATUS, 1);
+
+        // Then
+        LatencySloService.LatencyReport report = latencySloService.getReport();
+        assertEquals(2, report.getEndpoints().get(0).getRequests());
+        assertTrue(report.getBreaches().isEmpty());
+
+        // And nothing is left once the whole window has passed
+        clock.advanceMinutes(10);
+        assertTrue(latencySloService.getReport().getEndpoints().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject malformed SLOs")
+    void testInvalidSlo() {
+        assertThrows(IllegalArgumentException.class, () -> new LatencySloService("/api/timer/status", 5, clock));
+        assertThrows(IllegalArgumentException.class, () -> new LatencySloService("", 0, clock));
+    }
+
+    // Helper methods
+
+    private void record(String endpoint, long millis) {
+        latencySloService.record(endpoint, TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    /**
+     * Clock that can be moved forward between assertions
+     */
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advanceMinutes(long minutes) {
+            instant = instant.plusSeconds(minutes * 60);
+        }
+
+        @Override
+        public ZoneId getZone() { return ZoneOffset.UTC; }
+
+        @Override
+        public Clock withZone(ZoneId zone) { return this; }
+
+        @Override
+        public Instant instant() { return instant; }
+    }
+}
@@ -1,12 +1,21 @@
 package com.pomodoro.service;
 
 import com.pomodoro.model.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -198,4 +207,190 @@ class PomodoroTimerServiceTest {
         // Then - Should be long break after 2 work sessions
         assertEquals(SessionType.LONG_BREAK, session.getSessionType());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Restored running timer should resume against its deadline")
+    void testRestoreRunningTimerResumes() {
+        // Given - A work session persisted while running, due in 10 minutes
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        TimerSession saved = new TimerSession(SessionType.WORK, 25);
+        saved.setState(TimerState.RUNNING);
+        saved.setStartTime(now.minusMinutes(15));
+        PomodoroSettings settings = new PomodoroSettings(25, 5, 15, 4);
+        
+        // When - Restore it
+        TimerSession session = timerService.restore(saved, settings, now.plusMinutes(10));
+        
+        // Then - It keeps running with the time left until the deadline
+        assertEquals(TimerState.RUNNING, session.getState());
+        assertTrue(session.getRemainingSeconds() > 590 && session.getRemainingSeconds() <= 600);
+        assertSame(settings, timerService.getSettings());
+        verify(mockSessionLoggingService, never()).logCompletedSession(any());
+        timerService.pauseTimer();
+    }
+
+    @Test
+    @DisplayName("Restored timer past its deadline should complete at the deadline")
+    void testRestoreExpiredTimerCompletes() {
+        // Given - A work session whose deadline passed while the application was down
+        LocalDateTime deadline = LocalDateTime.now(ZoneOffset.UTC).minusHours(1);
+        TimerSession saved = new TimerSession(SessionType.WORK, 25);
+        saved.setState(TimerState.RUNNING);
+        saved.setStartTime(deadline.minusMinutes(25));
+        saved.setRemainingSeconds(300);
+        
+        // When - Restore it
+        TimerSession session = timerService.restore(saved, new PomodoroSettings(), deadline);
+        
+        // Then - It is completed and logged as ending at the deadline
+        assertEquals(TimerState.COMPLETED, session.getState());
+        assertEquals(0, session.getRemainingSeconds());
+        assertEquals(deadline, session.getEndTime());
+        assertEquals(1, session.getCompletedWorkSessions());
+        verify(mockSessionLoggingService, times(1)).logCompletedSession(session);
+    }
+
+    @Test
+    @DisplayName("Should report active and running timers")
+    void testTimerGauges() {
+        // Given - A timer reporting to its own registry
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PomodoroTimerService service = new PomodoroTimerService(mockSessionLoggingService, registry);
+        assertEquals(0.0, registry.get("pomodoro.timers.active").gauge().value());
+        
+        // When / Then - Running counts as both, paused only as active
+        service.startTimer();
+        assertEquals(1.0, registry.get("pomodoro.timers.active").gauge().value());
+        assertEquals(1.0, registry.get("pomodoro.timers.running").gauge().value());
+        
+        service.pauseTimer();
+        assertEquals(1.0, registry.get("pomodoro.timers.active").gauge().value());
+        assertEquals(0.0, registry.get("pomodoro.timers.running").gauge().value());
+        
+        service.stopTimer();
+        assertEquals(0.0, registry.get("pomodoro.timers.active").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should give the session a new version on transitions but not on ticks")
+    void testVersionBumpsOnTransitions() throws InterruptedException {
+        // Given
+        long initial = timerService.getCurrentSession().getVersion();
+        
+        // When - Starting and letting the countdown tick
+        TimerSession session = timerService.startTimer();
+        long started = session.getVersion();
+        long waitUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (session.getRemainingSeconds() == 1500 && System.nanoTime() < waitUntil) {
+            Thread.sleep(50);
+        }
+        
+        // Then - Only the start changed the version, and the countdown follows the deadline
+        assertTrue(started > initial);
+        assertEquals(session.getStartTime().plusSeconds(1500), session.getDeadline());
+        assertTrue(session.getRemainingSeconds() < 1500);
+        assertEquals(started, session.getVersion());
+        
+        // When - Pausing
+        timerService.pauseTimer();
+        
+        // Then - A paused session has no deadline
+        assertNull(session.getDeadline());
+        
+        // When - The next session replaces this one
+        timerService.completeSession();
+        TimerSession next = timerService.transitionToNextSession();
+        
+        // Then - Versions keep increasing across session objects
+        assertTrue(next.getVersion() > started + 1);
+    }
+
+    @Test
+    @DisplayName("Should complete change waiters when the version moves past the one seen")
+    void testAwaitChange() {
+        // Given - A client that has seen the current version
+        long seen = timerService.getCurrentSession().getVersion();
+        CompletableFuture<TimerSession> change = timerService.awaitChange(seen);
+        assertFalse(change.isDone());
+        
+        // When
+        timerService.startTimer();
+        
+        // Then - It gets the running session; a stale version answers at once
+        assertEquals(TimerState.RUNNING, change.join().getState());
+        assertTrue(timerService.awaitChange(seen).isDone());
+        
+        // And a cancelled waiter is dropped
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PomodoroTimerService service = new PomodoroTimerService(mockSessionLoggingService, registry);
+        CompletableFuture<TimerSession> abandoned = service.awaitChange(service.getCurrentSession().getVersion());
+        assertEquals(1.0, registry.get("pomodoro.timer.status.waiters").gauge().value());
+        abandoned.cancel(false);
+        assertEquals(0.0, registry.get("pomodoro.timer.status.waiters").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should hibernate an idle stopped timer and wake it unchanged on the next use")
+    void testHibernateAndWake() {
+        // Given - A timer with custom settings and a completed work session
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PomodoroTimerService service = new PomodoroTimerService(mockSessionLoggingService, registry);
+        service.updateSettings(new PomodoroSettings(50, 10, 30, 2));
+        service.startTimer();
+        service.completeSession();
+        long version = service.getCurrentSession().getVersion();
+        AtomicReference<TimerSnapshot> saved = new AtomicReference<>();
+        AtomicInteger loads = new AtomicInteger();
+        
+        // When - Hibernating once idle
+        boolean hibernated = service.hibernateIfIdle(Duration.ZERO,
+            (session, settings) -> {
+                saved.set(new TimerSnapshot("default", session, settings, LocalDateTime.now(ZoneOffset.UTC)));
+                return saved.get();
+            },
+            () -> {
+                loads.incrementAndGet();
+                return saved.get();
+            });
+        
+        // Then - Only the snapshot holds it, and persisting does not wake it
+        assertTrue(hibernated);
+        assertTrue(service.isHibernated());
+        assertEquals(1.0, registry.get("pomodoro.timers.hibernated").gauge().value());
+        assertEquals(0.0, registry.get("pomodoro.timers.active").gauge().value());
+        assertNull(service.persist((session, settings) -> session));
+        assertEquals(0, loads.get());
+        
+        // When - The next request reads the status
+        TimerSession session = service.getCurrentSession();
+        
+        // Then - It is loaded back as it was, version included
+        assertFalse(service.isHibernated());
+        assertEquals(1, loads.get());
+        assertEquals(TimerState.COMPLETED, session.getState());
+        assertEquals(1, session.getCompletedWorkSessions());
+        assertEquals(version, session.getVersion());
+        assertEquals(50, service.getSettings().getWorkDurationMinutes());
+        assertEquals(SessionType.SHORT_BREAK, service.transitionToNextSession().getSessionType());
+    }
+
+    @Test
+    @DisplayName("Should not hibernate a timer that is in use, recently used or unwritable")
+    void testHibernateOnlyIdleTimers() {
+        // Given - A running timer
+        timerService.startTimer();
+        
+        // When / Then - Running timers stay in memory
+        assertFalse(timerService.hibernateIfIdle(Duration.ZERO, (session, settings) -> null, () -> null));
+        
+        // When / Then - So do recently used ones
+        timerService.stopTimer();
+        assertFalse(timerService.hibernateIfIdle(Duration.ofMinutes(30), (session, settings) -> null, () -> null));
+        
+        // When / Then - And ones whose state could not be written
+        assertThrows(IllegalStateException.class, () -> timerService.hibernateIfIdle(Duration.ZERO,
+            (session, settings) -> { throw new IllegalStateException("disk full"); }, () -> null));
+        assertFalse(timerService.isHibernated());
+        assertEquals(TimerState.STOPPED, timerService.getCurrentSession().getState());
+    }
+}
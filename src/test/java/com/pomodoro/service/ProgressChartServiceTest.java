@@ -1,15 +1,33 @@
 package com.pomodoro.service;
 
 import com.pomodoro.model.*;
+import com.pomodoro.repository.CompletedSessionStore;
+import com.pomodoro.repository.MeteredSessionStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.mockito.Mock;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.Month;
+import java.time.ZoneOffset;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -20,6 +38,7 @@ import static org.mockito.Mockito.*;
  * - Progress chart displays correctly with 4-color productivity levels
  * - Progress data calculation is accurate
  * - GitHub-style visual representation
+ * - Several years built concurrently match the serial path
  */
 class ProgressChartServiceTest {
 
@@ -37,13 +56,8 @@ class ProgressChartServiceTest {
     @Test
     @DisplayName("Should generate progress chart for specific year")
     void testGenerateProgressChartForYear() {
-        // Given - Mock productivity data for 2025
-        when(mockSessionLoggingService.getProductivityLevelForDate(any()))
-            .thenReturn(2); // Medium productivity
-        when(mockSessionLoggingService.getTotalWorkHoursForDate(any()))
-            .thenReturn(2.5);
-        when(mockSessionLoggingService.getWorkSessionCountForDate(any()))
-            .thenReturn(5);
+        // Given - 2.5 hours in 5 sessions on every day of 2025
+        stubDailyTotals(everyDay(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31), 9000L, 5L));
         
         // When - Generate progress chart for 2025
         ProgressChart result = progressChartService.generateProgressChart(2025);
@@ -60,18 +74,20 @@ class ProgressChartServiceTest {
             assertNotNull(month.getDays());
             assertTrue(month.getDays().size() >= 28); // At least 28 days
         }
+        assertEquals(365 * 5, result.getTotalYearSessions());
+        
+        // And the year should come from one grouped query
+        verify(mockSessionLoggingService, times(1))
+            .getDailyWorkTotals(LocalDate.of(2025, 1, 1), LocalDate.of(2026, 1, 1));
+        verify(mockSessionLoggingService, never()).getTotalWorkHoursForDate(any());
+        verify(mockSessionLoggingService, never()).getWorkSessionCountForDate(any());
     }
 
     @Test
     @DisplayName("Should generate progress month for December with correct days")
     void testGenerateProgressMonth() {
-        // Given - Mock productivity data for December 2025
-        when(mockSessionLoggingService.getProductivityLevelForDate(any()))
-            .thenReturn(3); // High productivity
-        when(mockSessionLoggingService.getTotalWorkHoursForDate(any()))
-            .thenReturn(4.5);
-        when(mockSessionLoggingService.getWorkSessionCountForDate(any()))
-            .thenReturn(9);
+        // Given - 4.5 hours in 9 sessions (high productivity) on every day of December 2025
+        stubDailyTotals(everyDay(LocalDate.of(2025, 12, 1), LocalDate.of(2025, 12, 31), 16200L, 9L));
         
         // When - Generate progress month for December 2025
         ProgressMonth result = progressChartService.generateProgressMonth(2025, Month.DECEMBER);
@@ -88,6 +104,8 @@ class ProgressChartServiceTest {
             assertEquals(4.5, day.getTotalHours(), 0.01);
             assertEquals(9, day.getSessionCount());
         }
+        verify(mockSessionLoggingService, times(1))
+            .getDailyWorkTotals(LocalDate.of(2025, 12, 1), LocalDate.of(2026, 1, 1));
     }
 
     @Test
@@ -146,11 +164,8 @@ class ProgressChartServiceTest {
     @Test
     @DisplayName("Should get current year progress chart")
     void testGetCurrentYearProgressChart() {
-        // Given - Current year data
+        // Given - The current year
         int currentYear = LocalDate.now().getYear();
-        when(mockSessionLoggingService.getProductivityLevelForDate(any())).thenReturn(2);
-        when(mockSessionLoggingService.getTotalWorkHoursForDate(any())).thenReturn(2.0);
-        when(mockSessionLoggingService.getWorkSessionCountForDate(any())).thenReturn(4);
         
         // When - Get current year chart
         ProgressChart result = progressChartService.getCurrentYearProgressChart();
@@ -179,10 +194,8 @@ class ProgressChartServiceTest {
     @Test
     @DisplayName("Should calculate yearly statistics correctly")
     void testGetYearlyStats() {
-        // Given - Mock chart with statistics
-        when(mockSessionLoggingService.getProductivityLevelForDate(any())).thenReturn(2);
-        when(mockSessionLoggingService.getTotalWorkHoursForDate(any())).thenReturn(3.0);
-        when(mockSessionLoggingService.getWorkSessionCountForDate(any())).thenReturn(6);
+        // Given - 3 hours in 6 sessions on every day of 2025
+        stubDailyTotals(everyDay(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31), 10800L, 6L));
         
         // When - Get yearly stats
         ProgressChartService.YearlyStats result = progressChartService.getYearlyStats(2025);
@@ -202,9 +215,6 @@ class ProgressChartServiceTest {
     @DisplayName("Should handle February in leap year correctly")
     void testLeapYearFebruary() {
         // Given - 2024 is a leap year
-        when(mockSessionLoggingService.getProductivityLevelForDate(any())).thenReturn(1);
-        when(mockSessionLoggingService.getTotalWorkHoursForDate(any())).thenReturn(1.0);
-        when(mockSessionLoggingService.getWorkSessionCountForDate(any())).thenReturn(2);
         
         // When - Generate February 2024 month
         ProgressMonth result = progressChartService.generateProgressMonth(2024, Month.FEBRUARY);
@@ -220,9 +230,6 @@ class ProgressChartServiceTest {
     @DisplayName("Should handle February in non-leap year correctly")
     void testNonLeapYearFebruary() {
         // Given - 2025 is not a leap year
-        when(mockSessionLoggingService.getProductivityLevelForDate(any())).thenReturn(1);
-        when(mockSessionLoggingService.getTotalWorkHoursForDate(any())).thenReturn(1.0);
-        when(mockSessionLoggingService.getWorkSessionCountForDate(any())).thenReturn(2);
         
         // When - Generate February 2025 month
         ProgressMonth result = progressChartService.generateProgressMonth(2025, Month.FEBRUARY);
@@ -238,9 +245,7 @@ class ProgressChartServiceTest {
     @DisplayName("Should handle empty productivity data gracefully")
     void testEmptyProductivityData() {
         // Given - No productivity data
-        when(mockSessionLoggingService.getProductivityLevelForDate(any())).thenReturn(0);
-        when(mockSessionLoggingService.getTotalWorkHoursForDate(any())).thenReturn(0.0);
-        when(mockSessionLoggingService.getWorkSessionCountForDate(any())).thenReturn(0);
+        when(mockSessionLoggingService.getDailyWorkTotals(any(), any())).thenReturn(List.of());
         
         // When - Generate chart
         ProgressChart result = progressChartService.generateProgressChart(2025);
@@ -258,4 +263,372 @@ class ProgressChartServiceTest {
                                day.getSessionCount() == 0));
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should generate range chart from one aggregated query")
+    void testGenerateRangeChartSpanningYears() {
+        // Given - Work on two days either side of New Year
+        LocalDate start = LocalDate.of(2024, 12, 18); // Wednesday
+        LocalDate end = LocalDate.of(2025, 1, 8);     // Wednesday
+        when(mockSessionLoggingService.getDailyWorkTotals(any(), any())).thenReturn(Arrays.asList(
+            new DailyWorkTotal(LocalDate.of(2024, 12, 31), 18000L, 10L),
+            new DailyWorkTotal(LocalDate.of(2025, 1, 2), 1800L, 1L)
+        ));
+        
+        // When - Generate the range chart
+        ProgressChart result = progressChartService.generateProgressChart(start, end);
+        
+        // Then - Range should hold exactly the requested days, split by month
+        assertEquals(start, result.getStartDate());
+        assertEquals(end, result.getEndDate());
+        assertEquals(2025, result.getYear());
+        assertEquals(2, result.getMonths().size());
+        assertEquals(14, result.getMonths().get(0).getDays().size()); // Dec 18..31
+        assertEquals(8, result.getMonths().get(1).getDays().size());  // Jan 1..8
+        
+        // And days should carry the aggregated totals and levels
+        ProgressDay newYearsEve = result.getMonths().get(0).getDays().get(13);
+        assertEquals(LocalDate.of(2024, 12, 31), newYearsEve.getDate());
+        assertEquals(5.0, newYearsEve.getTotalHours(), 0.01);
+        assertEquals(10, newYearsEve.getSessionCount());
+        assertEquals(3, newYearsEve.getProductivityLevel());
+        assertEquals(1, result.getMonths().get(1).getDays().get(1).getProductivityLevel());
+        assertEquals(5.5, result.getTotalYearHours(), 0.01);
+        assertEquals(2, result.getTotalWorkDays());
+        
+        // And exactly one aggregated query should have been issued
+        verify(mockSessionLoggingService, times(1))
+            .getDailyWorkTotals(LocalDate.of(2024, 12, 18), LocalDate.of(2025, 1, 9));
+        verify(mockSessionLoggingService, never()).getTotalWorkHoursForDate(any());
+        verify(mockSessionLoggingService, never()).getProductivityLevelForDate(any());
+    }
+
+    @Test
+    @DisplayName("Should generate trailing year chart ending today")
+    void testTrailingYearChart() {
+        // Given - Work on each of the last five days, and a gap before them
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        List<DailyWorkTotal> totals = new ArrayList<>(everyDay(today.minusDays(4), today, 3600L, 2L));
+        totals.add(0, new DailyWorkTotal(today.minusDays(10), 3600L, 2L));
+        stubDailyTotals(totals);
+        
+        // When - Get the trailing year chart
+        ProgressChart result = progressChartService.getTrailingYearProgressChart();
+        
+        // Then - It should cover the last year up to today with one query
+        assertEquals(today.minusYears(1).plusDays(1), result.getStartDate());
+        assertEquals(today, result.getEndDate());
+        assertTrue(result.getMonths().size() >= 12);
+        
+        // And the run ending today should be the current streak
+        assertEquals(5, result.getCurrentStreak());
+        assertEquals(6, result.getTotalWorkDays());
+        assertEquals(12, result.getTotalYearSessions());
+        verify(mockSessionLoggingService, times(1)).getDailyWorkTotals(result.getStartDate(), today.plusDays(1));
+    }
+
+    @Test
+    @DisplayName("Should reject inverted chart ranges")
+    void testInvertedRangeRejected() {
+        assertThrows(IllegalArgumentException.class, () ->
+            progressChartService.generateProgressChart(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1)));
+    }
+
+    @Test
+    @DisplayName("Should reject chart ranges longer than the cap without querying")
+    void testOversizedRangeRejected() {
+        // A range just inside the cap is served
+        LocalDate start = LocalDate.of(2021, 1, 1);
+        progressChartService.generateProgressChart(start,
+            start.plusYears(ProgressChartService.MAX_RANGE_YEARS).minusDays(1));
+
+        // One day more is not
+        assertThrows(IllegalArgumentException.class, () -> progressChartService.generateProgressChart(start,
+            start.plusYears(ProgressChartService.MAX_RANGE_YEARS)));
+        assertThrows(IllegalArgumentException.class, () -> progressChartService.generateProgressChart(
+            LocalDate.of(1, 1, 1), LocalDate.of(9999, 12, 31)));
+        verify(mockSessionLoggingService, times(1)).getDailyWorkTotals(any(), any());
+    }
+
+    @Test
+    @DisplayName("Yearly overview should match per-year statistics from one aggregated query")
+    void testYearlyOverviewMatchesYearlyStats() {
+        // Given - Work spread over two years, including a run ending on Dec 31
+        Map<LocalDate, DailyWorkTotal> data = new TreeMap<>();
+        for (DailyWorkTotal total : Arrays.asList(
+                new DailyWorkTotal(LocalDate.of(2024, 3, 1), 3600L, 2L),
+                new DailyWorkTotal(LocalDate.of(2024, 3, 2), 16200L, 9L),
+                new DailyWorkTotal(LocalDate.of(2024, 3, 3), 1800L, 1L),
+                new DailyWorkTotal(LocalDate.of(2024, 12, 30), 7200L, 4L),
+                new DailyWorkTotal(LocalDate.of(2024, 12, 31), 7200L, 4L),
+                new DailyWorkTotal(LocalDate.of(2025, 1, 1), 5400L, 3L),
+                new DailyWorkTotal(LocalDate.of(2025, 6, 15), 1500L, 1L))) {
+            data.put(total.getDate(), total);
+        }
+        when(mockSessionLoggingService.getAllDailyWorkTotals()).thenReturn(List.copyOf(data.values()));
+        stubDailyTotals(List.copyOf(data.values()));
+        
+        // When - Build the overview
+        List<ProgressChartService.YearlyStats> overview = progressChartService.getAllYearlyStats();
+        
+        // Then - Only years with data, each identical to the chart-based stats
+        assertEquals(2, overview.size());
+        for (ProgressChartService.YearlyStats stats : overview) {
+            ProgressChartService.YearlyStats expected = progressChartService.getYearlyStats(stats.getYear());
+            assertEquals(expected.getTotalHours(), stats.getTotalHours(), 0.0001);
+            assertEquals(expected.getTotalSessions(), stats.getTotalSessions());
+            assertEquals(expected.getWorkDays(), stats.getWorkDays());
+            assertEquals(expected.getAverageHoursPerDay(), stats.getAverageHoursPerDay(), 0.0001);
+            assertEquals(expected.getCurrentStreak(), stats.getCurrentStreak());
+            assertEquals(expected.getLongestStreak(), stats.getLongestStreak());
+        }
+        assertEquals(2024, overview.get(0).getYear());
+        assertEquals(3, overview.get(0).getLongestStreak());
+        assertEquals(2, overview.get(0).getCurrentStreak());
+        assertEquals(2025, overview.get(1).getYear());
+        verify(mockSessionLoggingService, times(1)).getAllDailyWorkTotals();
+    }
+
+    @Test
+    @DisplayName("Available years should span session data and be cached")
+    void testAvailableYearsFromSessionRange() {
+        // Given - Sessions from 2021 onwards
+        int currentYear = LocalDate.now().getYear();
+        when(mockSessionLoggingService.getEarliestSessionStart()).thenReturn(LocalDateTime.of(2021, 5, 1, 9, 0));
+        when(mockSessionLoggingService.getLatestSessionStart()).thenReturn(LocalDateTime.of(2023, 2, 1, 9, 0));
+        
+        // When - Get available years twice
+        List<Integer> first = progressChartService.getAvailableYears();
+        List<Integer> second = progressChartService.getAvailableYears();
+        
+        // Then - From the first data year through the current year, queried once
+        assertEquals(2021, first.get(0));
+        assertEquals(currentYear, first.get(first.size() - 1));
+        assertEquals(currentYear - 2021 + 1, first.size());
+        assertSame(first, second);
+        verify(mockSessionLoggingService, times(1)).getEarliestSessionStart();
+        
+        // When - A session is deleted
+        progressChartService.onSessionDeleted(new SessionDeletedEvent(
+            new CompletedSession(SessionType.WORK, LocalDateTime.of(2021, 5, 1, 9, 0),
+                LocalDateTime.of(2021, 5, 1, 9, 25), 1500)));
+        progressChartService.getAvailableYears();
+        
+        // Then - The range should be re-read
+        verify(mockSessionLoggingService, times(2)).getEarliestSessionStart();
+    }
+
+    @Test
+    @DisplayName("Should record chart generation time and store calls")
+    void testChartGenerationMetrics() {
+        // Given - A chart service over a metered (empty) store
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CompletedSessionStore store = mock(CompletedSessionStore.class);
+        SessionLoggingService loggingService = new SessionLoggingService(
+            new MeteredSessionStore(store, registry), mock(ApplicationEventPublisher.class));
+        ProgressChartService service = new ProgressChartService(loggingService, registry);
+        
+        // When - Generating a year chart and a range chart
+        service.generateProgressChart(2025);
+        service.generateProgressChart(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31));
+        
+        // Then - Each chart makes one grouped store call
+        assertEquals(1, registry.get("pomodoro.chart.generation").tag("range", "year").timer().count());
+        assertEquals(1.0, registry.get("pomodoro.chart.store.calls").tag("range", "year").summary().totalAmount());
+        assertEquals(1.0, registry.get("pomodoro.chart.store.calls").tag("range", "range").summary().totalAmount());
+    }
+    
+    @Test
+    @DisplayName("Should emit JFR chart generation events with the rows aggregated")
+    void testChartGenerationEvents(@TempDir Path tempDir) throws Exception {
+        // Given - Two sessions on one day of March
+        stubDailyTotals(List.of(new DailyWorkTotal(LocalDate.of(2025, 3, 3), 3600L, 2L)));
+        
+        // When - Generating the year chart and March while recording
+        Path dump = tempDir.resolve("chart.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.pomodoro.ChartGeneration");
+            recording.start();
+            progressChartService.generateProgressChart(2025);
+            progressChartService.generateProgressMonth(2025, Month.MARCH);
+            recording.stop();
+            recording.dump(dump);
+        }
+        
+        // Then - One event for the year and one for the month
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        assertEquals(2, events.size());
+        RecordedEvent yearEvent = events.stream()
+            .filter(event -> "year".equals(event.getString("kind")))
+            .findFirst().orElseThrow();
+        assertEquals(2025, yearEvent.getInt("year"));
+        assertEquals(365, yearEvent.getInt("days"));
+        assertEquals(2, yearEvent.getLong("rowsAggregated"));
+        RecordedEvent march = events.stream()
+            .filter(event -> "month".equals(event.getString("kind")))
+            .findFirst().orElseThrow();
+        assertEquals(31, march.getInt("days"));
+        assertEquals(2, march.getLong("rowsAggregated"));
+    }
+    
+    @Test
+    @DisplayName("Should fail the chart when the grouped query fails")
+    void testYearChartQueryFailure() {
+        // Given - The database is unavailable
+        when(mockSessionLoggingService.getDailyWorkTotals(any(), any()))
+            .thenThrow(new IllegalStateException("database unavailable"));
+        
+        // When / Then - The exception reaches the caller
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+            () -> progressChartService.generateProgressChart(2025));
+        assertEquals("database unavailable", exception.getMessage());
+    }
+    
+    @Test
+    @DisplayName("Should build several years concurrently exactly as serially, from one grouped query")
+    void testParallelYearsMatchSerial() {
+        // Given - Different work on every day of four years
+        List<DailyWorkTotal> totals = new ArrayList<>();
+        for (LocalDate date = LocalDate.of(2022, 1, 1); date.getYear() < 2026; date = date.plusDays(1)) {
+            int variant = date.getDayOfYear() % 7;
+            if (variant > 0) {
+                totals.add(new DailyWorkTotal(date, variant * 2700L, (long) variant * 2));
+            }
+        }
+        stubDailyTotals(totals);
+        ProgressChartService serial = new ProgressChartService(mockSessionLoggingService, new SimpleMeterRegistry(), 1);
+        ProgressChartService parallel = new ProgressChartService(mockSessionLoggingService, new SimpleMeterRegistry(), 8);
+        List<Integer> years = List.of(2025, 2022, 2024, 2023);
+        
+        try {
+            // When
+            List<ProgressChart> expected = serial.generateProgressCharts(years);
+            List<ProgressChart> actual = parallel.generateProgressCharts(years);
+            
+            // Then - Years in the order requested, with identical days and totals
+            assertEquals(years, actual.stream().map(ProgressChart::getYear).toList());
+            for (int y = 0; y < years.size(); y++) {
+                assertSameChart(expected.get(y), actual.get(y));
+                assertSameChart(serial.generateProgressChart(years.get(y)), actual.get(y));
+            }
+            
+            // And each batch read its years with one grouped query
+            verify(mockSessionLoggingService, times(2))
+                .getDailyWorkTotals(LocalDate.of(2022, 1, 1), LocalDate.of(2026, 1, 1));
+        } finally {
+            serial.shutdown();
+            parallel.shutdown();
+        }
+    }
+    
+    @Test
+    @DisplayName("Yearly overview should be the same built concurrently as serially")
+    void testParallelOverviewMatchesSerial() {
+        // Given - Work in three years, one of them with sessions but no work time
+        when(mockSessionLoggingService.getAllDailyWorkTotals()).thenReturn(List.of(
+            new DailyWorkTotal(LocalDate.of(2023, 5, 5), 0L, 1L),
+            new DailyWorkTotal(LocalDate.of(2024, 12, 30), 7200L, 4L),
+            new DailyWorkTotal(LocalDate.of(2024, 12, 31), 3000L, 2L),
+            new DailyWorkTotal(LocalDate.of(2025, 2, 1), 1500L, 1L)));
+        ProgressChartService serial = new ProgressChartService(mockSessionLoggingService, new SimpleMeterRegistry(), 1);
+        
+        try {
+            // When
+            List<ProgressChartService.YearlyStats> expected = serial.getAllYearlyStats();
+            List<ProgressChartService.YearlyStats> actual = progressChartService.getAllYearlyStats();
+            
+            // Then - Identical values, and the year without work time is left out
+            assertEquals(List.of(2024, 2025), actual.stream().map(ProgressChartService.YearlyStats::getYear).toList());
+            for (int y = 0; y < expected.size(); y++) {
+                assertEquals(expected.get(y).getYear(), actual.get(y).getYear());
+                assertEquals(expected.get(y).getTotalHours(), actual.get(y).getTotalHours());
+                assertEquals(expected.get(y).getTotalSessions(), actual.get(y).getTotalSessions());
+                assertEquals(expected.get(y).getWorkDays(), actual.get(y).getWorkDays());
+                assertEquals(expected.get(y).getCurrentStreak(), actual.get(y).getCurrentStreak());
+                assertEquals(expected.get(y).getLongestStreak(), actual.get(y).getLongestStreak());
+            }
+            assertEquals(2, actual.get(0).getCurrentStreak());
+        } finally {
+            serial.shutdown();
+        }
+    }
+    
+    @Test
+    @DisplayName("Should cancel the years when the caller is interrupted")
+    void testParallelCancellation() {
+        // Given - A year whose subtask stalls, and a caller that has been interrupted, e.g. an abandoned request
+        Thread caller = Thread.currentThread();
+        CountDownLatch release = new CountDownLatch(1);
+        DailyWorkTotal stalling = new DailyWorkTotal(LocalDate.of(2025, 3, 3), 1500L, 1L) {
+            @Override
+            public LocalDate getDate() {
+                if (Thread.currentThread() != caller) {
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.getDate();
+            }
+        };
+        when(mockSessionLoggingService.getDailyWorkTotals(any(), any())).thenReturn(List.of(stalling));
+        Thread.currentThread().interrupt();
+        
+        // When / Then - Generation stops and the interrupt is kept
+        try {
+            assertThrows(CancellationException.class,
+                () -> progressChartService.generateProgressCharts(List.of(2024, 2025)));
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+            release.countDown();
+        }
+    }
+    
+    // Helper methods
+    
+    private static void assertSameChart(ProgressChart expected, ProgressChart actual) {
+        assertEquals(expected.getYear(), actual.getYear());
+        assertEquals(expected.getMonths().size(), actual.getMonths().size());
+        for (int m = 0; m < expected.getMonths().size(); m++) {
+            ProgressMonth expectedMonth = expected.getMonths().get(m);
+            ProgressMonth actualMonth = actual.getMonths().get(m);
+            assertEquals(expectedMonth.getMonth(), actualMonth.getMonth());
+            assertEquals(expectedMonth.getDays().size(), actualMonth.getDays().size());
+            for (int d = 0; d < expectedMonth.getDays().size(); d++) {
+                ProgressDay expectedDay = expectedMonth.getDays().get(d);
+                ProgressDay actualDay = actualMonth.getDays().get(d);
+                assertEquals(expectedDay.getDate(), actualDay.getDate());
+                assertEquals(expectedDay.getTotalHours(), actualDay.getTotalHours());
+                assertEquals(expectedDay.getSessionCount(), actualDay.getSessionCount());
+                assertEquals(expectedDay.getProductivityLevel(), actualDay.getProductivityLevel());
+            }
+        }
+        assertEquals(expected.getTotalYearHours(), actual.getTotalYearHours());
+        assertEquals(expected.getTotalYearSessions(), actual.getTotalYearSessions());
+        assertEquals(expected.getCurrentStreak(), actual.getCurrentStreak());
+        assertEquals(expected.getLongestStreak(), actual.getLongestStreak());
+    }
+    
+    /**
+     * Answer grouped daily total queries from the given totals, by their end-exclusive range
+     */
+    private void stubDailyTotals(List<DailyWorkTotal> totals) {
+        when(mockSessionLoggingService.getDailyWorkTotals(any(), any())).thenAnswer(invocation -> {
+            LocalDate start = invocation.getArgument(0);
+            LocalDate end = invocation.getArgument(1);
+            return totals.stream()
+                .filter(total -> !total.getDate().isBefore(start) && total.getDate().isBefore(end))
+                .toList();
+        });
+    }
+    
+    private static List<DailyWorkTotal> everyDay(LocalDate first, LocalDate last, long workSeconds, long sessions) {
+        List<DailyWorkTotal> totals = new ArrayList<>();
+        for (LocalDate date = first; !date.isAfter(last); date = date.plusDays(1)) {
+            totals.add(new DailyWorkTotal(date, workSeconds, sessions));
+        }
+        return totals;
+    }
+}
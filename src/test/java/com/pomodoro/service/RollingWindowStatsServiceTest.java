@@ -0,0 +1,175 @@
+package com.pomodoro.service;
+
+import com.pomodoro.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for RollingWindowStatsService
+ * - Windows are loaded from daily aggregates on warm-up
+ * - Logged and deleted sessions update every window incrementally
+ * - Days fall out of each window as the date rolls over
+ */
+class RollingWindowStatsServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 12, 31);
+
+    private RollingWindowStatsService rollingWindowStatsService;
+    private MutableClock clock;
+    
+    @Mock
+    private SessionLoggingService mockSessionLoggingService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        clock = new MutableClock(TODAY);
+        rollingWindowStatsService = new RollingWindowStatsService(mockSessionLoggingService, clock);
+    }
+
+    @Test
+    @DisplayName("Warm-up should load the trailing year with one aggregated query")
+    void testWarmUpFromDailyAggregates() {
+        // Given - Work on today, 10 days ago and 100 days ago
+        when(mockSessionLoggingService.getDailyWorkTotals(TODAY.minusDays(364), TODAY.plusDays(1)))
+            .thenReturn(Arrays.asList(
+                new DailyWorkTotal(TODAY.minusDays(100), 7200L, 4L),
+                new DailyWorkTotal(TODAY.minusDays(10), 3600L, 2L),
+                new DailyWorkTotal(TODAY, 1800L, 1L)
+            ));
+        
+        // When - Warm up the windows
+        rollingWindowStatsService.warmUp();
+        List<RollingWindowStatsService.WindowStats> stats = rollingWindowStatsService.getAllWindowStats();
+        
+        // Then - Each window should include only the days it covers
+        assertEquals(4, stats.size());
+        assertWindow(stats.get(0), 7, 0.5, 1, 1);
+        assertWindow(stats.get(1), 30, 1.5, 3, 2);
+        assertWindow(stats.get(2), 90, 1.5, 3, 2);
+        assertWindow(stats.get(3), 365, 3.5, 7, 3);
+        verify(mockSessionLoggingService, times(1)).getDailyWorkTotals(any(), any());
+    }
+
+    @Test
+    @DisplayName("Logged and deleted work sessions should update windows incrementally")
+    void testIncrementalUpdates() {
+        // Given - Empty history
+        rollingWindowStatsService.warmUp();
+        CompletedSession work = new CompletedSession(
+            SessionType.WORK, TODAY.atTime(9, 0), TODAY.atTime(9, 25), 1500);
+        CompletedSession shortBreak = new CompletedSession(
+            SessionType.SHORT_BREAK, TODAY.atTime(9, 25), TODAY.atTime(9, 30), 300);
+        
+        // When - Log a work session and a break
+        rollingWindowStatsService.onSessionLogged(new SessionLoggedEvent(work));
+        rollingWindowStatsService.onSessionLogged(new SessionLoggedEvent(shortBreak));
+        
+        // Then - Only the work session should count
+        for (RollingWindowStatsService.WindowStats window : rollingWindowStatsService.getAllWindowStats()) {
+            assertEquals(1500 / 3600.0, window.getTotalHours(), 0.0001);
+            assertEquals(1, window.getTotalSessions());
+            assertEquals(1, window.getWorkDays());
+        }
+        
+        // When - Delete the work session
+        rollingWindowStatsService.onSessionDeleted(new SessionDeletedEvent(work));
+        
+        // Then - Windows should be empty again
+        for (RollingWindowStatsService.WindowStats window : rollingWindowStatsService.getAllWindowStats()) {
+            assertEquals(0.0, window.getTotalHours(), 0.0001);
+            assertEquals(0, window.getTotalSessions());
+            assertEquals(0, window.getWorkDays());
+        }
+    }
+
+    @Test
+    @DisplayName("Days should drop out of each window at rollover")
+    void testDayRollover() {
+        // Given - Two hours logged today
+        rollingWindowStatsService.warmUp();
+        rollingWindowStatsService.record(TODAY, 7200, 4);
+        
+        // When - Seven days pass
+        clock.setDate(TODAY.plusDays(7));
+        List<RollingWindowStatsService.WindowStats> stats = rollingWindowStatsService.getAllWindowStats();
+        
+        // Then - The 7-day window no longer includes it, longer windows still do
+        assertWindow(stats.get(0), 7, 0.0, 0, 0);
+        assertWindow(stats.get(1), 30, 2.0, 4, 1);
+        assertEquals(TODAY.plusDays(7), stats.get(0).getEndDate());
+        assertEquals(TODAY.plusDays(1), stats.get(0).getStartDate());
+        
+        // When - A full year passes
+        clock.setDate(TODAY.plusDays(365));
+        stats = rollingWindowStatsService.getAllWindowStats();
+        
+        // Then - Every window should be empty
+        for (RollingWindowStatsService.WindowStats window : stats) {
+            assertEquals(0.0, window.getTotalHours(), 0.0001);
+            assertEquals(0, window.getTotalSessions());
+        }
+    }
+
+    @Test
+    @DisplayName("Sessions outside the trailing year should be ignored")
+    void testOutOfRangeSessionsIgnored() {
+        // Given - Empty history
+        rollingWindowStatsService.warmUp();
+        
+        // When - Record days older than a year and in the future
+        rollingWindowStatsService.record(TODAY.minusDays(365), 3600, 1);
+        rollingWindowStatsService.record(TODAY.plusDays(1), 3600, 1);
+        
+        // Then - Nothing should be counted
+        for (RollingWindowStatsService.WindowStats window : rollingWindowStatsService.getAllWindowStats()) {
+            assertEquals(0, window.getTotalSessions());
+        }
+    }
+
+    private void assertWindow(RollingWindowStatsService.WindowStats window,
+                              int days, double hours, int sessions, int workDays) {
+        assertEquals(days, window.getDays());
+        assertEquals(hours, window.getTotalHours(), 0.0001);
+        assertEquals(sessions, window.getTotalSessions());
+        assertEquals(workDays, window.getWorkDays());
+    }
+
+    /**
+     * Clock whose date can be moved forward between assertions
+     */
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(LocalDate date) {
+            setDate(date);
+        }
+
+        void setDate(LocalDate date) {
+            this.instant = date.atTime(12, 0).toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() { return ZoneOffset.UTC; }
+
+        @Override
+        public Clock withZone(ZoneId zone) { return this; }
+
+        @Override
+        public Instant instant() { return instant; }
+    }
+}
@@ -0,0 +1,30 @@
+package com.pomodoro.service;
+
+import com.pomodoro.repository.CompletedSessionStore;
+import com.pomodoro.repository.SegmentLogSessionStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+/**
+ * Runs the session store contract against the memory-mapped segment log
+ */
+class SegmentLogSessionStoreContractTest extends SessionStoreContractTest {
+
+    @TempDir
+    Path directory;
+
+    private SegmentLogSessionStore store;
+
+    @Override
+    protected CompletedSessionStore createStore() throws Exception {
+        store = new SegmentLogSessionStore(directory);
+        return store;
+    }
+
+    @AfterEach
+    void closeStore() throws Exception {
+        store.close();
+    }
+}
@@ -0,0 +1,176 @@
+package com.pomodoro.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.pomodoro.model.CompletedSession;
+import com.pomodoro.model.DailyWorkTotal;
+import com.pomodoro.model.ProgressChart;
+import com.pomodoro.model.SessionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for SerializedChartCache
+ * - Past years are serialized once, plain and gzipped, with Jackson's output
+ * - A miss generates every uncached past year in one batch
+ * - The current year and years without data are not cached
+ * - Logging or deleting a session evicts only the years it touches
+ * - Eviction does not wait for a chart being generated
+ */
+class SerializedChartCacheTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-06-15T12:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    private ProgressChartService mockProgressChartService;
+
+    private ObjectMapper objectMapper;
+    private SerializedChartCache cache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        cache = new SerializedChartCache(mockProgressChartService, objectMapper, CLOCK);
+        when(mockProgressChartService.getAvailableYears()).thenReturn(List.of(2023, 2024, 2025));
+        when(mockProgressChartService.generateProgressCharts(anyList()))
+            .thenAnswer(invocation -> charts(invocation.getArgument(0)));
+    }
+
+    @Test
+    @DisplayName("Should serialize a past year's chart and statistics once")
+    void testPastYearCached() throws IOException {
+        // When - Reading the 2024 chart and statistics twice
+        SerializedChartCache.SerializedResponse chart = cache.getChart(2024).orElseThrow();
+        SerializedChartCache.SerializedResponse stats = cache.getYearlyStats(2024).orElseThrow();
+        assertSame(chart, cache.getChart(2024).orElseThrow());
+
+        // Then - The past years were generated once, together, and both forms hold Jackson's output
+        verify(mockProgressChartService, times(1)).generateProgressCharts(anyList());
+        verify(mockProgressChartService).generateProgressCharts(List.of(2023, 2024));
+        ProgressChart expected = chart(2024);
+        assertArrayEquals(objectMapper.writeValueAsBytes(expected), chart.getBody(false));
+        assertArrayEquals(chart.getJson(), gunzip(chart.getBody(true)));
+        assertArrayEquals(objectMapper.writeValueAsBytes(ProgressChartService.YearlyStats.of(expected)),
+            gunzip(stats.getGzipped()));
+        assertTrue(chart.getGzipped().length < chart.getJson().length);
+    }
+
+    @Test
+    @DisplayName("Should not cache the current year or years without sessions")
+    void testUncachedYears() {
+        assertTrue(cache.getChart(2025).isEmpty());
+        assertTrue(cache.getYearlyStats(2026).isEmpty());
+        assertTrue(cache.getChart(1999).isEmpty());
+        verify(mockProgressChartService, never()).generateProgressCharts(anyList());
+    }
+
+    @Test
+    @DisplayName("Should evict only the years a logged or deleted session touches")
+    void testEviction() {
+        // Given - Two cached years
+        cache.getChart(2023);
+        cache.getChart(2024);
+
+        // When - A session is logged into 2024, then one spanning New Year is deleted
+        cache.onSessionLogged(new SessionLoggedEvent(session(LocalDateTime.of(2024, 3, 1, 9, 0))));
+        cache.getChart(2023);
+        cache.getChart(2024);
+        cache.onSessionDeleted(new SessionDeletedEvent(session(LocalDateTime.of(2023, 12, 31, 23, 50))));
+        cache.getChart(2023);
+        cache.getChart(2024);
+
+        // Then - 2023 was kept after the first change; the session ending on
+        // New Year's Day evicted both years
+        verify(mockProgressChartService, times(2)).generateProgressCharts(List.of(2023, 2024));
+        verify(mockProgressChartService, times(1)).generateProgressCharts(List.of(2024));
+        verify(mockProgressChartService, times(3)).generateProgressCharts(anyList());
+    }
+
+    @Test
+    @DisplayName("Eviction should not wait for a chart being generated")
+    void testEvictionDuringGeneration() throws Exception {
+        // Given - Past-year generation that stalls until released
+        CountDownLatch generating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(mockProgressChartService.generateProgressCharts(anyList())).thenAnswer(invocation -> {
+            generating.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return charts(invocation.getArgument(0));
+        }).thenAnswer(invocation -> charts(invocation.getArgument(0)));
+        CompletableFuture<Optional<SerializedChartCache.SerializedResponse>> request = CompletableFuture.supplyAsync(() -> cache.getChart(2024));
+        assertTrue(generating.await(5, TimeUnit.SECONDS));
+
+        // When - A session is logged into 2024 mid-generation
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () ->
+            cache.onSessionLogged(new SessionLoggedEvent(session(LocalDateTime.of(2024, 3, 1, 9, 0)))));
+        release.countDown();
+
+        // Then - The stalled request completes, and only the evicted year's result was dropped
+        assertTrue(request.get(5, TimeUnit.SECONDS).isPresent());
+        cache.getChart(2024);
+        cache.getChart(2024);
+        cache.getChart(2023);
+        verify(mockProgressChartService).generateProgressCharts(List.of(2023, 2024));
+        verify(mockProgressChartService).generateProgressCharts(List.of(2024));
+        verify(mockProgressChartService, times(2)).generateProgressCharts(anyList());
+    }
+
+    @Test
+    @DisplayName("Should negotiate gzip from Accept-Encoding")
+    void testAcceptsGzip() {
+        assertTrue(SerializedChartCache.acceptsGzip("gzip, deflate, br"));
+        assertTrue(SerializedChartCache.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertTrue(SerializedChartCache.acceptsGzip("*"));
+        assertFalse(SerializedChartCache.acceptsGzip(null));
+        assertFalse(SerializedChartCache.acceptsGzip("identity"));
+        assertFalse(SerializedChartCache.acceptsGzip("gzip;q=0"));
+        assertFalse(SerializedChartCache.acceptsGzip("gzip;q=0, *"));
+        assertFalse(SerializedChartCache.acceptsGzip("deflate, *;q=0"));
+    }
+
+    // Helper methods
+
+    private static ProgressChart chart(int year) {
+        return ProgressChartService.buildYearChart(year, List.of(
+            new DailyWorkTotal(LocalDate.of(year, 3, 1), 3000L, 2L),
+            new DailyWorkTotal(LocalDate.of(year, 3, 2), 9000L, 6L)));
+    }
+
+    private static List<ProgressChart> charts(List<Integer> years) {
+        return years.stream().map(SerializedChartCacheTest::chart).toList();
+    }
+
+    private static CompletedSession session(LocalDateTime start) {
+        // Crosses into the next year when started late on Dec 31
+        return new CompletedSession(SessionType.WORK, start, start.plusMinutes(25), 1500);
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+}
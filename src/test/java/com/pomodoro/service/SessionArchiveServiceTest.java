@@ -0,0 +1,61 @@
+package com.pomodoro.service;
+
+import com.pomodoro.model.CompletedSession;
+import com.pomodoro.model.SessionType;
+import com.pomodoro.repository.ArchivingSessionStore;
+import com.pomodoro.repository.CompletedSessionStore;
+import com.pomodoro.repository.SegmentLogSessionStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for SessionArchiveService
+ */
+class SessionArchiveServiceTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-06-15T12:00:00Z"), ZoneOffset.UTC);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should archive every closed year but never the current one")
+    void testArchiveClosedYears() throws Exception {
+        try (ArchivingSessionStore store = new ArchivingSessionStore(
+                new SegmentLogSessionStore(directory.resolve("live")), directory.resolve("archive"))) {
+            for (int year = 2022; year <= 2025; year++) {
+                LocalDateTime start = LocalDateTime.of(year, 3, 1, 9, 0);
+                store.save(new CompletedSession(SessionType.WORK, start, start.plusMinutes(25), 1500));
+            }
+            SessionArchiveService service = new SessionArchiveService(store, CLOCK);
+
+            SessionArchiveService.ArchiveResult result = service.archiveClosedYears();
+
+            assertEquals(List.of(2022, 2023, 2024), result.getYears());
+            assertEquals(3, result.getArchivedSessions());
+            assertEquals(List.of(2022, 2023, 2024), service.getArchivedYears());
+            assertEquals(4, store.findAllByOrderByStartTimeDesc().size());
+            assertThrows(IllegalArgumentException.class, () -> service.archiveYear(2025));
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse to archive when archiving is disabled")
+    void testArchivingDisabled() {
+        SessionArchiveService service = new SessionArchiveService(mock(CompletedSessionStore.class), CLOCK);
+
+        assertEquals(List.of(), service.getArchivedYears());
+        assertThrows(SessionArchiveService.ArchivingDisabledException.class, () -> service.archiveYear(2024));
+    }
+}
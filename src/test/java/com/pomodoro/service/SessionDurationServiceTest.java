@@ -0,0 +1,187 @@
+package com.pomodoro.service;
+
+import com.pomodoro.model.*;
+import com.pomodoro.repository.SessionDurationHistogramRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for SessionDurationService
+ * - Percentiles per session type, in microseconds
+ * - Breaks cut short relative to the configured durations
+ * - Months merge into years; missing years are backfilled once
+ * - Reads never wait for a write's or another year's database I/O
+ */
+class SessionDurationServiceTest {
+
+    private SessionDurationService sessionDurationService;
+    private final PomodoroSettings settings = new PomodoroSettings();
+    
+    @Mock
+    private SessionDurationHistogramRepository mockHistogramRepository;
+    
+    @Mock
+    private SessionLoggingService mockSessionLoggingService;
+    
+    @Mock
+    private ProgressChartService mockProgressChartService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(mockHistogramRepository.findByYear(anyInt())).thenReturn(Collections.emptyList());
+        when(mockProgressChartService.getAvailableYears()).thenReturn(List.of(2024, 2025, 2026));
+        sessionDurationService = new SessionDurationService(
+            mockHistogramRepository, mockSessionLoggingService, mockProgressChartService);
+    }
+
+    @Test
+    @DisplayName("Backfilled year should report percentiles and cut-short breaks")
+    void testBackfilledYearStatistics() {
+        // Given - A year of full work sessions and breaks, two breaks cut short
+        LocalDateTime march = LocalDateTime.of(2025, 3, 3, 9, 0);
+        LocalDateTime june = LocalDateTime.of(2025, 6, 2, 9, 0);
+        when(mockSessionLoggingService.getSessionsForYear(2025)).thenReturn(Arrays.asList(
+            session(SessionType.WORK, march, 1500),
+            session(SessionType.WORK, march, 1500),
+            session(SessionType.WORK, june, 1500),
+            session(SessionType.WORK, june, 600),
+            session(SessionType.SHORT_BREAK, march, 300),
+            session(SessionType.SHORT_BREAK, march, 120),
+            session(SessionType.SHORT_BREAK, june, 60),
+            session(SessionType.SHORT_BREAK, june, 300)
+        ));
+        
+        // When - Get statistics for the year
+        List<SessionDurationService.DurationStats> stats =
+            sessionDurationService.getDurationStats(2025, 2025, null, settings);
+        
+        // Then - Percentiles are in microseconds, within histogram precision
+        SessionDurationService.DurationStats work = stats.get(SessionType.WORK.ordinal());
+        assertEquals(4, work.getCount());
+        assertEquals(1_500_000_000L, work.getP50Micros(), 1_500_000_000L / 128.0);
+        assertEquals(1_500_000_000L, work.getP90Micros(), 1_500_000_000L / 128.0);
+        assertEquals(600_000_000L, work.getMinMicros());
+        assertEquals(1, work.getCutShortCount());
+        
+        SessionDurationService.DurationStats shortBreak = stats.get(SessionType.SHORT_BREAK.ordinal());
+        assertEquals(4, shortBreak.getCount());
+        assertEquals(300_000_000L, shortBreak.getPlannedMicros());
+        assertEquals(2, shortBreak.getCutShortCount());
+        assertEquals(0.5, shortBreak.getCutShortRate(), 0.0001);
+        
+        assertEquals(0, stats.get(SessionType.LONG_BREAK.ordinal()).getCount());
+        verify(mockSessionLoggingService, times(1)).getSessionsForYear(2025);
+        
+        // And a single month only includes that month
+        List<SessionDurationService.DurationStats> juneStats =
+            sessionDurationService.getDurationStats(2025, 2025, 6, settings);
+        assertEquals(2, juneStats.get(SessionType.WORK.ordinal()).getCount());
+        verify(mockSessionLoggingService, times(1)).getSessionsForYear(2025);
+    }
+
+    @Test
+    @DisplayName("Logged and deleted sessions should update histograms and merge across years")
+    void testIncrementalUpdatesAcrossYears() {
+        // Given - Two loaded (empty) years
+        when(mockSessionLoggingService.getSessionsForYear(anyInt())).thenReturn(Collections.emptyList());
+        sessionDurationService.getDurationStats(2024, 2025, null, settings);
+        CompletedSession first = session(SessionType.WORK, LocalDateTime.of(2024, 11, 4, 9, 0), 1500);
+        CompletedSession second = session(SessionType.WORK, LocalDateTime.of(2025, 1, 6, 9, 0), 1200);
+        CompletedSession third = session(SessionType.WORK, LocalDateTime.of(2025, 1, 7, 9, 0), 900);
+        
+        // When - Log three sessions and delete one
+        sessionDurationService.onSessionLogged(new SessionLoggedEvent(first));
+        sessionDurationService.onSessionLogged(new SessionLoggedEvent(second));
+        sessionDurationService.onSessionLogged(new SessionLoggedEvent(third));
+        sessionDurationService.onSessionDeleted(new SessionDeletedEvent(third));
+        
+        // Then - Both years merge, each change was persisted
+        SessionDurationService.DurationStats work = sessionDurationService
+            .getDurationStats(2024, 2025, null, settings).get(SessionType.WORK.ordinal());
+        assertEquals(2, work.getCount());
+        assertEquals(1, work.getCutShortCount());
+        verify(mockHistogramRepository, times(4)).save(any());
+    }
+
+    @Test
+    @DisplayName("Invalid ranges should be rejected")
+    void testInvalidRanges() {
+        assertThrows(IllegalArgumentException.class, () ->
+            sessionDurationService.getDurationStats(2025, 2024, null, settings));
+        assertThrows(IllegalArgumentException.class, () ->
+            sessionDurationService.getDurationStats(2025, 2025, 13, settings));
+    }
+
+    @Test
+    @DisplayName("Years without data should be skipped rather than loaded")
+    void testRangeClampedToAvailableYears() {
+        // Given
+        when(mockSessionLoggingService.getSessionsForYear(anyInt())).thenReturn(Collections.emptyList());
+        
+        // When - Asking for a huge span and for a year before any data
+        sessionDurationService.getDurationStats(1, 2_000_000_000, null, settings);
+        List<SessionDurationService.DurationStats> empty =
+            sessionDurationService.getDurationStats(1990, 1990, null, settings);
+        
+        // Then - Only the available years were loaded
+        verify(mockSessionLoggingService, times(3)).getSessionsForYear(anyInt());
+        verify(mockHistogramRepository, never()).findByYear(1990);
+        assertEquals(0, empty.get(SessionType.WORK.ordinal()).getCount());
+    }
+
+    @Test
+    @DisplayName("Reads should not wait for a stalled save or another year's backfill")
+    void testReadsDoNotWaitForDatabaseIo() throws Exception {
+        // Given - 2025 is loaded; saving and backfilling 2024 stall until released
+        when(mockSessionLoggingService.getSessionsForYear(2025)).thenReturn(Collections.emptyList());
+        sessionDurationService.getDurationStats(2025, 2025, null, settings);
+        CountDownLatch stalled = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        when(mockHistogramRepository.save(any())).thenAnswer(invocation -> {
+            stalled.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return invocation.getArgument(0);
+        });
+        when(mockSessionLoggingService.getSessionsForYear(2024)).thenAnswer(invocation -> {
+            stalled.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return Collections.emptyList();
+        });
+        CompletedSession logged = session(SessionType.WORK, LocalDateTime.of(2025, 2, 3, 9, 0), 1500);
+        CompletableFuture<Void> write = CompletableFuture.runAsync(() ->
+            sessionDurationService.onSessionLogged(new SessionLoggedEvent(logged)));
+        CompletableFuture<Void> backfill = CompletableFuture.runAsync(() ->
+            sessionDurationService.getDurationStats(2024, 2024, null, settings));
+        assertTrue(stalled.await(5, TimeUnit.SECONDS));
+        
+        // When / Then - Reading 2025 answers at once, already counting the change
+        List<SessionDurationService.DurationStats> stats = assertTimeoutPreemptively(Duration.ofSeconds(1), () ->
+            sessionDurationService.getDurationStats(2025, 2025, null, settings));
+        assertEquals(1, stats.get(SessionType.WORK.ordinal()).getCount());
+        release.countDown();
+        write.get(5, TimeUnit.SECONDS);
+        backfill.get(5, TimeUnit.SECONDS);
+    }
+
+    // Helper methods
+
+    private static CompletedSession session(SessionType type, LocalDateTime start, int seconds) {
+        return new CompletedSession(type, start, start.plusSeconds(seconds), seconds);
+    }
+}
@@ -2,17 +2,23 @@ package com.pomodoro.service;
 
 import com.pomodoro.model.*;
 import com.pomodoro.repository.CompletedSessionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -32,11 +38,14 @@ class SessionLoggingServiceTest {
     
     @Mock
     private CompletedSessionRepository mockRepository;
+    
+    @Mock
+    private ApplicationEventPublisher mockEventPublisher;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        sessionLoggingService = new SessionLoggingService(mockRepository);
+        sessionLoggingService = new SessionLoggingService(mockRepository, mockEventPublisher);
     }
 
     @Test
@@ -235,4 +244,137 @@ class SessionLoggingServiceTest {
         sessionLoggingService.deleteSession(null);
         verify(mockRepository, times(1)).deleteById(any()); // Should still be 1, not called again
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should publish events when sessions are logged and deleted")
+    void testSessionEventsPublished() {
+        // Given - A session that is saved and later looked up for deletion
+        LocalDateTime start = LocalDateTime.of(2025, 12, 14, 9, 0);
+        TimerSession timerSession = new TimerSession(SessionType.WORK, 25);
+        timerSession.setStartTime(start);
+        timerSession.setEndTime(start.plusMinutes(25));
+        
+        CompletedSession savedSession = new CompletedSession(SessionType.WORK, start, start.plusMinutes(25), 1500);
+        savedSession.setId(7L);
+        when(mockRepository.save(any())).thenReturn(savedSession);
+        when(mockRepository.findById(7L)).thenReturn(Optional.of(savedSession));
+        
+        // When - Log then delete the session
+        sessionLoggingService.logCompletedSession(timerSession);
+        sessionLoggingService.deleteSession(7L);
+        
+        // Then - Both changes should be published with the session attached
+        verify(mockEventPublisher).publishEvent(argThat((Object e) ->
+            e instanceof SessionLoggedEvent && ((SessionLoggedEvent) e).getSession() == savedSession));
+        verify(mockEventPublisher).publishEvent(argThat((Object e) ->
+            e instanceof SessionDeletedEvent && ((SessionDeletedEvent) e).getSession() == savedSession));
+    }
+
+    @Test
+    @DisplayName("Session writes should not wait for each other's database calls")
+    void testConcurrentWrites() throws Exception {
+        // Given - An index in use, and saves that only return once two are in the store at once
+        when(mockRepository.getAllDailyWorkTotals()).thenReturn(List.of());
+        sessionLoggingService.rebuildFocusIndex();
+        CountDownLatch inStore = new CountDownLatch(2);
+        LocalDateTime start = LocalDateTime.of(2025, 3, 31, 14, 0);
+        when(mockRepository.save(any())).thenAnswer(invocation -> {
+            inStore.countDown();
+            assertTrue(inStore.await(5, TimeUnit.SECONDS), "saves were serialized");
+            return new CompletedSession(SessionType.WORK, start, start.plusMinutes(25), 1500);
+        });
+        TimerSession timerSession = new TimerSession(SessionType.WORK, 25);
+        timerSession.setStartTime(start);
+        timerSession.setEndTime(start.plusMinutes(25));
+        
+        // When - Two sessions are logged at the same time
+        CompletableFuture<CompletedSession> first =
+            CompletableFuture.supplyAsync(() -> sessionLoggingService.logCompletedSession(timerSession));
+        CompletableFuture<CompletedSession> second =
+            CompletableFuture.supplyAsync(() -> sessionLoggingService.logCompletedSession(timerSession));
+        
+        // Then - Both were in the store together and both reached the index
+        first.get(10, TimeUnit.SECONDS);
+        second.get(10, TimeUnit.SECONDS);
+        assertEquals(3000, sessionLoggingService.getFocusTotalsBetween(
+            LocalDate.of(2025, 3, 31), LocalDate.of(2025, 3, 31)).getTotalSeconds());
+    }
+
+    @Test
+    @DisplayName("A session too far from the indexed days should still be logged")
+    void testSessionOutsideIndexSpan() {
+        // Given - An index built over 2025
+        when(mockRepository.getAllDailyWorkTotals()).thenReturn(List.of(
+            new DailyWorkTotal(LocalDate.of(2025, 1, 6), 3600L, 2L)));
+        sessionLoggingService.rebuildFocusIndex();
+        LocalDateTime start = LocalDateTime.of(1, 1, 1, 9, 0);
+        TimerSession timerSession = new TimerSession(SessionType.WORK, 25);
+        timerSession.setStartTime(start);
+        timerSession.setEndTime(start.plusMinutes(25));
+        CompletedSession saved = new CompletedSession(SessionType.WORK, start, start.plusMinutes(25), 1500);
+        when(mockRepository.save(any())).thenReturn(saved);
+        
+        // When - A session in year 1 is logged
+        assertSame(saved, sessionLoggingService.logCompletedSession(timerSession));
+        
+        // Then - The range query rebuilds and reports the span instead of overflowing
+        when(mockRepository.getAllDailyWorkTotals()).thenReturn(List.of(
+            new DailyWorkTotal(LocalDate.of(1, 1, 1), 1500L, 1L),
+            new DailyWorkTotal(LocalDate.of(2025, 1, 6), 3600L, 2L)));
+        assertThrows(IllegalArgumentException.class, () -> sessionLoggingService.getFocusTotalsBetween(
+            LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31)));
+    }
+
+    @Test
+    @DisplayName("Should answer date-range totals from the rebuilt index")
+    void testFocusTotalsBetween() {
+        // Given - Daily aggregates loaded at startup
+        when(mockRepository.getAllDailyWorkTotals()).thenReturn(Arrays.asList(
+            new DailyWorkTotal(LocalDate.of(2025, 1, 6), 3600L, 2L),
+            new DailyWorkTotal(LocalDate.of(2025, 3, 31), 5400L, 3L),
+            new DailyWorkTotal(LocalDate.of(2025, 4, 1), 1500L, 1L)
+        ));
+        sessionLoggingService.rebuildFocusIndex();
+        
+        // When - A new work session is logged on the last day of Q1
+        LocalDateTime start = LocalDateTime.of(2025, 3, 31, 14, 0);
+        TimerSession timerSession = new TimerSession(SessionType.WORK, 25);
+        timerSession.setStartTime(start);
+        timerSession.setEndTime(start.plusMinutes(25));
+        when(mockRepository.save(any()))
+            .thenReturn(new CompletedSession(SessionType.WORK, start, start.plusMinutes(25), 1500));
+        sessionLoggingService.logCompletedSession(timerSession);
+        
+        // Then - Q1 totals should include it without another query
+        SessionLoggingService.FocusTotals q1 = sessionLoggingService.getFocusTotalsBetween(
+            LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 31));
+        assertEquals(3600 + 5400 + 1500, q1.getTotalSeconds());
+        assertEquals(6, q1.getSessionCount());
+        verify(mockRepository, times(1)).getAllDailyWorkTotals();
+        
+        // And an inverted range should be rejected
+        assertThrows(IllegalArgumentException.class, () ->
+            sessionLoggingService.getFocusTotalsBetween(LocalDate.of(2025, 4, 1), LocalDate.of(2025, 3, 1)));
+    }
+
+    @Test
+    @DisplayName("Should time session logging and count failures")
+    void testLoggingMetrics() {
+        // Given - A service reporting to its own registry
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SessionLoggingService service = new SessionLoggingService(mockRepository, mockEventPublisher, registry);
+        when(mockRepository.save(any(CompletedSession.class))).thenAnswer(inv -> inv.getArgument(0));
+        TimerSession complete = new TimerSession(SessionType.WORK, 25);
+        complete.setStartTime(LocalDateTime.now(ZoneOffset.UTC));
+        complete.setEndTime(complete.getStartTime().plusMinutes(25));
+        TimerSession incomplete = new TimerSession(SessionType.WORK, 25);
+        
+        // When - One session is logged and one is rejected
+        service.logCompletedSession(complete);
+        assertThrows(IllegalArgumentException.class, () -> service.logCompletedSession(incomplete));
+        
+        // Then - Both attempts are timed and the rejection is counted
+        assertEquals(2, registry.get("pomodoro.session.log").timer().count());
+        assertEquals(1.0, registry.get("pomodoro.session.log.failures").counter().count());
+    }
+}
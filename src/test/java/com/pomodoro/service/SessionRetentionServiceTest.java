@@ -0,0 +1,178 @@
+package com.pomodoro.service;
+
+import com.pomodoro.model.CompletedSession;
+import com.pomodoro.model.DailyWorkTotal;
+import com.pomodoro.model.SessionAggregate;
+import com.pomodoro.model.SessionType;
+import com.pomodoro.repository.AggregatingSessionStore;
+import com.pomodoro.repository.CompletedSessionRepository;
+import com.pomodoro.repository.SessionAggregateRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for SessionRetentionService
+ * - Sessions older than the window become hourly per-type aggregates
+ * - Charts and yearly statistics read the same totals after compaction
+ * - Sessions compacted later merge into existing aggregates
+ * - Failed background runs are counted and leave the raw sessions in place
+ */
+@DataJpaTest
+class SessionRetentionServiceTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-06-15T12:00:00Z"), ZoneOffset.UTC);
+    private static final LocalDate OLD_DAY = LocalDate.of(2022, 3, 1);
+
+    @Autowired
+    private CompletedSessionRepository completedSessionRepository;
+
+    @Autowired
+    private SessionAggregateRepository aggregateRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private FocusHeatmapService mockFocusHeatmapService;
+
+    @Mock
+    private SessionDurationService mockSessionDurationService;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AggregatingSessionStore store;
+    private SessionLoggingService sessionLoggingService;
+    private SessionRetentionService retentionService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        // Sessions committed by other tests sharing the database
+        completedSessionRepository.deleteAll();
+        store = new AggregatingSessionStore(completedSessionRepository, aggregateRepository);
+        sessionLoggingService = new SessionLoggingService(store, mock(ApplicationEventPublisher.class));
+        retentionService = new SessionRetentionService(store, aggregateRepository, mockFocusHeatmapService,
+            mockSessionDurationService, transactionManager, meterRegistry, 2, 7, 24, CLOCK);
+    }
+
+    @Test
+    @DisplayName("Should compact expired sessions without changing chart totals")
+    void testCompactExpiredSessions() {
+        // Given - Three sessions from 2022, one just before the cutoff and one after it
+        log(SessionType.WORK, OLD_DAY.atTime(9, 0), 1500);
+        log(SessionType.WORK, OLD_DAY.atTime(9, 30), 1500);
+        log(SessionType.SHORT_BREAK, OLD_DAY.atTime(9, 55), 300);
+        log(SessionType.WORK, LocalDateTime.of(2023, 6, 14, 16, 0), 1200);
+        log(SessionType.WORK, LocalDateTime.of(2023, 8, 1, 14, 0), 1200);
+        String totalsBefore = describe(sessionLoggingService.getAllDailyWorkTotals());
+        LocalDateTime earliestBefore = sessionLoggingService.getEarliestSessionStart();
+        LocalDateTime latestBefore = sessionLoggingService.getLatestSessionStart();
+
+        // When - Compacting everything older than two years
+        SessionRetentionService.RetentionResult result = retentionService.compactExpiredSessions();
+
+        // Then - The four expired sessions are gone but every total is unchanged
+        assertEquals(LocalDateTime.of(2023, 6, 15, 0, 0), result.getCutoff());
+        assertEquals(4, result.getCompactedSessions());
+        assertEquals(1, completedSessionRepository.count());
+        assertEquals(totalsBefore, describe(sessionLoggingService.getAllDailyWorkTotals()));
+        assertEquals(earliestBefore, sessionLoggingService.getEarliestSessionStart());
+        assertEquals(latestBefore, sessionLoggingService.getLatestSessionStart());
+        assertEquals(2, sessionLoggingService.getWorkSessionCountForDate(OLD_DAY));
+        assertEquals(3000 / 3600.0, sessionLoggingService.getTotalWorkHoursForDate(OLD_DAY), 0.0001);
+        assertEquals(1, sessionLoggingService.getDailyWorkTotals(OLD_DAY, OLD_DAY.plusDays(1)).size());
+
+        List<SessionAggregate> hours = aggregateRepository.findAll();
+        hours.sort(Comparator.comparing(SessionAggregate::getHourStart).thenComparing(SessionAggregate::getSessionType));
+        assertEquals(3, hours.size());
+        assertEquals(SessionType.WORK, hours.get(0).getSessionType());
+        assertEquals(2, hours.get(0).getSessionCount());
+        assertEquals(3000, hours.get(0).getTotalSeconds());
+        assertEquals(SessionType.SHORT_BREAK, hours.get(1).getSessionType());
+
+        // Derived per-year statistics are stored before the raw rows go
+        verify(mockFocusHeatmapService).preload(2022);
+        verify(mockSessionDurationService).preload(2023);
+    }
+
+    @Test
+    @DisplayName("Should merge late sessions into existing hourly aggregates")
+    void testCompactLateSessions() {
+        // Given - A compacted hour
+        log(SessionType.WORK, OLD_DAY.atTime(9, 0), 1500);
+        retentionService.compactExpiredSessions();
+
+        // When - A session for that hour is logged afterwards and compacted
+        log(SessionType.WORK, OLD_DAY.atTime(9, 40), 600);
+        SessionRetentionService.RetentionResult result = retentionService.compactExpiredSessions();
+
+        // Then - It is added to the same hour
+        assertEquals(1, result.getCompactedSessions());
+        List<SessionAggregate> hours = aggregateRepository.findAll();
+        assertEquals(1, hours.size());
+        assertEquals(2, hours.get(0).getSessionCount());
+        assertEquals(2100, hours.get(0).getTotalSeconds());
+        assertEquals(2, sessionLoggingService.getWorkSessionCountForDate(OLD_DAY));
+    }
+
+    @Test
+    @DisplayName("Should leave sessions inside the retention window alone")
+    void testNothingExpired() {
+        log(SessionType.WORK, LocalDateTime.of(2025, 6, 1, 9, 0), 1500);
+
+        SessionRetentionService.RetentionResult result = retentionService.compactExpiredSessions();
+
+        assertEquals(0, result.getCompactedSessions());
+        assertEquals(0, result.getChunks());
+        assertEquals(1, completedSessionRepository.count());
+        assertEquals(0, aggregateRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should count a failed background run and keep the raw sessions")
+    void testFailedRunCounted() {
+        // Given - An expired session whose heatmap cannot be stored
+        log(SessionType.WORK, OLD_DAY.atTime(9, 0), 1500);
+        doThrow(new IllegalStateException("heatmap unavailable")).when(mockFocusHeatmapService).preload(2022);
+
+        // When - The scheduled run fails
+        retentionService.compactQuietly();
+
+        // Then - The failure is counted and nothing was compacted
+        assertEquals(1.0, meterRegistry.get("pomodoro.retention.failures").counter().count());
+        assertEquals(1, completedSessionRepository.count());
+        assertEquals(0, aggregateRepository.count());
+    }
+
+    // Helper methods
+
+    private void log(SessionType type, LocalDateTime start, int seconds) {
+        store.save(new CompletedSession(type, start, start.plusSeconds(seconds), seconds));
+    }
+
+    private static String describe(List<DailyWorkTotal> totals) {
+        return totals.stream()
+            .map(total -> total.getDate() + "=" + total.getWorkSeconds() + "/" + total.getSessionCount())
+            .collect(Collectors.joining(","));
+    }
+}
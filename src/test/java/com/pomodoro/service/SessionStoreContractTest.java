@@ -0,0 +1,165 @@
+package com.pomodoro.service;
+
+import com.pomodoro.model.*;
+import com.pomodoro.repository.CompletedSessionStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Behaviour every CompletedSessionStore backend must share, exercised
+ * through SessionLoggingService the way the application uses it
+ */
+abstract class SessionStoreContractTest {
+
+    private CompletedSessionStore store;
+    private SessionLoggingService sessionLoggingService;
+
+    /**
+     * Provide an empty store for each test
+     */
+    protected abstract CompletedSessionStore createStore() throws Exception;
+
+    @BeforeEach
+    void setUpService() throws Exception {
+        store = createStore();
+        sessionLoggingService = new SessionLoggingService(store, mock(ApplicationEventPublisher.class));
+    }
+
+    @Test
+    @DisplayName("Logged sessions should be stored with their data and ids")
+    void testLogAndFind() {
+        CompletedSession saved = log(SessionType.WORK, LocalDateTime.of(2025, 3, 10, 9, 0), 25);
+
+        assertNotNull(saved.getId());
+        List<CompletedSession> all = sessionLoggingService.getAllSessions();
+        assertEquals(1, all.size());
+        assertEquals(saved.getId(), all.get(0).getId());
+        assertEquals(SessionType.WORK, all.get(0).getSessionType());
+        assertEquals(LocalDateTime.of(2025, 3, 10, 9, 0), all.get(0).getStartTime());
+        assertEquals(LocalDateTime.of(2025, 3, 10, 9, 25), all.get(0).getEndTime());
+        assertEquals(1500, all.get(0).getDurationSeconds());
+    }
+
+    @Test
+    @DisplayName("Range queries should be end exclusive and most recent first")
+    void testRangeQueries() {
+        log(SessionType.WORK, LocalDateTime.of(2025, 3, 9, 23, 30), 25);
+        log(SessionType.WORK, LocalDateTime.of(2025, 3, 10, 9, 0), 25);
+        log(SessionType.SHORT_BREAK, LocalDateTime.of(2025, 3, 10, 9, 25), 5);
+        log(SessionType.WORK, LocalDateTime.of(2025, 3, 10, 14, 0), 50);
+        log(SessionType.WORK, LocalDateTime.of(2025, 3, 11, 0, 0), 25);
+
+        List<CompletedSession> day = sessionLoggingService.getSessionsBetween(
+            LocalDateTime.of(2025, 3, 10, 0, 0), LocalDateTime.of(2025, 3, 11, 0, 0));
+        assertEquals(3, day.size());
+        assertEquals(LocalDateTime.of(2025, 3, 10, 14, 0), day.get(0).getStartTime());
+        assertEquals(LocalDateTime.of(2025, 3, 10, 9, 0), day.get(2).getStartTime());
+
+        assertEquals(2, sessionLoggingService.getWorkSessionsForDate(LocalDate.of(2025, 3, 10)).size());
+        assertEquals(75 / 60.0, sessionLoggingService.getTotalWorkHoursForDate(LocalDate.of(2025, 3, 10)), 0.001);
+        assertEquals(0.0, sessionLoggingService.getTotalWorkHoursForDate(LocalDate.of(2025, 3, 12)), 0.001);
+        assertEquals(5, sessionLoggingService.getSessionsForYear(2025).size());
+    }
+
+    @Test
+    @DisplayName("Daily work totals should group work sessions by UTC day")
+    void testDailyWorkTotals() {
+        log(SessionType.WORK, LocalDateTime.of(2025, 3, 10, 9, 0), 25);
+        log(SessionType.LONG_BREAK, LocalDateTime.of(2025, 3, 10, 9, 25), 15);
+        log(SessionType.WORK, LocalDateTime.of(2025, 3, 10, 14, 0), 50);
+        log(SessionType.WORK, LocalDateTime.of(2025, 3, 12, 8, 0), 25);
+        log(SessionType.WORK, LocalDateTime.of(2024, 12, 31, 23, 0), 25);
+
+        List<DailyWorkTotal> totals = sessionLoggingService.getDailyWorkTotals(
+            LocalDate.of(2025, 3, 1), LocalDate.of(2025, 4, 1));
+        assertEquals(2, totals.size());
+        assertEquals(LocalDate.of(2025, 3, 10), totals.get(0).getDate());
+        assertEquals(4500, totals.get(0).getWorkSeconds());
+        assertEquals(2, totals.get(0).getSessionCount());
+        assertEquals(LocalDate.of(2025, 3, 12), totals.get(1).getDate());
+
+        List<DailyWorkTotal> all = sessionLoggingService.getAllDailyWorkTotals();
+        assertEquals(3, all.size());
+        assertEquals(LocalDate.of(2024, 12, 31), all.get(0).getDate());
+    }
+
+    @Test
+    @DisplayName("Earliest and latest start should span all sessions")
+    void testEarliestAndLatestStart() {
+        assertNull(sessionLoggingService.getEarliestSessionStart());
+        assertNull(sessionLoggingService.getLatestSessionStart());
+
+        log(SessionType.WORK, LocalDateTime.of(2025, 3, 10, 9, 0), 25);
+        log(SessionType.SHORT_BREAK, LocalDateTime.of(2023, 7, 1, 12, 0), 5);
+        log(SessionType.WORK, LocalDateTime.of(2024, 1, 1, 8, 0), 25);
+
+        assertEquals(LocalDateTime.of(2023, 7, 1, 12, 0), sessionLoggingService.getEarliestSessionStart());
+        assertEquals(LocalDateTime.of(2025, 3, 10, 9, 0), sessionLoggingService.getLatestSessionStart());
+    }
+
+    @Test
+    @DisplayName("Deleted sessions should disappear from every query")
+    void testDeleteSession() {
+        CompletedSession kept = log(SessionType.WORK, LocalDateTime.of(2025, 3, 10, 9, 0), 25);
+        CompletedSession deleted = log(SessionType.WORK, LocalDateTime.of(2025, 3, 10, 14, 0), 25);
+
+        sessionLoggingService.deleteSession(deleted.getId());
+        sessionLoggingService.deleteSession(deleted.getId() + 1000); // Unknown ids are ignored
+
+        List<CompletedSession> all = sessionLoggingService.getAllSessions();
+        assertEquals(1, all.size());
+        assertEquals(kept.getId(), all.get(0).getId());
+        assertEquals(25 / 60.0, sessionLoggingService.getTotalWorkHoursForDate(LocalDate.of(2025, 3, 10)), 0.001);
+        assertEquals(LocalDateTime.of(2025, 3, 10, 9, 0), sessionLoggingService.getLatestSessionStart());
+    }
+
+    @Test
+    @DisplayName("Batch deletes should remove only the given sessions")
+    void testDeleteSessionsById() {
+        CompletedSession first = log(SessionType.WORK, LocalDateTime.of(2024, 5, 1, 9, 0), 25);
+        CompletedSession second = log(SessionType.SHORT_BREAK, LocalDateTime.of(2024, 5, 1, 9, 25), 5);
+        CompletedSession third = log(SessionType.WORK, LocalDateTime.of(2024, 5, 2, 9, 0), 25);
+
+        store.deleteSessionsById(List.of(first.getId(), third.getId(), third.getId() + 1000));
+
+        List<CompletedSession> all = sessionLoggingService.getAllSessions();
+        assertEquals(1, all.size());
+        assertEquals(second.getId(), all.get(0).getId());
+        assertTrue(store.findById(first.getId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Focus totals should reflect sessions logged before and after the index is built")
+    void testFocusTotals() {
+        log(SessionType.WORK, LocalDateTime.of(2025, 1, 6, 9, 0), 25);
+        assertEquals(1500, sessionLoggingService.getFocusTotalsBetween(
+            LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 31)).getTotalSeconds());
+
+        CompletedSession later = log(SessionType.WORK, LocalDateTime.of(2025, 3, 31, 14, 0), 25);
+        SessionLoggingService.FocusTotals q1 = sessionLoggingService.getFocusTotalsBetween(
+            LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 31));
+        assertEquals(3000, q1.getTotalSeconds());
+        assertEquals(2, q1.getSessionCount());
+
+        sessionLoggingService.deleteSession(later.getId());
+        assertEquals(1, sessionLoggingService.getFocusTotalsBetween(
+            LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 31)).getSessionCount());
+    }
+
+    private CompletedSession log(SessionType type, LocalDateTime start, int minutes) {
+        TimerSession timerSession = new TimerSession(type, minutes);
+        timerSession.setStartTime(start);
+        timerSession.setEndTime(start.plusMinutes(minutes));
+        timerSession.setRemainingSeconds(0);
+        return sessionLoggingService.logCompletedSession(timerSession);
+    }
+}